@@ -0,0 +1,51 @@
+#!/usr/bin/env sh
+# Starts the packaged application and reports the time until /occupancy serves its first
+# successful response. Extra arguments are passed to the JVM, e.g.
+#   scripts/measure-startup.sh target/app.jar -Dspring.aot.enabled=true -XX:SharedArchiveFile=app.jsa
+# The JVM is $JAVA, else $JAVA_HOME/bin/java, else java on PATH; a CDS archive only loads on
+# the JVM that wrote it. Needs curl and perl (for a millisecond clock on Linux and macOS).
+set -e
+
+JAR_FILE="$1"
+shift || true
+PORT="${MEASURE_PORT:-18080}"
+TIMEOUT_SECONDS="${MEASURE_TIMEOUT_SECONDS:-60}"
+BODY='{"premiumRooms":7,"economyRooms":5,"potentialGuests":[23,45,155,374,22,99.99,100,101,115,209]}'
+
+if [ ! -f "$JAR_FILE" ]; then
+  echo "ERROR: JAR not found: $JAR_FILE"
+  exit 1
+fi
+
+if [ -z "$JAVA" ]; then
+  if [ -n "$JAVA_HOME" ]; then JAVA="$JAVA_HOME/bin/java"; else JAVA=java; fi
+fi
+
+# date +%s%N is GNU only
+now_ms() { perl -MTime::HiRes=time -e 'printf "%d\n", time() * 1000'; }
+
+START=$(now_ms)
+"$JAVA" "$@" -jar "$JAR_FILE" --server.port="$PORT" > target/startup-measure.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+while :; do
+  STATUS=$(curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+    -d "$BODY" "http://localhost:${PORT}/occupancy" || true)
+  if [ "$STATUS" = "200" ]; then
+    break
+  fi
+  if ! kill -0 $APP_PID 2>/dev/null; then
+    echo "ERROR: application exited during startup, see target/startup-measure.log"
+    exit 1
+  fi
+  if [ $(( $(now_ms) - START )) -gt $((TIMEOUT_SECONDS * 1000)) ]; then
+    echo "ERROR: no successful /occupancy response within ${TIMEOUT_SECONDS}s"
+    exit 1
+  fi
+  sleep 0.05
+done
+
+ELAPSED=$(( $(now_ms) - START ))
+echo "startup-to-first-response: ${ELAPSED} ms"
+echo "$ELAPSED" > target/startup-to-first-response-ms.txt
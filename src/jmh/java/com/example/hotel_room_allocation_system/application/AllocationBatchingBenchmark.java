@@ -0,0 +1,69 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct vs. micro-batched allocation of small requests from many callers.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="AllocationBatchingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class AllocationBatchingBenchmark {
+
+    @Param({"10", "50"})
+    int guests;
+
+    @Param({"direct", "batched"})
+    String mode;
+
+    private RoomAllocationService service;
+    private AllocationBatchScheduler scheduler;
+    private GuestBids bids;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new RoomAllocationService(registry);
+        AllocationBatchingProperties properties = new AllocationBatchingProperties();
+        properties.setEnabled("batched".equals(mode));
+        scheduler = new AllocationBatchScheduler(service, properties, registry);
+        bids = GuestBids.ofCents(new SplittableRandom(42).longs(guests, 0, 400_00).toArray());
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public AllocationResult allocate() {
+        return scheduler.accepts(guests)
+                ? scheduler.allocate(3, 3, bids, AllocationContext.NONE)
+                : service.allocate(3, 3, bids, AllocationContext.NONE);
+    }
+}
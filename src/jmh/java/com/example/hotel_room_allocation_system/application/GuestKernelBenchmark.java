@@ -0,0 +1,72 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar vs. vector {@link GuestKernel}.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh
+ * # AVX2 only, on a machine that has AVX-512:
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="GuestKernelBenchmark -jvmArgsAppend -XX:UseAVX=2"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GuestKernelBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"scalar", "vector"})
+    String kernel;
+
+    @Param({"100"})
+    int topK;
+
+    private GuestKernel guestKernel;
+    private long[] cents;
+    private long[] premium;
+    private long[] economy;
+
+    @Setup
+    public void setup() {
+        guestKernel = "vector".equals(kernel) ? GuestKernels.select(true) : ScalarGuestKernel.INSTANCE;
+        cents = new SplittableRandom(42).longs(size, 0, 200_00).toArray();
+        premium = new long[size];
+        economy = new long[size];
+    }
+
+    @Benchmark
+    public Computation scan() {
+        GuestScanAccumulator accumulator = new GuestScanAccumulator(topK, 2 * topK);
+        guestKernel.scan(cents, 0, size, accumulator);
+        return accumulator.finish(topK, topK);
+    }
+
+    @Benchmark
+    public int partition() {
+        return guestKernel.partition(cents, 0, size, premium, economy);
+    }
+
+    @Benchmark
+    public long sum() {
+        return guestKernel.sum(cents, 0, size);
+    }
+}
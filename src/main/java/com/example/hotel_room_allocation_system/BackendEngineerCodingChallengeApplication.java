@@ -1,16 +1,42 @@
 package com.example.hotel_room_allocation_system;
 
+import com.example.hotel_room_allocation_system.application.AllocationBatchingProperties;
+import com.example.hotel_room_allocation_system.application.AllocationEngineProperties;
+import com.example.hotel_room_allocation_system.application.MemoryBudgetProperties;
+import com.example.hotel_room_allocation_system.application.OverbookingSimulationProperties;
+import com.example.hotel_room_allocation_system.application.ReservationProperties;
+import com.example.hotel_room_allocation_system.infrastructure.capture.TrafficCaptureProperties;
+import com.example.hotel_room_allocation_system.infrastructure.http.AdmissionControlProperties;
 import com.example.hotel_room_allocation_system.infrastructure.http.ApiLimitsProperties;
+import com.example.hotel_room_allocation_system.infrastructure.http.ApiValidationProperties;
+import com.example.hotel_room_allocation_system.infrastructure.http.RequestDeadlineProperties;
 import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyProperties;
+import com.example.hotel_room_allocation_system.infrastructure.jfr.FlightRecordingProperties;
+import com.example.hotel_room_allocation_system.infrastructure.job.AllocationJobProperties;
+import com.example.hotel_room_allocation_system.infrastructure.snapshot.ExplainSnapshotProperties;
+import com.example.hotel_room_allocation_system.infrastructure.startup.WarmupProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
+import java.util.Arrays;
+
 @SpringBootApplication
-@EnableConfigurationProperties({IdempotencyProperties.class, ApiLimitsProperties.class})
+@EnableConfigurationProperties({IdempotencyProperties.class, ApiLimitsProperties.class, AllocationEngineProperties.class,
+        AdmissionControlProperties.class, AllocationJobProperties.class, WarmupProperties.class,
+        ApiValidationProperties.class, ExplainSnapshotProperties.class,
+        MemoryBudgetProperties.class, RequestDeadlineProperties.class, AllocationBatchingProperties.class,
+        FlightRecordingProperties.class, TrafficCaptureProperties.class, OverbookingSimulationProperties.class,
+        ReservationProperties.class})
 public class BackendEngineerCodingChallengeApplication {
 
 	public static void main(String[] args) {
+		if (args.length > 0 && BatchAllocationCli.COMMAND.equals(args[0])) {
+			System.exit(BatchAllocationCli.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+		}
+		if (args.length > 0 && TrafficReplayCli.COMMAND.equals(args[0])) {
+			System.exit(TrafficReplayCli.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+		}
 		SpringApplication.run(BackendEngineerCodingChallengeApplication.class, args);
 	}
 }
@@ -0,0 +1,83 @@
+package com.example.hotel_room_allocation_system;
+
+import com.example.hotel_room_allocation_system.application.AllocationEngineProperties;
+import com.example.hotel_room_allocation_system.application.AllocationEngineSelector;
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.infrastructure.batch.BatchAllocationRunner;
+import com.example.hotel_room_allocation_system.infrastructure.batch.BidFileFormat;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Offline entry point: allocates every scenario of a bid file and writes a columnar
+ * result file, without starting the web context. Run it as
+ * {@code java -jar app.jar batch --input=bids.bin --output=results.aloc} or through this
+ * class's own {@code main}.
+ * <p>
+ * Metrics go to an empty composite registry, which hands out no-op meters, so workers
+ * do not contend on shared timers.
+ */
+public final class BatchAllocationCli {
+    static final String COMMAND = "batch";
+
+    private static final String USAGE = """
+            usage: batch --input=<file> --output=<file> [--format=binary|csv] [--threads=<n>]
+                         [--chunk-bytes=<n>] [--vectorized]
+            """;
+
+    private BatchAllocationCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Path input = null;
+        Path output = null;
+        BidFileFormat format = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long chunkBytes = BatchAllocationRunner.DEFAULT_CHUNK_BYTES;
+        AllocationEngineProperties engineProperties = new AllocationEngineProperties();
+
+        try {
+            for (String arg : args) {
+                String name = arg.contains("=") ? arg.substring(0, arg.indexOf('=')) : arg;
+                String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "";
+                switch (name) {
+                    case "--input" -> input = Path.of(value);
+                    case "--output" -> output = Path.of(value);
+                    case "--format" -> format = BidFileFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--chunk-bytes" -> chunkBytes = Long.parseLong(value);
+                    case "--vectorized" -> engineProperties.setVectorized(true);
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (input == null || output == null) {
+                throw new IllegalArgumentException("--input and --output are required");
+            }
+
+            RoomAllocationService service = new RoomAllocationService(
+                    new CompositeMeterRegistry(), new AllocationEngineSelector(engineProperties));
+            BatchAllocationRunner runner = new BatchAllocationRunner(service, threads, chunkBytes);
+
+            BatchAllocationRunner.Summary summary = runner.run(input, format != null ? format : BidFileFormat.forPath(input), output);
+            out.printf(Locale.ROOT, "scenarios=%d invalid=%d guests=%d elapsedMs=%d scenariosPerSecond=%.0f%n",
+                    summary.scenarios(), summary.invalid(), summary.guests(),
+                    summary.elapsed().toMillis(), summary.scenariosPerSecond());
+            return 0;
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.print(USAGE);
+            return 2;
+        } catch (IOException e) {
+            err.println("Batch allocation failed: " + e.getMessage());
+            return 1;
+        }
+    }
+}
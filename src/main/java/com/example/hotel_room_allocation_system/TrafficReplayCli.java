@@ -0,0 +1,121 @@
+package com.example.hotel_room_allocation_system;
+
+import com.example.hotel_room_allocation_system.infrastructure.capture.CaptureLogReader;
+import com.example.hotel_room_allocation_system.infrastructure.capture.TrafficReplayer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Replays a capture file or directory (written with {@code api.capture.enabled}) against
+ * a running instance and prints latency and throughput, optionally next to a baseline
+ * report of an earlier run, e.g. of the previous build:
+ * <pre>
+ * java -jar old.jar replay --input=capture/ --report=old.properties
+ * java -jar new.jar replay --input=capture/ --baseline=old.properties
+ * </pre>
+ * Start the instance under test separately; this command only sends requests.
+ */
+public final class TrafficReplayCli {
+    static final String COMMAND = "replay";
+
+    private static final String USAGE = """
+            usage: replay --input=<file|dir> [--target=http://localhost:8080] [--speed=<factor>, 0 = no pacing]
+                          [--max-in-flight=<n>] [--report=<file>] [--baseline=<file>]
+            """;
+
+    private TrafficReplayCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Path input = null;
+        URI target = URI.create("http://localhost:8080");
+        double speed = 1.0;
+        int maxInFlight = 256;
+        Path reportPath = null;
+        Path baselinePath = null;
+
+        try {
+            for (String arg : args) {
+                String name = arg.contains("=") ? arg.substring(0, arg.indexOf('=')) : arg;
+                String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "";
+                switch (name) {
+                    case "--input" -> input = Path.of(value);
+                    case "--target" -> target = URI.create(value);
+                    case "--speed" -> speed = Double.parseDouble(value);
+                    case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                    case "--report" -> reportPath = Path.of(value);
+                    case "--baseline" -> baselinePath = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("--input is required");
+            }
+
+            TrafficReplayer.Report baseline = baselinePath != null ? TrafficReplayer.Report.read(baselinePath) : null;
+            HttpClient client = HttpClient.newBuilder()
+                    // Tomcat drops the default h2c upgrade on POST requests with a body
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            TrafficReplayer.Report report;
+            try (CaptureLogReader reader = new CaptureLogReader(input)) {
+                report = new TrafficReplayer(client, target, speed, maxInFlight).replay(reader);
+            }
+
+            print(out, report, baseline);
+            if (reportPath != null) {
+                report.write(reportPath);
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.print(USAGE);
+            return 2;
+        } catch (IOException e) {
+            err.println("Replay failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Replay interrupted");
+            return 1;
+        }
+    }
+
+    private static void print(PrintStream out, TrafficReplayer.Report report, TrafficReplayer.Report baseline) {
+        out.printf(Locale.ROOT, "requests=%d failed=%d statusMismatches=%d elapsedMs=%d throughput=%.1f/s%n",
+                report.requests(), report.failed(), report.statusMismatches(), report.elapsed().toMillis(), report.throughput());
+        line(out, "captured server time", report.captured(), null);
+        line(out, "replayed latency", report.replayed(), baseline != null ? baseline.replayed() : null);
+        if (baseline != null) {
+            out.printf(Locale.ROOT, "throughput vs baseline: %.1f/s -> %.1f/s (%+.1f%%)%n",
+                    baseline.throughput(), report.throughput(), change(baseline.throughput(), report.throughput()));
+        }
+    }
+
+    private static void line(PrintStream out, String label, TrafficReplayer.Latencies latencies, TrafficReplayer.Latencies baseline) {
+        out.printf(Locale.ROOT, "%-21s p50=%dus p90=%dus p99=%dus p99.9=%dus max=%dus mean=%dus%n", label,
+                latencies.p50(), latencies.p90(), latencies.p99(), latencies.p999(), latencies.max(), latencies.mean());
+        if (baseline != null) {
+            out.printf(Locale.ROOT, "%-21s p50 %+.1f%% p90 %+.1f%% p99 %+.1f%% p99.9 %+.1f%% max %+.1f%% mean %+.1f%%%n",
+                    "  vs baseline",
+                    change(baseline.p50(), latencies.p50()), change(baseline.p90(), latencies.p90()),
+                    change(baseline.p99(), latencies.p99()), change(baseline.p999(), latencies.p999()),
+                    change(baseline.max(), latencies.max()), change(baseline.mean(), latencies.mean()));
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before > 0 ? (after - before) * 100 / before : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.infrastructure.http.ApiLimitsProperties;
+
+final class ExplainLimits {
+
+    private ExplainLimits() {
+    }
+
+    static int resolve(ApiLimitsProperties apiLimitsProperties, Integer explainLimit){
+        int defaultLimit = Math.max(1, apiLimitsProperties.getDefaultExplainLimit());
+        int maxLimit = Math.max(1, apiLimitsProperties.getMaxExplainLimit());
+
+        int limit = (explainLimit == null) ? defaultLimit : explainLimit;
+        if(limit < 0){
+            throw new IllegalArgumentException("explainLimit must be non-negative");
+        }
+
+        if(maxLimit > 0 && limit > maxLimit){
+            throw new IllegalArgumentException("explainLimit exceeds maximum allowed of " + maxLimit);
+        }
+
+        return limit;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hotel_room_allocation_system.api;
+
+final class ExplainVersions {
+
+    private ExplainVersions() {
+    }
+
+    /**
+     * Weak ETag for an explain version: the document is determined by the request, but
+     * the order within a guest list may differ between allocation engines.
+     */
+    static String etag(String version){
+        return "W/\"" + version + "\"";
+    }
+
+    /** Weak comparison of an If-None-Match header against {@code version}. */
+    static boolean matches(String ifNoneMatch, String version){
+        if(ifNoneMatch == null){
+            return false;
+        }
+
+        for(String tag : ifNoneMatch.split(",")){
+            String candidate = tag.trim();
+            if(candidate.equals("*")){
+                return true;
+            }
+            if(candidate.startsWith("W/")){
+                candidate = candidate.substring(2);
+            }
+            if(candidate.length() >= 2 && candidate.startsWith("\"") && candidate.endsWith("\"")){
+                candidate = candidate.substring(1, candidate.length() - 1);
+            }
+            if(candidate.equals(version)){
+                return true;
+            }
+        }
+        return false;
+    }
+}
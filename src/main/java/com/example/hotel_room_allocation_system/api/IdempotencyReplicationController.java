@@ -0,0 +1,52 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyReplicationReceiver;
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyReplicator;
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.ReplicationBatch;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Receiving side of idempotency replication; only mapped when
+ * {@code idempotency.replication.enabled=true}.
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(prefix = "idempotency.replication", name = "enabled", havingValue = "true")
+public class IdempotencyReplicationController {
+    private static final URI TYPE_FORBIDDEN = URI.create("urn:problem:forbidden");
+
+    private final IdempotencyReplicationReceiver receiver;
+
+    public IdempotencyReplicationController(IdempotencyReplicationReceiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @PostMapping(path = IdempotencyReplicator.REPLICATE_PATH, consumes = ReplicationBatch.CONTENT_TYPE)
+    public ResponseEntity<Void> replicate(
+            @RequestHeader(name = IdempotencyReplicator.TOKEN_HEADER, required = false) String token,
+            HttpServletRequest request,
+            InputStream body
+    ) throws IOException {
+        if (!receiver.isAuthorized(request.getRemoteAddr(), token)) {
+            ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, "Replication is not allowed from this source");
+            pd.setType(TYPE_FORBIDDEN);
+            pd.setTitle("Forbidden");
+            throw new ErrorResponseException(HttpStatus.FORBIDDEN, pd, null);
+        }
+        receiver.receive(body);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,18 +1,30 @@
 package com.example.hotel_room_allocation_system.api;
 
+import com.example.hotel_room_allocation_system.api.dto.OccupancyExplainDiffResponse;
 import com.example.hotel_room_allocation_system.api.dto.OccupancyExplainResponse;
 import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
 import com.example.hotel_room_allocation_system.api.dto.OccupancyResponse;
+import com.example.hotel_room_allocation_system.application.AllocationBatchScheduler;
+import com.example.hotel_room_allocation_system.application.AllocationContext;
+import com.example.hotel_room_allocation_system.application.AllocationEvents;
 import com.example.hotel_room_allocation_system.application.RoomAllocationService;
 import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
-import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
 import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.exception.SnapshotNotFoundException;
 import com.example.hotel_room_allocation_system.infrastructure.http.ApiLimitsProperties;
+import com.example.hotel_room_allocation_system.infrastructure.http.ApiValidationProperties;
+import com.example.hotel_room_allocation_system.infrastructure.http.RequestDeadlineFilter;
 import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyResult;
 import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyService;
 import com.example.hotel_room_allocation_system.infrastructure.idempotency.RequestHashingService;
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.SerializedResponse;
+import com.example.hotel_room_allocation_system.infrastructure.snapshot.ExplainSnapshotStore;
+import com.example.hotel_room_allocation_system.infrastructure.startup.WarmupRequests;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,34 +32,89 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.apache.coyote.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.UncheckedIOException;
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Occupancy")
 public class OccupancyController {
     public static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+    public static final String EXPLAIN_DIFF_HEADER = "Explain-Diff";
+    public static final String EXPLAIN_DEGRADED_HEADER = "Explain-Degraded";
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
 
     private final RoomAllocationService roomAllocationService;
     private final IdempotencyService idempotencyService;
     private final RequestHashingService requestHashingService;
     private final ApiLimitsProperties apiLimitsProperties;
+    private final ApiValidationProperties apiValidationProperties;
+    private final OccupancyRequestValidator occupancyRequestValidator;
+    private final ObjectMapper objectMapper;
+    private final ExplainSnapshotStore explainSnapshotStore;
+    private final AllocationBatchScheduler allocationBatchScheduler;
+    private final WarmupRequests warmupRequests;
 
     public OccupancyController(
             RoomAllocationService roomAllocationService,
             IdempotencyService idempotencyService,
             RequestHashingService requestHashingService,
-            ApiLimitsProperties apiLimitsProperties
+            ApiLimitsProperties apiLimitsProperties,
+            ApiValidationProperties apiValidationProperties,
+            OccupancyRequestValidator occupancyRequestValidator,
+            ObjectMapper objectMapper,
+            ExplainSnapshotStore explainSnapshotStore,
+            AllocationBatchScheduler allocationBatchScheduler,
+            WarmupRequests warmupRequests
     ) {
         this.roomAllocationService = roomAllocationService;
         this.idempotencyService = idempotencyService;
         this.requestHashingService = requestHashingService;
         this.apiLimitsProperties = apiLimitsProperties;
+        this.apiValidationProperties = apiValidationProperties;
+        this.occupancyRequestValidator = occupancyRequestValidator;
+        this.objectMapper = objectMapper;
+        this.explainSnapshotStore = explainSnapshotStore;
+        this.allocationBatchScheduler = allocationBatchScheduler;
+        this.warmupRequests = warmupRequests;
+    }
+
+    @InitBinder
+    void initBinder(WebDataBinder binder) {
+        // @Valid then runs the hand-written validator instead of Hibernate Validator
+        if (binder.getTarget() instanceof OccupancyRequest
+                && apiValidationProperties.getMode() == ApiValidationProperties.Mode.FAST) {
+            binder.setValidator(occupancyRequestValidator);
+        }
     }
 
-    @Operation(summary = "Calculate room occupancy and revenue")
+    @Operation(summary = "Calculate room occupancy and revenue", parameters = {
+            @Parameter(in = ParameterIn.HEADER, name = RequestDeadlineFilter.DEADLINE_HEADER,
+                    schema = @Schema(type = "integer", format = "int64"),
+                    description = "Optional absolute deadline in epoch milliseconds; the allocation stops with 504 once it passes"),
+            @Parameter(in = ParameterIn.HEADER, name = RequestDeadlineFilter.TIMEOUT_HEADER,
+                    schema = @Schema(type = "integer", format = "int64"),
+                    description = "Optional timeout in milliseconds, used when no deadline is sent")
+    })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    description = "Occupancy summary, the extended response with allocation details when explain=true, "
+                            + "or only the guest list changes when diffFrom names a stored version",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(oneOf = {OccupancyResponse.class, OccupancyExplainResponse.class,
+                                    OccupancyExplainDiffResponse.class}))),
+            @ApiResponse(responseCode = "304",
+                    description = "explain=true and If-None-Match or diffFrom already names the version of this result"),
+            @ApiResponse(responseCode = "504", description = "The request deadline passed before the allocation finished")
+    })
     @PostMapping(value = "/occupancy", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> occupancy(
             @Valid @RequestBody OccupancyRequest request,
@@ -56,93 +123,180 @@ public class OccupancyController {
             @Parameter(description  = "Maximum number of items returned per list in explain mode")
             @RequestParam(name = "explainLimit", required = false) Integer explainLimit,
             @Parameter(description = "Optional idempotency key to ensure request uniqueness")
-            @RequestHeader(name = IDEMPOTENCY_HEADER, required = false) String idempotencyKey
+            @RequestHeader(name = IDEMPOTENCY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "Optional tenant or API client id; idempotency keys and cache budgets are scoped to it")
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenantId,
+            @Parameter(description = "explain=true only: version (ETag) of an earlier explain result; "
+                    + "the guest lists are then returned as entries added/removed since that version")
+            @RequestParam(name = "diffFrom", required = false) String diffFrom,
+            @Parameter(description = "explain=true only: ETag of an earlier explain result; 304 if it is still current")
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestDeadlineFilter.CONTEXT_ATTRIBUTE, required = false) AllocationContext context,
+            @Parameter(hidden = true)
+            @RequestHeader(name = WarmupRequests.HEADER, required = false) String warmupToken
             ) {
+        AllocationContext requestContext = context == null ? AllocationContext.NONE : context;
+        AllocationContext allocationContext = warmupRequests.matches(warmupToken) ? requestContext.warmup() : requestContext;
         String key = normalizeKey(idempotencyKey);
-        int effectiveExplainLimit = explain ? resolveExplainLimit(explainLimit) : 0;
+        int effectiveExplainLimit = explain ? ExplainLimits.resolve(apiLimitsProperties, explainLimit) : 0;
 
         if(key != null && !explain) {
             String requestHash = requestHashingService.hash(request, false);
+            AllocationEvents.IdempotencyLookup lookup = new AllocationEvents.IdempotencyLookup();
+            lookup.begin();
             IdempotencyResult result = idempotencyService.getOrCompute(
+                    normalizeTenant(tenantId),
                     key,
                     requestHash,
-                    () -> computeResponse(request, false, 0)
+                    () -> {
+                        // a miss: the lookup ends here, the allocation has its own events
+                        lookup.end();
+                        return serialize(computeResponse(request, false, 0, allocationContext.idempotent()));
+                    }
             );
+            if(result.replayed()){
+                lookup.end();
+            }
+            if(lookup.shouldCommit()){
+                lookup.guestCount = request.potentialGuests().size();
+                lookup.replayed = result.replayed();
+                lookup.responseBytes = result.responseBody().length;
+                lookup.commit();
+            }
 
+            // stored bytes are written as-is, a replay never goes through Jackson again
             return ResponseEntity.ok()
                     .header("Idempotency-Replayed", Boolean.toString(result.replayed()))
+                    .contentType(MediaType.parseMediaType(result.contentType()))
                     .body(result.responseBody());
         }
 
-        return ResponseEntity.ok(computeResponse(request, explain, effectiveExplainLimit));
+        if(explain) {
+            String version = requestHashingService.hash(request, true, effectiveExplainLimit);
+            String baseVersion = normalizeKey(diffFrom);
+            if(ExplainVersions.matches(ifNoneMatch, version) || version.equals(baseVersion)) {
+                // the result is a function of the request, so the client already has it
+                return notModified(version);
+            }
+
+            AllocationExplainResult result = (AllocationExplainResult) computeResponse(request, true, effectiveExplainLimit, allocationContext);
+            if(result.explanation().explainLimit() != effectiveExplainLimit) {
+                // counts only under memory pressure: not the document this version stands for
+                return ResponseEntity.ok().header(EXPLAIN_DEGRADED_HEADER, "counts-only").body(result);
+            }
+            if(allocationContext.isWarmup()) {
+                // synthetic: kept out of the snapshot store
+                return ResponseEntity.ok().eTag(ExplainVersions.etag(version)).body(result);
+            }
+            return explainResponse(version, explainSnapshotStore.put(version, result), baseVersion);
+        }
+
+        return ResponseEntity.ok(computeResponse(request, explain, effectiveExplainLimit, allocationContext));
+    }
+
+    @Operation(summary = "Get a stored explain result by version (the ETag of an explain response)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stored explain result, or its changes since diffFrom",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(oneOf = {OccupancyExplainResponse.class, OccupancyExplainDiffResponse.class}))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match or diffFrom already names this version"),
+            @ApiResponse(responseCode = "404", description = "Version unknown, expired or evicted")
+    })
+    @GetMapping("/occupancy/explain/{version}")
+    public ResponseEntity<?> explainSnapshot(
+            @PathVariable String version,
+            @Parameter(description = "Version to diff the guest lists against")
+            @RequestParam(name = "diffFrom", required = false) String diffFrom,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        String baseVersion = normalizeKey(diffFrom);
+        if(ExplainVersions.matches(ifNoneMatch, version) || version.equals(baseVersion)) {
+            return notModified(version);
+        }
+
+        AllocationExplainResult result = explainSnapshotStore.get(version);
+        if(result == null) {
+            throw new SnapshotNotFoundException("Explain version not found: " + version);
+        }
+        return explainResponse(version, result, baseVersion);
+    }
+
+    /**
+     * Full explain result, or its diff against {@code baseVersion} when that snapshot is
+     * still stored. A client asking for a diff can tell from {@link #EXPLAIN_DIFF_HEADER}
+     * whether it has to replace its copy.
+     */
+    private ResponseEntity<?> explainResponse(String version, AllocationExplainResult result, String baseVersion) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ExplainVersions.etag(version));
+        if(baseVersion == null) {
+            return response.body(result);
+        }
+
+        AllocationExplainResult base = explainSnapshotStore.get(baseVersion);
+        if(base == null) {
+            return response.header(EXPLAIN_DIFF_HEADER, "full").body(result);
+        }
+        return response.header(EXPLAIN_DIFF_HEADER, "diff")
+                .body(OccupancyExplainDiffResponse.from(version, baseVersion, base, result));
+    }
+
+    private static ResponseEntity<?> notModified(String version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ExplainVersions.etag(version)).build();
     }
 
-    private Object computeResponse(OccupancyRequest request, boolean explain, int explainLimit){
+    private Object computeResponse(OccupancyRequest request, boolean explain, int explainLimit, AllocationContext context){
         int premiumRoom = request.premiumRooms() == null ? 0 : request.premiumRooms();
         int economyRoom = request.economyRooms() == null ? 0 : request.economyRooms();
 
+        if(!explain && allocationBatchScheduler.accepts(request.potentialGuests().size())){
+            AllocationResult result = allocationBatchScheduler.allocate(
+                    premiumRoom,
+                    economyRoom,
+                    request.potentialGuests(),
+                    context
+            );
+            return OccupancyResponse.from(result);
+        }
+
         if(!explain){
             AllocationResult result = roomAllocationService.allocate(
                     premiumRoom,
                     economyRoom,
-                    request.potentialGuests()
-            );
-            return new OccupancyResponse(
-                    result.usagePremium(),
-                    result.revenuePremium(),
-                    result.usageEconomy(),
-                    result.revenueEconomy()
+                    request.potentialGuests(),
+                    context
             );
+            return OccupancyResponse.from(result);
         }
 
-        AllocationExplainResult result = roomAllocationService.allocateExplain(
+        // written by ExplainResponseHttpMessageConverter in the OccupancyExplainResponse shape
+        return roomAllocationService.allocateExplain(
                 premiumRoom,
                 economyRoom,
                 request.potentialGuests(),
-                explainLimit
-        );
-
-        AllocationResult summary = result.summary();
-        AllocationExplanation ex = result.explanation();
-
-        return new OccupancyExplainResponse(
-                summary.usagePremium(),
-                summary.revenuePremium(),
-                summary.usageEconomy(),
-                summary.revenueEconomy(),
-                new OccupancyExplainResponse.Explaination(
-                        ex.premiumCandidates(),
-                        ex.economyCandidates(),
-                        ex.upgrades(),
-                        ex.allocatedPremiumCount(),
-                        ex.allocatedEconomyCount(),
-                        ex.rejectedPremiumCount(),
-                        ex.rejectedEconomyCount(),
-                        ex.explainLimit(),
-                        ex.upgradedEconomyGuests(),
-                        ex.allocatedPremiumGuests(),
-                        ex.allocatedEconomyGuests(),
-                        ex.rejectedPremiumGuests(),
-                        ex.rejectedEconomyGuests()
-                )
+                explainLimit,
+                context
         );
     }
 
 
-    private int resolveExplainLimit(Integer explainLimit){
-        int defaultLimit = Math.max(1, apiLimitsProperties.getDefaultExplainLimit());
-        int maxLimit = Math.max(1, apiLimitsProperties.getMaxExplainLimit());
-
-        int limit = (explainLimit == null) ? defaultLimit : explainLimit;
-        if(limit < 0){
-            throw new IllegalArgumentException("explainLimit must be non-negative");
+    private SerializedResponse serialize(Object body){
+        try {
+            return SerializedResponse.json(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        if(maxLimit > 0 && limit > maxLimit){
-            throw new IllegalArgumentException("explainLimit exceeds maximum allowed of " + maxLimit);
+    private static String normalizeTenant(String tenantId){
+        String tenant = normalizeKey(tenantId);
+        if(tenant == null){
+            return IdempotencyService.DEFAULT_TENANT;
         }
-
-        return limit;
+        if(!TENANT_PATTERN.matcher(tenant).matches()){
+            throw new IllegalArgumentException(TENANT_HEADER + " must be 1-64 characters of [A-Za-z0-9._-]");
+        }
+        return tenant;
     }
 
     private static String normalizeKey(String key){
@@ -0,0 +1,114 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyJobResponse;
+import com.example.hotel_room_allocation_system.application.AllocationProgress;
+import com.example.hotel_room_allocation_system.infrastructure.http.ApiLimitsProperties;
+import com.example.hotel_room_allocation_system.infrastructure.job.AllocationJob;
+import com.example.hotel_room_allocation_system.infrastructure.job.AllocationJobService;
+import com.example.hotel_room_allocation_system.infrastructure.job.JobProgressPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping(path = "/occupancy/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Occupancy")
+public class OccupancyJobController {
+
+    private final AllocationJobService jobService;
+    private final JobProgressPublisher progressPublisher;
+    private final ApiLimitsProperties apiLimitsProperties;
+
+    public OccupancyJobController(AllocationJobService jobService,
+                                  JobProgressPublisher progressPublisher,
+                                  ApiLimitsProperties apiLimitsProperties) {
+        this.jobService = jobService;
+        this.progressPublisher = progressPublisher;
+        this.apiLimitsProperties = apiLimitsProperties;
+    }
+
+    @Operation(summary = "Submit an allocation job for payloads too large for /occupancy")
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<OccupancyJobResponse> submit(
+            InputStream body,
+            @Parameter(description = "if true, the job result is an extended response with allocation decision details")
+            @RequestParam(name = "explain", defaultValue = "false") boolean explain,
+            @Parameter(description  = "Maximum number of items returned per list in explain mode")
+            @RequestParam(name = "explainLimit", required = false) Integer explainLimit
+    ) throws IOException {
+        int effectiveExplainLimit = explain ? ExplainLimits.resolve(apiLimitsProperties, explainLimit) : 0;
+        AllocationJob job = jobService.submit(body, explain, effectiveExplainLimit);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/occupancy/jobs/" + job.getId()))
+                .body(OccupancyJobResponse.from(job));
+    }
+
+    @Operation(summary = "Get the status and result of an allocation job")
+    @GetMapping("/{jobId}")
+    public CompletableFuture<OccupancyJobResponse> status(
+            @PathVariable String jobId,
+            @Parameter(description = "Long-poll: seconds to wait for the job to finish before answering")
+            @RequestParam(name = "waitSeconds", defaultValue = "0") long waitSeconds
+    ) {
+        AllocationJob job = jobService.get(jobId);
+        long wait = Math.min(Math.max(0, waitSeconds), jobService.maxWaitSeconds());
+
+        if (wait == 0 || job.isDone()) {
+            return CompletableFuture.completedFuture(OccupancyJobResponse.from(job));
+        }
+
+        return job.completion()
+                .copy()
+                .completeOnTimeout(job, wait, TimeUnit.SECONDS)
+                .thenApply(OccupancyJobResponse::from);
+    }
+
+    @Operation(summary = "Stream job progress as Server-Sent Events; the job result is the closing event")
+    @GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String jobId) {
+        AllocationJob job = jobService.get(jobId);
+        SseEmitter emitter = new SseEmitter(jobService.sseTimeoutMillis());
+
+        // events are sent from the publisher thread, never from the allocation worker
+        Runnable unsubscribe = progressPublisher.subscribe(job,
+                progress -> sendProgress(emitter, progress),
+                done -> sendResult(emitter, done));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        return emitter;
+    }
+
+    private static void sendResult(SseEmitter emitter, AllocationJob done) {
+        try {
+            if (done.getStatus() == AllocationJob.Status.SUCCEEDED) {
+                emitter.send(SseEmitter.event().name("result").data(done.getResult(), MediaType.APPLICATION_JSON));
+            } else {
+                emitter.send(SseEmitter.event().name("error").data(OccupancyJobResponse.from(done), MediaType.APPLICATION_JSON));
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void sendProgress(SseEmitter emitter, AllocationProgress progress) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(progress, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+import com.example.hotel_room_allocation_system.application.AllocationEvents;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.infrastructure.http.ApiValidationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+/**
+ * Hand-written equivalent of the constraint annotations on {@link OccupancyRequest}.
+ * Produces the same field names and messages as Hibernate Validator in one pass, without
+ * reflective constraint lookup, and stops after {@code api.validation.maxViolations}
+ * errors. Installed on the request binder by {@link OccupancyController} unless
+ * {@code api.validation.mode=bean}.
+ */
+@Component
+public class OccupancyRequestValidator implements Validator {
+    private final ApiValidationProperties properties;
+
+    public OccupancyRequestValidator(ApiValidationProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return OccupancyRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        OccupancyRequest request = (OccupancyRequest) target;
+        AllocationEvents.Validate event = new AllocationEvents.Validate();
+        event.begin();
+        int errorsBefore = errors.getErrorCount();
+
+        validate(request, errors);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.guestCount = request.potentialGuests() == null ? 0 : request.potentialGuests().size();
+            event.violations = errors.getErrorCount() - errorsBefore;
+            event.commit();
+        }
+    }
+
+    private void validate(OccupancyRequest request, Errors errors) {
+        int budget = Math.max(1, properties.getMaxViolations());
+
+        budget -= validateRooms(errors, "premiumRooms", request.premiumRooms(),
+                OccupancyRequest.PREMIUM_ROOMS_MIN_MESSAGE, OccupancyRequest.PREMIUM_ROOMS_MAX_MESSAGE);
+        budget -= validateRooms(errors, "economyRooms", request.economyRooms(),
+                OccupancyRequest.ECONOMY_ROOMS_MIN_MESSAGE, OccupancyRequest.ECONOMY_ROOMS_MAX_MESSAGE);
+
+        GuestBids guests = request.potentialGuests();
+        if (guests == null) {
+            reject(errors, "potentialGuests", "NotNull", null, OccupancyRequest.GUESTS_NULL_MESSAGE);
+            return;
+        }
+        if (guests.size() > OccupancyRequest.MAX_GUESTS) {
+            reject(errors, "potentialGuests", "Size", null, OccupancyRequest.GUESTS_SIZE_MESSAGE);
+            budget--;
+        }
+
+        for (GuestBids.Violation violation : guests.violations()) {
+            if (budget-- <= 0) {
+                break;
+            }
+            reject(errors, "potentialGuests[" + violation.index() + "]", "ValidGuestBids",
+                    violation.rejectedValue(), violation.message());
+        }
+    }
+
+    private static int validateRooms(Errors errors, String field, Integer rooms, String minMessage, String maxMessage) {
+        if (rooms == null) {
+            return 0;
+        }
+        if (rooms < 0) {
+            reject(errors, field, "Min", rooms, minMessage);
+            return 1;
+        }
+        if (rooms > OccupancyRequest.MAX_ROOMS) {
+            reject(errors, field, "Max", rooms, maxMessage);
+            return 1;
+        }
+        return 0;
+    }
+
+    private static void reject(Errors errors, String field, String code, Object rejectedValue, String message) {
+        if (errors instanceof BindingResult bindingResult) {
+            // rejected values are already known, so skip the property lookup rejectValue() would do
+            bindingResult.addError(new FieldError(errors.getObjectName(), field, rejectedValue, false,
+                    bindingResult.resolveMessageCodes(code, field), null, message));
+        } else {
+            errors.rejectValue(field, code, message);
+        }
+    }
+}
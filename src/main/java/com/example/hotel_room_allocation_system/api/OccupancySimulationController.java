@@ -0,0 +1,72 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancySimulationRequest;
+import com.example.hotel_room_allocation_system.api.dto.OccupancySimulationResponse;
+import com.example.hotel_room_allocation_system.application.AllocationContext;
+import com.example.hotel_room_allocation_system.application.OverbookingSimulationProperties;
+import com.example.hotel_room_allocation_system.application.OverbookingSimulator;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.infrastructure.http.RequestDeadlineFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@RestController
+@RequestMapping(path = "/occupancy/simulation", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Occupancy")
+public class OccupancySimulationController {
+    private static final int DEFAULT_MAX_OVERBOOKING = 5;
+
+    private final OverbookingSimulator simulator;
+    private final OverbookingSimulationProperties properties;
+
+    public OccupancySimulationController(OverbookingSimulator simulator, OverbookingSimulationProperties properties) {
+        this.simulator = simulator;
+        this.properties = properties;
+    }
+
+    @Operation(summary = "Simulate expected revenue per overbooking level under random no-shows", parameters = {
+            @Parameter(in = ParameterIn.HEADER, name = RequestDeadlineFilter.DEADLINE_HEADER,
+                    schema = @Schema(type = "integer", format = "int64"),
+                    description = "Optional absolute deadline in epoch milliseconds; the simulation stops with 504 once it passes"),
+            @Parameter(in = ParameterIn.HEADER, name = RequestDeadlineFilter.TIMEOUT_HEADER,
+                    schema = @Schema(type = "integer", format = "int64"),
+                    description = "Optional timeout in milliseconds, used when no deadline is sent")
+    })
+    @ApiResponse(responseCode = "504", description = "The request deadline passed before the simulation finished")
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public OccupancySimulationResponse simulate(
+            @Valid @RequestBody OccupancySimulationRequest request,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestDeadlineFilter.CONTEXT_ATTRIBUTE, required = false) AllocationContext context) {
+        if (request.noShowProbability() == null && request.noShowProbabilities() == null) {
+            throw new IllegalArgumentException("noShowProbability or noShowProbabilities is required");
+        }
+        double[] perGuest = request.noShowProbabilities() == null ? null
+                : request.noShowProbabilities().stream().mapToDouble(Double::doubleValue).toArray();
+
+        OverbookingSimulator.Scenario scenario = new OverbookingSimulator.Scenario(
+                request.premiumRooms(),
+                request.economyRooms(),
+                request.potentialGuests(),
+                request.noShowProbability() == null ? 0 : request.noShowProbability(),
+                perGuest,
+                request.maxOverbooking() == null
+                        ? Math.min(DEFAULT_MAX_OVERBOOKING, properties.getMaxOverbooking())
+                        : request.maxOverbooking(),
+                request.walkCost() == null ? 0 : GuestBids.toCents(request.walkCost()),
+                request.trials() == null ? properties.getDefaultTrials() : request.trials(),
+                request.seed() == null ? ThreadLocalRandom.current().nextLong() : request.seed());
+
+        return OccupancySimulationResponse.from(
+                simulator.simulate(scenario, context == null ? AllocationContext.NONE : context));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.api.dto.HotelInventoryRequest;
+import com.example.hotel_room_allocation_system.api.dto.HotelInventoryResponse;
+import com.example.hotel_room_allocation_system.api.dto.ReservationRequest;
+import com.example.hotel_room_allocation_system.api.dto.ReservationResponse;
+import com.example.hotel_room_allocation_system.application.ReservationService;
+import com.example.hotel_room_allocation_system.domain.Reservation;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @Operation(summary = "Register premium and economy capacity for a range of nights")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Capacity and free rooms of the registered nights"),
+            @ApiResponse(responseCode = "409", description = "A night already has more rooms reserved than the new capacity")
+    })
+    @PutMapping(value = "/hotels/{hotelId}/inventory", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public HotelInventoryResponse registerInventory(@PathVariable String hotelId,
+                                                    @Valid @RequestBody HotelInventoryRequest request) {
+        return new HotelInventoryResponse(hotelId, reservationService.registerCapacity(
+                hotelId, request.from(), request.to(), request.premiumRooms(), request.economyRooms()));
+    }
+
+    @Operation(summary = "Get capacity and free rooms of a hotel for a range of nights")
+    @GetMapping("/hotels/{hotelId}/inventory")
+    public HotelInventoryResponse inventory(
+            @PathVariable String hotelId,
+            @Parameter(description = "First night")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Night after the last one")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return new HotelInventoryResponse(hotelId, reservationService.availability(hotelId, from, to));
+    }
+
+    @Operation(summary = "Reserve a room for every night of a stay")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Room reserved; economy guests are upgraded when economy is full"),
+            @ApiResponse(responseCode = "404", description = "The hotel has no registered inventory"),
+            @ApiResponse(responseCode = "409", description = "No room of an acceptable tier is free for every night")
+    })
+    @PostMapping(value = "/reservations", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReservationRequest request) {
+        Reservation reservation = reservationService.reserve(
+                request.hotelId(), request.checkIn(), request.checkOut(), request.price());
+
+        return ResponseEntity.created(URI.create("/reservations/" + reservation.id()))
+                .body(ReservationResponse.from(reservation));
+    }
+
+    @Operation(summary = "Get a reservation")
+    @GetMapping("/reservations/{reservationId}")
+    public ReservationResponse reservation(@PathVariable String reservationId) {
+        return ReservationResponse.from(reservationService.get(reservationId));
+    }
+
+    @Operation(summary = "Cancel a reservation and release its rooms")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Reservation cancelled"),
+            @ApiResponse(responseCode = "404", description = "Reservation unknown or already cancelled")
+    })
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> cancel(@PathVariable String reservationId) {
+        reservationService.cancel(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class GuestBidsValidator implements ConstraintValidator<ValidGuestBids, GuestBids> {
+
+    @Override
+    public boolean isValid(GuestBids value, ConstraintValidatorContext context) {
+        if (value == null || !value.hasViolations()) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        for (GuestBids.Violation violation : value.violations()) {
+            context.buildConstraintViolationWithTemplate(violation.message())
+                    .addBeanNode()
+                    .inIterable()
+                    .atIndex(violation.index())
+                    .addConstraintViolation();
+        }
+        return false;
+    }
+}
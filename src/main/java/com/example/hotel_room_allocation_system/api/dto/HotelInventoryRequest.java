@@ -0,0 +1,30 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+@Schema(name = "HotelInventoryRequest")
+public record HotelInventoryRequest(
+        @Schema(example = "2026-11-01", description = "First night to register")
+        @NotNull(message = "from must not be null")
+        LocalDate from,
+
+        @Schema(example = "2026-12-01", description = "Night after the last one to register")
+        @NotNull(message = "to must not be null")
+        LocalDate to,
+
+        @Schema(example = "7", description = "Premium rooms available each night")
+        @NotNull(message = "Premium rooms must not be null")
+        @Min(value = 0, message = OccupancyRequest.PREMIUM_ROOMS_MIN_MESSAGE)
+        @Max(value = OccupancyRequest.MAX_ROOMS, message = OccupancyRequest.PREMIUM_ROOMS_MAX_MESSAGE)
+        Integer premiumRooms,
+
+        @Schema(example = "5", description = "Economy rooms available each night")
+        @NotNull(message = "Economy rooms must not be null")
+        @Min(value = 0, message = OccupancyRequest.ECONOMY_ROOMS_MIN_MESSAGE)
+        @Max(value = OccupancyRequest.MAX_ROOMS, message = OccupancyRequest.ECONOMY_ROOMS_MAX_MESSAGE)
+        Integer economyRooms
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.domain.NightAvailability;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "HotelInventoryResponse")
+public record HotelInventoryResponse(
+        @Schema(example = "hotel-1")
+        String hotelId,
+
+        @Schema(description = "Capacity and free rooms per night")
+        List<NightAvailability> nights
+) {
+}
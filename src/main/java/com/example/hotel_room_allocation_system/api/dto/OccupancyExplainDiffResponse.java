@@ -0,0 +1,97 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBidsDiff;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(name = "OccupancyExplainDiffResponse",
+        description = "Explain response relative to an earlier version: summary and counts in full, guest lists as added/removed entries")
+public record OccupancyExplainDiffResponse(
+        @Schema(description = "Version of this result, also sent as the ETag")
+        String version,
+
+        @Schema(description = "Version the guest lists are diffed against (the diffFrom parameter)")
+        String baseVersion,
+
+        @Schema(example = "6", description = "Number of premium rooms occupied")
+        int usagePremium,
+
+        @Schema(example = "1054", description = "Revenue from occupied premium rooms (EUR)")
+        BigDecimal revenuePremium,
+
+        @Schema(example = "3", description = "Number of economy rooms occupied")
+        int usageEconomy,
+
+        @Schema(example = "189.99", description = "Revenue from occupied economy rooms (EUR)")
+        BigDecimal revenueEconomy,
+
+        @Schema(description = "Allocation details; guest lists only contain the changes since baseVersion")
+        ExplainationDiff explaination
+) {
+    public static OccupancyExplainDiffResponse from(String version, String baseVersion,
+                                                    AllocationExplainResult base, AllocationExplainResult result) {
+        AllocationResult summary = result.summary();
+        AllocationExplanation before = base.explanation();
+        AllocationExplanation ex = result.explanation();
+
+        return new OccupancyExplainDiffResponse(
+                version,
+                baseVersion,
+                summary.usagePremium(),
+                summary.revenuePremium(),
+                summary.usageEconomy(),
+                summary.revenueEconomy(),
+                new ExplainationDiff(
+                        ex.premiumCandidates(),
+                        ex.economyCandidates(),
+                        ex.upgrades(),
+                        ex.allocatedPremiumCount(),
+                        ex.allocatedEconomyCount(),
+                        ex.rejectedPremiumCount(),
+                        ex.rejectedEconomyCount(),
+                        ex.explainLimit(),
+                        GuestsDiff.of(before.upgradedEconomyGuests(), ex.upgradedEconomyGuests()),
+                        GuestsDiff.of(before.allocatedPremiumGuests(), ex.allocatedPremiumGuests()),
+                        GuestsDiff.of(before.allocatedEconomyGuests(), ex.allocatedEconomyGuests()),
+                        GuestsDiff.of(before.rejectedPremiumGuests(), ex.rejectedPremiumGuests()),
+                        GuestsDiff.of(before.rejectedEconomyGuests(), ex.rejectedEconomyGuests())
+                )
+        );
+    }
+
+    @Schema(name = "OccupancyExplainationDiff")
+    public record ExplainationDiff(
+            int premiumCandidates,
+            int economyCandidates,
+            int upgrades,
+            int allocatedPremiumCount,
+            int allocatedEconomyCount,
+            int rejectedPremiumCount,
+            int rejectedEconomyCount,
+            int explainLimit,
+            GuestsDiff upgradeEconomyGuests,
+            GuestsDiff allocatedPremiumGuests,
+            GuestsDiff allocatedEconomyGuests,
+            GuestsDiff rejectedPremiumGuests,
+            GuestsDiff rejectedEconomyGuests
+    ) {}
+
+    @Schema(name = "GuestsDiff")
+    public record GuestsDiff(
+            @Schema(example = "[374]", description = "Entries that are in the list now but were not in the base version")
+            List<BigDecimal> added,
+
+            @Schema(example = "[209]", description = "Entries that were in the base version but are no longer in the list")
+            List<BigDecimal> removed
+    ) {
+        static GuestsDiff of(List<BigDecimal> before, List<BigDecimal> after) {
+            GuestBidsDiff diff = GuestBidsDiff.between(before, after);
+            return new GuestsDiff(diff.added(), diff.removed());
+        }
+    }
+}
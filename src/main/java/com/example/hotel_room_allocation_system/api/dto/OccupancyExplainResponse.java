@@ -1,5 +1,8 @@
 package com.example.hotel_room_allocation_system.api.dto;
 
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -22,7 +25,34 @@ public record OccupancyExplainResponse (
         @Schema(description = "Debug information about the allocation process")
         Explaination explaination
 ) {
-    @Schema(name = "OccupancyExplainResponse")
+    public static OccupancyExplainResponse from(AllocationExplainResult result) {
+        AllocationResult summary = result.summary();
+        AllocationExplanation ex = result.explanation();
+
+        return new OccupancyExplainResponse(
+                summary.usagePremium(),
+                summary.revenuePremium(),
+                summary.usageEconomy(),
+                summary.revenueEconomy(),
+                new Explaination(
+                        ex.premiumCandidates(),
+                        ex.economyCandidates(),
+                        ex.upgrades(),
+                        ex.allocatedPremiumCount(),
+                        ex.allocatedEconomyCount(),
+                        ex.rejectedPremiumCount(),
+                        ex.rejectedEconomyCount(),
+                        ex.explainLimit(),
+                        ex.upgradedEconomyGuests(),
+                        ex.allocatedPremiumGuests(),
+                        ex.allocatedEconomyGuests(),
+                        ex.rejectedPremiumGuests(),
+                        ex.rejectedEconomyGuests()
+                )
+        );
+    }
+
+    @Schema(name = "OccupancyExplaination")
     public record Explaination(
             @Schema(example = "6", description = "Number of economy candidates (>=100)")
             int premiumCandidates,
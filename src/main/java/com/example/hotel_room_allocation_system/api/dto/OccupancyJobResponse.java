@@ -0,0 +1,38 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.infrastructure.job.AllocationJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(name = "OccupancyJobResponse")
+public record OccupancyJobResponse(
+        @Schema(example = "3f2b8c1e-5d7a-4a8e-9c43-0e6f1b2d4a55", description = "Identifier to poll the job with")
+        String jobId,
+
+        @Schema(example = "SUCCEEDED", description = "QUEUED, RUNNING, SUCCEEDED or FAILED")
+        AllocationJob.Status status,
+
+        @Schema(description = "When the job was accepted")
+        Instant submittedAt,
+
+        @Schema(description = "When the job finished, null while it is still queued or running")
+        Instant completedAt,
+
+        @Schema(description = "Failure reason when status is FAILED")
+        String error,
+
+        @Schema(description = "OccupancyResponse, or OccupancyExplainResponse in explain mode, once the job succeeded")
+        Object result
+) {
+    public static OccupancyJobResponse from(AllocationJob job) {
+        return new OccupancyJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getSubmittedAt(),
+                job.getCompletedAt(),
+                job.getError(),
+                job.getResult()
+        );
+    }
+}
@@ -1,31 +1,43 @@
 package com.example.hotel_room_allocation_system.api.dto;
 
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.infrastructure.http.GuestBidsDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 
-import java.math.BigDecimal;
-import java.util.List;
-
 @Schema(name = "OccupancyRequest")
 public record OccupancyRequest (
         @Schema(example = "7", description = "Number of available premium rooms")
-        @Min(value = 0, message = "Premium rooms must be >= 0")
-        @Max(value = 1_00_000, message = "Premium rooms must be <= 100000")
+        @Min(value = 0, message = OccupancyRequest.PREMIUM_ROOMS_MIN_MESSAGE)
+        @Max(value = OccupancyRequest.MAX_ROOMS, message = OccupancyRequest.PREMIUM_ROOMS_MAX_MESSAGE)
         Integer premiumRooms,
 
         @Schema(example = "5", description = "Number of available economy rooms")
-        @Min(value = 0, message = "Economy rooms must be >= 0")
-        @Max(value = 1_00_000, message = "Economy rooms must be <= 100000")
+        @Min(value = 0, message = OccupancyRequest.ECONOMY_ROOMS_MIN_MESSAGE)
+        @Max(value = OccupancyRequest.MAX_ROOMS, message = OccupancyRequest.ECONOMY_ROOMS_MAX_MESSAGE)
         Integer economyRooms,
 
-        @Schema(example = "[23.00,45.99,155.00]",
-                description = "List of potential guests with their offered prices (EUR)")
-        @NotNull(message = "Potential guest prices list must not be null")
-        @Size(max = 1_00_000, message = "Potential guest prices list size must be between 0 and 100000")
-        List<@NotNull(message = "Potential guest prices must not be null")
-                @DecimalMin(value = "0.0", inclusive = true, message = "Potential guest prices must be >= 0")
-                @DecimalMax(value = "100000.0", inclusive = true, message = "Potential guest prices must be <= 100000")
-                @Digits(integer = 7, fraction = 2, message = "Potential guest prices must have up to 7 integer digits and up to 2 fractional digits")
-                BigDecimal> potentialGuests
+        // range, scale and null checks run inside GuestBidsDeserializer and are reported by @ValidGuestBids
+        @ArraySchema(
+                arraySchema = @Schema(example = "[23.00,45.99,155.00]",
+                        description = "List of potential guests with their offered prices (EUR)"),
+                schema = @Schema(type = "number", minimum = "0", maximum = "100000"),
+                maxItems = OccupancyRequest.MAX_GUESTS)
+        @NotNull(message = OccupancyRequest.GUESTS_NULL_MESSAGE)
+        @Size(max = OccupancyRequest.MAX_GUESTS, message = OccupancyRequest.GUESTS_SIZE_MESSAGE)
+        @ValidGuestBids
+        @JsonDeserialize(using = GuestBidsDeserializer.class)
+        GuestBids potentialGuests
 ) {
+    // shared with OccupancyRequestValidator and the job request reader
+    public static final int MAX_ROOMS = 1_00_000;
+    public static final int MAX_GUESTS = 1_00_000;
+    public static final String PREMIUM_ROOMS_MIN_MESSAGE = "Premium rooms must be >= 0";
+    public static final String PREMIUM_ROOMS_MAX_MESSAGE = "Premium rooms must be <= " + MAX_ROOMS;
+    public static final String ECONOMY_ROOMS_MIN_MESSAGE = "Economy rooms must be >= 0";
+    public static final String ECONOMY_ROOMS_MAX_MESSAGE = "Economy rooms must be <= " + MAX_ROOMS;
+    public static final String GUESTS_NULL_MESSAGE = "Potential guest prices list must not be null";
+    public static final String GUESTS_SIZE_MESSAGE = "Potential guest prices list size must be between 0 and " + MAX_GUESTS;
 }
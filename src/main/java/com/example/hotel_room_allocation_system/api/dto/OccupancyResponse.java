@@ -1,5 +1,6 @@
 package com.example.hotel_room_allocation_system.api.dto;
 
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -18,4 +19,12 @@ public record OccupancyResponse (
         @Schema(example = "189.99", description = "Revenue from occupied economy rooms (EUR)")
         BigDecimal revenueEconomy
 ) {
+    public static OccupancyResponse from(AllocationResult result) {
+        return new OccupancyResponse(
+                result.usagePremium(),
+                result.revenuePremium(),
+                result.usageEconomy(),
+                result.revenueEconomy()
+        );
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.infrastructure.http.GuestBidsDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(name = "OccupancySimulationRequest")
+public record OccupancySimulationRequest(
+        @Schema(example = "7", description = "Number of available premium rooms")
+        @NotNull(message = "Premium rooms must not be null")
+        @Min(value = 0, message = OccupancyRequest.PREMIUM_ROOMS_MIN_MESSAGE)
+        @Max(value = OccupancyRequest.MAX_ROOMS, message = OccupancyRequest.PREMIUM_ROOMS_MAX_MESSAGE)
+        Integer premiumRooms,
+
+        @Schema(example = "5", description = "Number of available economy rooms")
+        @NotNull(message = "Economy rooms must not be null")
+        @Min(value = 0, message = OccupancyRequest.ECONOMY_ROOMS_MIN_MESSAGE)
+        @Max(value = OccupancyRequest.MAX_ROOMS, message = OccupancyRequest.ECONOMY_ROOMS_MAX_MESSAGE)
+        Integer economyRooms,
+
+        @ArraySchema(
+                arraySchema = @Schema(example = "[23.00,45.99,155.00]",
+                        description = "List of potential guests with their offered prices (EUR)"),
+                schema = @Schema(type = "number", minimum = "0", maximum = "100000"),
+                maxItems = OccupancyRequest.MAX_GUESTS)
+        @NotNull(message = OccupancyRequest.GUESTS_NULL_MESSAGE)
+        @Size(max = OccupancyRequest.MAX_GUESTS, message = OccupancyRequest.GUESTS_SIZE_MESSAGE)
+        @ValidGuestBids
+        @JsonDeserialize(using = GuestBidsDeserializer.class)
+        GuestBids potentialGuests,
+
+        @Schema(example = "0.1", description = "No-show probability of every guest; ignored when noShowProbabilities is set")
+        @DecimalMin(value = "0", message = "noShowProbability must be >= 0")
+        @DecimalMax(value = "1", message = "noShowProbability must be <= 1")
+        Double noShowProbability,
+
+        @ArraySchema(
+                arraySchema = @Schema(description = "No-show probability per potential guest, in the same order"),
+                schema = @Schema(type = "number", minimum = "0", maximum = "1"),
+                maxItems = OccupancyRequest.MAX_GUESTS)
+        @Size(max = OccupancyRequest.MAX_GUESTS, message = "noShowProbabilities size must be between 0 and 100000")
+        List<@NotNull(message = "noShowProbabilities entries must not be null")
+                @DecimalMin(value = "0", message = "noShowProbabilities entries must be >= 0")
+                @DecimalMax(value = "1", message = "noShowProbabilities entries must be <= 1") Double> noShowProbabilities,
+
+        @Schema(example = "3", description = "Highest number of extra bookings per tier to simulate, starting from 0")
+        @Min(value = 0, message = "maxOverbooking must be >= 0")
+        Integer maxOverbooking,
+
+        @Schema(example = "150", description = "Cost of walking a guest who shows up without a room (EUR)")
+        @DecimalMin(value = "0", message = "walkCost must be >= 0")
+        @Digits(integer = 7, fraction = 2, message = "walkCost must have up to 7 integer digits and up to 2 fractional digits")
+        BigDecimal walkCost,
+
+        @Schema(example = "10000", description = "Number of randomized trials")
+        @Min(value = 1, message = "trials must be >= 1")
+        Integer trials,
+
+        @Schema(example = "42", description = "Random seed; the same seed and input give the same result")
+        Long seed
+) {
+}
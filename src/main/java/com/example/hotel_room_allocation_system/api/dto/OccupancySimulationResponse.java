@@ -0,0 +1,66 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.domain.OverbookingSimulation;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(name = "OccupancySimulationResponse")
+public record OccupancySimulationResponse(
+        @Schema(example = "10000", description = "Number of randomized trials")
+        int trials,
+
+        @Schema(example = "42", description = "Seed of the trials, to reproduce this result")
+        long seed,
+
+        @Schema(example = "2", description = "Overbooking level with the highest expected revenue")
+        int recommendedOverbooking,
+
+        @Schema(description = "Revenue distribution per overbooking level, starting at 0")
+        List<Level> levels
+) {
+    @Schema(name = "OccupancySimulationLevel")
+    public record Level(
+            @Schema(example = "2", description = "Extra bookings per tier beyond the available rooms")
+            int overbooking,
+
+            @Schema(example = "8", description = "Guests booked into premium rooms, upgrades included")
+            int bookedPremium,
+
+            @Schema(example = "7", description = "Guests booked into economy rooms")
+            int bookedEconomy,
+
+            @Schema(example = "1180.5", description = "Mean revenue net of walk costs (EUR)")
+            BigDecimal expectedRevenue,
+
+            @Schema(example = "1010", description = "5th percentile of the net revenue (EUR)")
+            BigDecimal revenueP5,
+
+            @Schema(example = "1190", description = "Median net revenue (EUR)")
+            BigDecimal revenueP50,
+
+            @Schema(example = "1290", description = "95th percentile of the net revenue (EUR)")
+            BigDecimal revenueP95,
+
+            @Schema(example = "0.4", description = "Mean number of guests who showed up without a room")
+            double expectedWalked,
+
+            @Schema(example = "0.3", description = "Share of trials in which at least one guest was walked")
+            double walkProbability
+    ) {
+    }
+
+    public static OccupancySimulationResponse from(OverbookingSimulation simulation) {
+        return new OccupancySimulationResponse(
+                simulation.trials(),
+                simulation.seed(),
+                simulation.recommendedOverbooking(),
+                simulation.levels().stream()
+                        .map(l -> new Level(l.overbooking(), l.bookedPremium(), l.bookedEconomy(),
+                                l.expectedRevenue(), l.revenueP5(), l.revenueP50(), l.revenueP95(),
+                                l.expectedWalked(), l.walkProbability()))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(name = "ReservationRequest")
+public record ReservationRequest(
+        @Schema(example = "hotel-1", description = "Hotel with registered inventory")
+        @NotBlank(message = "hotelId must not be blank")
+        @Size(max = 128, message = "hotelId must be at most 128 characters")
+        String hotelId,
+
+        @Schema(example = "2026-11-02", description = "First night of the stay")
+        @NotNull(message = "checkIn must not be null")
+        LocalDate checkIn,
+
+        @Schema(example = "2026-11-04", description = "Day of departure; the night before it is the last one booked")
+        @NotNull(message = "checkOut must not be null")
+        LocalDate checkOut,
+
+        @Schema(example = "155.00", description = "Price the guest pays per night (EUR); 100 or more books a premium room")
+        @NotNull(message = "price must not be null")
+        @DecimalMin(value = "0", message = "price must be >= 0")
+        @DecimalMax(value = "100000", message = "price must be <= 100000")
+        @Digits(integer = 6, fraction = 2, message = "price must have up to 2 fractional digits")
+        BigDecimal price
+) {
+}
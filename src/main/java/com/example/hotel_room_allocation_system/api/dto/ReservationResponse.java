@@ -0,0 +1,48 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import com.example.hotel_room_allocation_system.domain.Reservation;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(name = "ReservationResponse")
+public record ReservationResponse(
+        @Schema(example = "3f2c0c9e-6a55-4a43-9d1e-0b6f1f5c2a10")
+        String id,
+
+        @Schema(example = "hotel-1")
+        String hotelId,
+
+        @Schema(example = "2026-11-02")
+        LocalDate checkIn,
+
+        @Schema(example = "2026-11-04")
+        LocalDate checkOut,
+
+        @Schema(example = "155", description = "Price per night (EUR)")
+        BigDecimal price,
+
+        @Schema(example = "PREMIUM", description = "Tier of the reserved room; ECONOMY if any night is in economy")
+        Reservation.RoomType roomType,
+
+        @Schema(example = "false", description = "True for an economy guest given a premium room on a night where economy was full")
+        boolean upgraded,
+
+        @Schema(example = "[\"PREMIUM\", \"PREMIUM\"]", description = "Tier of the room for each night, from checkIn")
+        List<Reservation.RoomType> nightRoomTypes
+) {
+    public static ReservationResponse from(Reservation reservation) {
+        return new ReservationResponse(
+                reservation.id(),
+                reservation.hotelId(),
+                reservation.checkIn(),
+                reservation.checkOut(),
+                reservation.price(),
+                reservation.roomType(),
+                reservation.upgraded(),
+                reservation.nightRoomTypes()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hotel_room_allocation_system.api.dto;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reports the per-entry violations recorded while deserializing
+ * {@link com.example.hotel_room_allocation_system.domain.GuestBids} as
+ * {@code potentialGuests[i]} field errors.
+ */
+@Documented
+@Constraint(validatedBy = GuestBidsValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidGuestBids {
+
+    String message() default "Invalid potential guest price";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
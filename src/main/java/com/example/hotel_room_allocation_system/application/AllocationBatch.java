@@ -0,0 +1,65 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+import java.util.Arrays;
+
+/**
+ * Small allocations collected by {@link AllocationBatchScheduler}, with their outcomes
+ * and the scan scratch reused for every entry of every batch. Owned by one worker
+ * thread; not thread safe.
+ */
+final class AllocationBatch {
+    private static final int INITIAL_TOP_CAPACITY = 64;
+
+    final int capacity;
+    int size;
+
+    final int[] premiumRooms;
+    final int[] economyRooms;
+    final GuestBids[] guests;
+    final AllocationContext[] contexts;
+
+    final AllocationResult[] results;
+    final RuntimeException[] failures;
+    final int[] upgrades;
+    final long[] nanos;
+
+    final GuestScanAccumulator accumulator = new GuestScanAccumulator(0, 0);
+    long[] premiumTop = new long[INITIAL_TOP_CAPACITY];
+    long[] economyTop = new long[INITIAL_TOP_CAPACITY];
+
+    AllocationBatch(int capacity) {
+        this.capacity = capacity;
+        this.premiumRooms = new int[capacity];
+        this.economyRooms = new int[capacity];
+        this.guests = new GuestBids[capacity];
+        this.contexts = new AllocationContext[capacity];
+        this.results = new AllocationResult[capacity];
+        this.failures = new RuntimeException[capacity];
+        this.upgrades = new int[capacity];
+        this.nanos = new long[capacity];
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    void add(int premiumRooms, int economyRooms, GuestBids guests, AllocationContext context) {
+        this.premiumRooms[size] = premiumRooms;
+        this.economyRooms[size] = economyRooms;
+        this.guests[size] = guests;
+        this.contexts[size] = context;
+        size++;
+    }
+
+    /** Drops the references held for the last batch so requests can be collected. */
+    void clear() {
+        Arrays.fill(guests, 0, size, null);
+        Arrays.fill(contexts, 0, size, null);
+        Arrays.fill(results, 0, size, null);
+        Arrays.fill(failures, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional micro-batching front of {@link RoomAllocationService} for tiny requests, where
+ * the per-call overhead (meter updates, memory budget, engine selection, scratch
+ * allocation) costs more than the scan itself.
+ * <p>
+ * Callers enqueue a request and wait on its future. A single worker takes the first
+ * queued request, keeps collecting for up to {@code windowMicros} or {@code maxBatchSize}
+ * requests, runs them back to back over reused scratch, completes the futures and only
+ * then records the batch's meters. When the queue is full the caller runs the
+ * allocation itself.
+ */
+@Component
+public class AllocationBatchScheduler {
+    private static final Logger log = LoggerFactory.getLogger(AllocationBatchScheduler.class);
+
+    private record Request(int premiumRooms,
+                           int economyRooms,
+                           GuestBids guests,
+                           AllocationContext context,
+                           CompletableFuture<AllocationResult> result) { }
+
+    private final RoomAllocationService allocationService;
+    private final AllocationBatchingProperties properties;
+    private final BlockingQueue<Request> queue;
+    private final DistributionSummary batchSize;
+    private final Counter overflow;
+    private final Thread worker;
+
+    private volatile boolean running;
+
+    public AllocationBatchScheduler(RoomAllocationService allocationService,
+                                    AllocationBatchingProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.allocationService = allocationService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+
+        this.batchSize = DistributionSummary.builder("allocation.batch.size")
+                .description("Requests run per micro-batch")
+                .register(meterRegistry);
+        this.overflow = Counter.builder("allocation.batch.overflow")
+                .description("Small requests run directly because the batch queue was full")
+                .register(meterRegistry);
+
+        this.running = properties.isEnabled();
+        if (running) {
+            this.worker = new Thread(this::runWorker, "allocation-batcher");
+            this.worker.setDaemon(true);
+            this.worker.start();
+            log.info("Allocation micro-batching enabled for up to {} guests", properties.getMaxGuests());
+        } else {
+            this.worker = null;
+        }
+    }
+
+    /** True when a request of {@code guestCount} guests goes through the batch queue. */
+    public boolean accepts(int guestCount) {
+        return running && guestCount <= properties.getMaxGuests();
+    }
+
+    /**
+     * Same result and exceptions as {@link RoomAllocationService#allocate(int, int, GuestBids, AllocationContext)}.
+     */
+    public AllocationResult allocate(int premiumRooms, int economyRooms, GuestBids guests, AllocationContext context) {
+        Request request = new Request(premiumRooms, economyRooms, guests, context, new CompletableFuture<>());
+        if (!running || !queue.offer(request)) {
+            overflow.increment();
+            return allocationService.allocate(premiumRooms, economyRooms, guests, context);
+        }
+        if (!running && queue.remove(request)) {
+            // enqueued after shutdown drained the queue
+            return allocationService.allocate(premiumRooms, economyRooms, guests, context);
+        }
+
+        try {
+            return request.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+        // requests that raced with the shutdown are run by this thread instead
+        Request request;
+        while ((request = queue.poll()) != null) {
+            runDirectly(request);
+        }
+    }
+
+    private void runWorker() {
+        AllocationBatch batch = new AllocationBatch(Math.max(1, properties.getMaxBatchSize()));
+        Request[] requests = new Request[batch.capacity];
+        long windowNanos = TimeUnit.MICROSECONDS.toNanos(properties.getWindowMicros());
+
+        while (running) {
+            try {
+                if (!collect(batch, requests, windowNanos)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                for (int i = 0; i < batch.size; i++) {
+                    runDirectly(requests[i]);
+                }
+                break;
+            }
+
+            int size = batch.size;
+            try {
+                allocationService.allocateBatch(batch);
+                for (int i = 0; i < size; i++) {
+                    if (batch.failures[i] != null) {
+                        requests[i].result().completeExceptionally(batch.failures[i]);
+                    } else {
+                        requests[i].result().complete(batch.results[i]);
+                    }
+                }
+                batchSize.record(size);
+                allocationService.recordBatch(batch);
+            } catch (RuntimeException e) {
+                log.error("Allocation batch failed", e);
+                for (int i = 0; i < size; i++) {
+                    requests[i].result().completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+                Arrays.fill(requests, 0, size, null);
+            }
+        }
+    }
+
+    /**
+     * Blocks for the first request, then collects more until the batch is full or the
+     * window has passed. Returns false when woken without a request.
+     */
+    private boolean collect(AllocationBatch batch, Request[] requests, long windowNanos) throws InterruptedException {
+        Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        add(batch, requests, first);
+
+        long windowEnd = System.nanoTime() + windowNanos;
+        while (!batch.isFull()) {
+            Request next = queue.poll();
+            if (next == null) {
+                long remaining = windowEnd - System.nanoTime();
+                if (remaining <= 0 || (next = queue.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                    break;
+                }
+            }
+            add(batch, requests, next);
+        }
+        return true;
+    }
+
+    private static void add(AllocationBatch batch, Request[] requests, Request request) {
+        requests[batch.size] = request;
+        batch.add(request.premiumRooms(), request.economyRooms(), request.guests(), request.context());
+    }
+
+    private void runDirectly(Request request) {
+        try {
+            request.result().complete(allocationService.allocate(
+                    request.premiumRooms(), request.economyRooms(), request.guests(), request.context()));
+        } catch (RuntimeException e) {
+            request.result().completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "allocation.batching")
+public class AllocationBatchingProperties {
+    private boolean enabled = false;
+    /** Requests with at most this many guests are batched; larger ones run directly. */
+    private int maxGuests = 64;
+    private int maxBatchSize = 64;
+    /** How long the worker waits for more requests after the first one of a batch. */
+    private long windowMicros = 100;
+    private int queueCapacity = 4_096;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxGuests() {
+        return maxGuests;
+    }
+
+    public void setMaxGuests(int maxGuests) {
+        this.maxGuests = maxGuests;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getWindowMicros() {
+        return windowMicros;
+    }
+
+    public void setWindowMicros(long windowMicros) {
+        this.windowMicros = windowMicros;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.exception.AllocationCancelledException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deadline of one allocation. The engines call {@link #checkpoint()} between blocks
+ * of guests and {@link RoomAllocationService} between explain lists, so an expired
+ * allocation stops within one block instead of finishing work nobody will read.
+ * <p>
+ * The guests scanned so far are tracked so that an expired allocation can report how
+ * much work it skipped. {@link #NONE} never expires and tracks nothing.
+ * <p>
+ * A context can also be marked as computing the response of an idempotent request,
+ * which only changes the {@code idempotent} tag of the allocation meters, or as a
+ * startup warmup allocation, which updates no allocation meters at all.
+ */
+public final class AllocationContext {
+    public static final AllocationContext NONE = new AllocationContext(0, false, false, false);
+    private static final AllocationContext NONE_IDEMPOTENT = new AllocationContext(0, false, true, false);
+
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final LongAdder scanned = new LongAdder();
+    private volatile boolean idempotent;
+    private volatile boolean warmup;
+    private volatile long totalGuests;
+
+    private AllocationContext(long timeoutNanos, boolean bounded, boolean idempotent, boolean warmup) {
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = startNanos + timeoutNanos;
+        this.bounded = bounded;
+        this.idempotent = idempotent;
+        this.warmup = warmup;
+    }
+
+    /** A context that expires {@code timeout} from now; zero or negative is already expired. */
+    public static AllocationContext withTimeout(Duration timeout) {
+        return new AllocationContext(timeout.toNanos(), true, false, false);
+    }
+
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Marks this allocation as serving an idempotent request and returns the context to
+     * pass on; the shared {@link #NONE} is swapped for an unbounded context with the mark.
+     */
+    public AllocationContext idempotent() {
+        if (!bounded) {
+            return warmup ? new AllocationContext(0, false, true, true) : NONE_IDEMPOTENT;
+        }
+        idempotent = true;
+        return this;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /** Marks this allocation as a startup warmup and returns the context to pass on. */
+    public AllocationContext warmup() {
+        if (!bounded) {
+            return new AllocationContext(0, false, idempotent, true);
+        }
+        warmup = true;
+        return this;
+    }
+
+    public boolean isWarmup() {
+        return warmup;
+    }
+
+    public Duration remaining() {
+        return bounded ? Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime())) : Duration.ofNanos(Long.MAX_VALUE);
+    }
+
+    /**
+     * Throws {@link AllocationCancelledException} once the context is past its deadline.
+     */
+    public void checkpoint() {
+        if (!bounded) {
+            return;
+        }
+        if (System.nanoTime() - deadlineNanos >= 0) {
+            throw cancelledException(AllocationCancelledException.Reason.DEADLINE);
+        }
+    }
+
+    void begin(long guests) {
+        if (bounded) {
+            totalGuests = guests;
+        }
+    }
+
+    /** Records {@code guests} more scanned guests and checks the context. */
+    void advance(long guests) {
+        if (bounded) {
+            scanned.add(guests);
+            checkpoint();
+        }
+    }
+
+    private AllocationCancelledException cancelledException(AllocationCancelledException.Reason reason) {
+        long elapsed = System.nanoTime() - startNanos;
+        long done = scanned.sum();
+        long remaining = totalGuests - done;
+        // the rest of the scan at the pace so far; explain building is not counted
+        long skippedNanos = done > 0 && remaining > 0 ? (long) (elapsed * ((double) remaining / done)) : 0;
+        return new AllocationCancelledException(reason, Duration.ofNanos(elapsed), Duration.ofNanos(skippedNanos));
+    }
+}
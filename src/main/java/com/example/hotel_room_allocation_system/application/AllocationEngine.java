@@ -0,0 +1,45 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+/**
+ * Strategy for partitioning guests into premium/economy tiers and collecting the
+ * highest bids of each tier. Implementations differ only in how they find the top-K,
+ * so every engine must produce the same {@link Computation} for the same input.
+ */
+public interface AllocationEngine {
+
+    // guests scanned between two AllocationContext checks
+    int CHECK_BLOCK = 16_384;
+
+    String name();
+
+    default Computation compute(int premiumRooms,
+                                int economyRooms,
+                                GuestBids potentialGuests,
+                                int premiumTopK,
+                                int economyTopK) {
+        return compute(premiumRooms, economyRooms, potentialGuests, premiumTopK, economyTopK, AllocationContext.NONE);
+    }
+
+    /**
+     * Computes the allocation, reporting scanned guests to {@link AllocationContext#advance}
+     * (scanning engines every {@link #CHECK_BLOCK} guests) so an expired or cancelled
+     * context stops the computation.
+     */
+    Computation compute(int premiumRooms,
+                        int economyRooms,
+                        GuestBids potentialGuests,
+                        int premiumTopK,
+                        int economyTopK,
+                        AllocationContext context);
+
+    /**
+     * Upper estimate of the bytes {@link #compute} allocates for the given input: heaps,
+     * partition buffers and the top-K arrays of the returned {@link Computation}.
+     */
+    default long scratchBytes(int guestCount, int premiumTopK, int economyTopK) {
+        // a heap per tier plus the sorted copy handed to the Computation
+        return 2L * Long.BYTES * (Math.min(premiumTopK, guestCount) + (long) Math.min(economyTopK, guestCount));
+    }
+}
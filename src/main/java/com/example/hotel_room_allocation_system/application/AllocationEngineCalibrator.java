@@ -0,0 +1,105 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Startup micro-benchmark that finds the top-K/N ratio above which sorting a tier beats
+ * the bounded heap scan on this machine, and feeds it to the {@link AllocationEngineSelector}.
+ * <p>
+ * Both engines are warmed up before anything is timed, each candidate ratio is timed
+ * over {@code rounds} interleaved runs and compared by median, and the chosen ratio is the
+ * lowest one from which sorting wins at every higher candidate too, so one noisy win at a
+ * low ratio cannot send most requests to the sorting engine. When sorting never wins the
+ * ratio is set to {@link #NEVER_SORT}.
+ */
+@Component
+public class AllocationEngineCalibrator {
+    private static final Logger log = LoggerFactory.getLogger(AllocationEngineCalibrator.class);
+    private static final double[] CANDIDATE_RATIOS = {0.05, 0.1, 0.25, 0.5, 0.75, 1.0};
+    /** Above any top-K/N ratio, so the selector never picks the sorting engine. */
+    static final double NEVER_SORT = 2.0;
+
+    private final AllocationEngineSelector selector;
+    private final AllocationEngineProperties properties;
+
+    public AllocationEngineCalibrator(AllocationEngineSelector selector, AllocationEngineProperties properties) {
+        this.selector = selector;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        AllocationEngineProperties.Calibration calibration = properties.getCalibration();
+        if (!calibration.isEnabled() || calibration.getSampleSize() <= 0) {
+            return;
+        }
+
+        GuestBids guests = syntheticGuests(calibration.getSampleSize());
+        int rounds = Math.max(1, calibration.getRounds());
+        int warmupRounds = Math.max(0, calibration.getWarmupRounds());
+
+        long[] heapNanos = new long[CANDIDATE_RATIOS.length];
+        long[] sortNanos = new long[CANDIDATE_RATIOS.length];
+        for (int i = 0; i < CANDIDATE_RATIOS.length; i++) {
+            int topK = (int) Math.max(1, CANDIDATE_RATIOS[i] * guests.size());
+            for (int w = 0; w < warmupRounds; w++) {
+                run(selector.heapEngine(), guests, topK);
+                run(selector.sortingEngine(), guests, topK);
+            }
+            long[] heap = new long[rounds];
+            long[] sort = new long[rounds];
+            for (int r = 0; r < rounds; r++) {
+                // interleaved, so a GC or frequency change hits both engines alike
+                heap[r] = run(selector.heapEngine(), guests, topK);
+                sort[r] = run(selector.sortingEngine(), guests, topK);
+            }
+            heapNanos[i] = median(heap);
+            sortNanos[i] = median(sort);
+        }
+
+        double ratio = crossover(CANDIDATE_RATIOS, heapNanos, sortNanos);
+        selector.setSortTopKRatio(ratio);
+        log.info("Allocation engine calibrated: sortTopKRatio={} (sampleSize={}, rounds={})", ratio, guests.size(), rounds);
+    }
+
+    /**
+     * Lowest of the ascending {@code ratios} from which sorting is faster at that ratio and
+     * every higher one, or {@link #NEVER_SORT} when it is not faster at the highest.
+     */
+    static double crossover(double[] ratios, long[] heapNanos, long[] sortNanos) {
+        double ratio = NEVER_SORT;
+        for (int i = ratios.length - 1; i >= 0 && sortNanos[i] < heapNanos[i]; i--) {
+            ratio = ratios[i];
+        }
+        return ratio;
+    }
+
+    private static long run(AllocationEngine engine, GuestBids guests, int topK) {
+        long start = System.nanoTime();
+        engine.compute(topK, topK, guests, topK, topK);
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static GuestBids syntheticGuests(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] cents = new long[size];
+        for (int i = 0; i < size; i++) {
+            cents[i] = random.nextLong(1, 40_000);
+        }
+        return GuestBids.ofCents(cents);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "allocation.engine")
+public class AllocationEngineProperties {
+    private int smallInputMaxSize = 512;
+    private double sortTopKRatio = 0.5;
+    private int parallelMinSize = 250_000;
+    private int parallelChunkSize = 65_536;
+    private int sortednessProbeSize = 32;
+    /** Use the Vector API kernel; needs the JVM flag --add-modules jdk.incubator.vector. */
+    private boolean vectorized = false;
+    private final Calibration calibration = new Calibration();
+
+    public int getSmallInputMaxSize() {
+        return smallInputMaxSize;
+    }
+
+    public void setSmallInputMaxSize(int smallInputMaxSize) {
+        this.smallInputMaxSize = smallInputMaxSize;
+    }
+
+    public double getSortTopKRatio() {
+        return sortTopKRatio;
+    }
+
+    public void setSortTopKRatio(double sortTopKRatio) {
+        this.sortTopKRatio = sortTopKRatio;
+    }
+
+    public int getParallelMinSize() {
+        return parallelMinSize;
+    }
+
+    public void setParallelMinSize(int parallelMinSize) {
+        this.parallelMinSize = parallelMinSize;
+    }
+
+    public int getParallelChunkSize() {
+        return parallelChunkSize;
+    }
+
+    public void setParallelChunkSize(int parallelChunkSize) {
+        this.parallelChunkSize = parallelChunkSize;
+    }
+
+    public int getSortednessProbeSize() {
+        return sortednessProbeSize;
+    }
+
+    public void setSortednessProbeSize(int sortednessProbeSize) {
+        this.sortednessProbeSize = sortednessProbeSize;
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    public void setVectorized(boolean vectorized) {
+        this.vectorized = vectorized;
+    }
+
+    public Calibration getCalibration() {
+        return calibration;
+    }
+
+    public static class Calibration {
+        private boolean enabled = true;
+        private int sampleSize = 20_000;
+        private int warmupRounds = 5;
+        private int rounds = 9;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSampleSize() {
+            return sampleSize;
+        }
+
+        public void setSampleSize(int sampleSize) {
+            this.sampleSize = sampleSize;
+        }
+
+        public int getWarmupRounds() {
+            return warmupRounds;
+        }
+
+        public void setWarmupRounds(int warmupRounds) {
+            this.warmupRounds = warmupRounds;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        public void setRounds(int rounds) {
+            this.rounds = rounds;
+        }
+    }
+}
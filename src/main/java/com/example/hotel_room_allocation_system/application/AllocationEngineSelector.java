@@ -0,0 +1,79 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Picks an {@link AllocationEngine} per request from the number of guests, the ratio of
+ * requested top-K to guests and the sampled ordering of the bids.
+ */
+@Component
+public class AllocationEngineSelector {
+
+    private final AllocationEngineProperties properties;
+    private final HeapScanAllocationEngine heapEngine;
+    private final SortingAllocationEngine sortingEngine;
+    private final PresortedAllocationEngine presortedEngine;
+    private final ParallelScanAllocationEngine parallelEngine;
+    private final GuestKernel kernel;
+
+    private volatile double sortTopKRatio;
+
+    public AllocationEngineSelector(AllocationEngineProperties properties) {
+        this.properties = properties;
+        this.kernel = GuestKernels.select(properties.isVectorized());
+        this.heapEngine = new HeapScanAllocationEngine(kernel);
+        this.sortingEngine = new SortingAllocationEngine(kernel);
+        this.presortedEngine = new PresortedAllocationEngine(heapEngine);
+        this.parallelEngine = new ParallelScanAllocationEngine(properties.getParallelChunkSize(), heapEngine);
+        this.sortTopKRatio = properties.getSortTopKRatio();
+    }
+
+    public AllocationEngine select(GuestBids potentialGuests, int premiumTopK, int economyTopK) {
+        int size = potentialGuests.size();
+        if (size <= properties.getSmallInputMaxSize()) {
+            return heapEngine;
+        }
+
+        if (GuestOrder.probe(potentialGuests, properties.getSortednessProbeSize()) != GuestOrder.UNSORTED) {
+            return presortedEngine;
+        }
+
+        if (size >= properties.getParallelMinSize()) {
+            return parallelEngine;
+        }
+
+        int topK = Math.max(premiumTopK, economyTopK);
+        if (topK >= sortTopKRatio * size) {
+            return sortingEngine;
+        }
+
+        return heapEngine;
+    }
+
+    public List<AllocationEngine> engines() {
+        return List.of(heapEngine, sortingEngine, presortedEngine, parallelEngine);
+    }
+
+    GuestKernel kernel() {
+        return kernel;
+    }
+
+    HeapScanAllocationEngine heapEngine() {
+        return heapEngine;
+    }
+
+    SortingAllocationEngine sortingEngine() {
+        return sortingEngine;
+    }
+
+    public double getSortTopKRatio() {
+        return sortTopKRatio;
+    }
+
+    void setSortTopKRatio(double sortTopKRatio) {
+        this.sortTopKRatio = sortTopKRatio;
+    }
+}
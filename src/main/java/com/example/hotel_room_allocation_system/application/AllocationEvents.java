@@ -0,0 +1,87 @@
+package com.example.hotel_room_allocation_system.application;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the stages of one allocation request, so a single slow
+ * request can be taken apart in a recording where the {@code allocation.duration} timer
+ * only shows the aggregate.
+ * <p>
+ * Callers create the event, {@code begin()} it, and fill the fields only when
+ * {@code shouldCommit()} holds. Without a recording that enables them the events are
+ * never committed and the JIT removes the allocation.
+ */
+public final class AllocationEvents {
+    static final String CATEGORY = "Hotel Room Allocation";
+
+    private AllocationEvents() {
+    }
+
+    /** Fields shared by every stage; heap sizes and engine are 0/null before the scan. */
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public abstract static class Stage extends Event {
+        @Label("Guests")
+        public int guestCount;
+
+        @Label("Premium Heap Size")
+        @Description("Retained premium top-K")
+        public int premiumHeapSize;
+
+        @Label("Economy Heap Size")
+        @Description("Retained economy top-K")
+        public int economyHeapSize;
+
+        @Label("Engine")
+        public String engine;
+    }
+
+    @Name("com.example.hotel_room_allocation_system.Parse")
+    @Label("Parse Guests")
+    public static final class Parse extends Stage {
+    }
+
+    @Name("com.example.hotel_room_allocation_system.Validate")
+    @Label("Validate Request")
+    public static final class Validate extends Stage {
+        @Label("Violations")
+        public int violations;
+    }
+
+    @Name("com.example.hotel_room_allocation_system.Hash")
+    @Label("Hash Request")
+    public static final class Hash extends Stage {
+    }
+
+    @Name("com.example.hotel_room_allocation_system.IdempotencyLookup")
+    @Label("Idempotency Lookup")
+    @Description("Ends when the stored response is found or before the allocation runs on a miss")
+    public static final class IdempotencyLookup extends Stage {
+        @Label("Replayed")
+        public boolean replayed;
+
+        @Label("Response Size")
+        @DataAmount
+        public long responseBytes;
+    }
+
+    @Name("com.example.hotel_room_allocation_system.Scan")
+    @Label("Scan Guests")
+    public static final class Scan extends Stage {
+        @Label("Batched")
+        public boolean batched;
+    }
+
+    @Name("com.example.hotel_room_allocation_system.ExplainBuild")
+    @Label("Build Explanation")
+    public static final class ExplainBuild extends Stage {
+        @Label("Explain Limit")
+        public int explainLimit;
+    }
+}
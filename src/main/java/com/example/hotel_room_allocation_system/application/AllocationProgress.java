@@ -0,0 +1,13 @@
+package com.example.hotel_room_allocation_system.application;
+
+/**
+ * Snapshot of a running guest scan.
+ */
+public record AllocationProgress(
+        long guestsScanned,
+        int premiumCandidates,
+        int economyCandidates,
+        int premiumHeapSize,
+        int economyHeapSize
+) {
+}
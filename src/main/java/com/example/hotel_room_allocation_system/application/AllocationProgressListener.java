@@ -0,0 +1,11 @@
+package com.example.hotel_room_allocation_system.application;
+
+/**
+ * Receives throttled {@link AllocationProgress} snapshots from the scan loop. Called on
+ * the scanning thread, so implementations must return quickly.
+ */
+@FunctionalInterface
+public interface AllocationProgressListener {
+
+    void onProgress(AllocationProgress progress);
+}
@@ -0,0 +1,68 @@
+package com.example.hotel_room_allocation_system.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation latency by guest-count size class, so 10 guest and 100000 guest requests
+ * get separate histograms and SLOs, plus the cost per guest, whose drift shows a
+ * scaling regression regardless of the traffic mix.
+ * <p>
+ * Every series is registered up front: {@value #SIZE_CLASS_COUNT} size classes, plain or
+ * explain, idempotent or not. {@code allocation.duration} keeps its {@code engine} tag;
+ * these meters leave it out to keep the histogram count bounded.
+ */
+final class AllocationSizeMetrics {
+    private static final int[] UPPER_BOUNDS = {10, 100, 1_000, 10_000, 100_000};
+    private static final String[] SIZE_CLASSES = {"le10", "le100", "le1k", "le10k", "le100k", "gt100k"};
+    static final int SIZE_CLASS_COUNT = 6;
+
+    private final Timer[][][] latency = new Timer[SIZE_CLASS_COUNT][2][2];
+    private final DistributionSummary[][] nanosPerGuest = new DistributionSummary[SIZE_CLASS_COUNT][2];
+
+    AllocationSizeMetrics(MeterRegistry meterRegistry) {
+        for (int size = 0; size < SIZE_CLASS_COUNT; size++) {
+            for (int explain = 0; explain < 2; explain++) {
+                String mode = explain == 1 ? "explain" : "plain";
+                for (int idempotent = 0; idempotent < 2; idempotent++) {
+                    latency[size][explain][idempotent] = Timer.builder("allocation.latency")
+                            .description("Time spent computing room allocations by request size and mode")
+                            .tag("sizeClass", SIZE_CLASSES[size])
+                            .tag("mode", mode)
+                            .tag("idempotent", Boolean.toString(idempotent == 1))
+                            .publishPercentileHistogram()
+                            .maximumExpectedValue(Duration.ofSeconds(2))
+                            .register(meterRegistry);
+                }
+                nanosPerGuest[size][explain] = DistributionSummary.builder("allocation.cost.per.guest")
+                        .baseUnit("nanoseconds")
+                        .description("Allocation time divided by the number of potential guests")
+                        .tag("sizeClass", SIZE_CLASSES[size])
+                        .tag("mode", mode)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    void record(long guests, boolean explain, boolean idempotent, long nanos) {
+        int size = sizeClassIndex(guests);
+        int mode = explain ? 1 : 0;
+        latency[size][mode][idempotent ? 1 : 0].record(nanos, TimeUnit.NANOSECONDS);
+        if (guests > 0) {
+            nanosPerGuest[size][mode].record((double) nanos / guests);
+        }
+    }
+
+    private static int sizeClassIndex(long guests) {
+        for (int i = 0; i < UPPER_BOUNDS.length; i++) {
+            if (guests <= UPPER_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return UPPER_BOUNDS.length;
+    }
+}
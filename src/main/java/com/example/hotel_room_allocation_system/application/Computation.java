@@ -0,0 +1,63 @@
+package com.example.hotel_room_allocation_system.application;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a guest scan: tier sizes, number of upgrades and the top bids of each
+ * tier in cents, sorted in descending order.
+ */
+public record Computation(
+        int premiumCount,
+        int economyCount,
+        int upgrades,
+        long[] premiumTop,
+        long[] economyTop
+) {
+
+    static Computation of(int premiumRooms,
+                          int economyRooms,
+                          int premiumCount,
+                          int economyCount,
+                          long[] premiumTop,
+                          long[] economyTop) {
+        return new Computation(premiumCount, economyCount, upgrades(premiumRooms, economyRooms, premiumCount, economyCount),
+                premiumTop, economyTop);
+    }
+
+    /** Economy guests moved up into premium rooms left free by the premium tier. */
+    static int upgrades(int premiumRooms, int economyRooms, int premiumCount, int economyCount) {
+        int directPremium = Math.min(premiumRooms, premiumCount);
+        int freePremium = premiumRooms - directPremium;
+
+        return (freePremium > 0 && economyCount > economyRooms)
+                ? Math.min(freePremium, economyCount - economyRooms)
+                : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Computation c
+                && premiumCount == c.premiumCount
+                && economyCount == c.economyCount
+                && upgrades == c.upgrades
+                && Arrays.equals(premiumTop, c.premiumTop)
+                && Arrays.equals(economyTop, c.economyTop);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * premiumCount + economyCount;
+        result = 31 * result + upgrades;
+        result = 31 * result + Arrays.hashCode(premiumTop);
+        return 31 * result + Arrays.hashCode(economyTop);
+    }
+
+    @Override
+    public String toString() {
+        return "Computation[premiumCount=" + premiumCount
+                + ", economyCount=" + economyCount
+                + ", upgrades=" + upgrades
+                + ", premiumTop=" + Arrays.toString(premiumTop)
+                + ", economyTop=" + Arrays.toString(economyTop) + "]";
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.hotel_room_allocation_system.application;
+
+/**
+ * The per-bid loops of an allocation: classifying cents against the premium threshold,
+ * counting and keeping the top-K of each tier, splitting the tiers and summing revenue.
+ * Every implementation must give exactly the same results as {@link ScalarGuestKernel}.
+ */
+interface GuestKernel {
+
+    String name();
+
+    /** Offers {@code cents[from, to)} to {@code accumulator}, as {@link GuestScanAccumulator#acceptAll} would. */
+    void scan(long[] cents, int from, int to, GuestScanAccumulator accumulator);
+
+    /**
+     * Copies premium bids of {@code cents[from, to)} to the front of {@code premium} and
+     * the others to the front of {@code economy}, both in input order, and returns the
+     * number of premium bids. Both targets must hold {@code to - from} values.
+     */
+    int partition(long[] cents, int from, int to, long[] premium, long[] economy);
+
+    long sum(long[] cents, int from, int to);
+}
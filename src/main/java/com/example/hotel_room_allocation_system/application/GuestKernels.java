@@ -0,0 +1,38 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class GuestKernels {
+    private static final Logger log = LoggerFactory.getLogger(GuestKernels.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.example.hotel_room_allocation_system.application.VectorGuestKernel";
+
+    private GuestKernels() {
+    }
+
+    /**
+     * The vector kernel if requested and the incubator module is present, the scalar one
+     * otherwise. The vector kernel is instantiated reflectively so that its class, and the
+     * Vector API with it, is never linked on a JVM started without the module.
+     */
+    static GuestKernel select(boolean vectorized) {
+        if (!vectorized) {
+            return ScalarGuestKernel.INSTANCE;
+        }
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.warn("allocation.engine.vectorized is set but the JVM was started without --add-modules {}; using the scalar kernel",
+                    VECTOR_MODULE);
+            return ScalarGuestKernel.INSTANCE;
+        }
+
+        try {
+            GuestKernel kernel = (GuestKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            log.info("Using the {} allocation kernel", kernel.name());
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector kernel unavailable, using the scalar kernel: {}", e.toString());
+            return ScalarGuestKernel.INSTANCE;
+        }
+    }
+}
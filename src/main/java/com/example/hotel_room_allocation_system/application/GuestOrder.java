@@ -0,0 +1,56 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+/**
+ * Observed ordering of the potential guests by bid. Determined from a sample, so it is
+ * a hint for engine selection rather than a guarantee.
+ */
+public enum GuestOrder {
+    ASCENDING,
+    DESCENDING,
+    UNSORTED;
+
+    /**
+     * Checks up to {@code sampleSize} evenly spaced bids for monotonic order.
+     */
+    static GuestOrder probe(GuestBids potentialGuests, int sampleSize) {
+        int size = potentialGuests.size();
+        if (size < 2 || sampleSize < 2) {
+            return UNSORTED;
+        }
+
+        long[] cents = potentialGuests.cents();
+        int samples = Math.min(size, sampleSize);
+        long stride = Math.max(1, (long) (size - 1) / (samples - 1));
+
+        boolean ascending = true;
+        boolean descending = true;
+        long previous = cents[0];
+
+        for (long i = stride; i < size && (ascending || descending); i += stride) {
+            long g = cents[(int) i];
+            ascending &= g >= previous;
+            descending &= g <= previous;
+            previous = g;
+        }
+
+        if (ascending == descending) {
+            return UNSORTED;
+        }
+        return ascending ? ASCENDING : DESCENDING;
+    }
+
+    /**
+     * Direction implied by the first and last bid.
+     */
+    static GuestOrder ofEnds(GuestBids potentialGuests) {
+        int size = potentialGuests.size();
+        if (size == 0) {
+            return UNSORTED;
+        }
+
+        long[] cents = potentialGuests.cents();
+        return cents[0] < cents[size - 1] ? ASCENDING : DESCENDING;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.hotel_room_allocation_system.application;
+
+/**
+ * Incremental form of the heap scan: bids (in cents) are offered one at a time, so
+ * callers can feed it from an array or from a stream that never fits in memory at once.
+ */
+final class GuestScanAccumulator {
+    // progress is only considered every 64k guests so the hot loop pays one mask test
+    private static final long PROGRESS_CHECK_MASK = (1 << 16) - 1;
+
+    private final LongMinHeap premiumHeap;
+    private final LongMinHeap economyHeap;
+
+    private final AllocationProgressListener progressListener;
+    private final long progressIntervalNanos;
+
+    private int premiumCount;
+    private int economyCount;
+    private long scanned;
+    private long lastProgressNanos;
+
+    GuestScanAccumulator(int premiumTopK, int economyTopK) {
+        this(premiumTopK, economyTopK, null, 0);
+    }
+
+    GuestScanAccumulator(int premiumTopK,
+                         int economyTopK,
+                         AllocationProgressListener progressListener,
+                         long progressIntervalNanos) {
+        this.progressListener = progressListener;
+        this.progressIntervalNanos = progressIntervalNanos;
+        this.lastProgressNanos = System.nanoTime();
+        this.premiumHeap = new LongMinHeap(premiumTopK);
+        this.economyHeap = new LongMinHeap(economyTopK);
+    }
+
+    void accept(long cents) {
+        if ((++scanned & PROGRESS_CHECK_MASK) == 0 && progressListener != null) {
+            maybeReportProgress();
+        }
+        if (RoomAllocationService.isPremium(cents)) {
+            premiumCount++;
+            premiumHeap.offer(cents);
+        } else {
+            economyCount++;
+            economyHeap.offer(cents);
+        }
+    }
+
+    void acceptAll(long[] cents, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(cents[i]);
+        }
+    }
+
+    /*
+     * Block interface for GuestKernel implementations that count a whole block at once and
+     * offer only the bids above the heap floors.
+     */
+
+    void addCounts(int premium, int economy) {
+        premiumCount += premium;
+        economyCount += economy;
+        scanned += premium + economy;
+    }
+
+    /** Offers a bid to its tier's heap without counting it. */
+    void offer(long cents) {
+        if (RoomAllocationService.isPremium(cents)) {
+            premiumHeap.offer(cents);
+        } else {
+            economyHeap.offer(cents);
+        }
+    }
+
+    long premiumFloor() {
+        return premiumHeap.floor();
+    }
+
+    long economyFloor() {
+        return economyHeap.floor();
+    }
+
+    AllocationProgress progress() {
+        return new AllocationProgress(
+                scanned,
+                premiumCount,
+                economyCount,
+                premiumHeap.size(),
+                economyHeap.size()
+        );
+    }
+
+    private void maybeReportProgress() {
+        long now = System.nanoTime();
+        if (now - lastProgressNanos >= progressIntervalNanos) {
+            lastProgressNanos = now;
+            progressListener.onProgress(progress());
+        }
+    }
+
+    /** Starts a new scan with other top-K bounds, reusing the heaps' arrays. */
+    void reset(int premiumTopK, int economyTopK) {
+        premiumHeap.reset(premiumTopK);
+        economyHeap.reset(economyTopK);
+        premiumCount = 0;
+        economyCount = 0;
+        scanned = 0;
+    }
+
+    /** Guests counted so far. */
+    long scanned() {
+        return scanned;
+    }
+
+    int premiumCount() {
+        return premiumCount;
+    }
+
+    int economyCount() {
+        return economyCount;
+    }
+
+    LongMinHeap premiumHeap() {
+        return premiumHeap;
+    }
+
+    LongMinHeap economyHeap() {
+        return economyHeap;
+    }
+
+    Computation finish(int premiumRooms, int economyRooms) {
+        return Computation.of(
+                premiumRooms,
+                economyRooms,
+                premiumCount,
+                economyCount,
+                premiumHeap.sortedDesc(),
+                economyHeap.sortedDesc()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.hotel_room_allocation_system.application;
+
+import java.io.IOException;
+import java.util.function.LongConsumer;
+
+/**
+ * Pull-free source of guest bids in cents, used when the guests are streamed from
+ * storage instead of being materialized as a list.
+ */
+@FunctionalInterface
+public interface GuestSource {
+
+    void forEach(LongConsumer sink) throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+/**
+ * Single pass over the guests keeping a bounded min-heap per tier. Cheapest choice
+ * when the number of rooms is small compared to the number of guests.
+ */
+public class HeapScanAllocationEngine implements AllocationEngine {
+    public static final String NAME = "heap";
+
+    private final GuestKernel kernel;
+
+    public HeapScanAllocationEngine() {
+        this(ScalarGuestKernel.INSTANCE);
+    }
+
+    HeapScanAllocationEngine(GuestKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Computation compute(int premiumRooms,
+                               int economyRooms,
+                               GuestBids potentialGuests,
+                               int premiumTopK,
+                               int economyTopK,
+                               AllocationContext context) {
+        return scan(premiumRooms, economyRooms, potentialGuests.cents(), 0, potentialGuests.size(), premiumTopK, economyTopK, context);
+    }
+
+    Computation scan(int premiumRooms,
+                     int economyRooms,
+                     long[] cents,
+                     int from,
+                     int to,
+                     int premiumTopK,
+                     int economyTopK,
+                     AllocationContext context) {
+        GuestScanAccumulator accumulator = new GuestScanAccumulator(premiumTopK, economyTopK);
+        for (int blockStart = from; blockStart < to; blockStart += CHECK_BLOCK) {
+            int blockEnd = Math.min(to, blockStart + CHECK_BLOCK);
+            kernel.scan(cents, blockStart, blockEnd, accumulator);
+            context.advance(blockEnd - blockStart);
+        }
+        return accumulator.finish(premiumRooms, economyRooms);
+    }
+}
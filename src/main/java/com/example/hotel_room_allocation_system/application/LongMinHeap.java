@@ -0,0 +1,111 @@
+package com.example.hotel_room_allocation_system.application;
+
+import java.util.Arrays;
+
+/**
+ * Bounded min-heap over primitive cents keeping the {@code k} largest values offered,
+ * without boxing each bid the way a {@code PriorityQueue<Long>} would.
+ */
+final class LongMinHeap {
+    private static final int MAX_INITIAL_CAPACITY = 1_024;
+
+    private int k;
+    private long[] heap;
+    private int size;
+
+    LongMinHeap(int k) {
+        this.k = Math.max(0, k);
+        this.heap = new long[Math.min(this.k, MAX_INITIAL_CAPACITY)];
+    }
+
+    /** Empties the heap for reuse with a new bound, keeping the backing array. */
+    void reset(int k) {
+        this.k = Math.max(0, k);
+        this.size = 0;
+    }
+
+    void offer(long value) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(k, Math.max(16L, 2L * heap.length)));
+            }
+            siftUp(size++, value);
+        } else if (k > 0 && value > heap[0]) {
+            siftDown(0, value);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Values not greater than this are ignored by {@link #offer}: {@link Long#MIN_VALUE}
+     * while the heap is filling up, the smallest retained value once it is full.
+     */
+    long floor() {
+        if (size < k) {
+            return Long.MIN_VALUE;
+        }
+        return k == 0 ? Long.MAX_VALUE : heap[0];
+    }
+
+    /**
+     * Retained values, highest first.
+     */
+    long[] sortedDesc() {
+        long[] values = Arrays.copyOf(heap, size);
+        Arrays.sort(values);
+        reverse(values, values.length);
+        return values;
+    }
+
+    /**
+     * Copies the retained values, highest first, to the front of {@code target} (grown if
+     * too small) and returns it; the first {@link #size()} entries are valid.
+     */
+    long[] sortedDescInto(long[] target) {
+        long[] values = target.length >= size ? target : new long[Math.max(size, 2 * target.length)];
+        System.arraycopy(heap, 0, values, 0, size);
+        Arrays.sort(values, 0, size);
+        reverse(values, size);
+        return values;
+    }
+
+    static void reverse(long[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private void siftUp(int index, long value) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private void siftDown(int index, long value) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right] < heap[child]) {
+                child = right;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
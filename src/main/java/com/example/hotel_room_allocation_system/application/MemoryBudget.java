@@ -0,0 +1,103 @@
+package com.example.hotel_room_allocation_system.application;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of bytes that in-flight allocations reserve for their heaps and explain lists
+ * before computing, so that many concurrent requests with large top-K cannot together
+ * exhaust the heap. Reservations are estimates, not measured allocations.
+ */
+@Component
+public class MemoryBudget {
+
+    private final MemoryBudgetProperties properties;
+    private final AtomicLong reserved = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+
+    public MemoryBudget(MemoryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        Gauge.builder("allocation.memory.reserved", reserved, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Bytes currently reserved by in-flight allocations")
+                .register(meterRegistry);
+        Gauge.builder("allocation.memory.peak", peak, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Highest reserved total since startup")
+                .register(meterRegistry);
+        Gauge.builder("allocation.memory.max", properties, MemoryBudgetProperties::getMaxBytes)
+                .baseUnit("bytes")
+                .description("Size of the allocation memory pool")
+                .register(meterRegistry);
+    }
+
+    /** A budget that grants everything, for callers constructed without Spring. */
+    static MemoryBudget unlimited(MeterRegistry meterRegistry) {
+        MemoryBudgetProperties properties = new MemoryBudgetProperties();
+        properties.setEnabled(false);
+        return new MemoryBudget(properties, meterRegistry);
+    }
+
+    public boolean isDegradeExplain() {
+        return properties.isDegradeExplain();
+    }
+
+    /** Whether {@code bytes} could ever be granted, i.e. is within the per-request limit. */
+    public boolean fits(long bytes) {
+        return !properties.isEnabled() || bytes <= Math.min(properties.getMaxRequestBytes(), properties.getMaxBytes());
+    }
+
+    /**
+     * Reserves {@code bytes} from the pool, or returns null if the request limit or the
+     * remaining pool is too small. Never blocks.
+     */
+    public Reservation tryReserve(long bytes) {
+        if (!properties.isEnabled()) {
+            return new Reservation(0);
+        }
+        if (!fits(bytes)) {
+            return null;
+        }
+
+        long max = properties.getMaxBytes();
+        long current;
+        do {
+            current = reserved.get();
+            if (current + bytes > max) {
+                return null;
+            }
+        } while (!reserved.compareAndSet(current, current + bytes));
+
+        peak.accumulateAndGet(current + bytes, Math::max);
+        return new Reservation(bytes);
+    }
+
+    long reserved() {
+        return reserved.get();
+    }
+
+    public final class Reservation implements AutoCloseable {
+        private final long bytes;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            if (bytes > 0 && released.compareAndSet(false, true)) {
+                reserved.addAndGet(-bytes);
+            }
+        }
+    }
+}
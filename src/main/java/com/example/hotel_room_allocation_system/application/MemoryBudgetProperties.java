@@ -0,0 +1,46 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "allocation.memory")
+public class MemoryBudgetProperties {
+    private boolean enabled = true;
+    /** Shared by all requests computing at the same time. */
+    private long maxBytes = 256L * 1024 * 1024;
+    /** Largest reservation a single request may hold. */
+    private long maxRequestBytes = 64L * 1024 * 1024;
+    /** Answer explain requests that do not fit with counts only instead of rejecting them. */
+    private boolean degradeExplain = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    public void setMaxRequestBytes(long maxRequestBytes) {
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    public boolean isDegradeExplain() {
+        return degradeExplain;
+    }
+
+    public void setDegradeExplain(boolean degradeExplain) {
+        this.degradeExplain = degradeExplain;
+    }
+}
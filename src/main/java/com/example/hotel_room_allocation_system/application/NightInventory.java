@@ -0,0 +1,105 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.NightAvailability;
+import com.example.hotel_room_allocation_system.domain.Reservation.RoomType;
+import com.example.hotel_room_allocation_system.exception.RoomsUnavailableException;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Free rooms of one hotel night, both tiers packed into a single {@link AtomicLong}
+ * (premium in the high 32 bits, economy in the low 32 bits). Claims and releases are
+ * one compare-and-set, so concurrent bookings of the same night never take a lock and
+ * a tier's free count can never go below zero.
+ * <p>
+ * Capacity changes are rare and serialized on the instance; they also apply through
+ * the packed counter and fail instead of taking back rooms already claimed.
+ */
+final class NightInventory {
+    private static final long PREMIUM_UNIT = 1L << 32;
+    private static final long ECONOMY_UNIT = 1L;
+
+    private final LocalDate date;
+    private final AtomicLong free = new AtomicLong();
+    private volatile long capacity;
+
+    NightInventory(LocalDate date) {
+        this.date = date;
+    }
+
+    /** Takes one free room of {@code type}; false if none is left. */
+    boolean tryClaim(RoomType type) {
+        long unit = unit(type);
+        while (true) {
+            long current = free.get();
+            if (count(current, type) == 0) {
+                return false;
+            }
+            if (free.compareAndSet(current, current - unit)) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    void release(RoomType type) {
+        free.getAndAdd(unit(type));
+    }
+
+    /** Sets the capacity, keeping every claimed room claimed. */
+    synchronized void resize(int premiumRooms, int economyRooms) {
+        long current = capacity;
+        long deltaPremium = (long) premiumRooms - premium(current);
+        long deltaEconomy = (long) economyRooms - economy(current);
+        while (true) {
+            long currentFree = free.get();
+            long premiumFree = premium(currentFree) + deltaPremium;
+            long economyFree = economy(currentFree) + deltaEconomy;
+            if (premiumFree < 0 || economyFree < 0) {
+                throw new RoomsUnavailableException("Cannot reduce capacity on " + date + " below the "
+                        + (premium(current) - premium(currentFree)) + " premium and "
+                        + (economy(current) - economy(currentFree)) + " economy rooms already reserved");
+            }
+            if (free.compareAndSet(currentFree, pack(premiumFree, economyFree))) {
+                break;
+            }
+        }
+        capacity = pack(premiumRooms, economyRooms);
+    }
+
+    int capacity(RoomType type) {
+        return count(capacity, type);
+    }
+
+    NightAvailability availability() {
+        long currentCapacity = capacity;
+        long currentFree = free.get();
+        // a claim racing with a resize can briefly show more free rooms than capacity
+        return new NightAvailability(date,
+                premium(currentCapacity),
+                economy(currentCapacity),
+                Math.min(premium(currentFree), premium(currentCapacity)),
+                Math.min(economy(currentFree), economy(currentCapacity)));
+    }
+
+    private static long unit(RoomType type) {
+        return type == RoomType.PREMIUM ? PREMIUM_UNIT : ECONOMY_UNIT;
+    }
+
+    private static int count(long packed, RoomType type) {
+        return type == RoomType.PREMIUM ? premium(packed) : economy(packed);
+    }
+
+    private static long pack(long premium, long economy) {
+        return (premium << 32) | economy;
+    }
+
+    private static int premium(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int economy(long packed) {
+        return (int) packed;
+    }
+}
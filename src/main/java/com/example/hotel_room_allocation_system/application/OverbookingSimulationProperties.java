@@ -0,0 +1,54 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "allocation.simulation")
+public class OverbookingSimulationProperties {
+    /** Worker threads of the simulation pool; 0 uses one per available processor. */
+    private int parallelism = 0;
+    private int defaultTrials = 10_000;
+    private int maxTrials = 100_000;
+    private int maxOverbooking = 50;
+    /** Upper bound of trials times booked guests, i.e. random draws per simulation. */
+    private long maxDraws = 200_000_000L;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getDefaultTrials() {
+        return defaultTrials;
+    }
+
+    public void setDefaultTrials(int defaultTrials) {
+        this.defaultTrials = defaultTrials;
+    }
+
+    public int getMaxTrials() {
+        return maxTrials;
+    }
+
+    public void setMaxTrials(int maxTrials) {
+        this.maxTrials = maxTrials;
+    }
+
+    public int getMaxOverbooking() {
+        return maxOverbooking;
+    }
+
+    public void setMaxOverbooking(int maxOverbooking) {
+        this.maxOverbooking = maxOverbooking;
+    }
+
+    public long getMaxDraws() {
+        return maxDraws;
+    }
+
+    public void setMaxDraws(long maxDraws) {
+        this.maxDraws = maxDraws;
+    }
+}
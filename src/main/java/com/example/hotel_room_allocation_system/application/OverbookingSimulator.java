@@ -0,0 +1,373 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.domain.OverbookingSimulation;
+import com.example.hotel_room_allocation_system.exception.MemoryBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo estimate of the revenue of overbooking under random no-shows.
+ * <p>
+ * For overbooking level {@code k} the hotel books the guests the greedy allocation would
+ * take with {@code k} more rooms in each tier. A trial draws once which booked guests
+ * show up and applies every level to the same draw: the guests that show are allocated
+ * to the real rooms with the same greedy rule as {@link RoomAllocationService}, and the
+ * ones left without a room are walked at {@code walkCostCents} each.
+ * <p>
+ * Guests are sorted once, so every level books a prefix of the premium and economy
+ * tiers and a trial is a pass over the largest prefixes plus a constant amount of work
+ * per level. Trials run in fixed-size chunks on a dedicated fork-join pool; each chunk
+ * owns a generator split from the seed in chunk order and its scratch arrays, so results
+ * depend on the seed only and nothing is allocated per trial. Every chunk first checks the
+ * request's {@link AllocationContext}, so a simulation past its deadline stops within one
+ * chunk.
+ * <p>
+ * The per-trial revenue of every level is kept for the percentiles, so
+ * {@code maxTrials x (maxOverbooking + 1)} longs must fit the per-request memory limit;
+ * startup fails when the configured limits could never be granted.
+ */
+@Service
+public class OverbookingSimulator {
+    static final int CHUNK_TRIALS = 256;
+
+    private static final int INDEX_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    /**
+     * @param noShowProbabilities per-guest no-show probabilities in input order, or null to
+     *                            use {@code noShowProbability} for every guest
+     */
+    public record Scenario(int premiumRooms,
+                           int economyRooms,
+                           GuestBids guests,
+                           double noShowProbability,
+                           double[] noShowProbabilities,
+                           int maxOverbooking,
+                           long walkCostCents,
+                           int trials,
+                           long seed) { }
+
+    /**
+     * Booked guests of the largest level in booking order, and for each level how many of
+     * them it books. Both prefixes only grow with the level.
+     */
+    private record Booking(long[] premiumCents,
+                           double[] premiumShow,
+                           long[] economyCents,
+                           double[] economyShow,
+                           int[] premiumBooked,
+                           int[] upgradesBooked,
+                           int[] economyBooked) {
+        int levels() {
+            return premiumBooked.length;
+        }
+
+        int guests() {
+            return premiumCents.length + economyCents.length;
+        }
+    }
+
+    private final OverbookingSimulationProperties properties;
+    private final MemoryBudget memoryBudget;
+    private final ForkJoinPool pool;
+    private final Timer duration;
+
+    public OverbookingSimulator(OverbookingSimulationProperties properties, MeterRegistry meterRegistry) {
+        this(properties, MemoryBudget.unlimited(meterRegistry), meterRegistry);
+    }
+
+    @Autowired
+    public OverbookingSimulator(OverbookingSimulationProperties properties, MemoryBudget memoryBudget, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.memoryBudget = memoryBudget;
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            worker.setName("overbooking-sim-" + worker.getPoolIndex());
+            return worker;
+        }, null, false);
+        this.duration = Timer.builder("allocation.simulation")
+                .description("Overbooking simulations")
+                .register(meterRegistry);
+
+        long largest = estimateBytes(properties.getMaxOverbooking() + 1, properties.getMaxTrials(), 0);
+        if (!memoryBudget.fits(largest)) {
+            pool.shutdownNow();
+            throw new IllegalStateException("allocation.simulation.maxTrials x (maxOverbooking + 1) needs about "
+                    + largest + " bytes, more than allocation.memory.maxRequestBytes; lower one of them");
+        }
+    }
+
+    public OverbookingSimulation simulate(Scenario scenario) {
+        return simulate(scenario, AllocationContext.NONE);
+    }
+
+    /** Runs the scenario, stopping with {@code AllocationCancelledException} once {@code context} expires. */
+    public OverbookingSimulation simulate(Scenario scenario, AllocationContext context) {
+        validate(scenario);
+        long bytes = estimateBytes(scenario.maxOverbooking() + 1, scenario.trials(), scenario.guests().size());
+        MemoryBudget.Reservation reservation = memoryBudget.tryReserve(bytes);
+        if (reservation == null) {
+            boolean retryable = memoryBudget.fits(bytes);
+            throw new MemoryBudgetExceededException(retryable
+                    ? "Allocation memory budget is exhausted, retry later"
+                    : "Simulation needs about " + bytes + " bytes of memory, more than a single request may use",
+                    bytes, retryable);
+        }
+
+        try (MemoryBudget.Reservation ignored = reservation) {
+            Booking booking = book(scenario);
+            long draws = (long) scenario.trials() * booking.guests();
+            if (draws > properties.getMaxDraws()) {
+                throw new IllegalArgumentException("trials x booked guests is " + draws
+                        + ", more than the limit of " + properties.getMaxDraws() + "; lower trials or maxOverbooking");
+            }
+            return duration.record(() -> run(scenario, booking, context));
+        }
+    }
+
+    private long estimateBytes(int levels, int trials, int guests) {
+        return (long) levels * trials * Long.BYTES
+                + (long) guests * (Long.BYTES + Long.BYTES + Double.BYTES)
+                + (long) pool.getParallelism() * guests * (Long.BYTES + Integer.BYTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void validate(Scenario s) {
+        if (s.premiumRooms() < 0 || s.economyRooms() < 0) {
+            throw new IllegalArgumentException("Room counts must be >= 0");
+        }
+        if (s.guests() == null) {
+            throw new IllegalArgumentException("potentialGuests must not be null");
+        }
+        if (s.guests().hasViolations()) {
+            GuestBids.Violation violation = s.guests().violations().get(0);
+            throw new IllegalArgumentException("potentialGuests[" + violation.index() + "]: " + violation.message());
+        }
+        if (s.guests().size() > INDEX_MASK) {
+            throw new IllegalArgumentException("At most " + INDEX_MASK + " guests can be simulated");
+        }
+        if (s.trials() < 1 || s.trials() > properties.getMaxTrials()) {
+            throw new IllegalArgumentException("trials must be between 1 and " + properties.getMaxTrials());
+        }
+        if (s.maxOverbooking() < 0 || s.maxOverbooking() > properties.getMaxOverbooking()) {
+            throw new IllegalArgumentException("maxOverbooking must be between 0 and " + properties.getMaxOverbooking());
+        }
+        if (s.walkCostCents() < 0) {
+            throw new IllegalArgumentException("walkCost must be >= 0");
+        }
+        if (s.noShowProbabilities() != null) {
+            if (s.noShowProbabilities().length != s.guests().size()) {
+                throw new IllegalArgumentException("noShowProbabilities must have one entry per potential guest");
+            }
+            for (int i = 0; i < s.noShowProbabilities().length; i++) {
+                if (!isProbability(s.noShowProbabilities()[i])) {
+                    throw new IllegalArgumentException("noShowProbabilities[" + i + "] must be between 0 and 1");
+                }
+            }
+        } else if (!isProbability(s.noShowProbability())) {
+            throw new IllegalArgumentException("noShowProbability must be between 0 and 1");
+        }
+    }
+
+    private static boolean isProbability(double p) {
+        return p >= 0 && p <= 1;
+    }
+
+    private static Booking book(Scenario s) {
+        int premiumRooms = s.premiumRooms();
+        int economyRooms = s.economyRooms();
+        int levels = s.maxOverbooking() + 1;
+        long[] cents = s.guests().cents();
+        int size = s.guests().size();
+
+        long[] keys = new long[size];
+        int premiumCount = 0;
+        for (int i = 0; i < size; i++) {
+            keys[i] = (cents[i] << INDEX_BITS) | i;
+            if (RoomAllocationService.isPremium(cents[i])) {
+                premiumCount++;
+            }
+        }
+        int economyCount = size - premiumCount;
+        Arrays.sort(keys);
+
+        int[] premiumBooked = new int[levels];
+        int[] upgradesBooked = new int[levels];
+        int[] economyBooked = new int[levels];
+        for (int k = 0; k < levels; k++) {
+            int premium = (int) Math.min((long) premiumRooms + k, Integer.MAX_VALUE);
+            int economy = (int) Math.min((long) economyRooms + k, Integer.MAX_VALUE);
+            premiumBooked[k] = Math.min(premium, premiumCount);
+            upgradesBooked[k] = Computation.upgrades(premium, economy, premiumCount, economyCount);
+            economyBooked[k] = upgradesBooked[k] + Math.min(economy, economyCount);
+        }
+
+        int premiumLength = premiumBooked[levels - 1];
+        int economyLength = economyBooked[levels - 1];
+        long[] premiumCents = new long[premiumLength];
+        double[] premiumShow = new double[premiumLength];
+        long[] economyCents = new long[economyLength];
+        double[] economyShow = new double[economyLength];
+
+        int p = 0;
+        int e = 0;
+        for (int i = size - 1; i >= 0 && (p < premiumLength || e < economyLength); i--) {
+            long c = keys[i] >>> INDEX_BITS;
+            int index = (int) (keys[i] & INDEX_MASK);
+            double show = 1 - (s.noShowProbabilities() != null ? s.noShowProbabilities()[index] : s.noShowProbability());
+            if (RoomAllocationService.isPremium(c)) {
+                if (p < premiumLength) {
+                    premiumCents[p] = c;
+                    premiumShow[p++] = show;
+                }
+            } else if (e < economyLength) {
+                economyCents[e] = c;
+                economyShow[e++] = show;
+            }
+        }
+        return new Booking(premiumCents, premiumShow, economyCents, economyShow,
+                premiumBooked, upgradesBooked, economyBooked);
+    }
+
+    private OverbookingSimulation run(Scenario s, Booking booking, AllocationContext context) {
+        int levels = booking.levels();
+        int trials = s.trials();
+        int chunks = (trials + CHUNK_TRIALS - 1) / CHUNK_TRIALS;
+
+        SplittableRandom root = new SplittableRandom(s.seed());
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        long[][] revenue = new long[levels][trials];
+        long[][] walked = new long[chunks][levels];
+        int[][] walkedTrials = new int[chunks][levels];
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            context.checkpoint();
+            runChunk(s, booking, randoms[c], c * CHUNK_TRIALS, Math.min(trials, (c + 1) * CHUNK_TRIALS),
+                    revenue, walked[c], walkedTrials[c]);
+        })).join();
+
+        List<OverbookingSimulation.Level> result = new ArrayList<>(levels);
+        int recommended = 0;
+        long bestExpected = Long.MIN_VALUE;
+        for (int k = 0; k < levels; k++) {
+            long[] samples = revenue[k];
+            long sum = 0;
+            for (long sample : samples) {
+                sum += sample;
+            }
+            long expected = Math.round((double) sum / trials);
+            if (expected > bestExpected) {
+                bestExpected = expected;
+                recommended = k;
+            }
+
+            long walkedSum = 0;
+            long walkedTrialSum = 0;
+            for (int c = 0; c < chunks; c++) {
+                walkedSum += walked[c][k];
+                walkedTrialSum += walkedTrials[c][k];
+            }
+
+            Arrays.sort(samples);
+            result.add(new OverbookingSimulation.Level(
+                    k,
+                    booking.premiumBooked()[k] + booking.upgradesBooked()[k],
+                    booking.economyBooked()[k] - booking.upgradesBooked()[k],
+                    GuestBids.amount(expected),
+                    GuestBids.amount(percentile(samples, 0.05)),
+                    GuestBids.amount(percentile(samples, 0.50)),
+                    GuestBids.amount(percentile(samples, 0.95)),
+                    (double) walkedSum / trials,
+                    (double) walkedTrialSum / trials));
+        }
+        return new OverbookingSimulation(trials, s.seed(), recommended, List.copyOf(result));
+    }
+
+    private static void runChunk(Scenario s,
+                                 Booking booking,
+                                 SplittableRandom random,
+                                 int fromTrial,
+                                 int toTrial,
+                                 long[][] revenue,
+                                 long[] walked,
+                                 int[] walkedTrials) {
+        int premiumRooms = s.premiumRooms();
+        int economyRooms = s.economyRooms();
+        long walkCost = s.walkCostCents();
+        int levels = booking.levels();
+        int[] premiumBooked = booking.premiumBooked();
+        int[] economyBooked = booking.economyBooked();
+
+        // shown guests in booking order: their position in the booking and running revenue
+        int[] premiumShown = new int[booking.premiumCents().length];
+        long[] premiumRevenue = new long[booking.premiumCents().length + 1];
+        int[] economyShown = new int[booking.economyCents().length];
+        long[] economyRevenue = new long[booking.economyCents().length + 1];
+
+        for (int t = fromTrial; t < toTrial; t++) {
+            int premiumShows = draw(booking.premiumCents(), booking.premiumShow(), random, premiumShown, premiumRevenue);
+            int economyShows = draw(booking.economyCents(), booking.economyShow(), random, economyShown, economyRevenue);
+
+            int premium = 0;
+            int economy = 0;
+            for (int k = 0; k < levels; k++) {
+                while (premium < premiumShows && premiumShown[premium] < premiumBooked[k]) {
+                    premium++;
+                }
+                while (economy < economyShows && economyShown[economy] < economyBooked[k]) {
+                    economy++;
+                }
+                int direct = Math.min(premiumRooms, premium);
+                int upgrades = Computation.upgrades(premiumRooms, economyRooms, premium, economy);
+                int economyUsage = Math.min(economyRooms, economy - upgrades);
+                int walkedGuests = premium + economy - direct - upgrades - economyUsage;
+
+                // upgraded guests are the best economy bids, followed by the ones in economy rooms
+                revenue[k][t] = premiumRevenue[direct] + economyRevenue[upgrades + economyUsage] - walkCost * walkedGuests;
+                walked[k] += walkedGuests;
+                if (walkedGuests > 0) {
+                    walkedTrials[k]++;
+                }
+            }
+        }
+    }
+
+    private static int draw(long[] cents, double[] show, SplittableRandom random, int[] shown, long[] runningRevenue) {
+        int count = 0;
+        for (int i = 0; i < cents.length; i++) {
+            if (random.nextDouble() < show[i]) {
+                shown[count] = i;
+                runningRevenue[count + 1] = runningRevenue[count] + cents[i];
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Nearest-rank percentile of sorted samples. */
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
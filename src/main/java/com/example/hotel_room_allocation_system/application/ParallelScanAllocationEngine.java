@@ -0,0 +1,104 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits very large guest lists into chunks that are heap-scanned on the common
+ * fork-join pool; the per-chunk top-K lists are then merged.
+ */
+public class ParallelScanAllocationEngine implements AllocationEngine {
+    public static final String NAME = "parallel";
+
+    private final int chunkSize;
+    private final HeapScanAllocationEngine chunkEngine;
+
+    public ParallelScanAllocationEngine(int chunkSize) {
+        this(chunkSize, new HeapScanAllocationEngine());
+    }
+
+    ParallelScanAllocationEngine(int chunkSize, HeapScanAllocationEngine chunkEngine) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkEngine = chunkEngine;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public long scratchBytes(int guestCount, int premiumTopK, int economyTopK) {
+        // every chunk keeps its own top-K, and all of them are copied once more for the merge
+        long chunks = (guestCount + (long) chunkSize - 1) / chunkSize;
+        long perChunk = Math.min(premiumTopK, chunkSize) + (long) Math.min(economyTopK, chunkSize);
+        long merged = Math.min(chunks * perChunk, 2L * guestCount);
+        return Long.BYTES * (3 * merged + Math.min(premiumTopK, guestCount) + Math.min(economyTopK, guestCount));
+    }
+
+    @Override
+    public Computation compute(int premiumRooms,
+                               int economyRooms,
+                               GuestBids potentialGuests,
+                               int premiumTopK,
+                               int economyTopK,
+                               AllocationContext context) {
+        long[] cents = potentialGuests.cents();
+        int size = potentialGuests.size();
+        int chunks = (size + chunkSize - 1) / chunkSize;
+
+        List<Computation> partials = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> chunkEngine.scan(
+                        premiumRooms,
+                        economyRooms,
+                        cents,
+                        i * chunkSize,
+                        Math.min(size, (i + 1) * chunkSize),
+                        premiumTopK,
+                        economyTopK,
+                        context))
+                .toList();
+
+        int premiumCount = 0;
+        int economyCount = 0;
+        int premiumCandidates = 0;
+        int economyCandidates = 0;
+
+        for (Computation partial : partials) {
+            premiumCount += partial.premiumCount();
+            economyCount += partial.economyCount();
+            premiumCandidates += partial.premiumTop().length;
+            economyCandidates += partial.economyTop().length;
+        }
+
+        long[] premiumTop = new long[premiumCandidates];
+        long[] economyTop = new long[economyCandidates];
+        int premiumOffset = 0;
+        int economyOffset = 0;
+        for (Computation partial : partials) {
+            System.arraycopy(partial.premiumTop(), 0, premiumTop, premiumOffset, partial.premiumTop().length);
+            System.arraycopy(partial.economyTop(), 0, economyTop, economyOffset, partial.economyTop().length);
+            premiumOffset += partial.premiumTop().length;
+            economyOffset += partial.economyTop().length;
+        }
+
+        return Computation.of(
+                premiumRooms,
+                economyRooms,
+                premiumCount,
+                economyCount,
+                mergeDesc(premiumTop, premiumTopK),
+                mergeDesc(economyTop, economyTopK)
+        );
+    }
+
+    private static long[] mergeDesc(long[] values, int k) {
+        Arrays.sort(values);
+        LongMinHeap.reverse(values, values.length);
+        return Arrays.copyOf(values, Math.min(k, values.length));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+import java.util.Arrays;
+
+/**
+ * Linear pass for guests that arrive already ordered by bid (ascending or descending).
+ * The first K guests of each tier met while walking from the highest bid are the top-K,
+ * so no heap or sort is needed. The order is verified during the pass; on the first
+ * out-of-order bid the computation is handed over to the fallback engine.
+ */
+public class PresortedAllocationEngine implements AllocationEngine {
+    public static final String NAME = "presorted";
+
+    private final AllocationEngine fallback;
+
+    public PresortedAllocationEngine(AllocationEngine fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Computation compute(int premiumRooms,
+                               int economyRooms,
+                               GuestBids potentialGuests,
+                               int premiumTopK,
+                               int economyTopK,
+                               AllocationContext context) {
+        Computation computation = scan(premiumRooms, economyRooms, potentialGuests, premiumTopK, economyTopK, context);
+        if (computation == null) {
+            return fallback.compute(premiumRooms, economyRooms, potentialGuests, premiumTopK, economyTopK, context);
+        }
+        return computation;
+    }
+
+    private static Computation scan(int premiumRooms,
+                                    int economyRooms,
+                                    GuestBids potentialGuests,
+                                    int premiumTopK,
+                                    int economyTopK,
+                                    AllocationContext context) {
+        long[] cents = potentialGuests.cents();
+        int size = potentialGuests.size();
+        boolean ascending = GuestOrder.ofEnds(potentialGuests) == GuestOrder.ASCENDING;
+
+        long[] premiumTop = new long[Math.min(premiumTopK, size)];
+        long[] economyTop = new long[Math.min(economyTopK, size)];
+
+        int premiumCount = 0;
+        int economyCount = 0;
+        long previous = Long.MAX_VALUE;
+
+        for (int n = 0; n < size; n++) {
+            if (n % CHECK_BLOCK == 0 && n > 0) {
+                context.advance(CHECK_BLOCK);
+            }
+            long g = cents[ascending ? size - 1 - n : n];
+            if (g > previous) {
+                return null;
+            }
+            previous = g;
+
+            if (RoomAllocationService.isPremium(g)) {
+                if (premiumCount < premiumTop.length) {
+                    premiumTop[premiumCount] = g;
+                }
+                premiumCount++;
+            } else {
+                if (economyCount < economyTop.length) {
+                    economyTop[economyCount] = g;
+                }
+                economyCount++;
+            }
+        }
+
+        return Computation.of(
+                premiumRooms,
+                economyRooms,
+                premiumCount,
+                economyCount,
+                Arrays.copyOf(premiumTop, Math.min(premiumCount, premiumTop.length)),
+                Arrays.copyOf(economyTop, Math.min(economyCount, economyTop.length))
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "reservations")
+public class ReservationProperties {
+    private int maxStayNights = 30;
+    /** Nights a single inventory registration or query may cover. */
+    private int maxInventoryNights = 366;
+    private int maxHotels = 10_000;
+
+    public int getMaxStayNights() {
+        return maxStayNights;
+    }
+
+    public void setMaxStayNights(int maxStayNights) {
+        this.maxStayNights = maxStayNights;
+    }
+
+    public int getMaxInventoryNights() {
+        return maxInventoryNights;
+    }
+
+    public void setMaxInventoryNights(int maxInventoryNights) {
+        this.maxInventoryNights = maxInventoryNights;
+    }
+
+    public int getMaxHotels() {
+        return maxHotels;
+    }
+
+    public void setMaxHotels(int maxHotels) {
+        this.maxHotels = maxHotels;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.domain.NightAvailability;
+import com.example.hotel_room_allocation_system.domain.Reservation;
+import com.example.hotel_room_allocation_system.domain.Reservation.RoomType;
+import com.example.hotel_room_allocation_system.exception.ReservationNotFoundException;
+import com.example.hotel_room_allocation_system.exception.RoomsUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Books rooms against per-night hotel capacity with the tier rules of
+ * {@link RoomAllocationService}: guests bidding at least 100 EUR get a premium room,
+ * the others an economy room, and an economy guest is upgraded to a free premium room
+ * when economy is full. Premium guests are never moved down. The rule applies per night:
+ * an economy guest is only upgraded on the nights of the stay where economy is full.
+ * <p>
+ * Every night of a stay is claimed from its {@link NightInventory} with a single
+ * compare-and-set and released again if a later night is full, so bookings of different
+ * nights never contend and no night is ever overbooked. The allocation service picks
+ * upgrades by bid over a known guest list; here they go to whoever books first.
+ * <p>
+ * Capacity changes of a hotel are serialized. Every night is first shrunk to the smaller
+ * of its old and new capacity, which can fail, and only then grown, which cannot; a
+ * failure restores the nights already shrunk, so a rejected change leaves no night
+ * changed.
+ * <p>
+ * Inventory and reservations are kept in memory.
+ */
+@Service
+public class ReservationService {
+
+    private final ReservationProperties properties;
+    private final Map<String, Map<LocalDate, NightInventory>> hotels = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Counter booked;
+    private final Counter upgraded;
+    private final Counter unavailable;
+    private final Counter cancelled;
+
+    public ReservationService(ReservationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.booked = outcome(meterRegistry, "booked");
+        this.upgraded = outcome(meterRegistry, "upgraded");
+        this.unavailable = outcome(meterRegistry, "unavailable");
+        this.cancelled = outcome(meterRegistry, "cancelled");
+    }
+
+    /**
+     * Sets the capacity of every night from {@code from} up to but excluding {@code to}.
+     * Fails without changing any night if one already has more rooms reserved.
+     */
+    public List<NightAvailability> registerCapacity(String hotelId, LocalDate from, LocalDate to,
+                                                    int premiumRooms, int economyRooms) {
+        requireHotelId(hotelId);
+        nights(from, to, properties.getMaxInventoryNights());
+        if (premiumRooms < 0 || economyRooms < 0) {
+            throw new IllegalArgumentException("Room counts must be >= 0");
+        }
+        if (!hotels.containsKey(hotelId) && hotels.size() >= properties.getMaxHotels()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxHotels() + " hotels can be registered");
+        }
+
+        Map<LocalDate, NightInventory> hotel = hotels.computeIfAbsent(hotelId, id -> new ConcurrentHashMap<>());
+        synchronized (hotel) {
+            List<NightInventory> nights = new ArrayList<>();
+            for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+                nights.add(hotel.computeIfAbsent(date, NightInventory::new));
+            }
+
+            int[] premiumBefore = new int[nights.size()];
+            int[] economyBefore = new int[nights.size()];
+            int shrunk = 0;
+            try {
+                for (; shrunk < nights.size(); shrunk++) {
+                    NightInventory night = nights.get(shrunk);
+                    premiumBefore[shrunk] = night.capacity(RoomType.PREMIUM);
+                    economyBefore[shrunk] = night.capacity(RoomType.ECONOMY);
+                    night.resize(Math.min(premiumRooms, premiumBefore[shrunk]), Math.min(economyRooms, economyBefore[shrunk]));
+                }
+            } catch (RoomsUnavailableException e) {
+                for (int i = 0; i < shrunk; i++) {
+                    nights.get(i).resize(premiumBefore[i], economyBefore[i]);
+                }
+                throw e;
+            }
+
+            List<NightAvailability> result = new ArrayList<>(nights.size());
+            for (NightInventory night : nights) {
+                night.resize(premiumRooms, economyRooms);
+                result.add(night.availability());
+            }
+            return result;
+        }
+    }
+
+    /** Nights from {@code from} up to but excluding {@code to}; unregistered nights have no rooms. */
+    public List<NightAvailability> availability(String hotelId, LocalDate from, LocalDate to) {
+        Map<LocalDate, NightInventory> hotel = hotel(hotelId);
+        nights(from, to, properties.getMaxInventoryNights());
+        List<NightAvailability> result = new ArrayList<>();
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            NightInventory night = hotel.get(date);
+            result.add(night != null ? night.availability() : new NightAvailability(date, 0, 0, 0, 0));
+        }
+        return result;
+    }
+
+    public Reservation reserve(String hotelId, LocalDate checkIn, LocalDate checkOut, BigDecimal price) {
+        Map<LocalDate, NightInventory> hotel = hotel(hotelId);
+        int nightCount = nights(checkIn, checkOut, properties.getMaxStayNights());
+        if (price == null || price.signum() < 0) {
+            throw new IllegalArgumentException("price must be >= 0");
+        }
+        long cents = GuestBids.toCents(price);
+
+        NightInventory[] nights = new NightInventory[nightCount];
+        for (int i = 0; i < nightCount; i++) {
+            nights[i] = hotel.get(checkIn.plusDays(i));
+            if (nights[i] == null) {
+                unavailable.increment();
+                throw new RoomsUnavailableException("No rooms registered for " + hotelId + " on " + checkIn.plusDays(i));
+            }
+        }
+
+        RoomType type = RoomAllocationService.isPremium(cents) ? RoomType.PREMIUM : RoomType.ECONOMY;
+        RoomType[] claimed = claimAll(nights, type);
+        if (claimed == null) {
+            unavailable.increment();
+            throw new RoomsUnavailableException("No " + (type == RoomType.PREMIUM ? "premium" : "economy or premium")
+                    + " room is free for every night from " + checkIn + " to " + checkOut);
+        }
+
+        boolean upgrade = false;
+        boolean allPremium = true;
+        for (RoomType night : claimed) {
+            upgrade |= night != type;
+            allPremium &= night == RoomType.PREMIUM;
+        }
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), hotelId, checkIn, checkOut,
+                GuestBids.amount(cents), allPremium ? RoomType.PREMIUM : RoomType.ECONOMY, upgrade, List.of(claimed));
+        reservations.put(reservation.id(), reservation);
+        (upgrade ? upgraded : booked).increment();
+        return reservation;
+    }
+
+    public Reservation get(String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null) {
+            throw new ReservationNotFoundException("Reservation " + reservationId + " not found");
+        }
+        return reservation;
+    }
+
+    /** Releases the reservation's rooms; only the first of concurrent cancellations does. */
+    public Reservation cancel(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new ReservationNotFoundException("Reservation " + reservationId + " not found");
+        }
+        Map<LocalDate, NightInventory> hotel = hotels.get(reservation.hotelId());
+        List<RoomType> nightRoomTypes = reservation.nightRoomTypes();
+        for (int i = 0; i < nightRoomTypes.size(); i++) {
+            hotel.get(reservation.checkIn().plusDays(i)).release(nightRoomTypes.get(i));
+        }
+        cancelled.increment();
+        return reservation;
+    }
+
+    /**
+     * Claims a room of {@code type} for every night, or a premium room on the nights where
+     * an economy guest finds economy full. Returns the tier claimed per night, or null
+     * after releasing everything when some night has no acceptable room.
+     */
+    private static RoomType[] claimAll(NightInventory[] nights, RoomType type) {
+        RoomType[] claimed = new RoomType[nights.length];
+        for (int i = 0; i < nights.length; i++) {
+            if (nights[i].tryClaim(type)) {
+                claimed[i] = type;
+            } else if (type == RoomType.ECONOMY && nights[i].tryClaim(RoomType.PREMIUM)) {
+                claimed[i] = RoomType.PREMIUM;
+            } else {
+                for (int j = 0; j < i; j++) {
+                    nights[j].release(claimed[j]);
+                }
+                return null;
+            }
+        }
+        return claimed;
+    }
+
+    private Map<LocalDate, NightInventory> hotel(String hotelId) {
+        requireHotelId(hotelId);
+        Map<LocalDate, NightInventory> hotel = hotels.get(hotelId);
+        if (hotel == null) {
+            throw new ReservationNotFoundException("Hotel " + hotelId + " has no registered inventory");
+        }
+        return hotel;
+    }
+
+    private static void requireHotelId(String hotelId) {
+        if (hotelId == null || hotelId.isBlank()) {
+            throw new IllegalArgumentException("hotelId must not be blank");
+        }
+    }
+
+    private static int nights(LocalDate from, LocalDate to, int max) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("The end date must be after the start date");
+        }
+        long nights = ChronoUnit.DAYS.between(from, to);
+        if (nights > max) {
+            throw new IllegalArgumentException("At most " + max + " nights are allowed, got " + nights);
+        }
+        return (int) nights;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("reservations")
+                .description("Reservation requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
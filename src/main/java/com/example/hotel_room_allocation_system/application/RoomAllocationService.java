@@ -3,24 +3,34 @@ package com.example.hotel_room_allocation_system.application;
 import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
 import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
 import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.exception.AllocationCancelledException;
+import com.example.hotel_room_allocation_system.exception.MemoryBudgetExceededException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 public class RoomAllocationService {
-    private static final BigDecimal PREMIUM_THRESHOLD = BigDecimal.valueOf(100);
+    static final long PREMIUM_THRESHOLD_CENTS = 100_00;
+    // a BigDecimal with a compact value plus its list slot
+    private static final long EXPLAIN_ENTRY_BYTES = 48;
     private static final Logger log = LoggerFactory.getLogger(RoomAllocationService.class);
 
     private final Counter requests;
@@ -28,9 +38,48 @@ public class RoomAllocationService {
     private final DistributionSummary updatesCount;
     private final DistributionSummary revenuePremium;
     private final DistributionSummary revenueEconomy;
-    private final Timer allocationTimer;
+    private final Map<String, Timer> allocationTimers;
+    private final AllocationSizeMetrics sizeMetrics;
+    private final AllocationEngineSelector engineSelector;
+    private final MemoryBudget memoryBudget;
+    private final GuestKernel kernel;
+    private final Counter memoryGranted;
+    private final Counter memoryDegraded;
+    private final Counter memoryRejected;
+    private final Map<AllocationCancelledException.Reason, Counter> cancelled;
+    private final Map<AllocationCancelledException.Reason, Counter> cancelledSkippedSeconds;
 
     public RoomAllocationService(MeterRegistry meterRegistry) {
+        this(meterRegistry, new AllocationEngineSelector(new AllocationEngineProperties()));
+    }
+
+    public RoomAllocationService(MeterRegistry meterRegistry, AllocationEngineSelector engineSelector) {
+        this(meterRegistry, engineSelector, MemoryBudget.unlimited(meterRegistry));
+    }
+
+    @Autowired
+    public RoomAllocationService(MeterRegistry meterRegistry, AllocationEngineSelector engineSelector, MemoryBudget memoryBudget) {
+        this.engineSelector = engineSelector;
+        this.memoryBudget = memoryBudget;
+        this.kernel = engineSelector.kernel();
+        this.memoryGranted = memoryOutcome(meterRegistry, "granted");
+        this.memoryDegraded = memoryOutcome(meterRegistry, "degraded");
+        this.memoryRejected = memoryOutcome(meterRegistry, "rejected");
+        this.cancelled = new EnumMap<>(AllocationCancelledException.Reason.class);
+        this.cancelledSkippedSeconds = new EnumMap<>(AllocationCancelledException.Reason.class);
+        for (AllocationCancelledException.Reason reason : AllocationCancelledException.Reason.values()) {
+            String tag = reason.name().toLowerCase(Locale.ROOT);
+            cancelled.put(reason, Counter.builder("allocation.cancelled")
+                    .description("Allocations stopped before completion at their deadline")
+                    .tag("reason", tag)
+                    .register(meterRegistry));
+            cancelledSkippedSeconds.put(reason, Counter.builder("allocation.cancelled.skipped")
+                    .baseUnit("seconds")
+                    .description("Estimated compute time not spent because allocations were stopped early")
+                    .tag("reason", tag)
+                    .register(meterRegistry));
+        }
+
         this.requests = Counter.builder("allocation.requests")
                 .description("Number of room allocation requests")
                 .register(meterRegistry);
@@ -53,54 +102,275 @@ public class RoomAllocationService {
                 .description("Economy revenue per request")
                 .register(meterRegistry);
 
-        this.allocationTimer = Timer.builder("allocation.duration")
-                .description("Time spent computing room allocations")
-                .publishPercentileHistogram()
-                .maximumExpectedValue(Duration.ofSeconds(2))
-                .register(meterRegistry);
+        this.sizeMetrics = new AllocationSizeMetrics(meterRegistry);
+        this.allocationTimers = new HashMap<>();
+        for (AllocationEngine engine : engineSelector.engines()) {
+            allocationTimers.put(engine.name(), Timer.builder("allocation.duration")
+                    .description("Time spent computing room allocations")
+                    .tag("engine", engine.name())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(2))
+                    .register(meterRegistry));
+        }
     }
 
     public AllocationResult allocate(int premiumRooms, int economyRooms, List<BigDecimal> potentialGuests) {
-        return allocationTimer.record(() -> {
-            validateInputs(premiumRooms, economyRooms, potentialGuests);
-
-            requests.increment();
-            potentialGuestCount.record(potentialGuests.size());
-
-            Computation c = scanGuests(premiumRooms, economyRooms, potentialGuests, 0, true);
-            AllocationResult summary = computeSummary(premiumRooms, economyRooms, c);
+        validateInputs(premiumRooms, economyRooms, potentialGuests);
+        return allocate(premiumRooms, economyRooms, GuestBids.of(potentialGuests));
+    }
 
-            updatesCount.record(c.upgrades());
-            revenuePremium.record(summary.revenueEconomy().doubleValue());
-            revenueEconomy.record(summary.revenueEconomy().doubleValue());
+    public AllocationResult allocate(int premiumRooms, int economyRooms, GuestBids potentialGuests) {
+        return allocate(premiumRooms, economyRooms, potentialGuests, AllocationContext.NONE);
+    }
 
-            return summary;
-        });
+    /**
+     * Allocation that stops with {@link AllocationCancelledException} once {@code context}
+     * expires or is cancelled.
+     */
+    public AllocationResult allocate(int premiumRooms, int economyRooms, GuestBids potentialGuests, AllocationContext context) {
+        validateInputs(premiumRooms, economyRooms, potentialGuests);
+        AllocationEngine engine = selectEngine(premiumRooms, economyRooms, potentialGuests, 0);
+        checkpoint(context, engine);
+
+        try (MemoryBudget.Reservation ignored = reserve(
+                estimateBytes(engine, premiumRooms, economyRooms, potentialGuests.size(), 0), !context.isWarmup())) {
+            return timed(engine, potentialGuests.size(), false, context, () -> {
+                Computation c = scanGuests(premiumRooms, economyRooms, potentialGuests, 0, true, engine, context);
+                AllocationResult summary = computeSummary(premiumRooms, economyRooms, c);
+
+                if (!context.isWarmup()) {
+                    recordResult(potentialGuests.size(), c.upgrades(), summary);
+                }
+                return summary;
+            });
+        } catch (AllocationCancelledException e) {
+            throw recordCancelled(e);
+        }
     }
 
     public AllocationExplainResult allocateExplain(int premiumRooms,
                                                     int economyRooms,
                                                     List<BigDecimal> potentialGuests,
                                                     int explainLimit) {
-        return allocationTimer.record(() -> {
-            validateInputs(premiumRooms, economyRooms, potentialGuests);
+        validateInputs(premiumRooms, economyRooms, potentialGuests);
+        return allocateExplain(premiumRooms, economyRooms, GuestBids.of(potentialGuests), explainLimit);
+    }
+
+    public AllocationExplainResult allocateExplain(int premiumRooms,
+                                                    int economyRooms,
+                                                    GuestBids potentialGuests,
+                                                    int explainLimit) {
+        return allocateExplain(premiumRooms, economyRooms, potentialGuests, explainLimit, AllocationContext.NONE);
+    }
 
-            int effectiveExplainLimit = Math.max(0, explainLimit);
+    /**
+     * Explain allocation that stops with {@link AllocationCancelledException} once
+     * {@code context} expires or is cancelled, during the scan or between explain lists.
+     */
+    public AllocationExplainResult allocateExplain(int premiumRooms,
+                                                    int economyRooms,
+                                                    GuestBids potentialGuests,
+                                                    int explainLimit,
+                                                    AllocationContext context) {
+        validateInputs(premiumRooms, economyRooms, potentialGuests);
+        int size = potentialGuests.size();
+        int requestedExplainLimit = Math.max(0, explainLimit);
+        AllocationEngine requestedEngine = selectEngine(premiumRooms, economyRooms, potentialGuests, requestedExplainLimit);
+        checkpoint(context, requestedEngine);
+        long requestedBytes = estimateBytes(requestedEngine, premiumRooms, economyRooms, size, requestedExplainLimit);
+
+        MemoryBudget.Reservation reservation = memoryBudget.tryReserve(requestedBytes);
+        int effectiveExplainLimit = requestedExplainLimit;
+        AllocationEngine engine = requestedEngine;
+        if (reservation != null) {
+            if (!context.isWarmup()) {
+                memoryGranted.increment();
+            }
+        } else if (requestedExplainLimit > 0 && memoryBudget.isDegradeExplain()) {
+            // counts only: the scan keeps just the rooms' top-K and no guest lists are built
+            effectiveExplainLimit = 0;
+            engine = selectEngine(premiumRooms, economyRooms, potentialGuests, 0);
+            reservation = reserve(estimateBytes(engine, premiumRooms, economyRooms, size, 0), false);
+            if (!context.isWarmup()) {
+                memoryDegraded.increment();
+            }
+            log.debug("Explain degraded to counts only: {} bytes requested", requestedBytes);
+        } else {
+            throw rejected(requestedBytes);
+        }
 
-            requests.increment();
-            potentialGuestCount.record(potentialGuests.size());
+        int limit = effectiveExplainLimit;
+        AllocationEngine selected = engine;
+        try (MemoryBudget.Reservation ignored = reservation) {
+            return timed(selected, size, true, context, () -> {
+                Computation c = scanGuests(premiumRooms, economyRooms, potentialGuests, limit, true, selected, context);
+                AllocationResult summary = computeSummary(premiumRooms, economyRooms, c);
+
+                AllocationExplanation explanation = explain(premiumRooms, economyRooms, limit, c, selected.name(), context);
+
+                if (!context.isWarmup()) {
+                    recordResult(size, explanation.upgrades(), summary);
+                }
+                return new AllocationExplainResult(summary, explanation);
+            });
+        } catch (AllocationCancelledException e) {
+            throw recordCancelled(e);
+        }
+    }
 
-            Computation c = scanGuests(premiumRooms, economyRooms, potentialGuests, effectiveExplainLimit, true);
-            AllocationResult summary = computeSummary(premiumRooms, economyRooms, c);
+    /**
+     * Runs every entry of a batch of small allocations back to back on the calling thread.
+     * The heap scan reuses the batch's scratch, nothing is reserved from the memory budget
+     * and no meters are touched; {@link #recordBatch} does that once for the whole batch.
+     * Failures are stored per entry instead of thrown.
+     */
+    void allocateBatch(AllocationBatch batch) {
+        GuestScanAccumulator accumulator = batch.accumulator;
+        long start = System.nanoTime();
+        for (int i = 0; i < batch.size; i++) {
+            int premiumRooms = batch.premiumRooms[i];
+            int economyRooms = batch.economyRooms[i];
+            GuestBids guests = batch.guests[i];
+            try {
+                validateInputs(premiumRooms, economyRooms, guests);
+                batch.contexts[i].checkpoint();
+
+                int size = guests.size();
+                int premiumTopK = premiumTopK(premiumRooms, size, 0, true);
+                int economyTopK = economyTopK(premiumRooms, economyRooms, size, 0, true);
+                AllocationEvents.Scan event = new AllocationEvents.Scan();
+                event.begin();
+                accumulator.reset(premiumTopK, economyTopK);
+                kernel.scan(guests.cents(), 0, size, accumulator);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.guestCount = size;
+                    event.premiumHeapSize = premiumTopK;
+                    event.economyHeapSize = economyTopK;
+                    event.engine = HeapScanAllocationEngine.NAME;
+                    event.batched = true;
+                    event.commit();
+                }
+
+                int premiumCount = accumulator.premiumCount();
+                int economyCount = accumulator.economyCount();
+                batch.premiumTop = accumulator.premiumHeap().sortedDescInto(batch.premiumTop);
+                batch.economyTop = accumulator.economyHeap().sortedDescInto(batch.economyTop);
+
+                int upgrades = Computation.upgrades(premiumRooms, economyRooms, premiumCount, economyCount);
+                batch.upgrades[i] = upgrades;
+                batch.results[i] = computeSummary(premiumRooms, economyRooms, premiumCount, economyCount, upgrades,
+                        batch.premiumTop, batch.economyTop);
+            } catch (AllocationCancelledException e) {
+                batch.failures[i] = recordCancelled(e);
+            } catch (RuntimeException e) {
+                batch.failures[i] = e;
+            }
+            long end = System.nanoTime();
+            batch.nanos[i] = end - start;
+            start = end;
+        }
+    }
+
+    /** Meter updates for a batch run by {@link #allocateBatch}, off the callers' latency path. */
+    void recordBatch(AllocationBatch batch) {
+        Timer timer = allocationTimers.get(HeapScanAllocationEngine.NAME);
+        int completed = 0;
+        for (int i = 0; i < batch.size; i++) {
+            AllocationResult result = batch.results[i];
+            if (result == null || batch.contexts[i].isWarmup()) {
+                continue;
+            }
+            completed++;
+            timer.record(batch.nanos[i], TimeUnit.NANOSECONDS);
+            sizeMetrics.record(batch.guests[i].size(), false, batch.contexts[i].isIdempotent(), batch.nanos[i]);
+            potentialGuestCount.record(batch.guests[i].size());
+            updatesCount.record(batch.upgrades[i]);
+            revenuePremium.record(result.revenuePremium().doubleValue());
+            revenueEconomy.record(result.revenueEconomy().doubleValue());
+        }
+        requests.increment(completed);
+    }
+
+    /**
+     * Allocates over guests that are streamed from {@code guests} rather than held in memory.
+     * Only the top-K heaps are retained, so the guest count is bounded by the source, not the heap.
+     */
+    public AllocationExplainResult allocateStream(int premiumRooms,
+                                                  int economyRooms,
+                                                  GuestSource guests,
+                                                  int explainLimit) throws IOException {
+        return allocateStream(premiumRooms, economyRooms, guests, explainLimit, null, Duration.ZERO);
+    }
 
-            AllocationExplanation explanation = buildExplaination(premiumRooms, economyRooms, effectiveExplainLimit, c);
+    /**
+     * Streaming allocation reporting {@link AllocationProgress} to {@code progressListener}
+     * at most once per {@code progressInterval}, and once more when the scan completes.
+     */
+    public AllocationExplainResult allocateStream(int premiumRooms,
+                                                  int economyRooms,
+                                                  GuestSource guests,
+                                                  int explainLimit,
+                                                  AllocationProgressListener progressListener,
+                                                  Duration progressInterval) throws IOException {
+        if (premiumRooms < 0 || economyRooms < 0) {
+            throw new IllegalArgumentException("Number of premium rooms cannot be negative");
+        }
+        int effectiveExplainLimit = Math.max(0, explainLimit);
+
+        long start = System.nanoTime();
+        GuestScanAccumulator accumulator = new GuestScanAccumulator(
+                premiumTopK(premiumRooms, Integer.MAX_VALUE, effectiveExplainLimit, true),
+                economyTopK(premiumRooms, economyRooms, Integer.MAX_VALUE, effectiveExplainLimit, true),
+                progressListener,
+                progressInterval.toNanos()
+        );
+        try {
+            guests.forEach(accumulator::accept);
+            if (progressListener != null) {
+                progressListener.onProgress(accumulator.progress());
+            }
+
+            Computation c = accumulator.finish(premiumRooms, economyRooms);
+            long guestCount = c.premiumCount() + c.economyCount();
+            AllocationResult summary = computeSummary(premiumRooms, economyRooms, c);
+            AllocationExplanation explanation = explain(premiumRooms, economyRooms, effectiveExplainLimit, c,
+                    HeapScanAllocationEngine.NAME, AllocationContext.NONE);
 
-            updatesCount.record(explanation.upgrades());
-            revenuePremium.record(summary.revenueEconomy().doubleValue());
-            revenueEconomy.record(summary.revenueEconomy().doubleValue());
+            recordResult(guestCount, c.upgrades(), summary);
 
             return new AllocationExplainResult(summary, explanation);
-        });
+        } finally {
+            long nanos = System.nanoTime() - start;
+            allocationTimers.get(HeapScanAllocationEngine.NAME).record(nanos, TimeUnit.NANOSECONDS);
+            // a failed or cancelled stream is classed by the guests it got through
+            sizeMetrics.record(accumulator.scanned(), true, false, nanos);
+        }
+    }
+
+    /**
+     * Runs {@code allocation} and records its duration, also when it fails, in the engine
+     * timer and by size class.
+     */
+    private <T> T timed(AllocationEngine engine, int guests, boolean explain, AllocationContext context, Supplier<T> allocation) {
+        long start = System.nanoTime();
+        try {
+            return allocation.get();
+        } finally {
+            if (!context.isWarmup()) {
+                long nanos = System.nanoTime() - start;
+                allocationTimers.get(engine.name()).record(nanos, TimeUnit.NANOSECONDS);
+                sizeMetrics.record(guests, explain, context.isIdempotent(), nanos);
+            }
+        }
+    }
+
+    private void recordResult(long guests, int upgrades, AllocationResult summary) {
+        requests.increment();
+        potentialGuestCount.record(guests);
+        updatesCount.record(upgrades);
+        revenuePremium.record(summary.revenuePremium().doubleValue());
+        revenueEconomy.record(summary.revenueEconomy().doubleValue());
     }
 
     private static void validateInputs(int premiumRooms, int economyRooms, List<BigDecimal> potentialGuests) {
@@ -110,140 +380,233 @@ public class RoomAllocationService {
         if (potentialGuests == null) {
             throw new IllegalArgumentException("Potential guests list cannot be null");
         }
+        if (potentialGuests instanceof GuestBids bids && bids.hasViolations()) {
+            GuestBids.Violation violation = bids.violations().get(0);
+            throw new IllegalArgumentException("potentialGuests[" + violation.index() + "]: " + violation.message());
+        }
     }
 
-    private static Computation scanGuests(int premiumRooms,
-                                          int economyRooms,
-                                          List<BigDecimal> potentialGuests,
-                                          int explainLimit,
-                                          boolean explainMode) {
+    private MemoryBudget.Reservation reserve(long bytes, boolean countGranted) {
+        MemoryBudget.Reservation reservation = memoryBudget.tryReserve(bytes);
+        if (reservation == null) {
+            throw rejected(bytes);
+        }
+        if (countGranted) {
+            memoryGranted.increment();
+        }
+        return reservation;
+    }
 
-        int premiumTopK = explainMode
-                ? clampTopK((long) premiumRooms + (long) explainLimit, potentialGuests.size())
-                : clampTopK((long) premiumRooms, potentialGuests.size());
+    private MemoryBudgetExceededException rejected(long bytes) {
+        memoryRejected.increment();
+        boolean retryable = memoryBudget.fits(bytes);
+        return new MemoryBudgetExceededException(retryable
+                ? "Allocation memory budget is exhausted, retry later"
+                : "Request needs about " + bytes + " bytes of allocation memory, more than a single request may use",
+                bytes, retryable);
+    }
 
-        int economyTopK = explainMode
-                ? clampTopK((long) economyRooms + (long) premiumRooms + (long) explainLimit, potentialGuests.size())
-                : clampTopK((long) economyRooms + (long) premiumRooms, potentialGuests.size());
+    /**
+     * Engine scratch space plus the explain lists: each premium list holds at most
+     * {@code explainLimit} of the premium top-K, each economy list of the economy top-K.
+     */
+    private static long estimateBytes(AllocationEngine engine, int premiumRooms, int economyRooms, int guestCount, int explainLimit) {
+        int premiumTopK = premiumTopK(premiumRooms, guestCount, explainLimit, true);
+        int economyTopK = economyTopK(premiumRooms, economyRooms, guestCount, explainLimit, true);
 
-        PriorityQueue<BigDecimal> premiumHeap = premiumTopK > 0 ? new PriorityQueue<>(premiumTopK) : null;
-        PriorityQueue<BigDecimal> economyHeap = economyTopK > 0 ? new PriorityQueue<>(economyTopK) : null;
+        long explainEntries = 2L * Math.min(explainLimit, premiumTopK) + 3L * Math.min(explainLimit, economyTopK);
+        return engine.scratchBytes(guestCount, premiumTopK, economyTopK) + EXPLAIN_ENTRY_BYTES * explainEntries;
+    }
 
-        int premiumCount = 0;
-        int economyCount = 0;
+    private static Counter memoryOutcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("allocation.memory.requests")
+                .description("Allocations by memory budget outcome; degraded explain requests are answered with counts only")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
-        for (BigDecimal g : potentialGuests) {
-            if(g == null){
-                continue;
-            }
-            if (g.compareTo(PREMIUM_THRESHOLD) >= 0) {
-                premiumCount++;
-                offerTopK(premiumHeap, g, premiumTopK);
-            } else {
-                economyCount++;
-                offerTopK(economyHeap, g, economyTopK);
-            }
+    /**
+     * Checks a context that may have expired while the request was queued or parsed. Nothing
+     * has been scanned yet, so the whole allocation is skipped; its cost is taken to be the
+     * engine's mean duration.
+     */
+    private void checkpoint(AllocationContext context, AllocationEngine engine) {
+        try {
+            context.checkpoint();
+        } catch (AllocationCancelledException e) {
+            throw recordCancelled(e, allocationTimers.get(engine.name()).mean(TimeUnit.SECONDS));
         }
+    }
 
-        int directPremium = Math.min(premiumRooms, premiumCount);
-        int freePremium = premiumRooms - directPremium;
+    private AllocationCancelledException recordCancelled(AllocationCancelledException e) {
+        return recordCancelled(e, e.getSkipped().toNanos() / 1e9);
+    }
 
-        int upgrades = (freePremium > 0 && economyCount > economyRooms)
-                ? Math.min(freePremium, economyCount - economyRooms)
-                : 0;
+    private AllocationCancelledException recordCancelled(AllocationCancelledException e, double skippedSeconds) {
+        cancelled.get(e.getReason()).increment();
+        cancelledSkippedSeconds.get(e.getReason()).increment(skippedSeconds);
+        log.debug("Allocation stopped: {}", e.getMessage());
+        return e;
+    }
 
-        return new Computation(
-                premiumCount,
-                economyCount,
-                upgrades,
-                sortedDesc(premiumHeap),
-                sortedDesc(economyHeap)
+    private static Computation scanGuests(int premiumRooms,
+                                          int economyRooms,
+                                          GuestBids potentialGuests,
+                                          int explainLimit,
+                                          boolean explainMode,
+                                          AllocationEngine engine,
+                                          AllocationContext context) {
+
+        int premiumTopK = premiumTopK(premiumRooms, potentialGuests.size(), explainLimit, explainMode);
+        int economyTopK = economyTopK(premiumRooms, economyRooms, potentialGuests.size(), explainLimit, explainMode);
+
+        context.begin(potentialGuests.size());
+        AllocationEvents.Scan event = new AllocationEvents.Scan();
+        event.begin();
+        Computation computation = engine.compute(premiumRooms, economyRooms, potentialGuests, premiumTopK, economyTopK, context);
+        event.end();
+        if (event.shouldCommit()) {
+            event.guestCount = potentialGuests.size();
+            event.premiumHeapSize = premiumTopK;
+            event.economyHeapSize = economyTopK;
+            event.engine = engine.name();
+            event.commit();
+        }
+        return computation;
+    }
+
+    private static AllocationExplanation explain(int premiumRooms,
+                                                 int economyRooms,
+                                                 int explainLimit,
+                                                 Computation computation,
+                                                 String engine,
+                                                 AllocationContext context) {
+        AllocationEvents.ExplainBuild event = new AllocationEvents.ExplainBuild();
+        event.begin();
+        AllocationExplanation explanation = buildExplaination(premiumRooms, economyRooms, explainLimit, computation, context);
+        event.end();
+        if (event.shouldCommit()) {
+            event.guestCount = computation.premiumCount() + computation.economyCount();
+            event.premiumHeapSize = computation.premiumTop().length;
+            event.economyHeapSize = computation.economyTop().length;
+            event.engine = engine;
+            event.explainLimit = explainLimit;
+            event.commit();
+        }
+        return explanation;
+    }
+
+    private AllocationEngine selectEngine(int premiumRooms,
+                                          int economyRooms,
+                                          GuestBids potentialGuests,
+                                          int explainLimit) {
+        int size = potentialGuests.size();
+        return engineSelector.select(
+                potentialGuests,
+                premiumTopK(premiumRooms, size, explainLimit, true),
+                economyTopK(premiumRooms, economyRooms, size, explainLimit, true)
         );
     }
 
-    private static AllocationResult computeSummary(int premiumRooms, int economyRooms, Computation computation) {
-        int directPremium = Math.min(premiumRooms, computation.premiumCount());
+    private static int premiumTopK(int premiumRooms, int guestCount, int explainLimit, boolean explainMode) {
+        return explainMode
+                ? clampTopK((long) premiumRooms + (long) explainLimit, guestCount)
+                : clampTopK((long) premiumRooms, guestCount);
+    }
+
+    private static int economyTopK(int premiumRooms, int economyRooms, int guestCount, int explainLimit, boolean explainMode) {
+        return explainMode
+                ? clampTopK((long) economyRooms + (long) premiumRooms + (long) explainLimit, guestCount)
+                : clampTopK((long) economyRooms + (long) premiumRooms, guestCount);
+    }
+
+    static boolean isPremium(long cents) {
+        return cents >= PREMIUM_THRESHOLD_CENTS;
+    }
+
+    private AllocationResult computeSummary(int premiumRooms, int economyRooms, Computation computation) {
+        return computeSummary(premiumRooms, economyRooms, computation.premiumCount(), computation.economyCount(),
+                computation.upgrades(), computation.premiumTop(), computation.economyTop());
+    }
+
+    /**
+     * {@code premiumTop} and {@code economyTop} may be longer than the retained top-K: only
+     * the first {@code min(premiumRooms, premiumCount)} and
+     * {@code upgrades + usageEconomy} entries are read, which never exceed it.
+     */
+    private AllocationResult computeSummary(int premiumRooms,
+                                            int economyRooms,
+                                            int premiumCount,
+                                            int economyCount,
+                                            int upgrades,
+                                            long[] premiumTop,
+                                            long[] economyTop) {
+        int directPremium = Math.min(premiumRooms, premiumCount);
         int freePremium = premiumRooms - directPremium;
-        int upgrades = computation.upgrades();
 
         int usagePremium = directPremium + upgrades;
-        int usageEconomy = Math.min(economyRooms, computation.economyCount);
-        if(freePremium > 0 && computation.economyCount > economyRooms){
+        int usageEconomy = Math.min(economyRooms, economyCount);
+        if(freePremium > 0 && economyCount > economyRooms){
             usageEconomy = economyRooms;
         }
 
-        List<BigDecimal> allocatedPremiumGuests = subListSafe(computation.premiumTop, 0, directPremium);
-
-        List<BigDecimal> economyTop = computation.economyTop;
+        long revenuePremium = sum(premiumTop, 0, directPremium) + sum(economyTop, 0, upgrades);
+        long revenueEconomy = sum(economyTop, upgrades, upgrades + usageEconomy);
 
-        List<BigDecimal> upgradedEconomy = subListSafe(economyTop, 0, upgrades);
-        List<BigDecimal> allocatedEconomy = subListSafe(economyTop, upgrades, upgrades + usageEconomy);
-
-        BigDecimal revenuePremium = sum(allocatedPremiumGuests).add(sum(upgradedEconomy));
-        BigDecimal revenueEconomy = sum(allocatedEconomy);
-
-        return new AllocationResult(usagePremium, revenuePremium, usageEconomy, revenueEconomy);
+        return new AllocationResult(usagePremium, GuestBids.amount(revenuePremium), usageEconomy, GuestBids.amount(revenueEconomy));
     }
 
-    private static AllocationExplanation buildExplaination(int premiumRooms, int economyRooms, int explainLimit, Computation computation) {
+    private static AllocationExplanation buildExplaination(int premiumRooms,
+                                                           int economyRooms,
+                                                           int explainLimit,
+                                                           Computation computation,
+                                                           AllocationContext context) {
         int directPremium = Math.min(premiumRooms, computation.premiumCount());
         int freeUpgrade = premiumRooms - directPremium;
         int upgrades = computation.upgrades();
 
-        int usageEconomy = Math.min(economyRooms, computation.economyCount);
-        if(freeUpgrade > 0 && computation.economyCount > economyRooms){
+        int usageEconomy = Math.min(economyRooms, computation.economyCount());
+        if(freeUpgrade > 0 && computation.economyCount() > economyRooms){
             usageEconomy = economyRooms;
         }
 
         int allocatedPremiumCount = directPremium;
         int allocatedEconomyCount = usageEconomy;
-        int rejectedPremiumCount = Math.max(0, computation.premiumCount - directPremium);
-        int rejectedEconomyCount = Math.max(0, computation.economyCount - upgrades - usageEconomy);
+        int rejectedPremiumCount = Math.max(0, computation.premiumCount() - directPremium);
+        int rejectedEconomyCount = Math.max(0, computation.economyCount() - upgrades - usageEconomy);
 
-        List<BigDecimal> upgradedEconomyGuests = subListSafe(computation.economyTop, 0, Math.min(upgrades, explainLimit));
-        List<BigDecimal> allocatedPremiumGuests = subListSafe(computation.premiumTop, 0, Math.min(directPremium, explainLimit));
-        List<BigDecimal> allocatedEconomyGuests = subListSafe(computation.economyTop, upgrades, upgrades + Math.min(usageEconomy, explainLimit));
+        // the lists are views over the top-K arrays; the context is still checked between them
+        List<BigDecimal> upgradedEconomyGuests = GuestBids.amounts(computation.economyTop(), 0, Math.min(upgrades, explainLimit));
+        context.checkpoint();
+        List<BigDecimal> allocatedPremiumGuests = GuestBids.amounts(computation.premiumTop(), 0, Math.min(directPremium, explainLimit));
+        context.checkpoint();
+        List<BigDecimal> allocatedEconomyGuests = GuestBids.amounts(computation.economyTop(), upgrades, upgrades + Math.min(usageEconomy, explainLimit));
+        context.checkpoint();
 
-        List<BigDecimal> rejectedPremiumGuest = subListSafe(computation.premiumTop, directPremium, directPremium + explainLimit);
+        List<BigDecimal> rejectedPremiumGuest = GuestBids.amounts(computation.premiumTop(), directPremium, (long) directPremium + explainLimit);
+        context.checkpoint();
 
         int rejectedEconomyStart = upgrades + usageEconomy;
-        List<BigDecimal> rejectedEconomyGuests = subListSafe(computation.economyTop, rejectedEconomyStart, rejectedEconomyStart + explainLimit);
+        List<BigDecimal> rejectedEconomyGuests = GuestBids.amounts(computation.economyTop(), rejectedEconomyStart, (long) rejectedEconomyStart + explainLimit);
 
         return new AllocationExplanation(
-                computation.premiumCount,
-                computation.economyCount,
+                computation.premiumCount(),
+                computation.economyCount(),
                 upgrades,
                 allocatedPremiumCount,
                 allocatedEconomyCount,
                 rejectedPremiumCount,
-                rejectedPremiumCount,
+                rejectedEconomyCount,
                 explainLimit,
-                List.copyOf(upgradedEconomyGuests),
-                List.copyOf(allocatedPremiumGuests),
-                List.copyOf(allocatedEconomyGuests),
-                List.copyOf(rejectedPremiumGuest),
-                List.copyOf(rejectedEconomyGuests)
+                upgradedEconomyGuests,
+                allocatedPremiumGuests,
+                allocatedEconomyGuests,
+                rejectedPremiumGuest,
+                rejectedEconomyGuests
         );
     }
 
 
-    private static void offerTopK(PriorityQueue<BigDecimal> minHeap, BigDecimal value, int k){
-        if (minHeap == null || k <= 0) {
-            return;
-        }
-
-        if(minHeap.size() < k) {
-            minHeap.offer(value);
-            return;
-        }
-
-        BigDecimal smallest = minHeap.peek();
-        if(smallest != null && value.compareTo(smallest) > 0) {
-            minHeap.poll();
-            minHeap.offer(value);
-        }
-    }
-
     private static int clampTopK(long desired, int maxAvailable){
         if(desired <= 0) {
             return 0;
@@ -253,50 +616,10 @@ public class RoomAllocationService {
         return (int)Math.min(clamped, Integer.MAX_VALUE);
     }
 
-    private static List<BigDecimal> sortedDesc(PriorityQueue<BigDecimal> heap){
-        if(heap == null || heap.isEmpty()) {
-            return List.of();
-        }
-
-        List<BigDecimal> list = new ArrayList<>(heap);
-        list.sort(Comparator.reverseOrder());
-
-        return List.copyOf(list);
-    }
-
-    private static BigDecimal sum(List<BigDecimal> values){
-        if(values == null || values.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal total = BigDecimal.ZERO;
-        for (BigDecimal value : values) {
-            total = total.add(value);
-        }
-
-        return  total;
-    }
-
-    private static List<BigDecimal> subListSafe(List<BigDecimal> list, int fromInclusive, int toExclusive) {
-        if(list == null || list.isEmpty() || fromInclusive >= toExclusive) {
-            return List.of();
-        }
-
+    private long sum(long[] cents, int fromInclusive, int toExclusive){
         int from = Math.max(0, fromInclusive);
-        int to = Math.min(list.size(), toExclusive);
+        int to = Math.min(cents.length, toExclusive);
 
-        if(from >= to) {
-            return List.of();
-        }
-
-        return list.subList(from, to);
+        return from < to ? kernel.sum(cents, from, to) : 0;
     }
-
-    private record Computation(
-            int premiumCount,
-            int economyCount,
-            int upgrades,
-            List<BigDecimal> premiumTop,
-            List<BigDecimal> economyTop
-    ) { }
 }
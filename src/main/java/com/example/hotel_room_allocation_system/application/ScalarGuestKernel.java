@@ -0,0 +1,42 @@
+package com.example.hotel_room_allocation_system.application;
+
+final class ScalarGuestKernel implements GuestKernel {
+    static final ScalarGuestKernel INSTANCE = new ScalarGuestKernel();
+
+    private ScalarGuestKernel() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void scan(long[] cents, int from, int to, GuestScanAccumulator accumulator) {
+        accumulator.acceptAll(cents, from, to);
+    }
+
+    @Override
+    public int partition(long[] cents, int from, int to, long[] premium, long[] economy) {
+        int premiumCount = 0;
+        int economyCount = 0;
+        for (int i = from; i < to; i++) {
+            long g = cents[i];
+            if (RoomAllocationService.isPremium(g)) {
+                premium[premiumCount++] = g;
+            } else {
+                economy[economyCount++] = g;
+            }
+        }
+        return premiumCount;
+    }
+
+    @Override
+    public long sum(long[] cents, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += cents[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+import java.util.Arrays;
+
+/**
+ * Partitions the guests into two arrays and sorts each tier. When the number of rooms
+ * (plus explain entries) approaches the number of guests, a heap degenerates into a
+ * full heap sort with worse constants than a plain array sort.
+ */
+public class SortingAllocationEngine implements AllocationEngine {
+    public static final String NAME = "sort";
+
+    private final GuestKernel kernel;
+
+    public SortingAllocationEngine() {
+        this(ScalarGuestKernel.INSTANCE);
+    }
+
+    SortingAllocationEngine(GuestKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Computation compute(int premiumRooms,
+                               int economyRooms,
+                               GuestBids potentialGuests,
+                               int premiumTopK,
+                               int economyTopK,
+                               AllocationContext context) {
+        long[] cents = potentialGuests.cents();
+        int size = potentialGuests.size();
+        long[] premium = new long[size];
+        long[] economy = new long[size];
+
+        int premiumCount = kernel.partition(cents, 0, size, premium, economy);
+        int economyCount = size - premiumCount;
+        context.advance(size);
+
+        // the partition and sorts are not interruptible; checking between them bounds the overrun to one step
+        long[] premiumTop = topDesc(premium, premiumCount, premiumTopK);
+        context.checkpoint();
+        long[] economyTop = topDesc(economy, economyCount, economyTopK);
+        context.checkpoint();
+
+        return Computation.of(
+                premiumRooms,
+                economyRooms,
+                premiumCount,
+                economyCount,
+                premiumTop,
+                economyTop
+        );
+    }
+
+    @Override
+    public long scratchBytes(int guestCount, int premiumTopK, int economyTopK) {
+        // both tier buffers are sized for every guest
+        return Long.BYTES * (2L * guestCount + Math.min(premiumTopK, guestCount) + Math.min(economyTopK, guestCount));
+    }
+
+    private static long[] topDesc(long[] values, int count, int k) {
+        int size = Math.min(count, k);
+        if (size <= 0) {
+            return new long[0];
+        }
+
+        Arrays.sort(values, 0, count);
+        long[] top = new long[size];
+        for (int i = 0; i < size; i++) {
+            top[i] = values[count - 1 - i];
+        }
+        return top;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.hotel_room_allocation_system.application;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link GuestKernel} on the incubating Vector API, one vector of bids per step
+ * (4 lanes with AVX2, 8 with AVX-512). Only loaded through {@link GuestKernels}, and only
+ * when the JVM runs with {@code --add-modules jdk.incubator.vector}.
+ * <p>
+ * The scan compares a whole vector against the threshold and against the current
+ * admission floor of both heaps; per-tier counts come from the mask population, and only
+ * lanes that would actually enter a heap are offered one by one. Once the heaps are full
+ * that is a small fraction of the bids.
+ */
+final class VectorGuestKernel implements GuestKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final long THRESHOLD = RoomAllocationService.PREMIUM_THRESHOLD_CENTS;
+    // compress() is only intrinsified with AVX-512 (vpcompressq); narrower vectors fall back to Java code
+    private static final boolean COMPRESS = SPECIES.vectorBitSize() >= 512;
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+
+    @Override
+    public void scan(long[] cents, int from, int to, GuestScanAccumulator accumulator) {
+        int lanes = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int premiumCount = 0;
+
+        for (int i = from; i < upper; i += lanes) {
+            LongVector v = LongVector.fromArray(SPECIES, cents, i);
+            VectorMask<Long> premium = v.compare(VectorOperators.GE, THRESHOLD);
+            premiumCount += premium.trueCount();
+
+            VectorMask<Long> candidates = premium.and(v.compare(VectorOperators.GT, accumulator.premiumFloor()))
+                    .or(premium.not().and(v.compare(VectorOperators.GT, accumulator.economyFloor())));
+            if (candidates.anyTrue()) {
+                for (long bits = candidates.toLong(); bits != 0; bits &= bits - 1) {
+                    accumulator.offer(cents[i + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+
+        accumulator.addCounts(premiumCount, (upper - from) - premiumCount);
+        accumulator.acceptAll(cents, upper, to);
+    }
+
+    @Override
+    public int partition(long[] cents, int from, int to, long[] premium, long[] economy) {
+        int lanes = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int premiumCount = 0;
+        int economyCount = 0;
+
+        for (int i = from; i < upper; i += lanes) {
+            LongVector v = LongVector.fromArray(SPECIES, cents, i);
+            VectorMask<Long> isPremium = v.compare(VectorOperators.GE, THRESHOLD);
+
+            if (COMPRESS) {
+                int n = isPremium.trueCount();
+                store(v.compress(isPremium), premium, premiumCount, n);
+                store(v.compress(isPremium.not()), economy, economyCount, lanes - n);
+                premiumCount += n;
+                economyCount += lanes - n;
+            } else {
+                // branchless: write every bid to both targets, advance only the matching one
+                long bits = isPremium.toLong();
+                for (int lane = 0; lane < lanes; lane++) {
+                    long g = cents[i + lane];
+                    int bit = (int) (bits >>> lane) & 1;
+                    premium[premiumCount] = g;
+                    economy[economyCount] = g;
+                    premiumCount += bit;
+                    economyCount += 1 - bit;
+                }
+            }
+        }
+
+        for (int i = upper; i < to; i++) {
+            long g = cents[i];
+            if (RoomAllocationService.isPremium(g)) {
+                premium[premiumCount++] = g;
+            } else {
+                economy[economyCount++] = g;
+            }
+        }
+        return premiumCount;
+    }
+
+    @Override
+    public long sum(long[] cents, int from, int to) {
+        int upper = from + SPECIES.loopBound(to - from);
+        LongVector acc = LongVector.zero(SPECIES);
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            acc = acc.add(LongVector.fromArray(SPECIES, cents, i));
+        }
+
+        long total = acc.reduceLanes(VectorOperators.ADD);
+        for (int i = upper; i < to; i++) {
+            total += cents[i];
+        }
+        return total;
+    }
+
+    /**
+     * Writes the first {@code count} lanes of {@code v} at {@code offset}. A full store is
+     * cheaper than a masked one; the lanes past {@code count} are overwritten by the next
+     * store or lie beyond the partition and are never read.
+     */
+    private static void store(LongVector v, long[] target, int offset, int count) {
+        if (offset + SPECIES.length() <= target.length) {
+            v.intoArray(target, offset);
+        } else if (count > 0) {
+            v.intoArray(target, offset, SPECIES.indexInRange(offset, offset + count));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hotel_room_allocation_system.domain;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of bids (whole euro cents) at {@code offset} to
+ * {@code offset + size} of a shared array, such as one of the sorted top-K arrays of
+ * an allocation. Like {@link GuestBids} the {@link java.util.List} view materializes a
+ * {@link BigDecimal} only when an element is read; writers that only need the numbers
+ * take {@link #cents()}, {@link #offset()} and {@link #size()} instead.
+ * <p>
+ * The view keeps the whole backing array reachable; {@link #toGuestBids()} copies just
+ * the slice for anything that is retained.
+ */
+public final class BidSlice extends AbstractList<BigDecimal> implements RandomAccess {
+    private final long[] cents;
+    private final int offset;
+    private final int size;
+
+    BidSlice(long[] cents, int offset, int size) {
+        Objects.checkFromIndexSize(offset, size, cents.length);
+        this.cents = cents;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /** Backing array, not copied; callers must not modify it. */
+    public long[] cents() {
+        return cents;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public BigDecimal get(int index) {
+        Objects.checkIndex(index, size);
+        return GuestBids.amount(cents[offset + index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public GuestBids toGuestBids() {
+        return GuestBids.ofCents(Arrays.copyOfRange(cents, offset, offset + size));
+    }
+}
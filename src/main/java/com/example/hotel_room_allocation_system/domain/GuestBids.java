@@ -0,0 +1,128 @@
+package com.example.hotel_room_allocation_system.domain;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Guest bids held as whole euro cents in a primitive array. Allocation works on the
+ * cents directly; the {@link List} view materializes a {@link BigDecimal} only when an
+ * element is actually read (validation messages, logging, tests).
+ * <p>
+ * Instances produced while parsing a request may carry {@link Violation}s for entries
+ * that were null or out of range. The cents of such entries are meaningless and the
+ * list view returns the rejected value instead.
+ */
+public final class GuestBids extends AbstractList<BigDecimal> implements RandomAccess {
+    public record Violation(int index, String message, BigDecimal rejectedValue) { }
+
+    private final long[] cents;
+    private final int size;
+    private final List<Violation> violations;
+
+    public GuestBids(long[] cents, int size) {
+        this(cents, size, List.of());
+    }
+
+    public GuestBids(long[] cents, int size, List<Violation> violations) {
+        if (size < 0 || size > cents.length) {
+            throw new IllegalArgumentException("size out of range: " + size);
+        }
+        this.cents = cents;
+        this.size = size;
+        this.violations = List.copyOf(violations);
+    }
+
+    public static GuestBids ofCents(long... cents) {
+        return new GuestBids(cents, cents.length);
+    }
+
+    /**
+     * Converts a list of prices, skipping null entries the same way the allocation
+     * has always ignored them.
+     */
+    public static GuestBids of(List<BigDecimal> prices) {
+        if (prices instanceof GuestBids bids) {
+            return bids;
+        }
+        if (prices instanceof BidSlice slice) {
+            return slice.toGuestBids();
+        }
+
+        long[] cents = new long[prices.size()];
+        int size = 0;
+        for (BigDecimal price : prices) {
+            if (price != null) {
+                cents[size++] = toCents(price);
+            }
+        }
+        return new GuestBids(cents, size);
+    }
+
+    /**
+     * Backing array; only the first {@link #size()} entries are bids. Not copied, so
+     * callers must not modify it.
+     */
+    public long[] cents() {
+        return cents;
+    }
+
+    public List<Violation> violations() {
+        return violations;
+    }
+
+    public boolean hasViolations() {
+        return !violations.isEmpty();
+    }
+
+    @Override
+    public BigDecimal get(int index) {
+        Objects.checkIndex(index, size);
+        for (Violation violation : violations) {
+            if (violation.index() == index) {
+                return violation.rejectedValue();
+            }
+        }
+        return amount(cents[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public static long toCents(BigDecimal price) {
+        try {
+            return price.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Potential guest prices must have up to 7 integer digits and up to 2 fractional digits");
+        }
+    }
+
+    /**
+     * Price for {@code cents} without redundant trailing zeros, so 12300 becomes 123 and
+     * 9990 becomes 99.9.
+     */
+    public static BigDecimal amount(long cents) {
+        if (cents == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal amount = BigDecimal.valueOf(cents, 2).stripTrailingZeros();
+        return amount.scale() < 0 ? amount.setScale(0) : amount;
+    }
+
+    /**
+     * Bids at {@code fromInclusive} to {@code toExclusive} of {@code cents}, clamped to the
+     * array, as a {@link BidSlice} view over it.
+     */
+    public static List<BigDecimal> amounts(long[] cents, int fromInclusive, long toExclusive) {
+        int from = Math.max(0, fromInclusive);
+        int to = (int) Math.min(cents.length, toExclusive);
+        if (from >= to) {
+            return List.of();
+        }
+        return new BidSlice(cents, from, to - from);
+    }
+}
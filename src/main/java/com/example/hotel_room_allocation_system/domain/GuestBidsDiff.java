@@ -0,0 +1,47 @@
+package com.example.hotel_room_allocation_system.domain;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multiset difference between two guest lists: the bids that appear more often in
+ * {@code after} than in {@code before} are {@link #added()}, the opposite are
+ * {@link #removed()}. Both are ordered from the highest bid down, like the explain lists.
+ */
+public record GuestBidsDiff(GuestBids added, GuestBids removed) {
+
+    public static GuestBidsDiff between(List<BigDecimal> before, List<BigDecimal> after) {
+        long[] previous = sortedCents(GuestBids.of(before));
+        long[] current = sortedCents(GuestBids.of(after));
+
+        long[] added = new long[current.length];
+        long[] removed = new long[previous.length];
+        int addedCount = 0;
+        int removedCount = 0;
+
+        int i = previous.length - 1;
+        int j = current.length - 1;
+        while (i >= 0 || j >= 0) {
+            if (j < 0 || (i >= 0 && previous[i] > current[j])) {
+                removed[removedCount++] = previous[i--];
+            } else if (i < 0 || current[j] > previous[i]) {
+                added[addedCount++] = current[j--];
+            } else {
+                i--;
+                j--;
+            }
+        }
+        return new GuestBidsDiff(new GuestBids(added, addedCount), new GuestBids(removed, removedCount));
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    private static long[] sortedCents(GuestBids bids) {
+        long[] cents = Arrays.copyOf(bids.cents(), bids.size());
+        Arrays.sort(cents);
+        return cents;
+    }
+}
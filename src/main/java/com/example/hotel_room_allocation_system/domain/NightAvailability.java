@@ -0,0 +1,13 @@
+package com.example.hotel_room_allocation_system.domain;
+
+import java.time.LocalDate;
+
+/** Registered capacity and rooms still free of one hotel night. */
+public record NightAvailability(
+        LocalDate date,
+        int premiumRooms,
+        int economyRooms,
+        int premiumFree,
+        int economyFree
+) {
+}
@@ -0,0 +1,34 @@
+package com.example.hotel_room_allocation_system.domain;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Revenue distribution of a booking plan under random no-shows, one {@link Level} per
+ * number of rooms sold beyond capacity in each tier.
+ */
+public record OverbookingSimulation(
+        int trials,
+        long seed,
+        int recommendedOverbooking,
+        List<Level> levels
+) {
+    /**
+     * @param bookedPremium guests booked into premium rooms, upgrades included
+     * @param bookedEconomy guests booked into economy rooms
+     * @param expectedWalked mean number of guests who showed up without a room
+     * @param walkProbability share of trials in which at least one guest was walked
+     */
+    public record Level(
+            int overbooking,
+            int bookedPremium,
+            int bookedEconomy,
+            BigDecimal expectedRevenue,
+            BigDecimal revenueP5,
+            BigDecimal revenueP50,
+            BigDecimal revenueP95,
+            double expectedWalked,
+            double walkProbability
+    ) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hotel_room_allocation_system.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rooms held for one guest, one room for every night from {@code checkIn} up to but
+ * excluding {@code checkOut}. {@code nightRoomTypes} has the tier of each night's room;
+ * {@code roomType} is premium only when every night is, and {@code upgraded} is set when
+ * an economy guest got a premium room on at least one night.
+ */
+public record Reservation(
+        String id,
+        String hotelId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        BigDecimal price,
+        RoomType roomType,
+        boolean upgraded,
+        List<RoomType> nightRoomTypes
+) {
+    public enum RoomType {
+        PREMIUM, ECONOMY
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.hotel_room_allocation_system.exception;
+
+import java.time.Duration;
+
+public class AllocationCancelledException extends RuntimeException {
+    public enum Reason { DEADLINE }
+
+    private final Reason reason;
+    private final Duration elapsed;
+    private final Duration skipped;
+
+    public AllocationCancelledException(Reason reason, Duration elapsed, Duration skipped) {
+        super("Request deadline exceeded after " + elapsed.toMillis() + " ms");
+        this.reason = reason;
+        this.elapsed = elapsed;
+        this.skipped = skipped;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /** Estimated compute time the allocation would still have needed. */
+    public Duration getSkipped() {
+        return skipped;
+    }
+}
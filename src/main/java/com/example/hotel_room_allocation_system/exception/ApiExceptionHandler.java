@@ -1,8 +1,10 @@
 package com.example.hotel_room_allocation_system.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.ErrorResponseException;
@@ -18,6 +20,12 @@ public class ApiExceptionHandler {
     private static final URI TYPE_VALIDATION = URI.create("urn:problem:validation-error");
     private static final URI TYPE_BAD_REQUEST = URI.create("urn:problem:bad-request");
     private static final URI TYPE_IDEMPOTENCY_CONFLICT = URI.create("urn:problem:idempotency-conflict");
+    private static final URI TYPE_PAYLOAD_TOO_LARGE = URI.create("urn:problem:payload-too-large");
+    private static final URI TYPE_NOT_FOUND = URI.create("urn:problem:not-found");
+    private static final URI TYPE_ROOMS_UNAVAILABLE = URI.create("urn:problem:rooms-unavailable");
+    private static final URI TYPE_OVERLOADED = URI.create("urn:problem:overloaded");
+    private static final URI TYPE_MEMORY_BUDGET = URI.create("urn:problem:memory-budget-exceeded");
+    private static final URI TYPE_DEADLINE_EXCEEDED = URI.create("urn:problem:deadline-exceeded");
     private static final URI TYPE_INTERNAL = URI.create("urn:problem:internal-server-error");
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -42,6 +50,11 @@ public class ApiExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     ProblemDetail handleUnreadable(HttpMessageNotReadableException ex, HttpServletRequest request){
+        PayloadTooLargeException tooLarge = findCause(ex, PayloadTooLargeException.class);
+        if(tooLarge != null){
+            return handlePayloadTooLarge(tooLarge, request);
+        }
+
         ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
         pd.setType(TYPE_BAD_REQUEST);
         pd.setTitle("Bad request");
@@ -73,6 +86,89 @@ public class ApiExceptionHandler {
         return pd;
     }
 
+    @ExceptionHandler(PayloadTooLargeException.class)
+    ProblemDetail handlePayloadTooLarge(PayloadTooLargeException ex, HttpServletRequest request){
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.PAYLOAD_TOO_LARGE);
+        pd.setType(TYPE_PAYLOAD_TOO_LARGE);
+        pd.setTitle("Payload Too Large");
+        pd.setDetail(ex.getMessage());
+        pd.setInstance(URI.create(request.getRequestURI()));
+        pd.setProperty("maxRequestBytes", ex.getMaxBytes());
+
+        return pd;
+    }
+
+    @ExceptionHandler({JobNotFoundException.class, SnapshotNotFoundException.class, ReservationNotFoundException.class})
+    ProblemDetail handleNotFound(RuntimeException ex, HttpServletRequest request){
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+        pd.setType(TYPE_NOT_FOUND);
+        pd.setTitle("Not found");
+        pd.setDetail(ex.getMessage());
+        pd.setInstance(URI.create(request.getRequestURI()));
+
+        return pd;
+    }
+
+    @ExceptionHandler(RoomsUnavailableException.class)
+    ProblemDetail handleRoomsUnavailable(RoomsUnavailableException ex, HttpServletRequest request){
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        pd.setType(TYPE_ROOMS_UNAVAILABLE);
+        pd.setTitle("Rooms unavailable");
+        pd.setDetail(ex.getMessage());
+        pd.setInstance(URI.create(request.getRequestURI()));
+
+        return pd;
+    }
+
+    @ExceptionHandler(JobRejectedException.class)
+    ResponseEntity<ProblemDetail> handleJobRejected(JobRejectedException ex, HttpServletRequest request){
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        pd.setType(TYPE_OVERLOADED);
+        pd.setTitle("Service Overloaded");
+        pd.setDetail(ex.getMessage());
+        pd.setInstance(URI.create(request.getRequestURI()));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(pd);
+    }
+
+    @ExceptionHandler(MemoryBudgetExceededException.class)
+    ResponseEntity<ProblemDetail> handleMemoryBudgetExceeded(MemoryBudgetExceededException ex, HttpServletRequest request){
+        if(ex.isRetryable()){
+            ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+            pd.setType(TYPE_OVERLOADED);
+            pd.setTitle("Service Overloaded");
+            pd.setDetail(ex.getMessage());
+            pd.setInstance(URI.create(request.getRequestURI()));
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(pd);
+        }
+
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.PAYLOAD_TOO_LARGE);
+        pd.setType(TYPE_MEMORY_BUDGET);
+        pd.setTitle("Memory Budget Exceeded");
+        pd.setDetail(ex.getMessage());
+        pd.setInstance(URI.create(request.getRequestURI()));
+        pd.setProperty("requiredBytes", ex.getRequiredBytes());
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(pd);
+    }
+
+    @ExceptionHandler(AllocationCancelledException.class)
+    ProblemDetail handleAllocationCancelled(AllocationCancelledException ex, HttpServletRequest request){
+        // if the client is already gone this is never read, but nothing else is computed for it
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.GATEWAY_TIMEOUT);
+        pd.setType(TYPE_DEADLINE_EXCEEDED);
+        pd.setTitle("Deadline Exceeded");
+        pd.setDetail(ex.getMessage());
+        pd.setInstance(URI.create(request.getRequestURI()));
+
+        return pd;
+    }
+
     @ExceptionHandler(ErrorResponseException.class)
     ProblemDetail handleErrorResponse(ErrorResponseException ex, HttpServletRequest request){
         ProblemDetail pd = ex.getBody();
@@ -97,4 +193,12 @@ public class ApiExceptionHandler {
         return pd;
     }
 
+    private static <T extends Throwable> T findCause(Throwable ex, Class<T> type){
+        for(Throwable t = ex; t != null; t = t.getCause()){
+            if(type.isInstance(t)){
+                return type.cast(t);
+            }
+        }
+        return null;
+    }
 }
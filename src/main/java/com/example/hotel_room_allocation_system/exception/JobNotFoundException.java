@@ -0,0 +1,7 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
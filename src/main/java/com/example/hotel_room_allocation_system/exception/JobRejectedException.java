@@ -0,0 +1,7 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class JobRejectedException extends RuntimeException {
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
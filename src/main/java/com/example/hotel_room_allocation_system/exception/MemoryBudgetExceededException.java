@@ -0,0 +1,21 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class MemoryBudgetExceededException extends RuntimeException {
+    private final long requiredBytes;
+    private final boolean retryable;
+
+    public MemoryBudgetExceededException(String message, long requiredBytes, boolean retryable) {
+        super(message);
+        this.requiredBytes = requiredBytes;
+        this.retryable = retryable;
+    }
+
+    public long getRequiredBytes() {
+        return requiredBytes;
+    }
+
+    /** False when the request alone exceeds the per-request limit and will never fit. */
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+    private final long maxBytes;
+
+    public PayloadTooLargeException(String message, long maxBytes) {
+        super(message);
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class RoomsUnavailableException extends RuntimeException {
+    public RoomsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.hotel_room_allocation_system.exception;
+
+public class SnapshotNotFoundException extends RuntimeException {
+    public SnapshotNotFoundException(String message) {
+        super(message);
+    }
+}
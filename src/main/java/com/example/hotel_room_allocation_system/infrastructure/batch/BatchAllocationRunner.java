@@ -0,0 +1,122 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link RoomAllocationService} over every scenario of a bid file. The calling
+ * thread plans chunks and writes results; a fixed pool maps, parses and allocates the
+ * chunks. At most two chunks per worker are in flight, so memory stays bounded however
+ * large the input is, and results are written in input order.
+ */
+public class BatchAllocationRunner {
+    public record Summary(long scenarios, long invalid, long guests, Duration elapsed) {
+        public double scenariosPerSecond() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds > 0 ? scenarios / seconds : scenarios;
+        }
+    }
+
+    public static final long DEFAULT_CHUNK_BYTES = 4L << 20;
+
+    private final RoomAllocationService allocationService;
+    private final int threads;
+    private final long chunkBytes;
+
+    public BatchAllocationRunner(RoomAllocationService allocationService, int threads, long chunkBytes) {
+        if (threads < 1 || chunkBytes < 1) {
+            throw new IllegalArgumentException("threads and chunkBytes must be positive");
+        }
+        this.allocationService = allocationService;
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public Summary run(Path input, BidFileFormat format, Path output) throws IOException {
+        long started = System.nanoTime();
+        long invalid = 0;
+        long guests = 0;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "batch-allocation-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ThreadLocal<ScenarioParser> parsers = ThreadLocal.withInitial(ScenarioParser::new);
+
+        try (BidFileReader reader = new BidFileReader(input, format);
+             ColumnarResultWriter writer = new ColumnarResultWriter(output)) {
+            Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+            BidFileReader.Chunk chunk;
+            while ((chunk = reader.nextChunk(chunkBytes)) != null) {
+                if (inFlight.size() >= threads * 2) {
+                    ChunkResult result = await(inFlight.removeFirst());
+                    writer.write(result);
+                    invalid += result.invalid();
+                    guests += result.guests;
+                }
+                ByteBuffer mapped = reader.map(chunk);
+                BidFileReader.Chunk current = chunk;
+                inFlight.addLast(workers.submit(() -> allocate(parsers.get(), format, current, mapped)));
+            }
+            while (!inFlight.isEmpty()) {
+                ChunkResult result = await(inFlight.removeFirst());
+                writer.write(result);
+                invalid += result.invalid();
+                guests += result.guests;
+            }
+            long scenarios = writer.totalRows();
+            return new Summary(scenarios, invalid, guests, Duration.ofNanos(System.nanoTime() - started));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private ChunkResult allocate(ScenarioParser parser, BidFileFormat format, BidFileReader.Chunk chunk, ByteBuffer mapped)
+            throws IOException {
+        ChunkResult result = new ChunkResult(chunk.index());
+        parser.parse(format, mapped, chunk.offset(), (premiumRooms, economyRooms, cents, guestCount, valid) -> {
+            result.guests += guestCount;
+            if (!valid) {
+                result.addInvalid();
+                return;
+            }
+            AllocationResult allocation = allocationService.allocate(premiumRooms, economyRooms, new GuestBids(cents, guestCount));
+            result.add(allocation.usagePremium(), GuestBids.toCents(allocation.revenuePremium()),
+                    allocation.usageEconomy(), GuestBids.toCents(allocation.revenueEconomy()));
+        });
+        return result;
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a chunk", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
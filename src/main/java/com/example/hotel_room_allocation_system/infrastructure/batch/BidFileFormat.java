@@ -0,0 +1,31 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Input layouts understood by the batch runner. Both hold one scenario per block:
+ * <ul>
+ *     <li>{@link #BINARY}: little-endian {@code "BIDS"} magic and an {@code int} version,
+ *     then per scenario {@code int premiumRooms, int economyRooms, int guestCount} followed
+ *     by {@code guestCount} {@code long} bids in cents.</li>
+ *     <li>{@link #CSV}: one line per scenario, {@code premiumRooms,economyRooms,bid,bid,...}
+ *     with bids as plain decimals of at most two fraction digits. Blank lines and lines
+ *     starting with {@code #} are skipped.</li>
+ * </ul>
+ */
+public enum BidFileFormat {
+    BINARY,
+    CSV;
+
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    public static final int BINARY_MAGIC = 0x53444942; // "BIDS" read little-endian
+    public static final int BINARY_VERSION = 1;
+    public static final int BINARY_HEADER_BYTES = 8;
+    public static final int BINARY_SCENARIO_HEADER_BYTES = 12;
+
+    public static BidFileFormat forPath(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : BINARY;
+    }
+}
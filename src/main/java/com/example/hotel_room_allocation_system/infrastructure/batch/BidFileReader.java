@@ -0,0 +1,127 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Splits a memory-mapped bid file into chunks that end on a scenario boundary, so the
+ * chunks can be parsed independently. Boundaries are found through a sliding read-only
+ * mapping: CSV chunks end at the first newline after the target size, binary chunks
+ * hop from one scenario header to the next without touching the bids in between.
+ */
+class BidFileReader implements Closeable {
+    record Chunk(long index, long offset, long length) { }
+
+    private static final long WINDOW_BYTES = 64L << 20;
+
+    private final FileChannel channel;
+    private final BidFileFormat format;
+    private final long size;
+    private long position;
+    private long nextIndex;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    BidFileReader(Path path, BidFileFormat format) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.format = format;
+        this.size = channel.size();
+        try {
+            this.position = format == BidFileFormat.BINARY ? readBinaryHeader() : 0;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Next chunk of roughly {@code targetBytes}, or null at the end of the file. A single
+     * scenario larger than the target becomes a chunk of its own.
+     */
+    Chunk nextChunk(long targetBytes) throws IOException {
+        if (position >= size) {
+            return null;
+        }
+        long start = position;
+        long end = format == BidFileFormat.CSV ? csvChunkEnd(start, targetBytes) : binaryChunkEnd(start, targetBytes);
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Scenario at offset " + start + " does not fit in a single mapping");
+        }
+        position = end;
+        return new Chunk(nextIndex++, start, end - start);
+    }
+
+    ByteBuffer map(Chunk chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset(), chunk.length()).order(BidFileFormat.BYTE_ORDER);
+    }
+
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private long readBinaryHeader() throws IOException {
+        if (size < BidFileFormat.BINARY_HEADER_BYTES
+                || intAt(0) != BidFileFormat.BINARY_MAGIC
+                || intAt(4) != BidFileFormat.BINARY_VERSION) {
+            throw new IOException("Not a version " + BidFileFormat.BINARY_VERSION + " binary bid file");
+        }
+        return BidFileFormat.BINARY_HEADER_BYTES;
+    }
+
+    private long csvChunkEnd(long start, long targetBytes) throws IOException {
+        for (long pos = start + targetBytes; pos < size; pos++) {
+            if (byteAt(pos) == '\n') {
+                return pos + 1;
+            }
+        }
+        return size;
+    }
+
+    private long binaryChunkEnd(long start, long targetBytes) throws IOException {
+        long pos = start;
+        while (pos < size && pos - start < targetBytes) {
+            if (size - pos < BidFileFormat.BINARY_SCENARIO_HEADER_BYTES) {
+                throw new IOException("Truncated scenario header at offset " + pos);
+            }
+            int guestCount = intAt(pos + 8);
+            if (guestCount < 0) {
+                throw new IOException("Negative guest count at offset " + pos);
+            }
+            long next = pos + BidFileFormat.BINARY_SCENARIO_HEADER_BYTES + guestCount * (long) Long.BYTES;
+            if (next > size) {
+                throw new IOException("Truncated scenario at offset " + pos);
+            }
+            pos = next;
+        }
+        return pos;
+    }
+
+    private byte byteAt(long pos) throws IOException {
+        return slide(pos, 1).get((int) (pos - windowStart));
+    }
+
+    private int intAt(long pos) throws IOException {
+        return slide(pos, Integer.BYTES).getInt((int) (pos - windowStart));
+    }
+
+    private MappedByteBuffer slide(long pos, int bytes) throws IOException {
+        if (window == null || pos < windowStart || pos + bytes > windowStart + window.capacity()) {
+            windowStart = pos;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW_BYTES, size - pos));
+            window.order(BidFileFormat.BYTE_ORDER);
+        }
+        return window;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import java.util.Arrays;
+
+/**
+ * Results of one chunk held column by column, in scenario order.
+ */
+final class ChunkResult {
+    static final byte OK = 0;
+    static final byte INVALID = 1;
+
+    final long index;
+    int rows;
+    long guests;
+    byte[] status = new byte[64];
+    int[] usagePremium = new int[64];
+    long[] revenuePremiumCents = new long[64];
+    int[] usageEconomy = new int[64];
+    long[] revenueEconomyCents = new long[64];
+
+    ChunkResult(long index) {
+        this.index = index;
+    }
+
+    void add(int usagePremium, long revenuePremiumCents, int usageEconomy, long revenueEconomyCents) {
+        int row = nextRow();
+        this.status[row] = OK;
+        this.usagePremium[row] = usagePremium;
+        this.revenuePremiumCents[row] = revenuePremiumCents;
+        this.usageEconomy[row] = usageEconomy;
+        this.revenueEconomyCents[row] = revenueEconomyCents;
+    }
+
+    void addInvalid() {
+        status[nextRow()] = INVALID;
+    }
+
+    long invalid() {
+        long invalid = 0;
+        for (int i = 0; i < rows; i++) {
+            invalid += status[i];
+        }
+        return invalid;
+    }
+
+    private int nextRow() {
+        if (rows == status.length) {
+            int capacity = rows * 2;
+            status = Arrays.copyOf(status, capacity);
+            usagePremium = Arrays.copyOf(usagePremium, capacity);
+            revenuePremiumCents = Arrays.copyOf(revenuePremiumCents, capacity);
+            usageEconomy = Arrays.copyOf(usageEconomy, capacity);
+            revenueEconomyCents = Arrays.copyOf(revenueEconomyCents, capacity);
+        }
+        return rows++;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes batch results as row groups of columns, one group per input chunk, in input
+ * order. Layout (little-endian): {@code "ALOC"} magic and an {@code int} version, then per
+ * group {@code int rows} followed by the columns {@code byte[rows] status},
+ * {@code int[rows] usagePremium}, {@code long[rows] revenuePremiumCents},
+ * {@code int[rows] usageEconomy} and {@code long[rows] revenueEconomyCents}. A group of
+ * zero rows followed by the {@code long} total row count ends the file.
+ * <p>
+ * Rows whose status is not {@code 0} were invalid scenarios and carry zeros.
+ */
+public class ColumnarResultWriter implements Closeable {
+    public static final int MAGIC = 0x434f4c41; // "ALOC" read little-endian
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BidFileFormat.BYTE_ORDER);
+    private long totalRows;
+
+    public ColumnarResultWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    void write(ChunkResult result) throws IOException {
+        int rows = result.rows;
+        if (rows == 0) {
+            return;
+        }
+        ensure(Integer.BYTES).putInt(rows);
+        for (int i = 0; i < rows; i++) {
+            ensure(Byte.BYTES).put(result.status[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensure(Integer.BYTES).putInt(result.usagePremium[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensure(Long.BYTES).putLong(result.revenuePremiumCents[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensure(Integer.BYTES).putInt(result.usageEconomy[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensure(Long.BYTES).putLong(result.revenueEconomyCents[i]);
+        }
+        totalRows += rows;
+    }
+
+    long totalRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            ensure(Integer.BYTES + Long.BYTES).putInt(0).putLong(totalRows);
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private ByteBuffer ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+        return buffer;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Parses the scenarios of one mapped chunk into a reused cents array. Scenarios with
+ * out of range rooms or bids, or CSV lines that do not parse, are reported as invalid
+ * rather than failing the chunk; a binary chunk that is structurally broken does fail.
+ * Not thread safe: each worker uses its own parser.
+ */
+class ScenarioParser {
+    @FunctionalInterface
+    interface ScenarioHandler {
+        /** {@code cents} is only valid for the duration of the call. */
+        void scenario(int premiumRooms, int economyRooms, long[] cents, int guestCount, boolean valid);
+    }
+
+    static final int MAX_ROOMS = OccupancyRequest.MAX_ROOMS;
+    static final long MAX_CENTS = 1_00_000_00L;
+    private static final int MAX_INTEGER_DIGITS = 7;
+    private static final int MAX_FRACTION_DIGITS = 2;
+
+    private long[] cents = new long[256];
+
+    void parse(BidFileFormat format, ByteBuffer chunk, long chunkOffset, ScenarioHandler handler) throws IOException {
+        if (format == BidFileFormat.CSV) {
+            parseCsv(chunk, handler);
+        } else {
+            parseBinary(chunk, chunkOffset, handler);
+        }
+    }
+
+    private void parseBinary(ByteBuffer chunk, long chunkOffset, ScenarioHandler handler) throws IOException {
+        int pos = 0;
+        int limit = chunk.limit();
+        while (pos < limit) {
+            if (limit - pos < BidFileFormat.BINARY_SCENARIO_HEADER_BYTES) {
+                throw new IOException("Truncated scenario header at offset " + (chunkOffset + pos));
+            }
+            int premiumRooms = chunk.getInt(pos);
+            int economyRooms = chunk.getInt(pos + 4);
+            int guestCount = chunk.getInt(pos + 8);
+            pos += BidFileFormat.BINARY_SCENARIO_HEADER_BYTES;
+            if (guestCount < 0 || (limit - pos) / Long.BYTES < guestCount) {
+                throw new IOException("Truncated scenario at offset " + (chunkOffset + pos - BidFileFormat.BINARY_SCENARIO_HEADER_BYTES));
+            }
+
+            long[] bids = ensureCapacity(guestCount);
+            chunk.slice(pos, guestCount * Long.BYTES).order(BidFileFormat.BYTE_ORDER).asLongBuffer().get(bids, 0, guestCount);
+            pos += guestCount * Long.BYTES;
+
+            boolean valid = validRooms(premiumRooms) && validRooms(economyRooms);
+            for (int i = 0; valid && i < guestCount; i++) {
+                valid = bids[i] >= 0 && bids[i] <= MAX_CENTS;
+            }
+            handler.scenario(premiumRooms, economyRooms, bids, guestCount, valid);
+        }
+    }
+
+    private void parseCsv(ByteBuffer chunk, ScenarioHandler handler) {
+        int pos = 0;
+        int limit = chunk.limit();
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && chunk.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            parseLine(chunk, pos, lineEnd, handler);
+            pos = lineEnd + 1;
+        }
+    }
+
+    private void parseLine(ByteBuffer chunk, int start, int end, ScenarioHandler handler) {
+        while (start < end && isBlank(chunk.get(start))) {
+            start++;
+        }
+        while (end > start && isBlank(chunk.get(end - 1))) {
+            end--;
+        }
+        if (start == end || chunk.get(start) == '#') {
+            return;
+        }
+
+        int premiumRooms = -1;
+        int economyRooms = -1;
+        int guestCount = 0;
+        boolean valid = true;
+
+        int field = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && chunk.get(i) != ',') {
+                continue;
+            }
+            int from = fieldStart;
+            int to = i;
+            while (from < to && isBlank(chunk.get(from))) {
+                from++;
+            }
+            while (to > from && isBlank(chunk.get(to - 1))) {
+                to--;
+            }
+
+            switch (field++) {
+                case 0 -> premiumRooms = parseRooms(chunk, from, to);
+                case 1 -> economyRooms = parseRooms(chunk, from, to);
+                default -> {
+                    long value = parseCents(chunk, from, to);
+                    valid &= value >= 0;
+                    ensureCapacity(guestCount + 1)[guestCount++] = value;
+                }
+            }
+            fieldStart = i + 1;
+        }
+
+        valid &= premiumRooms >= 0 && economyRooms >= 0;
+        handler.scenario(premiumRooms, economyRooms, cents, guestCount, valid);
+    }
+
+    private static int parseRooms(ByteBuffer chunk, int from, int to) {
+        if (from == to || to - from > 6) {
+            return -1;
+        }
+        int rooms = 0;
+        for (int i = from; i < to; i++) {
+            byte b = chunk.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            rooms = rooms * 10 + (b - '0');
+        }
+        return validRooms(rooms) ? rooms : -1;
+    }
+
+    /**
+     * Same rules as the request deserializer's fast path: a plain non-negative decimal of
+     * at most 7 integer and 2 fraction digits not above the maximum price, else -1.
+     */
+    static long parseCents(ByteBuffer chunk, int from, int to) {
+        int i = from;
+        long value = 0;
+
+        int integerDigits = 0;
+        while (i < to && chunk.get(i) >= '0' && chunk.get(i) <= '9') {
+            value = value * 10 + (chunk.get(i++) - '0');
+            integerDigits++;
+        }
+        if (integerDigits == 0 || integerDigits > MAX_INTEGER_DIGITS) {
+            return -1;
+        }
+
+        int fractionDigits = 0;
+        if (i < to && chunk.get(i) == '.') {
+            i++;
+            while (i < to && chunk.get(i) >= '0' && chunk.get(i) <= '9') {
+                if (++fractionDigits > MAX_FRACTION_DIGITS) {
+                    return -1;
+                }
+                value = value * 10 + (chunk.get(i++) - '0');
+            }
+            if (fractionDigits == 0) {
+                return -1;
+            }
+        }
+        if (i != to) {
+            return -1;
+        }
+
+        for (; fractionDigits < MAX_FRACTION_DIGITS; fractionDigits++) {
+            value *= 10;
+        }
+        return value <= MAX_CENTS ? value : -1;
+    }
+
+    private static boolean validRooms(int rooms) {
+        return rooms >= 0 && rooms <= MAX_ROOMS;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private long[] ensureCapacity(int capacity) {
+        if (cents.length < capacity) {
+            cents = Arrays.copyOf(cents, Math.max(capacity, cents.length * 2));
+        }
+        return cents;
+    }
+}
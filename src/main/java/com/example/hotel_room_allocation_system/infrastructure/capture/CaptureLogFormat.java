@@ -0,0 +1,106 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Capture files: an 8 byte header ({@link #MAGIC}, {@link #VERSION}) followed by
+ * records, each prefixed with its length so a truncated last record is detected:
+ * <pre>
+ * int    length of the rest of the record
+ * long   arrival, epoch microseconds
+ * long   server duration, nanoseconds
+ * short  response status
+ * utf    method
+ * utf    path and query
+ * byte   header count, then per header: utf name, utf value
+ * int    body length, then the body bytes
+ * </pre>
+ * Big-endian, as written by {@link DataOutputStream}.
+ */
+public final class CaptureLogFormat {
+    public static final int MAGIC = 0x43415054; // "CAPT"
+    public static final int VERSION = 1;
+    public static final String FILE_SUFFIX = ".cap";
+
+    private CaptureLogFormat() {
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a capture file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported capture file version " + version);
+        }
+    }
+
+    /** Bytes {@link #write} adds to the file, for rotation. */
+    static long write(DataOutputStream out, CapturedRequest request) throws IOException {
+        int length = 8 + 8 + 2 + utfLength(request.method()) + utfLength(request.uri()) + 1 + 4 + request.body().length;
+        for (CapturedRequest.Header header : request.headers()) {
+            length += utfLength(header.name()) + utfLength(header.value());
+        }
+
+        out.writeInt(length);
+        out.writeLong(request.epochMicros());
+        out.writeLong(request.durationNanos());
+        out.writeShort(request.status());
+        out.writeUTF(request.method());
+        out.writeUTF(request.uri());
+        out.writeByte(request.headers().size());
+        for (CapturedRequest.Header header : request.headers()) {
+            out.writeUTF(header.name());
+            out.writeUTF(header.value());
+        }
+        out.writeInt(request.body().length);
+        out.write(request.body());
+        return 4L + length;
+    }
+
+    /** The next record, or null at the end of the file. */
+    static CapturedRequest read(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Corrupt capture record length " + length);
+        }
+
+        long epochMicros = in.readLong();
+        long durationNanos = in.readLong();
+        int status = in.readUnsignedShort();
+        String method = in.readUTF();
+        String uri = in.readUTF();
+        int headerCount = in.readUnsignedByte();
+        List<CapturedRequest.Header> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new CapturedRequest.Header(in.readUTF(), in.readUTF()));
+        }
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return new CapturedRequest(epochMicros, durationNanos, status, method, uri, List.copyOf(headers), body);
+    }
+
+    private static int utfLength(String s) {
+        int length = 2;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c > 0x07FF ? 3 : 2;
+        }
+        return length;
+    }
+}
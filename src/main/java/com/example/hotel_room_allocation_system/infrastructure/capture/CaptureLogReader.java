@@ -0,0 +1,75 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads the records of a capture file, or of every capture file in a directory in name
+ * (and so time) order. A record cut off at the end of a file, as left by a crash, ends
+ * that file.
+ */
+public class CaptureLogReader implements Closeable {
+    private final Iterator<Path> files;
+    private DataInputStream in;
+
+    public CaptureLogReader(Path path) throws IOException {
+        this.files = captureFiles(path).iterator();
+    }
+
+    public static List<Path> captureFiles(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> stream = Files.list(path)) {
+            return stream.filter(p -> p.getFileName().toString().endsWith(CaptureLogFormat.FILE_SUFFIX)).sorted().toList();
+        }
+    }
+
+    /** The next record, or null when every file has been read. */
+    public CapturedRequest next() throws IOException {
+        while (true) {
+            if (in == null) {
+                if (!files.hasNext()) {
+                    return null;
+                }
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(files.next())));
+                CaptureLogFormat.readHeader(in);
+            }
+            try {
+                CapturedRequest request = CaptureLogFormat.read(in);
+                if (request != null) {
+                    return request;
+                }
+            } catch (EOFException e) {
+                // truncated last record
+            }
+            close();
+        }
+    }
+
+    public List<CapturedRequest> readAll() throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        CapturedRequest request;
+        while ((request = next()) != null) {
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+            in = null;
+        }
+    }
+}
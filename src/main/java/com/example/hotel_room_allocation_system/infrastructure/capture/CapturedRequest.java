@@ -0,0 +1,19 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import java.util.List;
+
+/**
+ * One sampled request: when it arrived, how long the server took and what it answered,
+ * and everything needed to send it again. The body is kept as received on the wire, so
+ * compressed bodies are replayed compressed.
+ */
+public record CapturedRequest(long epochMicros,
+                              long durationNanos,
+                              int status,
+                              String method,
+                              String uri,
+                              List<Header> headers,
+                              byte[] body) {
+
+    public record Header(String name, String value) { }
+}
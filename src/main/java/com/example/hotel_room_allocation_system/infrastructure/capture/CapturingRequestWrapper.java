@@ -0,0 +1,119 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Copies the body bytes as the application reads them, up to {@code maxBytes}; a larger
+ * body is marked as truncated instead. Wraps the raw stream, so the copy is the body as
+ * sent, before {@code Content-Encoding} is decoded. A body the application did not read
+ * to the end, such as one rejected on its {@code Content-Length}, is not returned.
+ */
+class CapturingRequestWrapper extends HttpServletRequestWrapper {
+    private final int maxBytes;
+    private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    private boolean truncated;
+    private boolean endOfStream;
+    private ServletInputStream inputStream;
+
+    CapturingRequestWrapper(HttpServletRequest request, int maxBytes) {
+        super(request);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CopyingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    /** The complete body, or null when it was larger than the limit or not read to the end. */
+    byte[] body() {
+        if (truncated || !(endOfStream || copy.size() == getContentLengthLong())) {
+            return null;
+        }
+        return copy.toByteArray();
+    }
+
+    private void copy(byte[] buffer, int offset, int length) {
+        if (truncated) {
+            return;
+        }
+        if (copy.size() + length > maxBytes) {
+            truncated = true;
+            copy.reset();
+            return;
+        }
+        copy.write(buffer, offset, length);
+    }
+
+    private final class CopyingInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+
+        CopyingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b == -1) {
+                endOfStream = true;
+            } else {
+                copy(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n == -1) {
+                endOfStream = true;
+            } else if (n > 0) {
+                copy(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public byte[] readAllBytes() throws IOException {
+            byte[] bytes = delegate.readAllBytes();
+            endOfStream = true;
+            copy(bytes, 0, bytes.length);
+            return bytes;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return delegate.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import com.example.hotel_room_allocation_system.infrastructure.startup.WarmupRequests;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples {@code api.capture.sampleRate} of POST /occupancy requests into the
+ * {@link TrafficCaptureLog}: body, configured headers, query string, response status
+ * and server time. Runs right after the correlation filter, so the recorded time
+ * includes admission, deadline and size checks. Requests that are not sampled only pay
+ * for the random draw; startup warmup requests are never captured.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+    private static final String OCCUPANCY_PATH = "/occupancy";
+
+    private final TrafficCaptureProperties properties;
+    private final TrafficCaptureLog captureLog;
+    private final WarmupRequests warmupRequests;
+
+    public TrafficCaptureFilter(TrafficCaptureProperties properties, TrafficCaptureLog captureLog,
+                                WarmupRequests warmupRequests) {
+        this.properties = properties;
+        this.captureLog = captureLog;
+        this.warmupRequests = warmupRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !captureLog.isEnabled()
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !OCCUPANCY_PATH.equals(request.getRequestURI())
+                || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()
+                || warmupRequests.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Instant arrival = Instant.now();
+        long start = System.nanoTime();
+        CapturingRequestWrapper wrapper = new CapturingRequestWrapper(request, properties.getMaxBodyBytes());
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            long duration = System.nanoTime() - start;
+            byte[] body = wrapper.body();
+            if (body != null) {
+                String uri = request.getQueryString() == null
+                        ? request.getRequestURI()
+                        : request.getRequestURI() + "?" + request.getQueryString();
+                captureLog.offer(new CapturedRequest(ChronoUnit.MICROS.between(Instant.EPOCH, arrival), duration,
+                        response.getStatus(), request.getMethod(), uri, headers(request), body));
+            }
+        }
+    }
+
+    private List<CapturedRequest.Header> headers(HttpServletRequest request) {
+        List<CapturedRequest.Header> headers = new ArrayList<>();
+        for (String name : properties.getHeaders()) {
+            String value = request.getHeader(name);
+            if (value != null && headers.size() < 255) {
+                headers.add(new CapturedRequest.Header(name, value));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes captured requests to rotating files on a background thread. Request threads
+ * only {@link #offer} to a bounded queue; when it is full the request is dropped and
+ * counted rather than slowing the request down. A file is closed once it passes
+ * {@code maxFileBytes}, and the oldest files beyond {@code maxFiles} are deleted.
+ */
+@Component
+public class TrafficCaptureLog {
+    private static final Logger log = LoggerFactory.getLogger(TrafficCaptureLog.class);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TrafficCaptureProperties properties;
+    private final Path directory;
+    private final BlockingQueue<CapturedRequest> queue;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Thread writer;
+
+    private volatile boolean running;
+    private DataOutputStream out;
+    private long fileBytes;
+    private int fileSequence;
+
+    public TrafficCaptureLog(TrafficCaptureProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.directory = properties.getDirectory() == null || properties.getDirectory().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "occupancy-capture")
+                : Path.of(properties.getDirectory());
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.recorded = Counter.builder("capture.requests")
+                .description("Sampled requests written to the capture log")
+                .tag("outcome", "recorded")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("capture.requests")
+                .description("Sampled requests written to the capture log")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+
+        this.running = properties.isEnabled();
+        if (running) {
+            this.writer = new Thread(this::runWriter, "traffic-capture");
+            this.writer.setDaemon(true);
+            this.writer.start();
+            log.info("Capturing {} of POST /occupancy requests to {}", properties.getSampleRate(), directory);
+        } else {
+            this.writer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /** Queues {@code request} for writing; false when it was dropped. */
+    public boolean offer(CapturedRequest request) {
+        if (running && queue.offer(request)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void runWriter() {
+        try {
+            while (running || !queue.isEmpty()) {
+                CapturedRequest request = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (request == null) {
+                    flush();
+                    continue;
+                }
+                write(request);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    private void write(CapturedRequest request) {
+        try {
+            if (out == null || fileBytes >= properties.getMaxFileBytes()) {
+                rotate();
+            }
+            fileBytes += CaptureLogFormat.write(out, request);
+            recorded.increment();
+        } catch (IOException e) {
+            dropped.increment();
+            log.warn("Could not write captured request, closing {}", directory, e);
+            close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        String name = "capture-" + LocalDateTime.now().format(FILE_TIME) + "-" + String.format("%04d", fileSequence++)
+                + CaptureLogFormat.FILE_SUFFIX;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(name)), BUFFER_SIZE));
+        CaptureLogFormat.writeHeader(out);
+        fileBytes = 8;
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(CaptureLogFormat.FILE_SUFFIX)).sorted().toList();
+        }
+        for (int i = 0; i < files.size() - Math.max(1, properties.getMaxFiles()); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void flush() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            log.warn("Could not flush capture file", e);
+        }
+    }
+
+    private void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Could not close capture file", e);
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "api.capture")
+public class TrafficCaptureProperties {
+
+    /** Record sampled POST /occupancy requests for replay. */
+    private boolean enabled = false;
+    private double sampleRate = 0.01;
+    /** Where capture files are written; empty for a directory under java.io.tmpdir. */
+    private String directory;
+    private long maxFileBytes = 64L * 1024 * 1024;
+    private int maxFiles = 8;
+    private int queueCapacity = 1024;
+    /** Requests with a larger body are not captured. */
+    private int maxBodyBytes = 2_000_000;
+    private List<String> headers = new ArrayList<>(List.of(
+            "Content-Type", "Content-Encoding", "Idempotency-Key", "X-Tenant-Id", "X-Request-Timeout", "If-None-Match"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getMaxFileBytes() {
+        return maxFileBytes;
+    }
+
+    public void setMaxFileBytes(long maxFileBytes) {
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    public void setMaxFiles(int maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(List<String> headers) {
+        this.headers = headers;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends captured requests to {@code target} on their original schedule, compressed or
+ * stretched by {@code speed} (2 replays twice as fast, 0 sends back to back).
+ * <p>
+ * The load is open-loop: each request is due at its scheduled time whether or not
+ * earlier ones have answered, and its latency is measured from that time, so a server
+ * that falls behind shows it in the latencies rather than by being sent less. At most
+ * {@code maxInFlight} requests are outstanding; waiting for a slot also counts as
+ * latency. Latencies are recorded into HdrHistograms, as in the load tests, so memory
+ * stays flat however long the capture is.
+ */
+public class TrafficReplayer {
+    // the HTTP client sets these itself
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "host", "connection", "expect", "upgrade");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final URI target;
+    private final double speed;
+    private final int maxInFlight;
+
+    public TrafficReplayer(HttpClient client, URI target, double speed, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.speed = speed;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public Report replay(CaptureLogReader reader) throws IOException, InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Results results = new Results();
+        long start = System.nanoTime();
+        long firstMicros = Long.MIN_VALUE;
+
+        CapturedRequest captured;
+        while ((captured = reader.next()) != null) {
+            if (firstMicros == Long.MIN_VALUE) {
+                firstMicros = captured.epochMicros();
+            }
+            long due = speed > 0
+                    ? start + (long) (TimeUnit.MICROSECONDS.toNanos(Math.max(0, captured.epochMicros() - firstMicros)) / speed)
+                    : System.nanoTime();
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            inFlight.acquire();
+            CapturedRequest request = captured;
+            CompletableFuture<HttpResponse<Void>> response;
+            try {
+                response = client.sendAsync(httpRequest(request), HttpResponse.BodyHandlers.discarding());
+            } catch (IllegalArgumentException e) {
+                inFlight.release();
+                results.failed();
+                continue;
+            }
+            response.whenComplete((r, e) -> {
+                long latency = System.nanoTime() - due;
+                // recorded before the slot is freed, so the final acquire sees every result
+                if (e != null) {
+                    results.failed();
+                } else {
+                    results.add(latency, request.durationNanos(), r.statusCode() != request.status());
+                }
+                inFlight.release();
+            });
+        }
+
+        inFlight.acquire(maxInFlight);
+        return results.report(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private HttpRequest httpRequest(CapturedRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(request.uri()))
+                .method(request.method(), HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        for (CapturedRequest.Header header : request.headers()) {
+            if (!SKIPPED_HEADERS.contains(header.name().toLowerCase(Locale.ROOT))) {
+                builder.header(header.name(), header.value());
+            }
+        }
+        return builder.build();
+    }
+
+    /** Latency percentiles in microseconds. */
+    public record Latencies(long p50, long p90, long p99, long p999, long max, long mean) {
+
+        static Latencies of(Histogram micros) {
+            if (micros.getTotalCount() == 0) {
+                return new Latencies(0, 0, 0, 0, 0, 0);
+            }
+            return new Latencies(micros.getValueAtPercentile(50), micros.getValueAtPercentile(90),
+                    micros.getValueAtPercentile(99), micros.getValueAtPercentile(99.9),
+                    micros.getMaxValue(), (long) micros.getMean());
+        }
+    }
+
+    /**
+     * Outcome of one replay. {@code captured} are the server times recorded with the
+     * capture, {@code replayed} the end-to-end latencies of this run; a report written with
+     * {@link #write} can be read back as the baseline of a later run.
+     */
+    public record Report(long requests,
+                         long failed,
+                         long statusMismatches,
+                         Duration elapsed,
+                         Latencies replayed,
+                         Latencies captured) {
+
+        public double throughput() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds > 0 ? requests / seconds : 0;
+        }
+
+        public void write(Path path) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("requests", Long.toString(requests));
+            properties.setProperty("failed", Long.toString(failed));
+            properties.setProperty("statusMismatches", Long.toString(statusMismatches));
+            properties.setProperty("elapsedNanos", Long.toString(elapsed.toNanos()));
+            put(properties, "replayed", replayed);
+            put(properties, "captured", captured);
+            try (OutputStream out = Files.newOutputStream(path)) {
+                properties.store(out, "occupancy replay report");
+            }
+        }
+
+        public static Report read(Path path) throws IOException {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+            return new Report(Long.parseLong(properties.getProperty("requests", "0")),
+                    Long.parseLong(properties.getProperty("failed", "0")),
+                    Long.parseLong(properties.getProperty("statusMismatches", "0")),
+                    Duration.ofNanos(Long.parseLong(properties.getProperty("elapsedNanos", "0"))),
+                    get(properties, "replayed"),
+                    get(properties, "captured"));
+        }
+
+        private static void put(Properties properties, String prefix, Latencies latencies) {
+            properties.setProperty(prefix + ".p50Micros", Long.toString(latencies.p50()));
+            properties.setProperty(prefix + ".p90Micros", Long.toString(latencies.p90()));
+            properties.setProperty(prefix + ".p99Micros", Long.toString(latencies.p99()));
+            properties.setProperty(prefix + ".p999Micros", Long.toString(latencies.p999()));
+            properties.setProperty(prefix + ".maxMicros", Long.toString(latencies.max()));
+            properties.setProperty(prefix + ".meanMicros", Long.toString(latencies.mean()));
+        }
+
+        private static Latencies get(Properties properties, String prefix) {
+            return new Latencies(
+                    Long.parseLong(properties.getProperty(prefix + ".p50Micros", "0")),
+                    Long.parseLong(properties.getProperty(prefix + ".p90Micros", "0")),
+                    Long.parseLong(properties.getProperty(prefix + ".p99Micros", "0")),
+                    Long.parseLong(properties.getProperty(prefix + ".p999Micros", "0")),
+                    Long.parseLong(properties.getProperty(prefix + ".maxMicros", "0")),
+                    Long.parseLong(properties.getProperty(prefix + ".meanMicros", "0")));
+        }
+    }
+
+    private static final class Results {
+        private final Histogram replayed = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram captured = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong statusMismatches = new AtomicLong();
+
+        void add(long replayedNanos, long capturedNanos, boolean statusMismatch) {
+            replayed.recordValue(micros(replayedNanos));
+            captured.recordValue(micros(capturedNanos));
+            count.incrementAndGet();
+            if (statusMismatch) {
+                statusMismatches.incrementAndGet();
+            }
+        }
+
+        void failed() {
+            failed.incrementAndGet();
+        }
+
+        Report report(Duration elapsed) {
+            return new Report(count.get(), failed.get(), statusMismatches.get(), elapsed,
+                    Latencies.of(replayed), Latencies.of(captured));
+        }
+
+        private static long micros(long nanos) {
+            return Math.clamp(nanos / 1_000, 0, HIGHEST_TRACKABLE_MICROS);
+        }
+    }
+}
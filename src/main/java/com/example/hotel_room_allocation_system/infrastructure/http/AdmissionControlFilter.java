@@ -0,0 +1,125 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.infrastructure.startup.WarmupRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.net.URI;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+    private static final URI TYPE_OVERLOADED = URI.create("urn:problem:overloaded");
+    private static final String OCCUPANCY_PATH = "/occupancy";
+    private static final String SIMULATION_PATH = "/occupancy/simulation";
+
+    private final AdmissionController admissionController;
+    private final AdmissionControlProperties properties;
+    private final ApiLimitsProperties apiLimitsProperties;
+    private final ObjectMapper objectMapper;
+    private final WarmupRequests warmupRequests;
+
+    public AdmissionControlFilter(AdmissionController admissionController,
+                                  AdmissionControlProperties properties,
+                                  ApiLimitsProperties apiLimitsProperties,
+                                  ObjectMapper objectMapper,
+                                  WarmupRequests warmupRequests) {
+        this.admissionController = admissionController;
+        this.properties = properties;
+        this.apiLimitsProperties = apiLimitsProperties;
+        this.objectMapper = objectMapper;
+        this.warmupRequests = warmupRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !(OCCUPANCY_PATH.equals(request.getRequestURI()) || SIMULATION_PATH.equals(request.getRequestURI()))
+                // startup warmup runs before the app takes traffic and must not show in admission meters
+                || warmupRequests.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean explain = Boolean.parseBoolean(request.getParameter("explain"));
+        int cost = estimateCost(request, explain);
+
+        AdmissionController.Permit permit = admit(cost);
+        if (permit == null) {
+            logger.warn("Shedding request with estimated cost {}", cost);
+            writeOverloaded(request, response, cost);
+            return;
+        }
+
+        try (permit) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private int estimateCost(HttpServletRequest request, boolean explain) {
+        if (SIMULATION_PATH.equals(request.getRequestURI())) {
+            // trials, not the body, decide the work: a fixed share of the budget bounds how many run at once
+            return Math.max(1, properties.getSimulationCost());
+        }
+        // a decoding wrapper hides the wire length; price compressed bodies by it rather than by the limit
+        LimitedBodyRequestWrapper limited = WebUtils.getNativeRequest(request, LimitedBodyRequestWrapper.class);
+        if (limited != null && limited.isDecoding()) {
+            return admissionController.estimateCost(limited.getWireContentLength(), true, explain, explainLimit(request));
+        }
+        return admissionController.estimateCost(request.getContentLengthLong(), explain, explainLimit(request));
+    }
+
+    private AdmissionController.Permit admit(int cost) {
+        try {
+            return admissionController.tryAdmit(cost);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private int explainLimit(HttpServletRequest request) {
+        String value = request.getParameter("explainLimit");
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException ignored) {
+                // rejected later by the controller
+            }
+        }
+        return apiLimitsProperties.getDefaultExplainLimit();
+    }
+
+    private void writeOverloaded(HttpServletRequest request, HttpServletResponse response, int cost) throws IOException {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        pd.setType(TYPE_OVERLOADED);
+        pd.setTitle("Service Overloaded");
+        pd.setDetail("Server is at capacity, retry later");
+        pd.setInstance(URI.create(request.getRequestURI()));
+        pd.setProperty("estimatedCost", cost);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, properties.getRetryAfterSeconds())));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), pd);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.admission")
+public class AdmissionControlProperties {
+    private boolean enabled = true;
+    private int maxConcurrentCost = 4_000;
+    private int smallRequestMaxCost = 16;
+    private int smallLaneCapacity = 256;
+    private double explainCostFactor = 2.0;
+    private double compressionRatio = 4.0;
+    private int simulationCost = 1_000;
+    private long acquireTimeoutMillis = 50;
+    private long retryAfterSeconds = 1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentCost() {
+        return maxConcurrentCost;
+    }
+
+    public void setMaxConcurrentCost(int maxConcurrentCost) {
+        this.maxConcurrentCost = maxConcurrentCost;
+    }
+
+    public int getSmallRequestMaxCost() {
+        return smallRequestMaxCost;
+    }
+
+    public void setSmallRequestMaxCost(int smallRequestMaxCost) {
+        this.smallRequestMaxCost = smallRequestMaxCost;
+    }
+
+    public int getSmallLaneCapacity() {
+        return smallLaneCapacity;
+    }
+
+    public void setSmallLaneCapacity(int smallLaneCapacity) {
+        this.smallLaneCapacity = smallLaneCapacity;
+    }
+
+    public double getExplainCostFactor() {
+        return explainCostFactor;
+    }
+
+    public void setExplainCostFactor(double explainCostFactor) {
+        this.explainCostFactor = explainCostFactor;
+    }
+
+    public double getCompressionRatio() {
+        return compressionRatio;
+    }
+
+    public void setCompressionRatio(double compressionRatio) {
+        this.compressionRatio = compressionRatio;
+    }
+
+    public int getSimulationCost() {
+        return simulationCost;
+    }
+
+    public void setSimulationCost(int simulationCost) {
+        this.simulationCost = simulationCost;
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weighted semaphore bounding the total estimated cost of allocations in flight.
+ * Requests up to {@code smallRequestMaxCost} first try a dedicated small lane so a
+ * burst of large payloads cannot starve cheap requests.
+ * Cost units are roughly kilobytes of request body.
+ */
+@Component
+public class AdmissionController {
+    private static final int BYTES_PER_COST_UNIT = 1024;
+    private static final int EXPLAIN_ENTRIES_PER_COST_UNIT = 100;
+
+    private final AdmissionControlProperties properties;
+    private final ApiLimitsProperties apiLimitsProperties;
+    private final Semaphore mainLane;
+    private final Semaphore smallLane;
+    private final int mainCapacity;
+    private final int smallCapacity;
+
+    private final Counter admittedSmall;
+    private final Counter admittedMain;
+    private final Counter rejected;
+
+    public AdmissionController(AdmissionControlProperties properties,
+                               ApiLimitsProperties apiLimitsProperties,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.apiLimitsProperties = apiLimitsProperties;
+        this.mainCapacity = Math.max(1, properties.getMaxConcurrentCost());
+        this.smallCapacity = Math.max(0, properties.getSmallLaneCapacity());
+        this.mainLane = new Semaphore(mainCapacity, true);
+        this.smallLane = new Semaphore(smallCapacity);
+
+        this.admittedSmall = Counter.builder("admission.admitted")
+                .description("Requests admitted for processing")
+                .tag("lane", "small")
+                .register(meterRegistry);
+        this.admittedMain = Counter.builder("admission.admitted")
+                .description("Requests admitted for processing")
+                .tag("lane", "main")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("admission.rejected")
+                .description("Requests shed because the cost budget was exhausted")
+                .register(meterRegistry);
+
+        Gauge.builder("admission.cost.inUse", mainLane, s -> mainCapacity - s.availablePermits())
+                .description("Estimated cost currently admitted in the main lane")
+                .register(meterRegistry);
+    }
+
+    public int estimateCost(long contentLength, boolean explain, int explainLimit) {
+        return estimateCost(contentLength, false, explain, explainLimit);
+    }
+
+    /**
+     * @param contentLength wire length of the body, or -1 when unknown
+     * @param compressed    whether the body is gzip/deflate encoded; its inflated size is
+     *                      then estimated as {@code contentLength * compressionRatio}, capped
+     *                      at {@code api.limits.maxDecompressedRequestBytes}
+     */
+    public int estimateCost(long contentLength, boolean compressed, boolean explain, int explainLimit) {
+        double bytes;
+        if (contentLength < 0) {
+            bytes = compressed ? apiLimitsProperties.getMaxDecompressedRequestBytes() : apiLimitsProperties.getMaxRequestBytes();
+        } else if (compressed) {
+            bytes = Math.min(contentLength * Math.max(1.0, properties.getCompressionRatio()),
+                    apiLimitsProperties.getMaxDecompressedRequestBytes());
+        } else {
+            bytes = contentLength;
+        }
+        double cost = Math.ceil(bytes / BYTES_PER_COST_UNIT);
+
+        if (explain) {
+            cost = cost * properties.getExplainCostFactor()
+                    + Math.ceil((double) Math.max(0, explainLimit) / EXPLAIN_ENTRIES_PER_COST_UNIT);
+        }
+
+        return (int) Math.max(1, Math.min(cost, Integer.MAX_VALUE));
+    }
+
+    /**
+     * @return a permit to release once the request completes, or {@code null} when the
+     * request should be shed
+     */
+    public Permit tryAdmit(int cost) throws InterruptedException {
+        if (cost <= properties.getSmallRequestMaxCost() && cost <= smallCapacity && smallLane.tryAcquire(cost)) {
+            admittedSmall.increment();
+            return new Permit(smallLane, cost);
+        }
+
+        int weight = Math.min(cost, mainCapacity);
+        if (mainLane.tryAcquire(weight, properties.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+            admittedMain.increment();
+            return new Permit(mainLane, weight);
+        }
+
+        rejected.increment();
+        return null;
+    }
+
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore lane;
+        private final int weight;
+        private boolean released;
+
+        private Permit(Semaphore lane, int weight) {
+            this.lane = lane;
+            this.weight = weight;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                lane.release(weight);
+            }
+        }
+    }
+}
@@ -4,16 +4,25 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "api.limits")
 public class ApiLimitsProperties {
-    private long maxRequestSizeInBytes = 2_000_000;
+    private long maxRequestBytes = 2_000_000;
+    private long maxDecompressedRequestBytes = 2_000_000;
     private int defaultExplainLimit = 1_000;
     private int maxExplainLimit = 5_000;
 
-    public long getMaxRequestSizeInBytes() {
-        return maxRequestSizeInBytes;
+    public long getMaxRequestBytes() {
+        return maxRequestBytes;
     }
 
-    public void setMaxRequestSizeInBytes(long maxRequestSizeInBytes) {
-        this.maxRequestSizeInBytes = maxRequestSizeInBytes;
+    public void setMaxRequestBytes(long maxRequestBytes) {
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    public long getMaxDecompressedRequestBytes() {
+        return maxDecompressedRequestBytes;
+    }
+
+    public void setMaxDecompressedRequestBytes(long maxDecompressedRequestBytes) {
+        this.maxDecompressedRequestBytes = maxDecompressedRequestBytes;
     }
 
     public int getDefaultExplainLimit() {
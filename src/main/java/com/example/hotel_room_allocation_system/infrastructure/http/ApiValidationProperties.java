@@ -0,0 +1,33 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.validation")
+public class ApiValidationProperties {
+
+    public enum Mode {
+        /** Single-pass hand-written validation of the occupancy request. */
+        FAST,
+        /** Hibernate Validator over the constraint annotations on the DTO. */
+        BEAN
+    }
+
+    private Mode mode = Mode.FAST;
+    private int maxViolations = 100;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getMaxViolations() {
+        return maxViolations;
+    }
+
+    public void setMaxViolations(int maxViolations) {
+        this.maxViolations = maxViolations;
+    }
+}
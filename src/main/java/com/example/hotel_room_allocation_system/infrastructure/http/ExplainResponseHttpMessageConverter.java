@@ -0,0 +1,138 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.BidSlice;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Writes {@link AllocationExplainResult} straight to the response stream with a
+ * {@link JsonGenerator}, producing the same document as {@code OccupancyExplainResponse}
+ * without building the DTO or copying the explain lists first. Lists backed by cents
+ * ({@link BidSlice}, {@link GuestBids}) are written from the {@code long[]} without a
+ * {@link BigDecimal} per entry.
+ */
+public class ExplainResponseHttpMessageConverter extends AbstractHttpMessageConverter<AllocationExplainResult> {
+
+    private final ObjectMapper objectMapper;
+
+    public ExplainResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AllocationExplainResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected AllocationExplainResult readInternal(Class<? extends AllocationExplainResult> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("AllocationExplainResult is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(AllocationExplainResult result, HttpOutputMessage outputMessage) throws IOException {
+        // closing the generator would close the servlet stream before the container is done with it
+        JsonGenerator gen = objectMapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8);
+        try (gen) {
+            write(result, gen);
+            gen.flush();
+        }
+    }
+
+    static void write(AllocationExplainResult result, JsonGenerator gen) throws IOException {
+        AllocationResult summary = result.summary();
+        AllocationExplanation ex = result.explanation();
+
+        gen.writeStartObject();
+        gen.writeNumberField("usagePremium", summary.usagePremium());
+        gen.writeNumberField("revenuePremium", summary.revenuePremium());
+        gen.writeNumberField("usageEconomy", summary.usageEconomy());
+        gen.writeNumberField("revenueEconomy", summary.revenueEconomy());
+
+        gen.writeObjectFieldStart("explaination");
+        gen.writeNumberField("premiumCandidates", ex.premiumCandidates());
+        gen.writeNumberField("economyCandidates", ex.economyCandidates());
+        gen.writeNumberField("upgrades", ex.upgrades());
+        gen.writeNumberField("allocatedPremiumCount", ex.allocatedPremiumCount());
+        gen.writeNumberField("allocatedEconomyCount", ex.allocatedEconomyCount());
+        gen.writeNumberField("rejectedPremiumCount", ex.rejectedPremiumCount());
+        gen.writeNumberField("rejectedEconomyCount", ex.rejectedEconomyCount());
+        gen.writeNumberField("explainLimit", ex.explainLimit());
+        writeGuests(gen, "upgradeEconomyGuests", ex.upgradedEconomyGuests());
+        writeGuests(gen, "allocatedPremiumGuests", ex.allocatedPremiumGuests());
+        writeGuests(gen, "allocatedEconomyGuests", ex.allocatedEconomyGuests());
+        writeGuests(gen, "rejectedPremiumGuests", ex.rejectedPremiumGuests());
+        writeGuests(gen, "rejectedEconomyGuests", ex.rejectedEconomyGuests());
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+
+    private static void writeGuests(JsonGenerator gen, String field, List<BigDecimal> guests) throws IOException {
+        gen.writeArrayFieldStart(field);
+        if (guests instanceof BidSlice slice) {
+            writeCents(gen, slice.cents(), slice.offset(), slice.size());
+        } else if (guests instanceof GuestBids bids && !bids.hasViolations()) {
+            writeCents(gen, bids.cents(), 0, bids.size());
+        } else {
+            for (int i = 0, n = guests.size(); i < n; i++) {
+                gen.writeNumber(guests.get(i));
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    /** Writes each amount as {@link GuestBids#amount} would print it: 120, 12.5, 0.05. */
+    private static void writeCents(JsonGenerator gen, long[] cents, int offset, int size) throws IOException {
+        char[] buffer = new char[24];
+        for (int i = offset, end = offset + size; i < end; i++) {
+            long value = cents[i];
+            long fraction = Math.abs(value % 100);
+            if (fraction == 0) {
+                gen.writeNumber(value / 100);
+                continue;
+            }
+            int length = 0;
+            if (value < 0) {
+                buffer[length++] = '-';
+            }
+            length = appendDigits(buffer, length, Math.abs(value / 100));
+            buffer[length++] = '.';
+            buffer[length++] = (char) ('0' + fraction / 10);
+            if (fraction % 10 != 0) {
+                buffer[length++] = (char) ('0' + fraction % 10);
+            }
+            gen.writeNumber(buffer, 0, length);
+        }
+    }
+
+    private static int appendDigits(char[] buffer, int at, long value) {
+        int digits = value == 0 ? 1 : (int) Math.log10(value) + 1;
+        for (int i = at + digits - 1; i >= at; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return at + digits;
+    }
+}
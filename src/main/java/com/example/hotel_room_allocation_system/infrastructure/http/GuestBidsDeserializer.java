@@ -0,0 +1,202 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.application.AllocationEvents;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads {@code potentialGuests} straight into a cents array. Plain numbers such as
+ * {@code 155} or {@code 99.99} are converted from the parser's token buffer without
+ * creating a {@link BigDecimal}; anything else (exponents, more fraction digits, strings,
+ * out of range values) goes through {@link BigDecimal} and the same checks the
+ * {@code @DecimalMin}/{@code @DecimalMax}/{@code @Digits} constraints used to apply.
+ * <p>
+ * Failed checks are recorded on the returned {@link GuestBids} rather than thrown, so
+ * every bad entry is reported by bean validation in one response.
+ */
+public class GuestBidsDeserializer extends StdDeserializer<GuestBids> {
+    public static final String NULL_MESSAGE = "Potential guest prices must not be null";
+    public static final String MIN_MESSAGE = "Potential guest prices must be >= 0";
+    public static final String MAX_MESSAGE = "Potential guest prices must be <= 100000";
+    public static final String DIGITS_MESSAGE = "Potential guest prices must have up to 7 integer digits and up to 2 fractional digits";
+
+    private static final long MAX_CENTS = 1_00_000_00L;
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(MAX_CENTS, 2);
+    private static final int MAX_INTEGER_DIGITS = 7;
+    private static final int MAX_FRACTION_DIGITS = 2;
+    private static final int INITIAL_CAPACITY = 16;
+    // bounds the memory spent on a body made entirely of bad entries; bean validation reports at most this many
+    static final int MAX_RECORDED_VIOLATIONS = 1_000;
+
+    public GuestBidsDeserializer() {
+        super(GuestBids.class);
+    }
+
+    @Override
+    public GuestBids deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (GuestBids) ctxt.handleUnexpectedToken(GuestBids.class, p);
+        }
+
+        AllocationEvents.Parse event = new AllocationEvents.Parse();
+        event.begin();
+        long[] cents = new long[INITIAL_CAPACITY];
+        int size = 0;
+        List<GuestBids.Violation> violations = null;
+
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == cents.length) {
+                cents = Arrays.copyOf(cents, size * 2);
+            }
+
+            long value = switch (token) {
+                case VALUE_NUMBER_INT -> p.getNumberType() == JsonParser.NumberType.BIG_INTEGER ? -1 : p.getLongValue();
+                case VALUE_NUMBER_FLOAT -> parseCents(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                default -> -1;
+            };
+
+            if (token == JsonToken.VALUE_NUMBER_INT && value >= 0) {
+                value = value <= MAX_CENTS / 100 ? value * 100 : -1;
+            }
+
+            if (value < 0) {
+                // slow path: null, strings, exponents, negatives and out of range values
+                if (violations == null) {
+                    violations = new ArrayList<>();
+                }
+                value = checked(readDecimal(p, token, ctxt), size, violations);
+            }
+            cents[size++] = value;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.guestCount = size;
+            event.commit();
+        }
+        return new GuestBids(cents, size, violations == null ? List.of() : violations);
+    }
+
+    /**
+     * Cents for a plain non-negative decimal of at most 7 integer and 2 fraction digits
+     * that does not exceed the maximum price, or -1 if the text needs the slow path.
+     */
+    static long parseCents(char[] buf, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        long cents = 0;
+
+        int integerDigits = 0;
+        while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+            cents = cents * 10 + (buf[i++] - '0');
+            integerDigits++;
+        }
+        if (integerDigits == 0 || integerDigits > MAX_INTEGER_DIGITS) {
+            return -1;
+        }
+
+        int fractionDigits = 0;
+        if (i < end && buf[i] == '.') {
+            i++;
+            while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+                if (++fractionDigits > MAX_FRACTION_DIGITS) {
+                    return -1;
+                }
+                cents = cents * 10 + (buf[i++] - '0');
+            }
+            if (fractionDigits == 0) {
+                return -1;
+            }
+        }
+        if (i != end) {
+            return -1;
+        }
+
+        for (; fractionDigits < MAX_FRACTION_DIGITS; fractionDigits++) {
+            cents *= 10;
+        }
+        return cents <= MAX_CENTS ? cents : -1;
+    }
+
+    private static BigDecimal readDecimal(JsonParser p, JsonToken token, DeserializationContext ctxt) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDecimalValue();
+            case VALUE_STRING -> {
+                String text = p.getText().trim();
+                try {
+                    yield new BigDecimal(text);
+                } catch (NumberFormatException e) {
+                    yield (BigDecimal) ctxt.handleWeirdStringValue(BigDecimal.class, text, "not a valid representation");
+                }
+            }
+            default -> (BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p);
+        };
+    }
+
+    /**
+     * Applies the bean validation rules to {@code price}, returning its cents or 0 when a
+     * violation was recorded.
+     */
+    private static long checked(BigDecimal price, int index, List<GuestBids.Violation> violations) {
+        if (price == null) {
+            addViolation(violations, new GuestBids.Violation(index, NULL_MESSAGE, null));
+            return 0;
+        }
+
+        boolean valid = true;
+        if (price.signum() < 0) {
+            valid = addViolation(violations, new GuestBids.Violation(index, MIN_MESSAGE, price));
+        }
+        if (price.compareTo(MAX_PRICE) > 0) {
+            valid = addViolation(violations, new GuestBids.Violation(index, MAX_MESSAGE, price));
+        }
+
+        if (!hasAllowedDigits(price)) {
+            valid = addViolation(violations, new GuestBids.Violation(index, DIGITS_MESSAGE, price));
+        }
+
+        return valid ? GuestBids.toCents(price) : 0;
+    }
+
+    /**
+     * The message of the first rule {@code price} breaks, or null for a valid price. For
+     * readers outside Jackson that reject a request on its first bad entry.
+     */
+    public static String firstViolation(BigDecimal price) {
+        if (price == null) {
+            return NULL_MESSAGE;
+        }
+        if (price.signum() < 0) {
+            return MIN_MESSAGE;
+        }
+        if (price.compareTo(MAX_PRICE) > 0) {
+            return MAX_MESSAGE;
+        }
+        return hasAllowedDigits(price) ? null : DIGITS_MESSAGE;
+    }
+
+    private static boolean hasAllowedDigits(BigDecimal price) {
+        BigDecimal stripped = price.stripTrailingZeros();
+        int integerDigits = stripped.precision() - stripped.scale();
+        int fractionDigits = Math.max(0, stripped.scale());
+        return integerDigits <= MAX_INTEGER_DIGITS && fractionDigits <= MAX_FRACTION_DIGITS;
+    }
+
+    private static boolean addViolation(List<GuestBids.Violation> violations, GuestBids.Violation violation) {
+        if (violations.size() < MAX_RECORDED_VIOLATIONS) {
+            violations.add(violation);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class HttpMessageConvertersConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public HttpMessageConvertersConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ExplainResponseHttpMessageConverter(objectMapper));
+    }
+}
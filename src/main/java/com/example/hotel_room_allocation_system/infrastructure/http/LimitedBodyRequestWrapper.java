@@ -0,0 +1,137 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Exposes the request body through byte-counting streams: the wire bytes are limited
+ * to {@code maxBytes}, and for {@code gzip}/{@code deflate} bodies the inflated bytes
+ * are limited to {@code maxDecompressedBytes}. Decoded requests no longer advertise
+ * {@code Content-Encoding} or {@code Content-Length} to downstream readers.
+ */
+class LimitedBodyRequestWrapper extends HttpServletRequestWrapper {
+    private static final int INFLATE_BUFFER_SIZE = 8 * 1024;
+
+    private final ContentEncoding encoding;
+    private final long maxBytes;
+    private final long maxDecompressedBytes;
+
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    LimitedBodyRequestWrapper(HttpServletRequest request,
+                              ContentEncoding encoding,
+                              long maxBytes,
+                              long maxDecompressedBytes) {
+        super(request);
+        this.encoding = encoding;
+        this.maxBytes = maxBytes;
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    enum ContentEncoding {
+        IDENTITY, GZIP, DEFLATE;
+
+        static ContentEncoding parse(String header) {
+            if (header == null || header.isBlank() || "identity".equalsIgnoreCase(header.trim())) {
+                return IDENTITY;
+            }
+            return switch (header.trim().toLowerCase()) {
+                case "gzip", "x-gzip" -> GZIP;
+                case "deflate" -> DEFLATE;
+                default -> null;
+            };
+        }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            ServletInputStream raw = super.getInputStream();
+            LimitedServletInputStream wire = new LimitedServletInputStream(raw, raw, maxBytes, "Request payload");
+
+            inputStream = switch (encoding) {
+                case IDENTITY -> wire;
+                case GZIP -> new LimitedServletInputStream(
+                        new GZIPInputStream(wire, INFLATE_BUFFER_SIZE), raw, maxDecompressedBytes, "Decompressed request payload");
+                case DEFLATE -> new LimitedServletInputStream(
+                        new InflaterInputStream(wire), raw, maxDecompressedBytes, "Decompressed request payload");
+            };
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encodingName = getCharacterEncoding();
+            Charset charset = encodingName == null ? StandardCharsets.UTF_8 : Charset.forName(encodingName);
+            InputStream in = getInputStream();
+            reader = new BufferedReader(new InputStreamReader(in, charset));
+        }
+        return reader;
+    }
+
+    @Override
+    public int getContentLength() {
+        return encoding == ContentEncoding.IDENTITY ? super.getContentLength() : -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return encoding == ContentEncoding.IDENTITY ? super.getContentLengthLong() : -1;
+    }
+
+    /** Content-Length as sent, before decoding; -1 when unknown. */
+    long getWireContentLength() {
+        return super.getContentLengthLong();
+    }
+
+    boolean isDecoding() {
+        return encoding != ContentEncoding.IDENTITY;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (isDecodedHeader(name)) {
+            return null;
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (isDecodedHeader(name)) {
+            return Collections.emptyEnumeration();
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        if (encoding == ContentEncoding.IDENTITY) {
+            return super.getHeaderNames();
+        }
+        return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                .filter(name -> !isDecodedHeader(name))
+                .toList());
+    }
+
+    private boolean isDecodedHeader(String name) {
+        return encoding != ContentEncoding.IDENTITY
+                && (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name));
+    }
+}
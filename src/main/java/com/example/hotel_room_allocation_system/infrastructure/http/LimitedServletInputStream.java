@@ -0,0 +1,84 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.exception.PayloadTooLargeException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts bytes as they are read and fails the read that crosses {@code maxBytes}, so
+ * chunked or compressed bodies are bounded without trusting {@code Content-Length}.
+ */
+class LimitedServletInputStream extends ServletInputStream {
+
+    private final InputStream delegate;
+    private final ServletInputStream raw;
+    private final long maxBytes;
+    private final String description;
+
+    private long count;
+    private boolean finished;
+
+    LimitedServletInputStream(InputStream delegate, ServletInputStream raw, long maxBytes, String description) {
+        this.delegate = delegate;
+        this.raw = raw;
+        this.maxBytes = maxBytes;
+        this.description = description;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = delegate.read();
+        if (b == -1) {
+            finished = true;
+        } else {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = delegate.read(buffer, offset, length);
+        if (n == -1) {
+            finished = true;
+        } else {
+            advance(n);
+        }
+        return n;
+    }
+
+    private void advance(int n) {
+        count += n;
+        if (count > maxBytes) {
+            throw new PayloadTooLargeException(description + " exceeds the maximum allowed of " + maxBytes + " bytes", maxBytes);
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return delegate.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public boolean isReady() {
+        return raw.isReady();
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        raw.setReadListener(readListener);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.application.AllocationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Starts the {@link AllocationContext} of a synchronous occupancy or simulation request when it
+ * arrives, so time spent queueing for admission and reading the body counts against the
+ * deadline. The deadline comes from {@value #DEADLINE_HEADER} (absolute, epoch
+ * milliseconds) or {@value #TIMEOUT_HEADER} (milliseconds from now), capped at
+ * {@code api.deadline.maxTimeoutMillis}; without either the server default applies.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    public static final String CONTEXT_ATTRIBUTE = "com.example.hotel_room_allocation_system.AllocationContext";
+
+    private static final URI TYPE_BAD_REQUEST = URI.create("urn:problem:bad-request");
+    private static final URI TYPE_DEADLINE_EXCEEDED = URI.create("urn:problem:deadline-exceeded");
+    private static final String OCCUPANCY_PATH = "/occupancy";
+    private static final String SIMULATION_PATH = "/occupancy/simulation";
+
+    private final RequestDeadlineProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public RequestDeadlineFilter(RequestDeadlineProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !(OCCUPANCY_PATH.equals(request.getRequestURI()) || SIMULATION_PATH.equals(request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long timeoutMillis;
+        try {
+            timeoutMillis = timeoutMillis(request.getHeader(DEADLINE_HEADER), request.getHeader(TIMEOUT_HEADER),
+                    System.currentTimeMillis());
+        } catch (IllegalArgumentException e) {
+            ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+            pd.setType(TYPE_BAD_REQUEST);
+            pd.setTitle("Bad request");
+            pd.setDetail(e.getMessage());
+            pd.setInstance(URI.create(request.getRequestURI()));
+            writeProblem(response, HttpStatus.BAD_REQUEST, pd);
+            return;
+        }
+
+        if (timeoutMillis != null && timeoutMillis <= 0) {
+            // already past the deadline: the client will not read the answer
+            ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.GATEWAY_TIMEOUT);
+            pd.setType(TYPE_DEADLINE_EXCEEDED);
+            pd.setTitle("Deadline Exceeded");
+            pd.setDetail("Request deadline passed before processing started");
+            pd.setInstance(URI.create(request.getRequestURI()));
+            writeProblem(response, HttpStatus.GATEWAY_TIMEOUT, pd);
+            return;
+        }
+
+        if (timeoutMillis != null) {
+            request.setAttribute(CONTEXT_ATTRIBUTE, AllocationContext.withTimeout(Duration.ofMillis(timeoutMillis)));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Milliseconds left for the request, or null when it has no deadline. Client values are
+     * capped at the configured maximum.
+     */
+    Long timeoutMillis(String deadlineHeader, String timeoutHeader, long nowMillis) {
+        Long requested = null;
+        if (deadlineHeader != null && !deadlineHeader.isBlank()) {
+            requested = parseMillis(DEADLINE_HEADER, deadlineHeader) - nowMillis;
+        } else if (timeoutHeader != null && !timeoutHeader.isBlank()) {
+            requested = parseMillis(TIMEOUT_HEADER, timeoutHeader);
+        }
+
+        if (requested == null) {
+            return properties.getDefaultTimeoutMillis() > 0 ? properties.getDefaultTimeoutMillis() : null;
+        }
+        return properties.getMaxTimeoutMillis() > 0 ? Math.min(requested, properties.getMaxTimeoutMillis()) : requested;
+    }
+
+    private static long parseMillis(String header, String value) {
+        try {
+            long millis = Long.parseLong(value.trim());
+            if (millis < 0) {
+                throw new IllegalArgumentException(header + " must not be negative");
+            }
+            return millis;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(header + " must be a whole number of milliseconds");
+        }
+    }
+
+    private void writeProblem(HttpServletResponse response, HttpStatus status, ProblemDetail pd) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), pd);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.deadline")
+public class RequestDeadlineProperties {
+    private boolean enabled = true;
+    private long defaultTimeoutMillis = 10_000;
+    private long maxTimeoutMillis = 60_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** Applied when the client sends no deadline; 0 means no server-side default. */
+    public long getDefaultTimeoutMillis() {
+        return defaultTimeoutMillis;
+    }
+
+    public void setDefaultTimeoutMillis(long defaultTimeoutMillis) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    /** Upper bound for client supplied deadlines. */
+    public long getMaxTimeoutMillis() {
+        return maxTimeoutMillis;
+    }
+
+    public void setMaxTimeoutMillis(long maxTimeoutMillis) {
+        this.maxTimeoutMillis = maxTimeoutMillis;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hotel_room_allocation_system.infrastructure.http;
 
+import com.example.hotel_room_allocation_system.infrastructure.job.AllocationJobProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
@@ -24,42 +26,70 @@ public class RequestSizeLimitFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestSizeLimitFilter.class);
     private static final URI TYPE_PAYLOAD_TOO_LARGE = URI.create("urn:problem:payload-too-large");
+    private static final URI TYPE_UNSUPPORTED_ENCODING = URI.create("urn:problem:unsupported-content-encoding");
+    private static final String JOBS_PATH = "/occupancy/jobs";
 
     private final ApiLimitsProperties apiLimitsProperties;
+    private final AllocationJobProperties jobProperties;
     private final ObjectMapper objectMapper;
 
-    public RequestSizeLimitFilter(ApiLimitsProperties apiLimitsProperties, ObjectMapper objectMapper) {
+    public RequestSizeLimitFilter(ApiLimitsProperties apiLimitsProperties,
+                                  AllocationJobProperties jobProperties,
+                                  ObjectMapper objectMapper) {
         this.apiLimitsProperties = apiLimitsProperties;
+        this.jobProperties = jobProperties;
         this.objectMapper = objectMapper;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        if (isBodyExpected(request)) {
-            long maxBytes = apiLimitsProperties.getMaxRequestSizeInBytes();
-            long contentLength = request.getContentLengthLong();
-
-            if (contentLength > maxBytes) {
-                logger.warn("Rejecting request with Content-Length {} exceeding max allowed {}", contentLength, maxBytes);
-
-                ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.PAYLOAD_TOO_LARGE);
-                pd.setType(TYPE_PAYLOAD_TOO_LARGE);
-                pd.setTitle("Payload Too Large");
-                pd.setDetail("Request payload size " + contentLength + " exceeds the maximum allowed");
-                pd.setInstance(URI.create(request.getRequestURI()));
-                pd.setProperty("maxRequestBytes", maxBytes);
-                pd.setProperty("contentLength", contentLength);
-
-                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
-                response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
-                objectMapper.writeValue(response.getOutputStream(), pd);
-
-                return;
-            }
+        if (!isBodyExpected(request)) {
+            filterChain.doFilter(request, response);
+            return;
         }
 
-        filterChain.doFilter(request, response);
+        // job uploads are spooled to disk and bounded by api.jobs.maxRequestBytes instead
+        boolean job = request.getRequestURI().startsWith(JOBS_PATH);
+        long maxBytes = job ? jobProperties.getMaxRequestBytes() : apiLimitsProperties.getMaxRequestBytes();
+        long maxDecompressedBytes = job ? jobProperties.getMaxRequestBytes() : apiLimitsProperties.getMaxDecompressedRequestBytes();
+        long contentLength = request.getContentLengthLong();
+
+        if (contentLength > maxBytes) {
+            logger.warn("Rejecting request with Content-Length {} exceeding max allowed {}", contentLength, maxBytes);
+
+            ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.PAYLOAD_TOO_LARGE);
+            pd.setType(TYPE_PAYLOAD_TOO_LARGE);
+            pd.setTitle("Payload Too Large");
+            pd.setDetail("Request payload size " + contentLength + " exceeds the maximum allowed");
+            pd.setInstance(URI.create(request.getRequestURI()));
+            pd.setProperty("maxRequestBytes", maxBytes);
+            pd.setProperty("contentLength", contentLength);
+
+            writeProblem(response, HttpStatus.PAYLOAD_TOO_LARGE, pd);
+            return;
+        }
+
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        LimitedBodyRequestWrapper.ContentEncoding encoding = LimitedBodyRequestWrapper.ContentEncoding.parse(contentEncoding);
+        if (encoding == null) {
+            ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+            pd.setType(TYPE_UNSUPPORTED_ENCODING);
+            pd.setTitle("Unsupported Content-Encoding");
+            pd.setDetail("Content-Encoding '" + contentEncoding + "' is not supported; use gzip, deflate or identity");
+            pd.setInstance(URI.create(request.getRequestURI()));
+
+            writeProblem(response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, pd);
+            return;
+        }
+
+        filterChain.doFilter(new LimitedBodyRequestWrapper(request, encoding, maxBytes, maxDecompressedBytes), response);
+    }
+
+    private void writeProblem(HttpServletResponse response, HttpStatus status, ProblemDetail pd) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), pd);
     }
 
     private static boolean isBodyExpected(HttpServletRequest request) {
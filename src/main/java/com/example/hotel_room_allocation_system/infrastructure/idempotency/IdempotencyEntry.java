@@ -1,7 +1,12 @@
 package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 
+/**
+ * Stored outcome of an idempotent request: the serialized response exactly as it was
+ * first written, so a replay is a byte copy rather than another serialization.
+ */
 public record IdempotencyEntry(
         String requestHash,
-        Object responseBody
+        byte[] responseBody,
+        String contentType
 ) {
 }
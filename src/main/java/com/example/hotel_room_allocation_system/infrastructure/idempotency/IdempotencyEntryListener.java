@@ -0,0 +1,11 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+/**
+ * Notified after a response was computed and stored for a new idempotency key. Not
+ * called for replays or for entries received from peers.
+ */
+@FunctionalInterface
+public interface IdempotencyEntryListener {
+
+    void onStored(String tenant, String idempotencyKey, IdempotencyEntry entry);
+}
@@ -2,25 +2,63 @@ package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "idempotency")
 public class IdempotencyProperties {
 
+    /** Default per-tenant budget, used for tenants without an entry in {@link #tenants}. */
     private final Cache cache = new Cache();
+    private final Map<String, Cache> tenants = new HashMap<>();
+    private long globalMaxBytes = 256L * 1024 * 1024;
+    private int maxShards = 256;
+    private final Replication replication = new Replication();
 
     public Cache getCache() {
         return cache;
     }
 
+    public Replication getReplication() {
+        return replication;
+    }
+
+    public Map<String, Cache> getTenants() {
+        return tenants;
+    }
+
+    public Cache budgetFor(String tenant) {
+        return tenants.getOrDefault(tenant, cache);
+    }
+
+    public long getGlobalMaxBytes() {
+        return globalMaxBytes;
+    }
+
+    public void setGlobalMaxBytes(long globalMaxBytes) {
+        this.globalMaxBytes = globalMaxBytes;
+    }
+
+    public int getMaxShards() {
+        return maxShards;
+    }
+
+    public void setMaxShards(int maxShards) {
+        this.maxShards = maxShards;
+    }
+
     public static class Cache {
-        private long maxSize = 10_000;
+        private long maxBytes = 32L * 1024 * 1024;
         private long expireAfterSeconds = 600;
 
-        public long getMaxSize() {
-            return maxSize;
+        public long getMaxBytes() {
+            return maxBytes;
         }
 
-        public void setMaxSize(long maxSize) {
-            this.maxSize = maxSize;
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
         }
 
         public long getExpireAfterSeconds() {
@@ -31,4 +69,100 @@ public class IdempotencyProperties {
             this.expireAfterSeconds = expireAfterSeconds;
         }
     }
+
+    /**
+     * Asynchronous push of newly stored entries to a static list of peer instances.
+     */
+    public static class Replication {
+        private boolean enabled = false;
+        private List<String> peers = new ArrayList<>();
+        private String token;
+        private List<String> allowedSources = new ArrayList<>();
+        private int queueCapacity = 10_000;
+        private int batchSize = 256;
+        private int maxBatchBytes = 1_000_000;
+        private long flushIntervalMillis = 50;
+        private long requestTimeoutMillis = 1_000;
+        private long peerBackoffMillis = 5_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getPeers() {
+            return peers;
+        }
+
+        public void setPeers(List<String> peers) {
+            this.peers = peers;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public List<String> getAllowedSources() {
+            return allowedSources;
+        }
+
+        public void setAllowedSources(List<String> allowedSources) {
+            this.allowedSources = allowedSources;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchBytes() {
+            return maxBatchBytes;
+        }
+
+        public void setMaxBatchBytes(int maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public long getRequestTimeoutMillis() {
+            return requestTimeoutMillis;
+        }
+
+        public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+            this.requestTimeoutMillis = requestTimeoutMillis;
+        }
+
+        public long getPeerBackoffMillis() {
+            return peerBackoffMillis;
+        }
+
+        public void setPeerBackoffMillis(long peerBackoffMillis) {
+            this.peerBackoffMillis = peerBackoffMillis;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies batches pushed by {@link IdempotencyReplicator} on a peer. Entries are only
+ * stored for keys this instance does not know yet, and are not replicated further.
+ * <p>
+ * A batch is only accepted with the shared {@code idempotency.replication.token} and from
+ * an address in {@code allowedSources} (by default the configured peers), because it is
+ * served on the public port and a forged entry would be replayed to real clients.
+ * Enabling replication without a token fails startup.
+ */
+@Component
+public class IdempotencyReplicationReceiver {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyReplicationReceiver.class);
+
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyProperties.Replication properties;
+    private final Counter stored;
+    private final Counter ignored;
+    private final Set<InetAddress> allowedSources;
+
+    public IdempotencyReplicationReceiver(IdempotencyService idempotencyService,
+                                          IdempotencyProperties idempotencyProperties,
+                                          MeterRegistry meterRegistry) {
+        this.idempotencyService = idempotencyService;
+        this.properties = idempotencyProperties.getReplication();
+        this.stored = received(meterRegistry, "stored");
+        this.ignored = received(meterRegistry, "ignored");
+        if (properties.isEnabled() && (properties.getToken() == null || properties.getToken().isBlank())) {
+            throw new IllegalStateException("idempotency.replication.token must be set when replication is enabled");
+        }
+        this.allowedSources = properties.isEnabled() ? allowedSources(properties) : Set.of();
+    }
+
+    public boolean isAuthorized(String remoteAddress, String token) {
+        String expected = properties.getToken();
+        if (expected == null || expected.isBlank() || !isAllowedSource(remoteAddress)) {
+            return false;
+        }
+        return token != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int receive(InputStream body) throws IOException {
+        List<ReplicationBatch.Entry> entries = ReplicationBatch.decode(
+                body,
+                Math.max(1, properties.getBatchSize()),
+                Math.max(1, properties.getMaxBatchBytes()));
+
+        int count = 0;
+        for (ReplicationBatch.Entry entry : entries) {
+            if (idempotencyService.putIfAbsent(entry.tenant(), entry.key(), entry.value())) {
+                stored.increment();
+                count++;
+            } else {
+                ignored.increment();
+            }
+        }
+        return count;
+    }
+
+    private boolean isAllowedSource(String remoteAddress) {
+        if (remoteAddress == null) {
+            return false;
+        }
+        try {
+            // the servlet remote address is a literal, so this never goes to DNS
+            return allowedSources.contains(InetAddress.getByName(remoteAddress));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static Set<InetAddress> allowedSources(IdempotencyProperties.Replication properties) {
+        Set<InetAddress> allowed = new HashSet<>();
+        if (!properties.getAllowedSources().isEmpty()) {
+            for (String source : properties.getAllowedSources()) {
+                try {
+                    allowed.addAll(List.of(InetAddress.getAllByName(source.trim())));
+                } catch (UnknownHostException e) {
+                    throw new IllegalStateException("Cannot resolve replication source " + source, e);
+                }
+            }
+            return Set.copyOf(allowed);
+        }
+        for (String peer : properties.getPeers()) {
+            String host = peer.isBlank() ? null : URI.create(peer.trim()).getHost();
+            if (host == null) {
+                continue;
+            }
+            try {
+                allowed.addAll(List.of(InetAddress.getAllByName(host)));
+            } catch (UnknownHostException e) {
+                log.warn("Cannot resolve replication peer {}; batches from it will be refused", peer);
+            }
+        }
+        return Set.copyOf(allowed);
+    }
+
+    private static Counter received(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("idempotency.replication.received")
+                .description("Entries received from peers; ignored when the key was already known")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
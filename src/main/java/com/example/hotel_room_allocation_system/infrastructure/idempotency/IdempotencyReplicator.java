@@ -0,0 +1,230 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes newly stored idempotency entries to the peers in
+ * {@code idempotency.replication.peers}, so a retry that the load balancer sends to
+ * another instance is replayed there instead of recomputed.
+ * <p>
+ * Replication is best effort and never blocks the request path: entries go into a
+ * bounded queue (dropped and counted when it is full), a single sender thread drains it
+ * into batches of at most {@code batchSize} entries / {@code maxBatchBytes} and posts each
+ * batch to all peers in parallel. A peer that fails is skipped for
+ * {@code peerBackoffMillis}, so one dead peer cannot stall the others.
+ */
+@Component
+public class IdempotencyReplicator implements IdempotencyEntryListener {
+    public static final String REPLICATE_PATH = "/internal/idempotency/replicate";
+    public static final String TOKEN_HEADER = "X-Replication-Token";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyReplicator.class);
+
+    private final IdempotencyProperties.Replication properties;
+    private final BlockingQueue<ReplicationBatch.Entry> queue;
+    private final List<Peer> peers;
+    private final Counter droppedQueueFull;
+    private final Counter droppedTooLarge;
+    private final HttpClient httpClient;
+    private final Thread sender;
+
+    private volatile boolean running;
+    // sender thread only
+    private ReplicationBatch.Entry carryOver;
+
+    public IdempotencyReplicator(IdempotencyProperties idempotencyProperties, MeterRegistry meterRegistry) {
+        this.properties = idempotencyProperties.getReplication();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+
+        this.droppedQueueFull = dropped(meterRegistry, "queue_full");
+        this.droppedTooLarge = dropped(meterRegistry, "too_large");
+        Gauge.builder("idempotency.replication.queue", queue, BlockingQueue::size)
+                .description("Entries waiting to be sent to peers")
+                .register(meterRegistry);
+
+        this.peers = properties.getPeers().stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> new Peer(url, meterRegistry))
+                .toList();
+
+        this.running = properties.isEnabled() && !peers.isEmpty();
+        if (running) {
+            this.httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofMillis(properties.getRequestTimeoutMillis()))
+                    .build();
+            this.sender = new Thread(this::runSender, "idempotency-replicator");
+            this.sender.setDaemon(true);
+            this.sender.start();
+            log.info("Idempotency replication enabled to peers {}", properties.getPeers());
+        } else {
+            this.httpClient = null;
+            this.sender = null;
+        }
+    }
+
+    @Override
+    public void onStored(String tenant, String idempotencyKey, IdempotencyEntry entry) {
+        if (!running) {
+            return;
+        }
+        ReplicationBatch.Entry replicated = new ReplicationBatch.Entry(tenant, idempotencyKey, entry);
+        if (replicated.approximateBytes() > properties.getMaxBatchBytes()) {
+            droppedTooLarge.increment();
+        } else if (!queue.offer(replicated)) {
+            droppedQueueFull.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (sender == null) {
+            return;
+        }
+        running = false;
+        sender.join(properties.getRequestTimeoutMillis() + properties.getFlushIntervalMillis());
+        httpClient.close();
+    }
+
+    private void runSender() {
+        List<ReplicationBatch.Entry> batch = new ArrayList<>();
+        while (running || carryOver != null || !queue.isEmpty()) {
+            try {
+                if (fillBatch(batch)) {
+                    send(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Idempotency replication batch failed: {}", e.toString());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for a first entry, then keeps collecting for up to {@code flushIntervalMillis}
+     * or until the batch limits are reached. An entry that would push the batch over
+     * {@code maxBatchBytes} is carried over to the next batch.
+     */
+    private boolean fillBatch(List<ReplicationBatch.Entry> batch) throws InterruptedException {
+        ReplicationBatch.Entry first = carryOver != null
+                ? carryOver
+                : queue.poll(Math.max(1, properties.getFlushIntervalMillis()), TimeUnit.MILLISECONDS);
+        carryOver = null;
+        if (first == null) {
+            return false;
+        }
+
+        batch.add(first);
+        long bytes = first.approximateBytes();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+        int batchSize = Math.max(1, properties.getBatchSize());
+
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            ReplicationBatch.Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            if (bytes + next.approximateBytes() > properties.getMaxBatchBytes()) {
+                carryOver = next;
+                break;
+            }
+            batch.add(next);
+            bytes += next.approximateBytes();
+        }
+        return true;
+    }
+
+    private void send(List<ReplicationBatch.Entry> batch) {
+        byte[] body = ReplicationBatch.encode(batch);
+        long now = System.nanoTime();
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(peers.size());
+        for (Peer peer : peers) {
+            if (now - peer.backoffUntilNanos < 0) {
+                peer.skipped.increment(batch.size());
+                continue;
+            }
+            inFlight.add(httpClient.sendAsync(request(peer, body), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error == null && response.statusCode() / 100 == 2) {
+                            peer.sent.increment(batch.size());
+                        } else {
+                            peer.failed.increment(batch.size());
+                            peer.backoffUntilNanos = System.nanoTime()
+                                    + TimeUnit.MILLISECONDS.toNanos(properties.getPeerBackoffMillis());
+                            log.debug("Replication to {} failed: {}", peer.url,
+                                    error != null ? error.toString() : "HTTP " + response.statusCode());
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private HttpRequest request(Peer peer, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(peer.uri)
+                .timeout(Duration.ofMillis(properties.getRequestTimeoutMillis()))
+                .header("Content-Type", ReplicationBatch.CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (properties.getToken() != null && !properties.getToken().isBlank()) {
+            request.header(TOKEN_HEADER, properties.getToken());
+        }
+        return request.build();
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("idempotency.replication.dropped")
+                .description("Entries never queued for replication")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Peer {
+        private final String url;
+        private final URI uri;
+        private final Counter sent;
+        private final Counter failed;
+        private final Counter skipped;
+        private volatile long backoffUntilNanos = System.nanoTime();
+
+        Peer(String url, MeterRegistry meterRegistry) {
+            this.url = url;
+            this.uri = URI.create(url.replaceAll("/+$", "") + REPLICATE_PATH);
+            this.sent = counter(meterRegistry, url, "sent");
+            this.failed = counter(meterRegistry, url, "failed");
+            this.skipped = counter(meterRegistry, url, "skipped");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String peer, String result) {
+            return Counter.builder("idempotency.replication.entries")
+                    .description("Entries pushed to peers by outcome; skipped while a failed peer is backing off")
+                    .tag("peer", peer)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
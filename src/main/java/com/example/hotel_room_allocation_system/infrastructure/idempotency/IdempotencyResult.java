@@ -1,4 +1,4 @@
 package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 
-public record IdempotencyResult(Object responseBody, boolean replayed) {
+public record IdempotencyResult(byte[] responseBody, String contentType, boolean replayed) {
 }
@@ -3,6 +3,21 @@ package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 import java.util.function.Supplier;
 
 public interface IdempotencyService {
+    String DEFAULT_TENANT = "default";
 
-    IdempotencyResult getOrCompute(String idempotencyKey, String requestHash, Supplier<Object> responseSupplier);
+    /**
+     * Idempotency keys are scoped to {@code tenant}: the same key used by two tenants
+     * refers to two independent entries.
+     */
+    IdempotencyResult getOrCompute(String tenant, String idempotencyKey, String requestHash, Supplier<SerializedResponse> responseSupplier);
+
+    default IdempotencyResult getOrCompute(String idempotencyKey, String requestHash, Supplier<SerializedResponse> responseSupplier) {
+        return getOrCompute(DEFAULT_TENANT, idempotencyKey, requestHash, responseSupplier);
+    }
+
+    /**
+     * Stores an entry computed elsewhere (e.g. on a peer) unless the key is already known
+     * locally. Returns whether the entry was stored.
+     */
+    boolean putIfAbsent(String tenant, String idempotencyKey, IdempotencyEntry entry);
 }
@@ -0,0 +1,184 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+import com.example.hotel_room_allocation_system.exception.IdempotencyConflictException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency entries of one tenant, with the tenant's own byte and TTL budget. Each
+ * shard is a separate Caffeine cache, so tenants neither evict nor lock each other's keys.
+ * Entries are weighed by their serialized size, so the budget tracks real memory rather
+ * than an entry count.
+ */
+final class IdempotencyShard {
+    // record header, arrays and strings not covered by the payload lengths
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int COLDEST_BATCH = 64;
+
+    private final String tenant;
+    private final Cache<String, IdempotencyEntry> cache;
+    private final AtomicLong totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter conflicts;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter globalEvictions;
+
+    IdempotencyShard(String tenant,
+                     IdempotencyProperties.Cache budget,
+                     AtomicLong totalBytes,
+                     MeterRegistry meterRegistry) {
+        this.tenant = tenant;
+        this.totalBytes = totalBytes;
+
+        Tags tags = Tags.of("tenant", tenant);
+        this.hits = Counter.builder("idempotency.requests").tags(tags).tag("result", "hit")
+                .description("Idempotent requests by outcome: hit (replayed), miss (computed) or conflict")
+                .register(meterRegistry);
+        this.misses = Counter.builder("idempotency.requests").tags(tags).tag("result", "miss")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("idempotency.requests").tags(tags).tag("result", "conflict")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("idempotency.evictions").tags(tags).tag("cause", "size")
+                .description("Idempotency entries removed before they were replayed")
+                .register(meterRegistry);
+        this.expirations = Counter.builder("idempotency.evictions").tags(tags).tag("cause", "expired")
+                .register(meterRegistry);
+        this.globalEvictions = Counter.builder("idempotency.evictions").tags(tags).tag("cause", "global")
+                .register(meterRegistry);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, budget.getMaxBytes()))
+                .weigher(IdempotencyShard::weigh)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, budget.getExpireAfterSeconds())))
+                // run maintenance on the calling thread so the global byte count never lags
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+
+        Gauge.builder("idempotency.entries", cache, Cache::estimatedSize)
+                .tags(tags)
+                .description("Idempotency entries held per tenant")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.bytes", this, IdempotencyShard::weightedSize)
+                .tags(tags)
+                .baseUnit("bytes")
+                .description("Serialized idempotency responses held per tenant")
+                .register(meterRegistry);
+    }
+
+    String tenant() {
+        return tenant;
+    }
+
+    long size() {
+        return cache.estimatedSize();
+    }
+
+    long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    IdempotencyResult getOrCompute(String idempotencyKey, String requestHash, Supplier<SerializedResponse> responseSupplier) {
+        AtomicBoolean replayed = new AtomicBoolean(false);
+
+        IdempotencyEntry entry;
+        try {
+            entry = cache.asMap().compute(idempotencyKey, (k, existingEntry) -> {
+                if (existingEntry == null) {
+                    SerializedResponse response = responseSupplier.get();
+                    IdempotencyEntry created = new IdempotencyEntry(requestHash, response.body(), response.contentType());
+                    totalBytes.addAndGet(weigh(k, created));
+                    return created;
+                }
+
+                replayed.set(true);
+
+                if(!existingEntry.requestHash().equals(requestHash)){
+                    throw new IdempotencyConflictException("Idempotency key conflict detected for key: " + idempotencyKey);
+                }
+
+                return existingEntry;
+            });
+        } catch (IdempotencyConflictException e) {
+            conflicts.increment();
+            throw e;
+        }
+
+        (replayed.get() ? hits : misses).increment();
+        return new IdempotencyResult(entry.responseBody(), entry.contentType(), replayed.get());
+    }
+
+    boolean putIfAbsent(String idempotencyKey, IdempotencyEntry entry) {
+        AtomicBoolean stored = new AtomicBoolean(false);
+        cache.asMap().computeIfAbsent(idempotencyKey, k -> {
+            stored.set(true);
+            totalBytes.addAndGet(weigh(k, entry));
+            return entry;
+        });
+        return stored.get();
+    }
+
+    /**
+     * Drops the entries least likely to be replayed until at least {@code bytes} have been
+     * freed or the batch is exhausted, returning the bytes freed.
+     */
+    long evictColdest(long bytes) {
+        Map<String, IdempotencyEntry> coldest = cache.policy().eviction()
+                .map(eviction -> eviction.coldest(COLDEST_BATCH))
+                .orElse(Map.of());
+
+        long freed = 0;
+        int evicted = 0;
+        for (Map.Entry<String, IdempotencyEntry> e : coldest.entrySet()) {
+            if (freed >= bytes) {
+                break;
+            }
+            if (cache.asMap().remove(e.getKey(), e.getValue())) {
+                freed += weigh(e.getKey(), e.getValue());
+                evicted++;
+            }
+        }
+        globalEvictions.increment(evicted);
+        return freed;
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    static int weigh(String key, IdempotencyEntry entry) {
+        long weight = ENTRY_OVERHEAD_BYTES
+                + 2L * key.length()
+                + 2L * entry.requestHash().length()
+                + entry.responseBody().length;
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private void onRemoval(String key, IdempotencyEntry entry, RemovalCause cause) {
+        if (cause == RemovalCause.REPLACED || key == null || entry == null) {
+            return;
+        }
+        totalBytes.addAndGet(-weigh(key, entry));
+        if (cause == RemovalCause.SIZE) {
+            sizeEvictions.increment();
+        } else if (cause == RemovalCause.EXPIRED) {
+            expirations.increment();
+        }
+    }
+}
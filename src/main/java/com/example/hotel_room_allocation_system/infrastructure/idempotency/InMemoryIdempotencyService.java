@@ -1,51 +1,141 @@
 package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 
-import com.example.hotel_room_allocation_system.exception.IdempotencyConflictException;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+/**
+ * Idempotency store partitioned into one {@link IdempotencyShard} per tenant. Tenants
+ * seen after {@code idempotency.maxShards} shards exist share an overflow shard, which
+ * bounds both memory and metric cardinality; their keys are prefixed with the tenant
+ * there, so they stay scoped to it. On top of the per-tenant byte budgets,
+ * {@code idempotency.globalMaxBytes} caps the total; when it is exceeded the coldest
+ * entries of the largest shard are dropped, so the noisiest tenant pays first.
+ */
 @Component
 public class InMemoryIdempotencyService implements IdempotencyService {
+    static final String OVERFLOW_TENANT = "_overflow";
 
-    private final Cache<String, IdempotencyEntry> caache;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, IdempotencyShard> shards = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final List<IdempotencyEntryListener> listeners;
 
     public InMemoryIdempotencyService(IdempotencyProperties properties) {
-        long maxSize = Math.max(1, properties.getCache().getMaxSize());
-        long ttlSeconds = Math.max(1, properties.getCache().getExpireAfterSeconds());
+        this(properties, new SimpleMeterRegistry());
+    }
 
-        this.caache = Caffeine.newBuilder()
-                .maximumSize(maxSize)
-                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
-                .build();
+    public InMemoryIdempotencyService(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, List.of());
+    }
+
+    @Autowired
+    public InMemoryIdempotencyService(IdempotencyProperties properties,
+                                      MeterRegistry meterRegistry,
+                                      List<IdempotencyEntryListener> listeners) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.listeners = List.copyOf(listeners);
+
+        Gauge.builder("idempotency.global.bytes", totalBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Serialized idempotency responses held across all tenants")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.shards", shards, ConcurrentHashMap::size)
+                .description("Tenants with their own idempotency shard")
+                .register(meterRegistry);
     }
 
     @Override
-    public IdempotencyResult getOrCompute(@NonNull String idempotencyKey,
+    public IdempotencyResult getOrCompute(@NonNull String tenant,
+                                          @NonNull String idempotencyKey,
                                           @NonNull String requestHash,
-                                          @NonNull Supplier<Object> responseSupplier) {
-        AtomicBoolean replayed = new AtomicBoolean(false);
-
-        IdempotencyEntry entry = caache.asMap().compute(idempotencyKey, (k, existingEntry) -> {
-            if (existingEntry == null) {
-                Object body = responseSupplier.get();
-                return new IdempotencyEntry(requestHash, body);
+                                          @NonNull Supplier<SerializedResponse> responseSupplier) {
+        IdempotencyShard shard = shardFor(tenant);
+        IdempotencyResult result = shard.getOrCompute(shardKey(shard, tenant, idempotencyKey), requestHash, responseSupplier);
+        if (!result.replayed()) {
+            enforceGlobalCeiling();
+            if (!listeners.isEmpty()) {
+                IdempotencyEntry entry = new IdempotencyEntry(requestHash, result.responseBody(), result.contentType());
+                listeners.forEach(listener -> listener.onStored(tenant, idempotencyKey, entry));
             }
+        }
+        return result;
+    }
 
-            replayed.set(true);
+    @Override
+    public boolean putIfAbsent(@NonNull String tenant, @NonNull String idempotencyKey, @NonNull IdempotencyEntry entry) {
+        IdempotencyShard shard = shardFor(tenant);
+        boolean stored = shard.putIfAbsent(shardKey(shard, tenant, idempotencyKey), entry);
+        if (stored) {
+            enforceGlobalCeiling();
+        }
+        return stored;
+    }
 
-            if(!existingEntry.requestHash().equals(requestHash)){
-                throw new IdempotencyConflictException("Idempotency key conflict detected for key: " + idempotencyKey);
-            }
+    long bytes(String tenant) {
+        IdempotencyShard shard = shards.get(tenant);
+        if (shard == null) {
+            return 0;
+        }
+        shard.cleanUp();
+        return shard.weightedSize();
+    }
 
-            return existingEntry;
-        });
+    long size(String tenant) {
+        IdempotencyShard shard = shards.get(tenant);
+        if (shard == null) {
+            return 0;
+        }
+        shard.cleanUp();
+        return shard.size();
+    }
+
+    private IdempotencyShard shardFor(String tenant) {
+        IdempotencyShard shard = shards.get(tenant);
+        if (shard != null) {
+            return shard;
+        }
 
-        return new IdempotencyResult(entry.responseBody(), replayed.get());
+        String name = tenant;
+        if (!properties.getTenants().containsKey(tenant) && shards.size() >= Math.max(1, properties.getMaxShards())) {
+            name = OVERFLOW_TENANT;
+        }
+        return shards.computeIfAbsent(name, this::newShard);
+    }
+
+    private static String shardKey(IdempotencyShard shard, String tenant, String idempotencyKey) {
+        if (shard.tenant().equals(tenant)) {
+            return idempotencyKey;
+        }
+        // the overflow shard holds several tenants
+        return tenant + '\u0000' + idempotencyKey;
+    }
+
+    private IdempotencyShard newShard(String tenant) {
+        return new IdempotencyShard(tenant, properties.budgetFor(tenant), totalBytes, meterRegistry);
+    }
+
+    private void enforceGlobalCeiling() {
+        long ceiling = Math.max(1, properties.getGlobalMaxBytes());
+        long excess;
+        while ((excess = totalBytes.get() - ceiling) > 0) {
+            IdempotencyShard largest = shards.values().stream()
+                    .max(Comparator.comparingLong(IdempotencyShard::weightedSize))
+                    .orElse(null);
+            if (largest == null || largest.evictColdest(excess) == 0) {
+                return;
+            }
+        }
     }
 }
@@ -0,0 +1,81 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary frame exchanged between peers: a version byte and entry count followed by
+ * (tenant, key, requestHash, contentType, body) for each entry. Strings use modified
+ * UTF-8 as written by {@link DataOutputStream#writeUTF}.
+ */
+public final class ReplicationBatch {
+    public static final String CONTENT_TYPE = "application/x-idempotency-batch";
+    private static final int VERSION = 1;
+
+    public record Entry(String tenant, String key, IdempotencyEntry value) {
+
+        int approximateBytes() {
+            return IdempotencyShard.weigh(key, value) + 2 * tenant.length();
+        }
+    }
+
+    private ReplicationBatch() {
+    }
+
+    public static byte[] encode(List<Entry> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.stream().mapToInt(Entry::approximateBytes).sum());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeUTF(entry.tenant());
+                out.writeUTF(entry.key());
+                out.writeUTF(entry.value().requestHash());
+                out.writeUTF(entry.value().contentType());
+                out.writeInt(entry.value().responseBody().length);
+                out.write(entry.value().responseBody());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<Entry> decode(InputStream stream, int maxEntries, int maxBodyBytes) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported replication batch version: " + version);
+        }
+
+        int count = in.readInt();
+        if (count < 0 || count > maxEntries) {
+            throw new IllegalArgumentException("Replication batch must contain between 0 and " + maxEntries + " entries");
+        }
+
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String tenant = in.readUTF();
+            String key = in.readUTF();
+            String requestHash = in.readUTF();
+            String contentType = in.readUTF();
+            int length = in.readInt();
+            if (length < 0 || length > maxBodyBytes) {
+                throw new IllegalArgumentException("Replicated response body exceeds " + maxBodyBytes + " bytes");
+            }
+            byte[] body = in.readNBytes(length);
+            if (body.length != length) {
+                throw new EOFException("Truncated replication batch");
+            }
+            entries.add(new Entry(tenant, key, new IdempotencyEntry(requestHash, body, contentType)));
+        }
+        return entries;
+    }
+}
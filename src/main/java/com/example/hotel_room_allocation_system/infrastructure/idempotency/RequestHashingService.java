@@ -1,11 +1,11 @@
 package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 
 import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+import com.example.hotel_room_allocation_system.application.AllocationEvents;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.HexFormat;
 
@@ -13,24 +13,44 @@ import java.util.HexFormat;
 public class RequestHashingService {
 
     public String hash(OccupancyRequest request, boolean explain){
+        return hash(request, explain, 0);
+    }
+
+    /**
+     * Hash of everything that determines the response; the explain limit only counts in
+     * explain mode, where it truncates the guest lists.
+     */
+    public String hash(OccupancyRequest request, boolean explain, int explainLimit){
+        AllocationEvents.Hash event = new AllocationEvents.Hash();
+        event.begin();
         MessageDigest digest = sha256();
 
         digest.update(intBytes(request.premiumRooms()));
         digest.update(intBytes(request.economyRooms()));
         digest.update((byte) (explain ? 1:0));
+        if(explain){
+            digest.update(intBytes(explainLimit));
+        }
 
-        for(BigDecimal g : request.potentialGuests()){
-            if(g == null){
-                digest.update((byte) 0);
-                continue;
+        GuestBids guests = request.potentialGuests();
+        long[] cents = guests.cents();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1_024);
+        for(int i = 0; i < guests.size(); i++){
+            if(!buffer.hasRemaining()){
+                digest.update(buffer.flip());
+                buffer.clear();
             }
-
-            String s = g.stripTrailingZeros().toPlainString();
-            digest.update(s.getBytes(StandardCharsets.UTF_8));
-            digest.update((byte) 0);
+            buffer.putLong(cents[i]);
         }
+        digest.update(buffer.flip());
+        String hash = HexFormat.of().formatHex(digest.digest());
 
-        return HexFormat.of().formatHex(digest.digest());
+        event.end();
+        if(event.shouldCommit()){
+            event.guestCount = guests.size();
+            event.commit();
+        }
+        return hash;
     }
 
     private static MessageDigest sha256(){
@@ -0,0 +1,10 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+import org.springframework.http.MediaType;
+
+public record SerializedResponse(byte[] body, String contentType) {
+
+    public static SerializedResponse json(byte[] body) {
+        return new SerializedResponse(body, MediaType.APPLICATION_JSON_VALUE);
+    }
+}
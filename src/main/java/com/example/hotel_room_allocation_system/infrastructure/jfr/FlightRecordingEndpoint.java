@@ -0,0 +1,208 @@
+package com.example.hotel_room_allocation_system.infrastructure.jfr;
+
+import com.example.hotel_room_allocation_system.application.AllocationEvents;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * {@code /actuator/jfr}: one bounded flight recording at a time, with the
+ * {@link AllocationEvents} enabled on top of the chosen JFR settings.
+ * <ul>
+ *     <li>{@code GET} reports the current or last recording.</li>
+ *     <li>{@code POST} with optional {@code durationSeconds}, {@code maxSizeBytes} and
+ *     {@code settings} starts one; duration and size are capped by
+ *     {@code diagnostics.jfr}.</li>
+ *     <li>{@code DELETE} stops it early.</li>
+ *     <li>{@code GET /actuator/jfr/{id}} downloads the {@code .jfr} file, or a copy of
+ *     what has been recorded so far while it is still running.</li>
+ * </ul>
+ * A recording that reaches its duration stops by itself and stays downloadable until
+ * the next one starts.
+ * <p>
+ * Not in the default web exposure: anyone who can reach it can start recordings and
+ * download them, so only expose it on a management port that clients cannot reach.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordingEndpoint.class);
+    private static final String RECORDING_NAME = "allocation";
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            AllocationEvents.Parse.class, AllocationEvents.Validate.class, AllocationEvents.Hash.class,
+            AllocationEvents.IdempotencyLookup.class, AllocationEvents.Scan.class, AllocationEvents.ExplainBuild.class);
+
+    public record RecordingStatus(long id,
+                                  String state,
+                                  String settings,
+                                  Instant startTime,
+                                  Duration duration,
+                                  long maxSizeBytes,
+                                  long sizeBytes,
+                                  String download) {
+
+        static final RecordingStatus NONE = new RecordingStatus(0, "NONE", null, null, null, 0, 0, null);
+    }
+
+    private final FlightRecordingProperties properties;
+    private final Path directory;
+
+    private Recording recording;
+    private String recordingSettings;
+    private Path file;
+
+    public FlightRecordingEndpoint(FlightRecordingProperties properties) {
+        this.properties = properties;
+        this.directory = properties.getDirectory() == null || properties.getDirectory().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "allocation-jfr")
+                : Path.of(properties.getDirectory());
+    }
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        return currentStatus();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Object> start(@Nullable Long durationSeconds,
+                                                          @Nullable Long maxSizeBytes,
+                                                          @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(currentStatus(), HttpStatus.CONFLICT.value());
+        }
+
+        String settingsName = settings == null || settings.isBlank() ? properties.getSettings() : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>("Unknown JFR settings: " + settingsName, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        long maxSeconds = Math.max(1, properties.getMaxDurationSeconds());
+        long seconds = Math.clamp(durationSeconds == null ? properties.getDefaultDurationSeconds() : durationSeconds, 1, maxSeconds);
+        long maxBytes = Math.max(1, properties.getMaxSizeBytes());
+        long bytes = Math.clamp(maxSizeBytes == null ? maxBytes : maxSizeBytes, 1, maxBytes);
+
+        discard();
+        try {
+            Files.createDirectories(directory);
+            Recording next = new Recording(configuration);
+            next.setName(RECORDING_NAME);
+            for (Class<? extends Event> event : EVENTS) {
+                next.enable(event);
+            }
+            next.setToDisk(true);
+            next.setDuration(Duration.ofSeconds(seconds));
+            next.setMaxSize(bytes);
+            Path target = directory.resolve("allocation-" + next.getId() + ".jfr");
+            next.setDestination(target);
+            next.start();
+
+            recording = next;
+            recordingSettings = settingsName;
+            file = target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Flight recording {} started for {}s, up to {} bytes ({} settings)", recording.getId(), seconds, bytes, settingsName);
+        return new WebEndpointResponse<>(currentStatus(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized RecordingStatus stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            // writes the destination file
+            recording.stop();
+            log.info("Flight recording {} stopped", recording.getId());
+        }
+        return currentStatus();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        if (recording == null || recording.getId() != id) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        try {
+            Path source = file;
+            if (recording.getState() == RecordingState.RUNNING) {
+                source = directory.resolve("allocation-" + id + "-partial.jfr");
+                recording.dump(source);
+            }
+            if (!Files.exists(source)) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(new FileSystemResource(source), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /** Closes the previous recording and deletes its files. */
+    private void discard() {
+        if (recording == null) {
+            return;
+        }
+        long id = recording.getId();
+        recording.close();
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory.resolve("allocation-" + id + "-partial.jfr"));
+        } catch (IOException e) {
+            log.warn("Could not delete flight recording {}", file, e);
+        }
+        recording = null;
+        file = null;
+    }
+
+    private RecordingStatus currentStatus() {
+        if (recording == null) {
+            return RecordingStatus.NONE;
+        }
+        long id = recording.getId();
+        long size = recording.getState() == RecordingState.RUNNING ? recording.getSize() : fileSize();
+        return new RecordingStatus(id, recording.getState().name(), recordingSettings, recording.getStartTime(),
+                recording.getDuration(), recording.getMaxSize(), size, "/actuator/jfr/" + id);
+    }
+
+    private long fileSize() {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
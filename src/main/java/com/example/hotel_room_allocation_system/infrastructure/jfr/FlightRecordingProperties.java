@@ -0,0 +1,55 @@
+package com.example.hotel_room_allocation_system.infrastructure.jfr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "diagnostics.jfr")
+public class FlightRecordingProperties {
+
+    /** JFR settings file the recording starts from: default (low overhead) or profile. */
+    private String settings = "default";
+    private long defaultDurationSeconds = 60;
+    private long maxDurationSeconds = 600;
+    private long maxSizeBytes = 256L * 1024 * 1024;
+    /** Where the recording is written; empty for a directory under java.io.tmpdir. */
+    private String directory;
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public long getDefaultDurationSeconds() {
+        return defaultDurationSeconds;
+    }
+
+    public void setDefaultDurationSeconds(long defaultDurationSeconds) {
+        this.defaultDurationSeconds = defaultDurationSeconds;
+    }
+
+    public long getMaxDurationSeconds() {
+        return maxDurationSeconds;
+    }
+
+    public void setMaxDurationSeconds(long maxDurationSeconds) {
+        this.maxDurationSeconds = maxDurationSeconds;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.hotel_room_allocation_system.infrastructure.job;
+
+import com.example.hotel_room_allocation_system.application.AllocationProgress;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+public class AllocationJob {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private final String id;
+    private final boolean explain;
+    private final int explainLimit;
+    private final Instant submittedAt;
+    private final CompletableFuture<AllocationJob> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant completedAt;
+    private volatile Object result;
+    private volatile String error;
+    private volatile AllocationProgress progress;
+
+    AllocationJob(String id, boolean explain, int explainLimit, Instant submittedAt) {
+        this.id = id;
+        this.explain = explain;
+        this.explainLimit = explainLimit;
+        this.submittedAt = submittedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public int getExplainLimit() {
+        return explainLimit;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public AllocationProgress getProgress() {
+        return progress;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Completes with this job once it has succeeded or failed.
+     */
+    public CompletableFuture<AllocationJob> completion() {
+        return completion;
+    }
+
+    /**
+     * Called from the scan loop; only stores the snapshot, {@link JobProgressPublisher}
+     * delivers it.
+     */
+    void updateProgress(AllocationProgress progress) {
+        this.progress = progress;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void succeed(Object result) {
+        this.result = result;
+        this.completedAt = Instant.now();
+        this.status = Status.SUCCEEDED;
+        completion.complete(this);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.status = Status.FAILED;
+        completion.complete(this);
+    }
+}
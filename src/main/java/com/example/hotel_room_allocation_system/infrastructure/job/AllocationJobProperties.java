@@ -0,0 +1,88 @@
+package com.example.hotel_room_allocation_system.infrastructure.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.jobs")
+public class AllocationJobProperties {
+    private long maxRequestBytes = 1_073_741_824L;
+    private int workers = 2;
+    private int queueCapacity = 16;
+    private long retentionMinutes = 60;
+    private long maxRetainedJobs = 1_000;
+    private long maxWaitSeconds = 30;
+    private String spoolDirectory;
+    private long progressIntervalMillis = 250;
+    private long sseTimeoutMillis = 600_000;
+
+    public long getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    public void setMaxRequestBytes(long maxRequestBytes) {
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getRetentionMinutes() {
+        return retentionMinutes;
+    }
+
+    public void setRetentionMinutes(long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public long getMaxRetainedJobs() {
+        return maxRetainedJobs;
+    }
+
+    public void setMaxRetainedJobs(long maxRetainedJobs) {
+        this.maxRetainedJobs = maxRetainedJobs;
+    }
+
+    public long getMaxWaitSeconds() {
+        return maxWaitSeconds;
+    }
+
+    public void setMaxWaitSeconds(long maxWaitSeconds) {
+        this.maxWaitSeconds = maxWaitSeconds;
+    }
+
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public long getProgressIntervalMillis() {
+        return progressIntervalMillis;
+    }
+
+    public void setProgressIntervalMillis(long progressIntervalMillis) {
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+
+    public long getSseTimeoutMillis() {
+        return sseTimeoutMillis;
+    }
+
+    public void setSseTimeoutMillis(long sseTimeoutMillis) {
+        this.sseTimeoutMillis = sseTimeoutMillis;
+    }
+}
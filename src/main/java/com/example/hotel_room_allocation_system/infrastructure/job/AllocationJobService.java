@@ -0,0 +1,179 @@
+package com.example.hotel_room_allocation_system.infrastructure.job;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyExplainResponse;
+import com.example.hotel_room_allocation_system.api.dto.OccupancyResponse;
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.exception.JobNotFoundException;
+import com.example.hotel_room_allocation_system.exception.JobRejectedException;
+import com.example.hotel_room_allocation_system.exception.PayloadTooLargeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs oversized allocations off the request thread. Bodies are spooled to a temp file
+ * and streamed through {@link RoomAllocationService#allocateStream} on a bounded pool;
+ * a full queue rejects new jobs instead of buffering them.
+ */
+@Service
+public class AllocationJobService {
+    private static final Logger log = LoggerFactory.getLogger(AllocationJobService.class);
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    private final RoomAllocationService roomAllocationService;
+    private final ObjectMapper objectMapper;
+    private final AllocationJobProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, AllocationJob> jobs;
+
+    public AllocationJobService(RoomAllocationService roomAllocationService,
+                                ObjectMapper objectMapper,
+                                AllocationJobProperties properties) {
+        this.roomAllocationService = roomAllocationService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        int workers = Math.max(1, properties.getWorkers());
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "allocation-job-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxRetainedJobs()))
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, properties.getRetentionMinutes())))
+                .build();
+    }
+
+    public AllocationJob submit(InputStream body, boolean explain, int explainLimit) throws IOException {
+        Path spool = spool(body);
+
+        AllocationJob job = new AllocationJob(UUID.randomUUID().toString(), explain, explainLimit, Instant.now());
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            deleteQuietly(spool);
+            throw new JobRejectedException("Allocation job queue is full, retry later");
+        }
+
+        return job;
+    }
+
+    public AllocationJob get(String jobId) {
+        AllocationJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new JobNotFoundException("Allocation job not found: " + jobId);
+        }
+        return job;
+    }
+
+    public long sseTimeoutMillis() {
+        return Math.max(0, properties.getSseTimeoutMillis());
+    }
+
+    public long maxWaitSeconds() {
+        return Math.max(0, properties.getMaxWaitSeconds());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(AllocationJob job, Path spool) {
+        job.markRunning();
+        try {
+            JobRequestReader reader = new JobRequestReader(objectMapper.getFactory(), spool);
+            JobRequestReader.Header header = reader.readHeader();
+
+            AllocationExplainResult result = roomAllocationService.allocateStream(
+                    header.premiumRooms(),
+                    header.economyRooms(),
+                    reader.guests(),
+                    job.isExplain() ? job.getExplainLimit() : 0,
+                    job::updateProgress,
+                    Duration.ofMillis(Math.max(0, properties.getProgressIntervalMillis()))
+            );
+
+            job.succeed(job.isExplain()
+                    ? OccupancyExplainResponse.from(result)
+                    : OccupancyResponse.from(result.summary()));
+        } catch (IllegalArgumentException e) {
+            job.fail(e.getMessage());
+        } catch (IOException e) {
+            job.fail("Malformed request body: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Allocation job {} failed", job.getId(), e);
+            job.fail("An unexpected error occurred.");
+        } finally {
+            deleteQuietly(spool);
+        }
+    }
+
+    private Path spool(InputStream body) throws IOException {
+        Path dir = properties.getSpoolDirectory() == null
+                ? Path.of(System.getProperty("java.io.tmpdir"))
+                : Path.of(properties.getSpoolDirectory());
+        Path file = Files.createTempFile(dir, "occupancy-job-", ".json");
+
+        long maxBytes = properties.getMaxRequestBytes();
+        long total = 0;
+        byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                total += n;
+                if (total > maxBytes) {
+                    throw new PayloadTooLargeException("Job payload exceeds the maximum allowed", maxBytes);
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        return file;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}", file, e);
+        }
+    }
+}
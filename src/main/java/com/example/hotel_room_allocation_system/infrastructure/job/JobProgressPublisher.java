@@ -0,0 +1,91 @@
+package com.example.hotel_room_allocation_system.infrastructure.job;
+
+import com.example.hotel_room_allocation_system.application.AllocationProgress;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers job progress to subscribers from its own thread. Allocation workers only
+ * store the latest {@link AllocationProgress} snapshot on the job; every
+ * {@code api.jobs.progressIntervalMillis} this publisher hands each subscriber the
+ * snapshot if it changed, and the job once it is done. A slow subscriber delays the
+ * events of other subscribers, never the allocation.
+ */
+@Component
+public class JobProgressPublisher {
+    private static final Logger log = LoggerFactory.getLogger(JobProgressPublisher.class);
+    private static final long MIN_INTERVAL_MILLIS = 10;
+
+    private static final class Subscription {
+        final AllocationJob job;
+        final Consumer<AllocationProgress> onProgress;
+        final Consumer<AllocationJob> onDone;
+        AllocationProgress delivered;
+
+        Subscription(AllocationJob job, Consumer<AllocationProgress> onProgress, Consumer<AllocationJob> onDone) {
+            this.job = job;
+            this.onProgress = onProgress;
+            this.onDone = onDone;
+        }
+    }
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    public JobProgressPublisher(AllocationJobProperties properties) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "job-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(MIN_INTERVAL_MILLIS, properties.getProgressIntervalMillis());
+        scheduler.scheduleWithFixedDelay(this::publish, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Calls {@code onProgress} with each new snapshot of {@code job}, then {@code onDone}
+     * once when it has finished. Both run on the publisher thread. Returns a handle that
+     * ends the subscription.
+     */
+    public Runnable subscribe(AllocationJob job,
+                              Consumer<AllocationProgress> onProgress,
+                              Consumer<AllocationJob> onDone) {
+        Subscription subscription = new Subscription(job, onProgress, onDone);
+        subscriptions.add(subscription);
+        return () -> subscriptions.remove(subscription);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void publish() {
+        for (Subscription subscription : subscriptions) {
+            try {
+                // read before the snapshot, so a finished job's final progress goes out first
+                boolean done = subscription.job.isDone();
+                AllocationProgress progress = subscription.job.getProgress();
+                if (progress != null && progress != subscription.delivered) {
+                    subscription.delivered = progress;
+                    subscription.onProgress.accept(progress);
+                }
+                if (done && subscriptions.remove(subscription)) {
+                    subscription.onDone.accept(subscription.job);
+                }
+            } catch (RuntimeException e) {
+                subscriptions.remove(subscription);
+                log.debug("Dropped progress subscriber of job {}", subscription.job.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.hotel_room_allocation_system.infrastructure.job;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+import com.example.hotel_room_allocation_system.application.GuestSource;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.infrastructure.http.GuestBidsDeserializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads a spooled occupancy request without materializing the guest list. The room
+ * counts are read in a first pass that skips over the guests, so the guest stream can
+ * be sized for the right top-K regardless of field order in the document.
+ */
+class JobRequestReader {
+    private static final String POTENTIAL_GUESTS = "potentialGuests";
+
+    private final JsonFactory jsonFactory;
+    private final Path file;
+
+    JobRequestReader(JsonFactory jsonFactory, Path file) {
+        this.jsonFactory = jsonFactory;
+        this.file = file;
+    }
+
+    record Header(int premiumRooms, int economyRooms) { }
+
+    Header readHeader() throws IOException {
+        int premiumRooms = 0;
+        int economyRooms = 0;
+        boolean guestsPresent = false;
+
+        try (JsonParser parser = jsonFactory.createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "premiumRooms" -> premiumRooms = readRooms(parser, "Premium rooms",
+                            OccupancyRequest.PREMIUM_ROOMS_MIN_MESSAGE, OccupancyRequest.PREMIUM_ROOMS_MAX_MESSAGE);
+                    case "economyRooms" -> economyRooms = readRooms(parser, "Economy rooms",
+                            OccupancyRequest.ECONOMY_ROOMS_MIN_MESSAGE, OccupancyRequest.ECONOMY_ROOMS_MAX_MESSAGE);
+                    case POTENTIAL_GUESTS -> {
+                        guestsPresent = value == JsonToken.START_ARRAY;
+                        parser.skipChildren();
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (!guestsPresent) {
+            throw new IllegalArgumentException(OccupancyRequest.GUESTS_NULL_MESSAGE);
+        }
+        return new Header(premiumRooms, economyRooms);
+    }
+
+    GuestSource guests() {
+        return this::streamGuests;
+    }
+
+    private void streamGuests(LongConsumer sink) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(file.toFile())) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (!POTENTIAL_GUESTS.equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                long index = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    sink.accept(readGuest(parser, token, index++));
+                }
+                return;
+            }
+        }
+    }
+
+    private static int readRooms(JsonParser parser, String label, String minMessage, String maxMessage) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException(label + " must be an integer");
+        }
+
+        long rooms = parser.getLongValue();
+        if (rooms < 0) {
+            throw new IllegalArgumentException(minMessage);
+        }
+        if (rooms > OccupancyRequest.MAX_ROOMS) {
+            throw new IllegalArgumentException(maxMessage);
+        }
+        return (int) rooms;
+    }
+
+    private static long readGuest(JsonParser parser, JsonToken token, long index) throws IOException {
+        if (token != JsonToken.VALUE_NULL && token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new IllegalArgumentException("potentialGuests[" + index + "]: Potential guest prices must be numbers");
+        }
+
+        BigDecimal price = token == JsonToken.VALUE_NULL ? null : parser.getDecimalValue();
+        String violation = GuestBidsDeserializer.firstViolation(price);
+        if (violation != null) {
+            throw new IllegalArgumentException("potentialGuests[" + index + "]: " + violation);
+        }
+        return GuestBids.toCents(price);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hotel_room_allocation_system.infrastructure.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "api.snapshots")
+public class ExplainSnapshotProperties {
+
+    /** Keep explain results so later requests can ask for a diff against them. */
+    private boolean enabled = true;
+    private long maxBytes = 64L * 1024 * 1024;
+    private long expireAfterSeconds = 300;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getExpireAfterSeconds() {
+        return expireAfterSeconds;
+    }
+
+    public void setExpireAfterSeconds(long expireAfterSeconds) {
+        this.expireAfterSeconds = expireAfterSeconds;
+    }
+}
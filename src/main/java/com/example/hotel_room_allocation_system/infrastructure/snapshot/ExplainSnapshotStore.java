@@ -0,0 +1,97 @@
+package com.example.hotel_room_allocation_system.infrastructure.snapshot;
+
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Recently returned explain results keyed by their version (the explain request hash),
+ * so a dashboard can ask for what changed since the version it already holds.
+ * <p>
+ * Explain lists are stored as {@link GuestBids}, 8 bytes per entry, and the cache is
+ * bounded by that weight rather than by entry count.
+ */
+@Component
+public class ExplainSnapshotStore {
+    private static final int SNAPSHOT_OVERHEAD_BYTES = 512;
+
+    private final Cache<String, AllocationExplainResult> snapshots;
+
+    public ExplainSnapshotStore(ExplainSnapshotProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            this.snapshots = null;
+            return;
+        }
+
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher(ExplainSnapshotStore::weigh)
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpireAfterSeconds()))
+                .executor(Runnable::run)
+                .build();
+
+        Gauge.builder("explain.snapshots.bytes", snapshots,
+                        cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .description("Approximate bytes held by stored explain snapshots")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return snapshots != null;
+    }
+
+    /**
+     * Stores a compact copy of {@code result} and returns it; the copy renders the same
+     * JSON as the original. Returns {@code result} unchanged when snapshots are disabled.
+     */
+    public AllocationExplainResult put(String version, AllocationExplainResult result) {
+        if (snapshots == null) {
+            return result;
+        }
+        AllocationExplainResult compact = compact(result);
+        snapshots.put(version, compact);
+        return compact;
+    }
+
+    /** The stored snapshot, or null if it was never stored, expired or was evicted. */
+    public AllocationExplainResult get(String version) {
+        return snapshots == null || version == null ? null : snapshots.getIfPresent(version);
+    }
+
+    static AllocationExplainResult compact(AllocationExplainResult result) {
+        AllocationExplanation ex = result.explanation();
+        return new AllocationExplainResult(result.summary(), new AllocationExplanation(
+                ex.premiumCandidates(),
+                ex.economyCandidates(),
+                ex.upgrades(),
+                ex.allocatedPremiumCount(),
+                ex.allocatedEconomyCount(),
+                ex.rejectedPremiumCount(),
+                ex.rejectedEconomyCount(),
+                ex.explainLimit(),
+                GuestBids.of(ex.upgradedEconomyGuests()),
+                GuestBids.of(ex.allocatedPremiumGuests()),
+                GuestBids.of(ex.allocatedEconomyGuests()),
+                GuestBids.of(ex.rejectedPremiumGuests()),
+                GuestBids.of(ex.rejectedEconomyGuests())
+        ));
+    }
+
+    static int weigh(String version, AllocationExplainResult result) {
+        AllocationExplanation ex = result.explanation();
+        long entries = (long) ex.upgradedEconomyGuests().size()
+                + ex.allocatedPremiumGuests().size()
+                + ex.allocatedEconomyGuests().size()
+                + ex.rejectedPremiumGuests().size()
+                + ex.rejectedEconomyGuests().size();
+        return (int) Math.min(Integer.MAX_VALUE, SNAPSHOT_OVERHEAD_BYTES + 2L * version.length() + 8 * entries);
+    }
+}
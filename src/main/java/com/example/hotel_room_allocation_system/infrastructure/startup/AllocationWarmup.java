@@ -0,0 +1,199 @@
+package com.example.hotel_room_allocation_system.infrastructure.startup;
+
+import com.example.hotel_room_allocation_system.application.AllocationContext;
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Runs synthetic allocations of representative shapes before the application reports
+ * ready, so the scan/explain code and the Jackson, validation and filter paths in front
+ * of it are JIT-compiled ahead of real traffic.
+ * <p>
+ * Application runners complete before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}, so the readiness probe stays down until the
+ * warmup finishes or {@code warmup.timeBudgetMillis} expires. When a web server is
+ * running the requests go through it over loopback HTTP; otherwise the service is
+ * called directly.
+ * <p>
+ * Warmup allocations are marked as such ({@link WarmupRequests} over HTTP), so they
+ * leave no trace in the allocation and admission meters, the capture log or the explain
+ * snapshot store. No idempotency keys are sent, so nothing is stored or replicated to
+ * peers. Requests answered with anything but 2xx are counted and logged.
+ */
+@Component
+public class AllocationWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(AllocationWarmup.class);
+    private static final int EXPLAIN_LIMIT = 100;
+
+    private final RoomAllocationService roomAllocationService;
+    private final WarmupProperties properties;
+    private final ApplicationContext applicationContext;
+    private final WarmupRequests warmupRequests;
+
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public AllocationWarmup(RoomAllocationService roomAllocationService,
+                            WarmupProperties properties,
+                            ApplicationContext applicationContext,
+                            WarmupRequests warmupRequests,
+                            MeterRegistry meterRegistry) {
+        this.roomAllocationService = roomAllocationService;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+        this.warmupRequests = warmupRequests;
+
+        TimeGauge.builder("warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Time spent warming up allocation paths before reporting ready")
+                .register(meterRegistry);
+        Gauge.builder("warmup.iterations", iterations, AtomicLong::get)
+                .description("Synthetic allocations executed during warmup")
+                .register(meterRegistry);
+        Gauge.builder("warmup.failures", failures, AtomicLong::get)
+                .description("Warmup requests not answered with 2xx")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled() || properties.getIterations() <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getTimeBudgetMillis()));
+        List<List<BigDecimal>> shapes = syntheticShapes(properties.getGuestCounts());
+
+        Integer port = serverPort();
+        String mode = port != null ? "http" : "service";
+        try {
+            if (port != null) {
+                warmupOverHttp(port, shapes, deadline);
+            } else {
+                warmupService(shapes, deadline);
+            }
+        } catch (IOException e) {
+            log.warn("Allocation warmup aborted: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            durationNanos.set(System.nanoTime() - start);
+        }
+
+        boolean budgetExpired = System.nanoTime() - deadline >= 0;
+        if (failures.get() > 0) {
+            log.warn("Allocation warmup ({}): {} of {} requests failed, the paths they cover are not warmed up",
+                    mode, failures.get(), iterations.get());
+        }
+        log.info("Allocation warmup ({}) finished: {} iterations in {} ms{}", mode, iterations.get(),
+                TimeUnit.NANOSECONDS.toMillis(durationNanos.get()), budgetExpired ? " (time budget expired)" : "");
+    }
+
+    private void warmupService(List<List<BigDecimal>> shapes, long deadline) {
+        List<GuestBids> bids = shapes.stream().map(GuestBids::of).toList();
+        for (int i = 0; i < properties.getIterations() && System.nanoTime() - deadline < 0; i++) {
+            GuestBids guests = bids.get(i % bids.size());
+            int rooms = roomsFor(guests.size());
+            AllocationContext context = AllocationContext.NONE.warmup();
+            try {
+                if ((i & 1) == 0) {
+                    roomAllocationService.allocate(rooms, rooms, guests, context);
+                } else {
+                    roomAllocationService.allocateExplain(rooms, rooms, guests, EXPLAIN_LIMIT, context);
+                }
+            } catch (RuntimeException e) {
+                if (failures.getAndIncrement() == 0) {
+                    log.warn("Warmup allocation failed: {}", e.getMessage());
+                }
+            }
+            iterations.incrementAndGet();
+        }
+    }
+
+    private void warmupOverHttp(int port, List<List<BigDecimal>> shapes, long deadline)
+            throws IOException, InterruptedException {
+        URI plain = URI.create("http://localhost:" + port + "/occupancy");
+        URI explain = URI.create("http://localhost:" + port + "/occupancy?explain=true&explainLimit=" + EXPLAIN_LIMIT);
+
+        List<String> bodies = shapes.stream().map(AllocationWarmup::json).toList();
+
+        // Tomcat drops POSTs that also ask for an h2c upgrade, which the client does by default
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build()) {
+            for (int i = 0; i < properties.getIterations() && System.nanoTime() - deadline < 0; i++) {
+                HttpRequest request = HttpRequest.newBuilder((i & 1) == 0 ? plain : explain)
+                        .header("Content-Type", "application/json")
+                        .header(WarmupRequests.HEADER, warmupRequests.token())
+                        .POST(HttpRequest.BodyPublishers.ofString(bodies.get(i % bodies.size())))
+                        .build();
+
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 != 2 && failures.getAndIncrement() == 0) {
+                    log.warn("Warmup request {} answered {}", request.uri(), response.statusCode());
+                }
+                iterations.incrementAndGet();
+            }
+        }
+    }
+
+    private Integer serverPort() {
+        if (properties.isHttp() && applicationContext instanceof WebServerApplicationContext web
+                && web.getWebServer() != null && web.getWebServer().getPort() > 0) {
+            return web.getWebServer().getPort();
+        }
+        return null;
+    }
+
+    private static int roomsFor(int guests) {
+        return Math.max(1, guests / 4);
+    }
+
+    private static String json(List<BigDecimal> guests) {
+        int rooms = roomsFor(guests.size());
+        return guests.stream()
+                .map(BigDecimal::toPlainString)
+                .collect(Collectors.joining(",",
+                        "{\"premiumRooms\":" + rooms + ",\"economyRooms\":" + rooms + ",\"potentialGuests\":[",
+                        "]}"));
+    }
+
+    static List<List<BigDecimal>> syntheticShapes(List<Integer> guestCounts) {
+        SplittableRandom random = new SplittableRandom(17);
+        List<List<BigDecimal>> shapes = new ArrayList<>();
+        for (int count : guestCounts) {
+            List<BigDecimal> guests = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                guests.add(BigDecimal.valueOf(random.nextLong(0, 40_000), 2));
+            }
+            shapes.add(guests);
+        }
+        return shapes.isEmpty() ? List.of(List.of()) : shapes;
+    }
+}
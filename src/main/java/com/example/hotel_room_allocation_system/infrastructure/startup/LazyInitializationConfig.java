@@ -0,0 +1,27 @@
+package com.example.hotel_room_allocation_system.infrastructure.startup;
+
+import com.example.hotel_room_allocation_system.api.OccupancyController;
+import com.example.hotel_room_allocation_system.application.AllocationEngineSelector;
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With {@code spring.main.lazy-initialization=true} (fast-start profile) everything not
+ * on the /occupancy hot path, springdoc and swagger-ui included, is created on first use.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter occupancyHotPathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                OccupancyController.class,
+                RoomAllocationService.class,
+                AllocationEngineSelector.class,
+                IdempotencyService.class
+        );
+    }
+}
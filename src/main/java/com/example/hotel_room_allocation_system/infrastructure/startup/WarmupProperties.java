@@ -0,0 +1,54 @@
+package com.example.hotel_room_allocation_system.infrastructure.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+    private boolean enabled = false;
+    private int iterations = 300;
+    private List<Integer> guestCounts = List.of(10, 100, 1_000, 10_000);
+    private long timeBudgetMillis = 15_000;
+    private boolean http = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public List<Integer> getGuestCounts() {
+        return guestCounts;
+    }
+
+    public void setGuestCounts(List<Integer> guestCounts) {
+        this.guestCounts = guestCounts;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public boolean isHttp() {
+        return http;
+    }
+
+    public void setHttp(boolean http) {
+        this.http = http;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hotel_room_allocation_system.infrastructure.startup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * Tells the requests {@link AllocationWarmup} sends through the HTTP stack apart from
+ * real traffic. They carry {@value #HEADER} with a token generated at startup, so a
+ * client cannot pass its own requests off as warmup. Capture and admission control let
+ * them through untouched, and their allocations update no meters and store no explain
+ * snapshots.
+ */
+@Component
+public class WarmupRequests {
+    public static final String HEADER = "X-Warmup-Token";
+
+    private final String token = UUID.randomUUID().toString();
+
+    String token() {
+        return token;
+    }
+
+    public boolean matches(String headerValue) {
+        return headerValue != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), headerValue.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        return matches(request.getHeader(HEADER));
+    }
+}
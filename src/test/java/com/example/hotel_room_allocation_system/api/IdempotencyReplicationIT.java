@@ -0,0 +1,65 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.IdempotencyReplicator;
+import com.example.hotel_room_allocation_system.infrastructure.idempotency.ReplicationBatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "idempotency.replication.enabled=true",
+        "idempotency.replication.token=secret",
+        "idempotency.replication.allowedSources=127.0.0.1"
+})
+@AutoConfigureMockMvc
+public class IdempotencyReplicationIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void returns204_forTokenFromAnAllowedAddress() throws Exception {
+        mockMvc.perform(post(IdempotencyReplicator.REPLICATE_PATH)
+                        .contentType(ReplicationBatch.CONTENT_TYPE)
+                        .header(IdempotencyReplicator.TOKEN_HEADER, "secret")
+                        .content(ReplicationBatch.encode(List.of())))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void returns403_forWrongOrMissingToken() throws Exception {
+        mockMvc.perform(post(IdempotencyReplicator.REPLICATE_PATH)
+                        .contentType(ReplicationBatch.CONTENT_TYPE)
+                        .header(IdempotencyReplicator.TOKEN_HEADER, "guess")
+                        .content(new byte[0]))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.type", is("urn:problem:forbidden")));
+
+        mockMvc.perform(post(IdempotencyReplicator.REPLICATE_PATH)
+                        .contentType(ReplicationBatch.CONTENT_TYPE)
+                        .content(new byte[0]))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void returns403_forTokenFromAnAddressThatIsNotAllowed() throws Exception {
+        mockMvc.perform(post(IdempotencyReplicator.REPLICATE_PATH)
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.7");
+                            return request;
+                        })
+                        .contentType(ReplicationBatch.CONTENT_TYPE)
+                        .header(IdempotencyReplicator.TOKEN_HEADER, "secret")
+                        .content(new byte[0]))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.type", is("urn:problem:forbidden")));
+    }
+}
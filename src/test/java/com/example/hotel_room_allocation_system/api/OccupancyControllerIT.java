@@ -4,10 +4,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -152,4 +156,103 @@ public class OccupancyControllerIT {
                 .andExpect(content().contentType("application/problem+json"))
                 .andExpect(jsonPath("$.title", is("Idempotency Key Conflict")));
     }
+
+    @Test
+    void explain_returns304_whenIfNoneMatchOrDiffFromNamesTheSameResult() throws Exception {
+        String json = """
+                {
+                    "premiumRooms": 7,
+                    "economyRooms": 3,
+                    "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209]
+                }
+                """;
+
+        String etag = explain(json, null)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/occupancy")
+                        .param("explain", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        explain(json, version(etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void explain_diffFrom_returnsDiffAgainstAStoredVersion_andFullOtherwise() throws Exception {
+        String before = """
+                {
+                    "premiumRooms": 7,
+                    "economyRooms": 3,
+                    "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209]
+                }
+                """;
+        String after = """
+                {
+                    "premiumRooms": 7,
+                    "economyRooms": 3,
+                    "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209, 500]
+                }
+                """;
+
+        String baseVersion = version(explain(before, null).andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+
+        String etag = explain(after, baseVersion)
+                .andExpect(status().isOk())
+                .andExpect(header().string(OccupancyController.EXPLAIN_DIFF_HEADER, "diff"))
+                .andExpect(jsonPath("$.baseVersion", is(baseVersion)))
+                .andExpect(jsonPath("$.usagePremium", is(7)))
+                .andExpect(jsonPath("$.explaination.allocatedPremiumGuests.added", contains(500)))
+                .andExpect(jsonPath("$.explaination.allocatedPremiumGuests.removed", empty()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        explain(after, "unknown-version")
+                .andExpect(status().isOk())
+                .andExpect(header().string(OccupancyController.EXPLAIN_DIFF_HEADER, "full"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.usagePremium", is(7)));
+
+        mockMvc.perform(get("/occupancy/explain/{version}", version(etag))
+                        .param("diffFrom", baseVersion))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OccupancyController.EXPLAIN_DIFF_HEADER, "diff"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(get("/occupancy/explain/{version}", version(etag))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void explainSnapshot_returns404_forUnknownVersion() throws Exception {
+        mockMvc.perform(get("/occupancy/explain/{version}", "no-such-version")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+                .andExpect(jsonPath("$.type", is("urn:problem:not-found")));
+    }
+
+    private ResultActions explain(String json, String diffFrom) throws Exception {
+        MockHttpServletRequestBuilder request = post("/occupancy")
+                .param("explain", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(json);
+        if (diffFrom != null) {
+            request.param("diffFrom", diffFrom);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private static String version(String etag) {
+        return etag.substring("W/\"".length(), etag.length() - 1);
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+import com.example.hotel_room_allocation_system.infrastructure.http.ApiValidationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OccupancyRequestValidatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void fastValidator_reportsSameFieldErrorsAsBeanValidation() throws Exception {
+        OccupancyRequest request = objectMapper.readValue("""
+                {"premiumRooms": -1, "economyRooms": 100001,
+                 "potentialGuests": [10, null, -1, 100000.01, 1.234, 12345678]}
+                """, OccupancyRequest.class);
+
+        LocalValidatorFactoryBean beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+
+        assertEquals(fieldErrors(beanValidator, request), fieldErrors(fastValidator(100), request));
+    }
+
+    @Test
+    void fastValidator_capsNumberOfViolations() throws Exception {
+        OccupancyRequest request = objectMapper.readValue("""
+                {"premiumRooms": 1, "economyRooms": 1, "potentialGuests": [null, null, null, null, null]}
+                """, OccupancyRequest.class);
+
+        BindingResult result = validate(fastValidator(3), request);
+
+        assertEquals(List.of("potentialGuests[0]", "potentialGuests[1]", "potentialGuests[2]"),
+                result.getFieldErrors().stream().map(FieldError::getField).toList());
+    }
+
+    private static OccupancyRequestValidator fastValidator(int maxViolations) {
+        ApiValidationProperties properties = new ApiValidationProperties();
+        properties.setMaxViolations(maxViolations);
+        return new OccupancyRequestValidator(properties);
+    }
+
+    private static Set<List<String>> fieldErrors(Validator validator, OccupancyRequest request) {
+        return validate(validator, request).getFieldErrors().stream()
+                .map(fe -> List.of(fe.getField(), String.valueOf(fe.getDefaultMessage()), String.valueOf(fe.getRejectedValue())))
+                .collect(Collectors.toSet());
+    }
+
+    private static BindingResult validate(Validator validator, OccupancyRequest request) {
+        BindingResult result = new BeanPropertyBindingResult(request, "occupancyRequest");
+        validator.validate(request, result);
+        return result;
+    }
+}
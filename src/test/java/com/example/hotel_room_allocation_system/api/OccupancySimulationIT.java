@@ -0,0 +1,77 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.infrastructure.http.RequestDeadlineFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OccupancySimulationIT {
+    private static final String JSON = """
+            {
+                "premiumRooms": 3,
+                "economyRooms": 3,
+                "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209],
+                "noShowProbability": 0.1,
+                "maxOverbooking": 2,
+                "walkCost": 150,
+                "trials": 1000,
+                "seed": 42
+            }
+            """;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void returnsOneLevelPerOverbooking() throws Exception {
+        mockMvc.perform(post("/occupancy/simulation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trials", is(1000)))
+                .andExpect(jsonPath("$.seed", is(42)))
+                .andExpect(jsonPath("$.levels", hasSize(3)))
+                .andExpect(jsonPath("$.levels[0].overbooking", is(0)));
+    }
+
+    @Test
+    void returns504_whenTheDeadlineHasAlreadyPassed() throws Exception {
+        mockMvc.perform(post("/occupancy/simulation")
+                        .header(RequestDeadlineFilter.DEADLINE_HEADER, Long.toString(System.currentTimeMillis() - 1_000))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+                .andExpect(jsonPath("$.type", is("urn:problem:deadline-exceeded")));
+    }
+
+    @Test
+    void returns400_forTrialsAboveTheLimit() throws Exception {
+        mockMvc.perform(post("/occupancy/simulation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON.replace("\"trials\": 1000", "\"trials\": 100001")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("urn:problem:bad-request")));
+    }
+
+    @Test
+    void acceptsTheLargestConfiguredSimulation() throws Exception {
+        mockMvc.perform(post("/occupancy/simulation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON.replace("\"trials\": 1000", "\"trials\": 100000")
+                                .replace("\"maxOverbooking\": 2", "\"maxOverbooking\": 50")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.levels", hasSize(51)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.hotel_room_allocation_system.api;
+
+import com.example.hotel_room_allocation_system.infrastructure.http.RequestDeadlineFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RequestDeadlineIT {
+    private static final String JSON = """
+            {
+                "premiumRooms": 7,
+                "economyRooms": 5,
+                "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209]
+            }
+            """;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void returns400_forMalformedOrNegativeDeadlineHeaders() throws Exception {
+        mockMvc.perform(post("/occupancy")
+                        .header(RequestDeadlineFilter.DEADLINE_HEADER, "tomorrow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+                .andExpect(jsonPath("$.type", is("urn:problem:bad-request")))
+                .andExpect(jsonPath("$.detail", is(RequestDeadlineFilter.DEADLINE_HEADER + " must be a whole number of milliseconds")));
+
+        mockMvc.perform(post("/occupancy")
+                        .header(RequestDeadlineFilter.TIMEOUT_HEADER, "-5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type", is("urn:problem:bad-request")));
+    }
+
+    @Test
+    void returns504_whenTheDeadlineHasAlreadyPassed() throws Exception {
+        mockMvc.perform(post("/occupancy")
+                        .header(RequestDeadlineFilter.DEADLINE_HEADER, Long.toString(System.currentTimeMillis() - 1_000))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+                .andExpect(jsonPath("$.type", is("urn:problem:deadline-exceeded")))
+                .andExpect(jsonPath("$.title", is("Deadline Exceeded")))
+                .andExpect(jsonPath("$.instance", is("/occupancy")));
+
+        mockMvc.perform(post("/occupancy")
+                        .header(RequestDeadlineFilter.TIMEOUT_HEADER, "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.type", is("urn:problem:deadline-exceeded")));
+    }
+
+    @Test
+    void allocates_withinAFutureDeadline() throws Exception {
+        mockMvc.perform(post("/occupancy")
+                        .header(RequestDeadlineFilter.TIMEOUT_HEADER, "30000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usagePremium", is(6)));
+    }
+}
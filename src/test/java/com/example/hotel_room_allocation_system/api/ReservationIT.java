@@ -0,0 +1,121 @@
+package com.example.hotel_room_allocation_system.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReservationIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void reserveUpgradeAndCancel_roundTrip() throws Exception {
+        mockMvc.perform(put("/hotels/{hotelId}/inventory", "it-hotel-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"from": "2026-11-02", "to": "2026-11-04", "premiumRooms": 1, "economyRooms": 1}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights", hasSize(2)))
+                .andExpect(jsonPath("$.nights[0].premiumFree", is(1)));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"hotelId": "it-hotel-1", "checkIn": "2026-11-03", "checkOut": "2026-11-04", "price": 50}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.roomType", is("ECONOMY")));
+
+        String location = mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"hotelId": "it-hotel-1", "checkIn": "2026-11-02", "checkOut": "2026-11-04", "price": 60}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, startsWith("/reservations/")))
+                .andExpect(jsonPath("$.roomType", is("ECONOMY")))
+                .andExpect(jsonPath("$.upgraded", is(true)))
+                .andExpect(jsonPath("$.nightRoomTypes", contains("ECONOMY", "PREMIUM")))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nightRoomTypes", contains("ECONOMY", "PREMIUM")));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"hotelId": "it-hotel-1", "checkIn": "2026-11-03", "checkOut": "2026-11-04", "price": 150}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type", is("urn:problem:rooms-unavailable")));
+
+        mockMvc.perform(delete(location))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete(location))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type", is("urn:problem:not-found")));
+
+        mockMvc.perform(get("/hotels/{hotelId}/inventory", "it-hotel-1")
+                        .param("from", "2026-11-02")
+                        .param("to", "2026-11-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights[0].economyFree", is(1)))
+                .andExpect(jsonPath("$.nights[1].premiumFree", is(1)))
+                .andExpect(jsonPath("$.nights[1].economyFree", is(0)));
+    }
+
+    @Test
+    void registerInventory_rejectedShrink_changesNoNight() throws Exception {
+        mockMvc.perform(put("/hotels/{hotelId}/inventory", "it-hotel-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"from": "2026-11-02", "to": "2026-11-04", "premiumRooms": 2, "economyRooms": 2}
+                                """))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"hotelId": "it-hotel-2", "checkIn": "2026-11-03", "checkOut": "2026-11-04", "price": 150}
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(put("/hotels/{hotelId}/inventory", "it-hotel-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"from": "2026-11-02", "to": "2026-11-04", "premiumRooms": 0, "economyRooms": 3}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type", is("urn:problem:rooms-unavailable")));
+
+        mockMvc.perform(get("/hotels/{hotelId}/inventory", "it-hotel-2")
+                        .param("from", "2026-11-02")
+                        .param("to", "2026-11-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights[*].premiumRooms", contains(2, 2)))
+                .andExpect(jsonPath("$.nights[*].economyRooms", contains(2, 2)));
+    }
+
+    @Test
+    void returns404_forAHotelWithoutInventory() throws Exception {
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"hotelId": "it-no-such-hotel", "checkIn": "2026-11-02", "checkOut": "2026-11-03", "price": 150}
+                                """))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith("application/problem+json"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AllocationBatchSchedulerTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RoomAllocationService service = new RoomAllocationService(registry);
+    private final RoomAllocationService reference = new RoomAllocationService(new SimpleMeterRegistry());
+    private AllocationBatchScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void allocate_concurrentSmallRequests_matchDirectPathAndAreBatched() throws Exception {
+        AllocationBatchingProperties properties = new AllocationBatchingProperties();
+        properties.setEnabled(true);
+        properties.setWindowMicros(2_000);
+        scheduler = new AllocationBatchScheduler(service, properties, registry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                futures.add(callers.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < 200; i++) {
+                        long[] cents = new long[random.nextInt(0, 50)];
+                        for (int j = 0; j < cents.length; j++) {
+                            cents[j] = random.nextLong(0, 400_00);
+                        }
+                        int premiumRooms = random.nextInt(0, 20);
+                        int economyRooms = random.nextInt(0, 20);
+                        GuestBids guests = GuestBids.ofCents(cents);
+
+                        AllocationResult expected = reference.allocate(premiumRooms, economyRooms, guests);
+                        assertEquals(expected, scheduler.allocate(premiumRooms, economyRooms, guests, AllocationContext.NONE));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // futures complete before the worker records the batch's meters
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("allocation.requests").counter().count() < 1_600 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1_600.0, registry.get("allocation.requests").counter().count());
+        assertEquals(1_600.0, registry.get("allocation.batch.size").summary().totalAmount());
+        assertTrue(registry.get("allocation.batch.size").summary().count() < 1_600, "requests were batched");
+    }
+
+    @Test
+    void allocate_rethrowsValidationFailureOfItsOwnRequest() {
+        AllocationBatchingProperties properties = new AllocationBatchingProperties();
+        properties.setEnabled(true);
+        scheduler = new AllocationBatchScheduler(service, properties, registry);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduler.allocate(-1, 1, GuestBids.ofCents(100_00), AllocationContext.NONE));
+        assertEquals(1, scheduler.allocate(1, 1, GuestBids.ofCents(100_00), AllocationContext.NONE).usagePremium());
+    }
+
+    @Test
+    void accepts_onlySmallRequests_whenEnabled() {
+        AllocationBatchingProperties properties = new AllocationBatchingProperties();
+        scheduler = new AllocationBatchScheduler(service, properties, registry);
+        assertFalse(scheduler.accepts(1));
+
+        properties.setEnabled(true);
+        properties.setMaxGuests(10);
+        scheduler.shutdown();
+        scheduler = new AllocationBatchScheduler(service, properties, registry);
+        assertTrue(scheduler.accepts(10));
+        assertFalse(scheduler.accepts(11));
+    }
+}
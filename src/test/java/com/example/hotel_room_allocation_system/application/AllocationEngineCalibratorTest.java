@@ -0,0 +1,67 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AllocationEngineCalibratorTest {
+    private static final double[] RATIOS = {0.05, 0.1, 0.25, 0.5, 0.75, 1.0};
+
+    @Test
+    void crossover_sortNeverWins_neverSorts() {
+        double ratio = AllocationEngineCalibrator.crossover(RATIOS,
+                new long[]{10, 10, 10, 10, 10, 10},
+                new long[]{20, 20, 20, 20, 20, 20});
+
+        assertEquals(AllocationEngineCalibrator.NEVER_SORT, ratio);
+
+        AllocationEngineProperties properties = new AllocationEngineProperties();
+        properties.setSmallInputMaxSize(10);
+        properties.setParallelMinSize(1_000_000);
+        AllocationEngineSelector selector = new AllocationEngineSelector(properties);
+        selector.setSortTopKRatio(ratio);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] cents = new long[1_000];
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = random.nextLong(1, 40_000);
+        }
+        GuestBids guests = GuestBids.ofCents(cents);
+        // even top-K = N stays on the heap scan
+        assertSame(selector.heapEngine(), selector.select(guests, guests.size(), guests.size()));
+    }
+
+    @Test
+    void crossover_isTheLowestRatioFromWhichSortKeepsWinning() {
+        assertEquals(0.25, AllocationEngineCalibrator.crossover(RATIOS,
+                new long[]{10, 10, 10, 10, 10, 10},
+                new long[]{20, 15, 9, 8, 7, 6}));
+
+        // a single win at a low ratio is noise when sort loses again above it
+        assertEquals(0.5, AllocationEngineCalibrator.crossover(RATIOS,
+                new long[]{10, 10, 10, 10, 10, 10},
+                new long[]{9, 12, 11, 8, 7, 6}));
+
+        // sort losing at the highest ratio means it never reliably wins
+        assertEquals(AllocationEngineCalibrator.NEVER_SORT, AllocationEngineCalibrator.crossover(RATIOS,
+                new long[]{10, 10, 10, 10, 10, 10},
+                new long[]{5, 5, 5, 5, 5, 11}));
+    }
+
+    @Test
+    void calibrate_setsACandidateRatioOrNeverSort() {
+        AllocationEngineProperties properties = new AllocationEngineProperties();
+        properties.getCalibration().setSampleSize(2_000);
+        properties.getCalibration().setWarmupRounds(1);
+        properties.getCalibration().setRounds(3);
+        AllocationEngineSelector selector = new AllocationEngineSelector(properties);
+
+        new AllocationEngineCalibrator(selector, properties).calibrate();
+
+        assertTrue(List.of(0.05, 0.1, 0.25, 0.5, 0.75, 1.0, AllocationEngineCalibrator.NEVER_SORT)
+                .contains(selector.getSortTopKRatio()));
+    }
+}
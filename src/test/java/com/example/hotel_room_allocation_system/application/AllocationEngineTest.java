@@ -0,0 +1,129 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.exception.AllocationCancelledException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AllocationEngineTest {
+
+    private final HeapScanAllocationEngine heap = new HeapScanAllocationEngine();
+
+    private final HeapScanAllocationEngine vectorHeap = new HeapScanAllocationEngine(GuestKernels.select(true));
+
+    private final List<AllocationEngine> engines = List.of(
+            new SortingAllocationEngine(),
+            new PresortedAllocationEngine(heap),
+            new ParallelScanAllocationEngine(1_000),
+            vectorHeap,
+            new SortingAllocationEngine(GuestKernels.select(true)),
+            new ParallelScanAllocationEngine(1_000, vectorHeap)
+    );
+
+    @Test
+    void allEngines_produceSameComputationAsHeapScan() {
+        GuestBids guests = randomGuests(10_000);
+
+        for (int rooms : new int[]{0, 1, 50, 4_000, 20_000}) {
+            Computation expected = heap.compute(rooms, rooms / 2, guests, rooms, rooms + rooms / 2);
+            for (AllocationEngine engine : engines) {
+                assertEquals(expected, engine.compute(rooms, rooms / 2, guests, rooms, rooms + rooms / 2), engine.name());
+            }
+        }
+    }
+
+    @Test
+    void presortedEngine_handlesAscendingAndDescendingInput() {
+        GuestBids ascending = ascending(randomGuests(5_000));
+        GuestBids descending = descending(ascending);
+
+        PresortedAllocationEngine presorted = new PresortedAllocationEngine(heap);
+
+        assertEquals(heap.compute(100, 200, ascending, 100, 300), presorted.compute(100, 200, ascending, 100, 300));
+        assertEquals(heap.compute(100, 200, descending, 100, 300), presorted.compute(100, 200, descending, 100, 300));
+    }
+
+    @Test
+    void selector_picksEngineFromRequestShape() {
+        AllocationEngineProperties properties = new AllocationEngineProperties();
+        properties.setSmallInputMaxSize(100);
+        properties.setParallelMinSize(50_000);
+        AllocationEngineSelector selector = new AllocationEngineSelector(properties);
+
+        GuestBids unsorted = randomGuests(10_000);
+        GuestBids sorted = descending(ascending(unsorted));
+
+        assertInstanceOf(HeapScanAllocationEngine.class, selector.select(randomGuests(50), 10, 10));
+        assertInstanceOf(HeapScanAllocationEngine.class, selector.select(unsorted, 10, 20));
+        assertInstanceOf(SortingAllocationEngine.class, selector.select(unsorted, 9_000, 10_000));
+        assertInstanceOf(PresortedAllocationEngine.class, selector.select(sorted, 10, 20));
+        assertInstanceOf(ParallelScanAllocationEngine.class, selector.select(randomGuests(60_000), 10, 20));
+    }
+
+    @Test
+    void engines_ignoreCentsBeyondSize() {
+        long[] cents = {50_00, 150_00, 250_00, 99_99, 999_00, 999_00};
+        GuestBids guests = new GuestBids(cents, 4);
+
+        Computation expected = heap.compute(1, 1, guests, 1, 2);
+        assertEquals(new Computation(2, 2, 0, new long[]{250_00}, new long[]{99_99, 50_00}), expected);
+        for (AllocationEngine engine : engines) {
+            assertEquals(expected, engine.compute(1, 1, guests, 1, 2), engine.name());
+        }
+    }
+
+    @Test
+    void engines_stopAtFirstCheck_whenContextIsExpired() {
+        GuestBids unsorted = randomGuests(200_000);
+        GuestBids sorted = descending(ascending(unsorted));
+
+        for (AllocationEngine engine : engines) {
+            AllocationContext context = AllocationContext.withTimeout(Duration.ZERO);
+            context.begin(unsorted.size());
+
+            GuestBids guests = engine instanceof PresortedAllocationEngine ? sorted : unsorted;
+            AllocationCancelledException e = assertThrows(AllocationCancelledException.class,
+                    () -> engine.compute(10, 10, guests, 10, 20, context), engine.name());
+            assertEquals(AllocationCancelledException.Reason.DEADLINE, e.getReason());
+        }
+
+        AllocationContext context = AllocationContext.withTimeout(Duration.ZERO);
+        context.begin(unsorted.size());
+        AllocationCancelledException e = assertThrows(AllocationCancelledException.class,
+                () -> heap.compute(10, 10, unsorted, 10, 20, context));
+        // stopped after the first block, so most of the scan was skipped
+        assertTrue(e.getSkipped().toNanos() > 0);
+    }
+
+    private static GuestBids randomGuests(int size) {
+        SplittableRandom random = new SplittableRandom(7);
+        long[] cents = new long[size];
+        for (int i = 0; i < size; i++) {
+            cents[i] = random.nextLong(0, 30_000);
+        }
+        return GuestBids.ofCents(cents);
+    }
+
+    private static GuestBids ascending(GuestBids guests) {
+        long[] cents = Arrays.copyOf(guests.cents(), guests.size());
+        Arrays.sort(cents);
+        return GuestBids.ofCents(cents);
+    }
+
+    private static GuestBids descending(GuestBids ascending) {
+        long[] cents = new long[ascending.size()];
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = ascending.cents()[cents.length - 1 - i];
+        }
+        return GuestBids.ofCents(cents);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hotel_room_allocation_system.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class GuestKernelTest {
+    private final GuestKernel scalar = ScalarGuestKernel.INSTANCE;
+    // surefire runs with --add-modules jdk.incubator.vector
+    private final GuestKernel vector = GuestKernels.select(true);
+
+    @Test
+    void select_returnsVectorKernel_whenModuleIsPresent() {
+        assertInstanceOf(VectorGuestKernel.class, vector);
+        assertInstanceOf(ScalarGuestKernel.class, GuestKernels.select(false));
+    }
+
+    @Test
+    void vectorKernel_matchesScalar_forAllTailLengths() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int size = 0; size < 70; size++) {
+            long[] cents = random.longs(size, 0, 200_00).toArray();
+            int from = size > 3 ? 3 : 0;
+            assertKernelsAgree(cents, from, size, 5, 5);
+        }
+    }
+
+    @Test
+    void vectorKernel_matchesScalar_onLargeInputs() {
+        SplittableRandom random = new SplittableRandom(11);
+        long[] cents = random.longs(100_003, 0, 1_000_00).toArray();
+        // threshold values on the boundary
+        cents[17] = RoomAllocationService.PREMIUM_THRESHOLD_CENTS;
+        cents[18] = RoomAllocationService.PREMIUM_THRESHOLD_CENTS - 1;
+
+        for (int k : new int[]{0, 1, 100, 60_000, 200_000}) {
+            assertKernelsAgree(cents, 0, cents.length, k, 2 * k);
+        }
+    }
+
+    private void assertKernelsAgree(long[] cents, int from, int to, int premiumTopK, int economyTopK) {
+        GuestScanAccumulator expected = new GuestScanAccumulator(premiumTopK, economyTopK);
+        GuestScanAccumulator actual = new GuestScanAccumulator(premiumTopK, economyTopK);
+        scalar.scan(cents, from, to, expected);
+        vector.scan(cents, from, to, actual);
+        assertEquals(expected.finish(1, 1), actual.finish(1, 1));
+
+        int n = to - from;
+        long[] premium = new long[n];
+        long[] economy = new long[n];
+        long[] vectorPremium = new long[n];
+        long[] vectorEconomy = new long[n];
+        int premiumCount = scalar.partition(cents, from, to, premium, economy);
+        assertEquals(premiumCount, vector.partition(cents, from, to, vectorPremium, vectorEconomy));
+        assertArrayEquals(Arrays.copyOf(premium, premiumCount), Arrays.copyOf(vectorPremium, premiumCount));
+        assertArrayEquals(Arrays.copyOf(economy, n - premiumCount), Arrays.copyOf(vectorEconomy, n - premiumCount));
+
+        assertEquals(scalar.sum(cents, from, to), vector.sum(cents, from, to));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.exception.MemoryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryBudgetTest {
+    private static final GuestBids GUESTS = GuestBids.ofCents(LongStream.rangeClosed(1, 10_000).map(i -> i * 7 % 20_000 * 10).toArray());
+
+    @Test
+    void tryReserve_isBoundedByPoolAndRequestLimit() {
+        MemoryBudget budget = new MemoryBudget(properties(1_000, 600), new SimpleMeterRegistry());
+
+        MemoryBudget.Reservation first = budget.tryReserve(500);
+        assertNotNull(first);
+        assertNull(budget.tryReserve(700), "over the per-request limit");
+        assertFalse(budget.fits(700));
+        assertNull(budget.tryReserve(600), "pool has only 500 left");
+
+        first.close();
+        first.close();
+        assertEquals(0, budget.reserved());
+        assertNotNull(budget.tryReserve(600));
+    }
+
+    @Test
+    void allocateExplain_degradesToCountsOnly_whenListsDoNotFit() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomAllocationService unlimited = new RoomAllocationService(new SimpleMeterRegistry());
+        RoomAllocationService service = new RoomAllocationService(registry,
+                new AllocationEngineSelector(new AllocationEngineProperties()),
+                new MemoryBudget(properties(64 * 1024, 64 * 1024), registry));
+
+        AllocationExplainResult full = unlimited.allocateExplain(10, 10, GUESTS, 5_000);
+        AllocationExplainResult degraded = service.allocateExplain(10, 10, GUESTS, 5_000);
+
+        assertEquals(full.summary(), degraded.summary());
+        assertEquals(full.explanation().rejectedEconomyCount(), degraded.explanation().rejectedEconomyCount());
+        assertEquals(0, degraded.explanation().explainLimit());
+        assertTrue(degraded.explanation().rejectedPremiumGuests().isEmpty());
+        assertEquals(1.0, registry.get("allocation.memory.requests").tag("outcome", "degraded").counter().count());
+        assertEquals(0.0, registry.get("allocation.memory.reserved").gauge().value());
+    }
+
+    @Test
+    void allocate_isRejected_whenPoolIsExhausted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MemoryBudget budget = new MemoryBudget(properties(64 * 1024, 64 * 1024), registry);
+        RoomAllocationService service = new RoomAllocationService(registry,
+                new AllocationEngineSelector(new AllocationEngineProperties()), budget);
+
+        try (MemoryBudget.Reservation held = budget.tryReserve(60 * 1024)) {
+            MemoryBudgetExceededException ex = assertThrows(MemoryBudgetExceededException.class,
+                    () -> service.allocate(1_000, 1_000, GUESTS));
+            assertTrue(ex.isRetryable());
+        }
+        assertNotNull(service.allocate(1_000, 1_000, GUESTS));
+        assertEquals(1.0, registry.get("allocation.memory.requests").tag("outcome", "rejected").counter().count());
+    }
+
+    private static MemoryBudgetProperties properties(long maxBytes, long maxRequestBytes) {
+        MemoryBudgetProperties properties = new MemoryBudgetProperties();
+        properties.setMaxBytes(maxBytes);
+        properties.setMaxRequestBytes(maxRequestBytes);
+        return properties;
+    }
+}
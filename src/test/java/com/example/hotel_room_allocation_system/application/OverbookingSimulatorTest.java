@@ -0,0 +1,113 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.domain.OverbookingSimulation;
+import com.example.hotel_room_allocation_system.exception.AllocationCancelledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OverbookingSimulatorTest {
+    private static final GuestBids GUESTS = GuestBids.ofCents(
+            23_00, 45_00, 155_00, 374_00, 22_00, 99_99, 100_00, 101_00, 115_00, 209_00);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OverbookingSimulator simulator = simulator(4);
+
+    @Test
+    void simulate_withoutNoShows_levelZeroMatchesAllocation() {
+        OverbookingSimulation simulation = simulator.simulate(scenario(3, 3, 0.0, null, 2, 0, 500, 1L));
+
+        AllocationResult allocation = new RoomAllocationService(meterRegistry).allocate(3, 3, GUESTS);
+        BigDecimal revenue = allocation.revenuePremium().add(allocation.revenueEconomy());
+        OverbookingSimulation.Level level = simulation.levels().get(0);
+        assertEquals(0, revenue.compareTo(level.expectedRevenue()));
+        assertEquals(0, revenue.compareTo(level.revenueP5()));
+        assertEquals(0, revenue.compareTo(level.revenueP95()));
+        assertEquals(0.0, level.expectedWalked());
+        assertEquals(3, simulation.levels().size());
+        // extra bookings are walked when everyone shows up
+        assertEquals(2.0, simulation.levels().get(1).expectedWalked());
+        assertEquals(0, simulation.recommendedOverbooking());
+        assertEquals(1, meterRegistry.get("allocation.simulation").timer().count());
+    }
+
+    @Test
+    void simulate_sameSeed_givesSameResultForAnyParallelism() {
+        OverbookingSimulator.Scenario scenario = scenario(3, 3, 0.2, null, 4, 50_00, 2_000, 42L);
+
+        OverbookingSimulation first = simulator.simulate(scenario);
+        OverbookingSimulation second = simulator(1).simulate(scenario);
+
+        assertEquals(first, second);
+        for (OverbookingSimulation.Level level : first.levels()) {
+            assertTrue(level.revenueP5().compareTo(level.revenueP50()) <= 0);
+            assertTrue(level.revenueP50().compareTo(level.revenueP95()) <= 0);
+        }
+        // with no-shows, booking one room more in each tier pays off despite the walk cost
+        assertTrue(first.levels().get(1).expectedRevenue().compareTo(first.levels().get(0).expectedRevenue()) > 0);
+    }
+
+    @Test
+    void simulate_perGuestProbabilities_followInputOrder() {
+        double[] noShow = new double[GUESTS.size()];
+        noShow[3] = 1.0; // the 374 EUR guest never shows up
+
+        OverbookingSimulation simulation = simulator.simulate(scenario(1, 0, 0.0, noShow, 1, 0, 100, 7L));
+
+        // level 0 books only the 374 EUR guest; level 1 also books 209 EUR, who takes the room
+        assertEquals(0, BigDecimal.ZERO.compareTo(simulation.levels().get(0).expectedRevenue()));
+        assertEquals(0, BigDecimal.valueOf(209).compareTo(simulation.levels().get(1).expectedRevenue()));
+        assertEquals(1, simulation.recommendedOverbooking());
+    }
+
+    @Test
+    void simulate_invalidInput_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(scenario(1, 1, 1.5, null, 1, 0, 10, 1L)));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(scenario(1, 1, 0.1, new double[1], 1, 0, 10, 1L)));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(scenario(1, 1, 0.1, null, 1, 0, 0, 1L)));
+    }
+
+    @Test
+    void simulate_expiredContext_stopsWithDeadlineExceeded() {
+        OverbookingSimulator.Scenario scenario = scenario(3, 3, 0.2, null, 4, 50_00, 10_000, 42L);
+
+        assertThrows(AllocationCancelledException.class,
+                () -> simulator.simulate(scenario, AllocationContext.withTimeout(Duration.ZERO)));
+    }
+
+    @Test
+    void constructor_rejectsTrialLimitsThePerRequestMemoryLimitCannotGrant() {
+        OverbookingSimulationProperties properties = new OverbookingSimulationProperties();
+        properties.setParallelism(1);
+        MemoryBudgetProperties memory = new MemoryBudgetProperties();
+        MemoryBudget budget = new MemoryBudget(memory, meterRegistry);
+
+        // the defaults fit the default per-request limit
+        new OverbookingSimulator(properties, budget, meterRegistry).shutdown();
+
+        properties.setMaxOverbooking(100);
+        assertThrows(IllegalStateException.class, () -> new OverbookingSimulator(properties, budget, meterRegistry));
+    }
+
+    private OverbookingSimulator simulator(int parallelism) {
+        OverbookingSimulationProperties properties = new OverbookingSimulationProperties();
+        properties.setParallelism(parallelism);
+        return new OverbookingSimulator(properties, meterRegistry);
+    }
+
+    private static OverbookingSimulator.Scenario scenario(int premiumRooms, int economyRooms, double noShow,
+                                                          double[] perGuest, int maxOverbooking, long walkCostCents,
+                                                          int trials, long seed) {
+        return new OverbookingSimulator.Scenario(premiumRooms, economyRooms, GUESTS, noShow, perGuest,
+                maxOverbooking, walkCostCents, trials, seed);
+    }
+}
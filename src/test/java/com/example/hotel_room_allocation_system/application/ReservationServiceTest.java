@@ -0,0 +1,168 @@
+package com.example.hotel_room_allocation_system.application;
+
+import com.example.hotel_room_allocation_system.domain.NightAvailability;
+import com.example.hotel_room_allocation_system.domain.Reservation;
+import com.example.hotel_room_allocation_system.exception.ReservationNotFoundException;
+import com.example.hotel_room_allocation_system.exception.RoomsUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationServiceTest {
+    private static final String HOTEL = "hotel-1";
+    private static final LocalDate NIGHT = LocalDate.of(2026, 11, 2);
+
+    private final ReservationService service = new ReservationService(new ReservationProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void reserve_economyFull_upgradesButNeverMovesPremiumDown() {
+        service.registerCapacity(HOTEL, NIGHT, NIGHT.plusDays(1), 2, 1);
+
+        Reservation economy = reserve(NIGHT, 1, "99.99");
+        Reservation upgraded = reserve(NIGHT, 1, "45");
+        Reservation premium = reserve(NIGHT, 1, "100");
+
+        assertEquals(Reservation.RoomType.ECONOMY, economy.roomType());
+        assertEquals(Reservation.RoomType.PREMIUM, upgraded.roomType());
+        assertTrue(upgraded.upgraded());
+        assertEquals(Reservation.RoomType.PREMIUM, premium.roomType());
+        assertFalse(premium.upgraded());
+        assertThrows(RoomsUnavailableException.class, () -> reserve(NIGHT, 1, "374"));
+
+        service.cancel(economy.id());
+        assertThrows(ReservationNotFoundException.class, () -> service.cancel(economy.id()));
+        assertThrows(RoomsUnavailableException.class, () -> reserve(NIGHT, 1, "155"));
+        assertEquals(Reservation.RoomType.ECONOMY, reserve(NIGHT, 1, "23").roomType());
+    }
+
+    @Test
+    void reserve_multiNightStay_releasesEarlierNightsWhenALaterOneIsFull() {
+        service.registerCapacity(HOTEL, NIGHT, NIGHT.plusDays(3), 1, 0);
+        reserve(NIGHT.plusDays(2), 1, "150");
+
+        assertThrows(RoomsUnavailableException.class, () -> reserve(NIGHT, 3, "150"));
+        assertThrows(RoomsUnavailableException.class, () -> reserve(NIGHT, 4, "150"));
+
+        assertEquals(List.of(
+                new NightAvailability(NIGHT, 1, 0, 1, 0),
+                new NightAvailability(NIGHT.plusDays(1), 1, 0, 1, 0),
+                new NightAvailability(NIGHT.plusDays(2), 1, 0, 0, 0)), service.availability(HOTEL, NIGHT, NIGHT.plusDays(3)));
+        // cannot shrink below what is reserved
+        assertThrows(RoomsUnavailableException.class, () -> service.registerCapacity(HOTEL, NIGHT.plusDays(2), NIGHT.plusDays(3), 0, 0));
+    }
+
+    @Test
+    void reserve_economyFullOnOneNight_upgradesOnlyThatNight() {
+        service.registerCapacity(HOTEL, NIGHT, NIGHT.plusDays(3), 1, 1);
+        reserve(NIGHT.plusDays(1), 1, "50");
+
+        Reservation stay = reserve(NIGHT, 3, "50");
+
+        assertEquals(List.of(Reservation.RoomType.ECONOMY, Reservation.RoomType.PREMIUM, Reservation.RoomType.ECONOMY),
+                stay.nightRoomTypes());
+        assertEquals(Reservation.RoomType.ECONOMY, stay.roomType());
+        assertTrue(stay.upgraded());
+        assertEquals(List.of(
+                new NightAvailability(NIGHT, 1, 1, 1, 0),
+                new NightAvailability(NIGHT.plusDays(1), 1, 1, 0, 0),
+                new NightAvailability(NIGHT.plusDays(2), 1, 1, 1, 0)), service.availability(HOTEL, NIGHT, NIGHT.plusDays(3)));
+
+        service.cancel(stay.id());
+        assertEquals(List.of(
+                new NightAvailability(NIGHT, 1, 1, 1, 1),
+                new NightAvailability(NIGHT.plusDays(1), 1, 1, 1, 0),
+                new NightAvailability(NIGHT.plusDays(2), 1, 1, 1, 1)), service.availability(HOTEL, NIGHT, NIGHT.plusDays(3)));
+    }
+
+    @Test
+    void registerCapacity_rejectedOnALaterNight_leavesEveryNightUnchanged() {
+        service.registerCapacity(HOTEL, NIGHT, NIGHT.plusDays(3), 2, 2);
+        reserve(NIGHT.plusDays(2), 1, "150");
+        reserve(NIGHT.plusDays(2), 1, "150");
+
+        // premium shrinks below what the last night has reserved; economy would grow
+        assertThrows(RoomsUnavailableException.class, () -> service.registerCapacity(HOTEL, NIGHT, NIGHT.plusDays(3), 1, 5));
+
+        assertEquals(List.of(
+                new NightAvailability(NIGHT, 2, 2, 2, 2),
+                new NightAvailability(NIGHT.plusDays(1), 2, 2, 2, 2),
+                new NightAvailability(NIGHT.plusDays(2), 2, 2, 0, 2)), service.availability(HOTEL, NIGHT, NIGHT.plusDays(3)));
+    }
+
+    @Test
+    void reserve_underContention_neverOverbooks() throws Exception {
+        int premiumRooms = 40;
+        int economyRooms = 60;
+        int threads = 16;
+        service.registerCapacity(HOTEL, NIGHT, NIGHT.plusDays(3), premiumRooms, economyRooms);
+
+        Queue<Reservation> active = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        LocalDate checkIn = NIGHT.plusDays(random.nextInt(3));
+                        int nights = 1 + random.nextInt((int) (NIGHT.plusDays(3).toEpochDay() - checkIn.toEpochDay()));
+                        try {
+                            active.add(reserve(checkIn, nights, random.nextBoolean() ? "150" : "50"));
+                        } catch (RoomsUnavailableException e) {
+                            // sold out
+                        }
+                        // cancel now and then so rooms keep changing hands
+                        if (random.nextInt(4) == 0) {
+                            Reservation cancelled = active.poll();
+                            if (cancelled != null) {
+                                service.cancel(cancelled.id());
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (NightAvailability night : service.availability(HOTEL, NIGHT, NIGHT.plusDays(3))) {
+            long premium = active.stream().filter(r -> roomType(r, night.date()) == Reservation.RoomType.PREMIUM).count();
+            long economy = active.stream().filter(r -> roomType(r, night.date()) == Reservation.RoomType.ECONOMY).count();
+            assertTrue(premium <= premiumRooms && economy <= economyRooms);
+            assertEquals(premiumRooms - premium, night.premiumFree());
+            assertEquals(economyRooms - economy, night.economyFree());
+        }
+    }
+
+    private Reservation reserve(LocalDate checkIn, int nights, String price) {
+        return service.reserve(HOTEL, checkIn, checkIn.plusDays(nights), new BigDecimal(price));
+    }
+
+    /** Tier of the reservation's room on {@code night}, or null if the stay does not cover it. */
+    private static Reservation.RoomType roomType(Reservation reservation, LocalDate night) {
+        if (night.isBefore(reservation.checkIn()) || !night.isBefore(reservation.checkOut())) {
+            return null;
+        }
+        return reservation.nightRoomTypes().get((int) (night.toEpochDay() - reservation.checkIn().toEpochDay()));
+    }
+}
@@ -2,13 +2,20 @@ package com.example.hotel_room_allocation_system.application;
 
 import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
 import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.exception.AllocationCancelledException;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RoomAllocationServiceTest {
     private final RoomAllocationService service = new RoomAllocationService(new SimpleMeterRegistry());
@@ -97,8 +104,89 @@ public class RoomAllocationServiceTest {
         assertEquals(1, result.summary().usageEconomy());
         assertEquals(new BigDecimal("99.99"), result.summary().revenueEconomy());
 
+        assertEquals(5, result.explanation().rejectedPremiumCount());
+        assertEquals(3, result.explanation().rejectedEconomyCount());
         assertEquals(List.of(new BigDecimal("209"), new BigDecimal("155"), new BigDecimal("115"),
                 new BigDecimal("101"), new BigDecimal("100")), result.explanation().rejectedPremiumGuests());
         assertEquals(List.of(new BigDecimal("45"), new BigDecimal("23"), new BigDecimal("22")), result.explanation().rejectedEconomyGuests());
     }
+
+    @Test
+    void allocate_stopsAndCountsCancellation_whenDeadlineHasPassed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomAllocationService service = new RoomAllocationService(registry);
+        GuestBids guests = GuestBids.of(GUESTS);
+
+        AllocationCancelledException e = assertThrows(AllocationCancelledException.class,
+                () -> service.allocateExplain(3, 3, guests, 10, AllocationContext.withTimeout(Duration.ZERO)));
+
+        assertEquals(AllocationCancelledException.Reason.DEADLINE, e.getReason());
+        assertEquals(1.0, registry.get("allocation.cancelled").tags("reason", "deadline").counter().count());
+        assertEquals(0.0, registry.get("allocation.requests").counter().count());
+
+        AllocationResult result = service.allocate(3, 3, guests, AllocationContext.withTimeout(Duration.ofMinutes(1)));
+        assertEquals(new BigDecimal("738"), result.revenuePremium());
+    }
+
+    @Test
+    void allocateStream_throttlesProgressToOneSnapshotPerBlock() throws Exception {
+        List<AllocationProgress> progress = new ArrayList<>();
+
+        service.allocateStream(10, 10, sink -> {
+            for (int i = 0; i < 200_000; i++) {
+                sink.accept((i % 200) * 100L);
+            }
+        }, 0, progress::add, Duration.ZERO);
+
+        assertTrue(progress.size() <= 4, "progress must be throttled to one snapshot per 64k guests");
+        assertEquals(200_000, progress.get(progress.size() - 1).guestsScanned());
+    }
+
+    @Test
+    void allocateStream_failedStreamIsRecordedByTheGuestsItScanned() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomAllocationService service = new RoomAllocationService(registry);
+
+        assertThrows(IOException.class, () -> service.allocateStream(10, 10, sink -> {
+            for (int i = 0; i < 500; i++) {
+                sink.accept(i * 100L);
+            }
+            throw new IOException("connection reset");
+        }, 0));
+
+        assertEquals(1, registry.get("allocation.latency")
+                .tags("sizeClass", "le1k", "mode", "explain", "idempotent", "false").timer().count());
+        assertEquals(0, registry.get("allocation.latency")
+                .tags("sizeClass", "le10", "mode", "explain", "idempotent", "false").timer().count());
+    }
+
+    @Test
+    void allocate_recordsMetricsBySizeClassModeAndIdempotency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomAllocationService service = new RoomAllocationService(registry);
+
+        service.allocate(3, 3, GuestBids.of(GUESTS), AllocationContext.NONE.idempotent());
+        service.allocateExplain(3, 3, GuestBids.ofCents(new long[1_000]), 10);
+
+        assertEquals(1, registry.get("allocation.latency")
+                .tags("sizeClass", "le10", "mode", "plain", "idempotent", "true").timer().count());
+        assertEquals(1, registry.get("allocation.latency")
+                .tags("sizeClass", "le1k", "mode", "explain", "idempotent", "false").timer().count());
+        assertEquals(0, registry.get("allocation.latency")
+                .tags("sizeClass", "le10", "mode", "plain", "idempotent", "false").timer().count());
+        assertEquals(1, registry.get("allocation.cost.per.guest")
+                .tags("sizeClass", "le1k", "mode", "explain").summary().count());
+    }
+
+    @Test
+    void allocate_recordsPremiumAndEconomyRevenueSeparately() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomAllocationService service = new RoomAllocationService(registry);
+
+        service.allocate(3, 3, GuestBids.of(GUESTS));
+
+        // the premium revenue summary used to be fed the economy revenue
+        assertEquals(738.0, registry.get("allocation.revenue.premium").summary().totalAmount());
+        assertEquals(167.99, registry.get("allocation.revenue.economy").summary().totalAmount(), 1e-9);
+    }
 }
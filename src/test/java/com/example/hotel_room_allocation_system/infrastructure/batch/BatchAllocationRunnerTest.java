@@ -0,0 +1,153 @@
+package com.example.hotel_room_allocation_system.infrastructure.batch;
+
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchAllocationRunnerTest {
+    record Scenario(int premiumRooms, int economyRooms, long[] cents) { }
+
+    record Row(byte status, int usagePremium, long revenuePremiumCents, int usageEconomy, long revenueEconomyCents) { }
+
+    private final RoomAllocationService service = new RoomAllocationService(new SimpleMeterRegistry());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void run_binaryFile_matchesServiceInInputOrder() throws IOException {
+        List<Scenario> scenarios = randomScenarios(500);
+        Path input = writeBinary(dir.resolve("bids.bin"), scenarios);
+        Path output = dir.resolve("results.aloc");
+
+        // tiny chunks so the file is split across many tasks
+        BatchAllocationRunner.Summary summary = new BatchAllocationRunner(service, 4, 256)
+                .run(input, BidFileFormat.BINARY, output);
+
+        assertEquals(500, summary.scenarios());
+        assertEquals(0, summary.invalid());
+        assertEquals(expected(scenarios), readResults(output));
+    }
+
+    @Test
+    void run_csvFile_skipsCommentsAndMarksInvalidLines() throws IOException {
+        Path input = dir.resolve("bids.csv");
+        Files.writeString(input, """
+                # premium,economy,bids...
+                3,3,23,45,155,374,22,99.99,100,101,115,209
+
+                7,5,23,45,155,374,22,99.99,100,101,115,209\r
+                1,1,12.345
+                2,abc,100
+                1, 1 , 100 , 99.5
+                """);
+        Path output = dir.resolve("results.aloc");
+
+        BatchAllocationRunner.Summary summary = new BatchAllocationRunner(service, 2, 16)
+                .run(input, BidFileFormat.forPath(input), output);
+
+        assertEquals(5, summary.scenarios());
+        assertEquals(2, summary.invalid());
+        assertEquals(List.of(
+                new Row((byte) 0, 3, 738_00, 3, 167_99),
+                new Row((byte) 0, 6, 1054_00, 4, 189_99),
+                new Row(ChunkResult.INVALID, 0, 0, 0, 0),
+                new Row(ChunkResult.INVALID, 0, 0, 0, 0),
+                new Row((byte) 0, 1, 100_00, 1, 99_50)), readResults(output));
+    }
+
+    @Test
+    void run_truncatedBinaryFile_fails() throws IOException {
+        Path input = writeBinary(dir.resolve("bids.bin"), List.of(new Scenario(1, 1, new long[] {100_00, 50_00})));
+        byte[] bytes = Files.readAllBytes(input);
+        Files.write(input, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(IOException.class, () -> new BatchAllocationRunner(service, 1, 1024)
+                .run(input, BidFileFormat.BINARY, dir.resolve("results.aloc")));
+    }
+
+    private List<Row> expected(List<Scenario> scenarios) {
+        List<Row> rows = new ArrayList<>();
+        for (Scenario s : scenarios) {
+            AllocationResult r = service.allocate(s.premiumRooms(), s.economyRooms(), GuestBids.ofCents(s.cents()));
+            rows.add(new Row((byte) 0, r.usagePremium(), GuestBids.toCents(r.revenuePremium()),
+                    r.usageEconomy(), GuestBids.toCents(r.revenueEconomy())));
+        }
+        return rows;
+    }
+
+    private static List<Scenario> randomScenarios(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long[] cents = new long[random.nextInt(0, 40)];
+            for (int j = 0; j < cents.length; j++) {
+                cents[j] = random.nextLong(0, 400_00);
+            }
+            scenarios.add(new Scenario(random.nextInt(0, 10), random.nextInt(0, 10), cents));
+        }
+        return scenarios;
+    }
+
+    private static Path writeBinary(Path path, List<Scenario> scenarios) throws IOException {
+        int bytes = BidFileFormat.BINARY_HEADER_BYTES;
+        for (Scenario s : scenarios) {
+            bytes += BidFileFormat.BINARY_SCENARIO_HEADER_BYTES + s.cents().length * Long.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(BidFileFormat.BYTE_ORDER);
+        buffer.putInt(BidFileFormat.BINARY_MAGIC).putInt(BidFileFormat.BINARY_VERSION);
+        for (Scenario s : scenarios) {
+            buffer.putInt(s.premiumRooms()).putInt(s.economyRooms()).putInt(s.cents().length);
+            for (long c : s.cents()) {
+                buffer.putLong(c);
+            }
+        }
+        return Files.write(path, buffer.array());
+    }
+
+    private static List<Row> readResults(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(BidFileFormat.BYTE_ORDER);
+        assertEquals(ColumnarResultWriter.MAGIC, buffer.getInt());
+        assertEquals(ColumnarResultWriter.VERSION, buffer.getInt());
+
+        List<Row> rows = new ArrayList<>();
+        int groupRows;
+        while ((groupRows = buffer.getInt()) > 0) {
+            byte[] status = new byte[groupRows];
+            int[] usagePremium = new int[groupRows];
+            long[] revenuePremium = new long[groupRows];
+            int[] usageEconomy = new int[groupRows];
+            long[] revenueEconomy = new long[groupRows];
+            buffer.get(status);
+            buffer.asIntBuffer().get(usagePremium);
+            buffer.position(buffer.position() + groupRows * Integer.BYTES);
+            buffer.asLongBuffer().get(revenuePremium);
+            buffer.position(buffer.position() + groupRows * Long.BYTES);
+            buffer.asIntBuffer().get(usageEconomy);
+            buffer.position(buffer.position() + groupRows * Integer.BYTES);
+            buffer.asLongBuffer().get(revenueEconomy);
+            buffer.position(buffer.position() + groupRows * Long.BYTES);
+            for (int i = 0; i < groupRows; i++) {
+                rows.add(new Row(status[i], usagePremium[i], revenuePremium[i], usageEconomy[i], revenueEconomy[i]));
+            }
+        }
+        assertEquals(rows.size(), buffer.getLong());
+        assertEquals(0, buffer.remaining());
+        return rows;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrafficCaptureLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void offer_rotatesFilesAndKeepsTheNewest() throws Exception {
+        TrafficCaptureProperties properties = properties();
+        properties.setMaxFileBytes(300);
+        properties.setMaxFiles(2);
+        TrafficCaptureLog log = new TrafficCaptureLog(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(log.offer(request(i)));
+        }
+        log.shutdown();
+
+        List<Path> files = CaptureLogReader.captureFiles(dir);
+        assertEquals(2, files.size());
+        List<CapturedRequest> kept;
+        try (CaptureLogReader reader = new CaptureLogReader(dir)) {
+            kept = reader.readAll();
+        }
+        assertTrue(kept.size() < 20);
+        for (int i = 0; i < kept.size(); i++) {
+            CapturedRequest expected = request(20 - kept.size() + i);
+            CapturedRequest actual = kept.get(i);
+            assertEquals(expected.epochMicros(), actual.epochMicros());
+            assertEquals(expected.uri(), actual.uri());
+            assertEquals(expected.headers(), actual.headers());
+            assertArrayEquals(expected.body(), actual.body());
+        }
+    }
+
+    @Test
+    void reader_stopsAtTruncatedLastRecord() throws Exception {
+        TrafficCaptureLog log = new TrafficCaptureLog(properties(), new SimpleMeterRegistry());
+        log.offer(request(0));
+        log.offer(request(1));
+        log.shutdown();
+
+        Path file = CaptureLogReader.captureFiles(dir).get(0);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5), StandardOpenOption.TRUNCATE_EXISTING);
+
+        try (CaptureLogReader reader = new CaptureLogReader(file)) {
+            List<CapturedRequest> requests = reader.readAll();
+            assertEquals(1, requests.size());
+            assertEquals(200, requests.get(0).status());
+        }
+    }
+
+    @Test
+    void offer_whenDisabled_dropsAndCounts() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TrafficCaptureProperties properties = properties();
+        properties.setEnabled(false);
+        TrafficCaptureLog log = new TrafficCaptureLog(properties, registry);
+
+        assertFalse(log.offer(request(0)));
+        assertEquals(1.0, registry.get("capture.requests").tag("outcome", "dropped").counter().count());
+        log.shutdown();
+    }
+
+    static CapturedRequest request(int i) {
+        return new CapturedRequest(1_700_000_000_000_000L + i * 1_000L, 250_000L, 200, "POST",
+                i % 2 == 0 ? "/occupancy" : "/occupancy?explain=true",
+                List.of(new CapturedRequest.Header("Content-Type", "application/json"),
+                        new CapturedRequest.Header("X-Tenant-Id", "t" + i)),
+                ("{\"premiumRooms\":1,\"economyRooms\":1,\"potentialGuests\":[" + i + "]}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TrafficCaptureProperties properties() {
+        TrafficCaptureProperties properties = new TrafficCaptureProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(dir.toString());
+        return properties;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.hotel_room_allocation_system.infrastructure.capture;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrafficReplayerTest {
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void replay_sendsCapturedRequestsAndComparesStatus() throws Exception {
+        ConcurrentLinkedQueue<String> received = new ConcurrentLinkedQueue<>();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/occupancy", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(exchange.getRequestURI() + " " + exchange.getRequestHeaders().getFirst("X-Tenant-Id") + " " + body);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        TrafficCaptureProperties properties = new TrafficCaptureProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(dir.toString());
+        TrafficCaptureLog log = new TrafficCaptureLog(properties, new SimpleMeterRegistry());
+        for (int i = 0; i < 10; i++) {
+            CapturedRequest request = TrafficCaptureLogTest.request(i);
+            // the captured response was a 400; the replay target answers 200
+            log.offer(i == 3 ? new CapturedRequest(request.epochMicros(), request.durationNanos(), 400,
+                    request.method(), request.uri(), request.headers(), request.body()) : request);
+        }
+        log.shutdown();
+
+        URI target = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        TrafficReplayer.Report report;
+        try (CaptureLogReader reader = new CaptureLogReader(dir)) {
+            // the capture spans 9ms; at speed 1 the replay takes about as long
+            report = new TrafficReplayer(HttpClient.newHttpClient(), target, 1.0, 4).replay(reader);
+        }
+
+        assertEquals(10, report.requests());
+        assertEquals(0, report.failed());
+        assertEquals(1, report.statusMismatches());
+        assertTrue(report.elapsed().toMillis() >= 9);
+        assertEquals(250, report.captured().p50());
+        assertTrue(received.contains("/occupancy?explain=true t1 {\"premiumRooms\":1,\"economyRooms\":1,\"potentialGuests\":[1]}"));
+
+        Path saved = dir.resolve("report.properties");
+        report.write(saved);
+        assertEquals(report, TrafficReplayer.Report.read(saved));
+    }
+}
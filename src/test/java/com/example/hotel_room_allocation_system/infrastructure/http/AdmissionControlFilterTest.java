@@ -0,0 +1,60 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.infrastructure.job.AllocationJobProperties;
+import com.example.hotel_room_allocation_system.infrastructure.startup.WarmupRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlFilterTest {
+
+    @Test
+    void smallGzipRequest_isPricedByItsWireSizeAndUsesTheSmallLane() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ApiLimitsProperties limits = new ApiLimitsProperties();
+        AdmissionController controller = new AdmissionController(new AdmissionControlProperties(), limits, registry);
+        ObjectMapper objectMapper = new ObjectMapper();
+        RequestSizeLimitFilter sizeLimit = new RequestSizeLimitFilter(limits, new AllocationJobProperties(), objectMapper);
+        AdmissionControlFilter admission = new AdmissionControlFilter(controller, new AdmissionControlProperties(), limits, objectMapper,
+                new WarmupRequests());
+
+        byte[] body = gzip("{\"premiumRooms\":3,\"economyRooms\":3,\"potentialGuests\":[23,45,155,374,22,99.99,100,101,115,209]}");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/occupancy");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sizeLimit.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.getInputStream().readAllBytes();
+            }
+        }, admission));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1.0, registry.get("admission.admitted").tag("lane", "small").counter().count());
+        assertEquals(0.0, registry.get("admission.admitted").tag("lane", "main").counter().count());
+    }
+
+    private static byte[] gzip(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest {
+
+    private AdmissionController controller(int maxConcurrentCost, int smallLaneCapacity) {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setMaxConcurrentCost(maxConcurrentCost);
+        properties.setSmallLaneCapacity(smallLaneCapacity);
+        properties.setSmallRequestMaxCost(4);
+        properties.setAcquireTimeoutMillis(1);
+        return new AdmissionController(properties, new ApiLimitsProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void estimateCost_growsWithBodySizeAndExplain() {
+        AdmissionController controller = controller(100, 10);
+
+        assertEquals(1, controller.estimateCost(10, false, 0));
+        assertEquals(10, controller.estimateCost(10 * 1024, false, 0));
+        assertEquals(30, controller.estimateCost(10 * 1024, true, 1000));
+    }
+
+    @Test
+    void estimateCost_compressedBodyIsPricedByWireSizeUpToTheDecompressedLimit() {
+        AdmissionController controller = controller(100, 10);
+        long maxDecompressed = new ApiLimitsProperties().getMaxDecompressedRequestBytes();
+
+        assertEquals(4, controller.estimateCost(1024, true, false, 0));
+        assertEquals(controller.estimateCost(maxDecompressed, false, 0), controller.estimateCost(-1, true, false, 0));
+        assertEquals(controller.estimateCost(maxDecompressed, false, 0), controller.estimateCost(maxDecompressed, true, false, 0));
+    }
+
+    @Test
+    void tryAdmit_shedsLargeRequestsOnceBudgetIsExhausted() throws Exception {
+        AdmissionController controller = controller(100, 10);
+
+        AdmissionController.Permit first = controller.tryAdmit(80);
+        assertNotNull(first);
+        assertNull(controller.tryAdmit(80));
+
+        first.close();
+        assertNotNull(controller.tryAdmit(80));
+    }
+
+    @Test
+    void tryAdmit_smallRequestsUseTheirOwnLane() throws Exception {
+        AdmissionController controller = controller(100, 10);
+
+        assertNotNull(controller.tryAdmit(100));
+        assertNotNull(controller.tryAdmit(2), "small request must not wait behind large ones");
+        assertNull(controller.tryAdmit(50));
+    }
+}
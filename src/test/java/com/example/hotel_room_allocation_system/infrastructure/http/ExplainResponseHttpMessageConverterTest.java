@@ -0,0 +1,101 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyExplainResponse;
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.BidSlice;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class ExplainResponseHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+
+    @Test
+    void write_matchesJacksonSerializationOfTheDto() throws Exception {
+        List<BigDecimal> guests = List.of(
+                new BigDecimal("23"), new BigDecimal("45"), new BigDecimal("155"), new BigDecimal("374"),
+                new BigDecimal("22"), new BigDecimal("99.99"), new BigDecimal("100"), new BigDecimal("101"),
+                new BigDecimal("115"), new BigDecimal("209"));
+        AllocationExplainResult result = new RoomAllocationService(new SimpleMeterRegistry())
+                .allocateExplain(2, 1, guests, 3);
+
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new ExplainResponseHttpMessageConverter(objectMapper).write(result, null, message);
+
+        assertEquals(
+                objectMapper.readTree(objectMapper.writeValueAsString(OccupancyExplainResponse.from(result))),
+                objectMapper.readTree(message.getBodyAsString())
+        );
+    }
+
+    @Test
+    void write_centsSlicesPrintLikeTheirBigDecimals() throws Exception {
+        long[] cents = {-1, 0, 5, 50, 1_230, 1_234, 12_000, 10_000_000, 999_999_999};
+        List<BigDecimal> slice = GuestBids.amounts(cents, 1, cents.length);
+        assertInstanceOf(BidSlice.class, slice);
+
+        assertEquals(body(slice), body(new ArrayList<>(slice)));
+        assertEquals(body(GuestBids.of(slice)), body(new ArrayList<>(slice)));
+    }
+
+    @Test
+    void write_leavesTheResponseStreamOpen() throws Exception {
+        AllocationExplainResult result = new RoomAllocationService(new SimpleMeterRegistry())
+                .allocateExplain(1, 1, List.of(new BigDecimal("374"), new BigDecimal("45")), 3);
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream body = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        HttpHeaders headers = new HttpHeaders();
+        HttpOutputMessage message = new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+
+        new ExplainResponseHttpMessageConverter(objectMapper).write(result, null, message);
+
+        assertFalse(closed.get());
+        assertEquals(374, objectMapper.readTree(body.toByteArray()).get("revenuePremium").intValue());
+    }
+
+    private String body(List<BigDecimal> guests) throws Exception {
+        AllocationExplainResult result = new AllocationExplainResult(
+                new AllocationResult(0, BigDecimal.ZERO, 0, BigDecimal.ZERO),
+                new AllocationExplanation(0, 0, 0, 0, 0, 0, 0, guests.size(),
+                        List.of(), List.of(), List.of(), guests, List.of()));
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new ExplainResponseHttpMessageConverter(objectMapper).write(result, null, message);
+        return message.getBodyAsString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GuestBidsDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void deserialize_readsPlainNumbersAsCents() throws Exception {
+        GuestBids bids = read("[23, 45.9, 99.99, 100.00, 0, 100000, 1e2, \"12.5\", 7.10]");
+
+        assertTrue(bids.violations().isEmpty());
+        assertArrayEquals(new long[]{23_00, 45_90, 99_99, 100_00, 0, 100_000_00, 100_00, 12_50, 7_10},
+                Arrays.copyOf(bids.cents(), bids.size()));
+        assertEquals(new BigDecimal("45.9"), bids.get(1));
+    }
+
+    @Test
+    void validation_reportsEachBadEntryWithTheBeanValidationMessages() throws Exception {
+        OccupancyRequest request = objectMapper.readValue("""
+                {"premiumRooms": 1, "economyRooms": 1,
+                 "potentialGuests": [10, null, -1, 100000.01, 1.234, 12345678]}
+                """, OccupancyRequest.class);
+
+        Map<String, Set<String>> errors = validator.validate(request).stream()
+                .collect(Collectors.groupingBy(v -> v.getPropertyPath().toString(), TreeMap::new,
+                        Collectors.mapping(ConstraintViolation::getMessage, Collectors.toSet())));
+
+        assertEquals(Map.of(
+                "potentialGuests[1]", Set.of(GuestBidsDeserializer.NULL_MESSAGE),
+                "potentialGuests[2]", Set.of(GuestBidsDeserializer.MIN_MESSAGE),
+                "potentialGuests[3]", Set.of(GuestBidsDeserializer.MAX_MESSAGE),
+                "potentialGuests[4]", Set.of(GuestBidsDeserializer.DIGITS_MESSAGE),
+                "potentialGuests[5]", Set.of(GuestBidsDeserializer.MAX_MESSAGE, GuestBidsDeserializer.DIGITS_MESSAGE)
+        ), errors);
+        assertEquals(new BigDecimal("-1"), request.potentialGuests().get(2));
+    }
+
+    @Test
+    void deserialize_rejectsNonArraysAndNonNumbers() {
+        assertThrows(MismatchedInputException.class, () -> read("12"));
+        assertThrows(MismatchedInputException.class, () -> read("[true]"));
+        assertThrows(MismatchedInputException.class, () -> read("[\"abc\"]"));
+    }
+
+    private GuestBids read(String json) throws Exception {
+        return objectMapper.readValue("{\"potentialGuests\": " + json + "}", OccupancyRequest.class).potentialGuests();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hotel_room_allocation_system.infrastructure.http;
+
+import com.example.hotel_room_allocation_system.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LimitedBodyRequestWrapperTest {
+
+    private static final String BODY = "{\"premiumRooms\":1,\"potentialGuests\":[" + "100,".repeat(1_000) + "1]}";
+
+    @Test
+    void gzipBody_isInflatedAndHeadersAreHidden() throws Exception {
+        LimitedBodyRequestWrapper wrapper = wrap(gzip(BODY), "gzip", 10_000, 10_000);
+
+        assertEquals(BODY, new String(wrapper.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(wrapper.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, wrapper.getContentLengthLong());
+    }
+
+    @Test
+    void decompressedLimit_stopsInflatingMidStream() throws Exception {
+        byte[] compressed = gzip(BODY);
+        LimitedBodyRequestWrapper wrapper = wrap(compressed, "gzip", compressed.length, 1_000);
+
+        assertThrows(PayloadTooLargeException.class, () -> wrapper.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void wireLimit_appliesWithoutContentLength() {
+        LimitedBodyRequestWrapper wrapper = wrap(BODY.getBytes(StandardCharsets.UTF_8), null, 100, 100);
+
+        assertThrows(PayloadTooLargeException.class, () -> wrapper.getInputStream().readAllBytes());
+    }
+
+    private static LimitedBodyRequestWrapper wrap(byte[] body, String encoding, long maxBytes, long maxDecompressedBytes) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/occupancy");
+        request.setContent(body);
+        if (encoding != null) {
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return new LimitedBodyRequestWrapper(
+                request,
+                LimitedBodyRequestWrapper.ContentEncoding.parse(encoding),
+                maxBytes,
+                maxDecompressedBytes
+        );
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.hotel_room_allocation_system.infrastructure.idempotency;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdempotencyReplicatorTest {
+
+    private HttpServer peer;
+    private IdempotencyReplicator replicator;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (replicator != null) {
+            replicator.shutdown();
+        }
+        if (peer != null) {
+            peer.stop(0);
+        }
+    }
+
+    @Test
+    void storedEntriesAreReplayedByPeer() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IdempotencyProperties properties = replicationTo(List.of());
+        InMemoryIdempotencyService peerService = new InMemoryIdempotencyService(properties);
+        IdempotencyReplicationReceiver receiver = new IdempotencyReplicationReceiver(peerService, properties, registry);
+
+        CountDownLatch received = new CountDownLatch(1);
+        peer = startPeer(exchange -> {
+            receiver.receive(exchange.getRequestBody());
+            exchange.sendResponseHeaders(204, -1);
+            received.countDown();
+        });
+
+        IdempotencyProperties localProperties = replicationTo(List.of(peerUrl()));
+        replicator = new IdempotencyReplicator(localProperties, registry);
+        InMemoryIdempotencyService local = new InMemoryIdempotencyService(localProperties, registry, List.of(replicator));
+
+        local.getOrCompute("tenant", "key", "hash", () -> SerializedResponse.json(bytes("response")));
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        IdempotencyResult replay = peerService.getOrCompute("tenant", "key", "hash",
+                () -> SerializedResponse.json(bytes("recomputed")));
+        assertTrue(replay.replayed());
+        assertArrayEquals(bytes("response"), replay.responseBody());
+        assertEquals(1.0, registry.get("idempotency.replication.received").tag("result", "stored").counter().count());
+    }
+
+    @Test
+    void entriesAreDropped_whenQueueIsFullOrEntryTooLarge() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        peer = startPeer(exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+        });
+
+        IdempotencyProperties properties = replicationTo(List.of(peerUrl()));
+        properties.getReplication().setQueueCapacity(1);
+        properties.getReplication().setMaxBatchBytes(1_000);
+        properties.getReplication().setRequestTimeoutMillis(5_000);
+        replicator = new IdempotencyReplicator(properties, registry);
+
+        IdempotencyEntry entry = new IdempotencyEntry("hash", bytes("response"), "application/json");
+        try {
+            // the sender blocks on the first batch, so the single queue slot fills up behind it
+            for (int i = 0; i < 20; i++) {
+                replicator.onStored("tenant", "key-%02d".formatted(i), entry);
+            }
+            replicator.onStored("tenant", "large", new IdempotencyEntry("hash", new byte[2_000], "application/json"));
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(registry.get("idempotency.replication.dropped").tag("reason", "queue_full").counter().count() > 0);
+        assertEquals(1.0, registry.get("idempotency.replication.dropped").tag("reason", "too_large").counter().count());
+    }
+
+    @Test
+    void receiver_refusesToStartWithoutToken_andOnlyAcceptsPeers() {
+        IdempotencyProperties properties = replicationTo(List.of("http://127.0.0.1:8081"));
+        properties.getReplication().setToken(" ");
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties);
+        assertThrows(IllegalStateException.class,
+                () -> new IdempotencyReplicationReceiver(service, properties, new SimpleMeterRegistry()));
+
+        properties.getReplication().setToken("secret");
+        IdempotencyReplicationReceiver receiver = new IdempotencyReplicationReceiver(service, properties, new SimpleMeterRegistry());
+        assertTrue(receiver.isAuthorized("127.0.0.1", "secret"));
+        assertFalse(receiver.isAuthorized("127.0.0.1", "wrong"));
+        assertFalse(receiver.isAuthorized("127.0.0.1", null));
+        assertFalse(receiver.isAuthorized("10.1.2.3", "secret"));
+    }
+
+    private IdempotencyProperties replicationTo(List<String> peers) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.getReplication().setEnabled(true);
+        properties.getReplication().setPeers(peers);
+        properties.getReplication().setToken("secret");
+        properties.getReplication().setFlushIntervalMillis(5);
+        return properties;
+    }
+
+    private interface Handler {
+        void handle(com.sun.net.httpserver.HttpExchange exchange) throws IOException;
+    }
+
+    private static HttpServer startPeer(Handler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(IdempotencyReplicator.REPLICATE_PATH, exchange -> {
+            try (exchange) {
+                handler.handle(exchange);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private String peerUrl() {
+        return "http://127.0.0.1:" + peer.getAddress().getPort();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
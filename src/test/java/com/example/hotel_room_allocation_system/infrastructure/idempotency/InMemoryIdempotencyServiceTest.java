@@ -1,8 +1,10 @@
 package com.example.hotel_room_allocation_system.infrastructure.idempotency;
 
 import com.example.hotel_room_allocation_system.exception.IdempotencyConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -11,15 +13,21 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class InMemoryIdempotencyServiceTest {
+    // weight of one entry with a "key-NN" key, "hash" hash and "response" body
+    private static final long ENTRY_BYTES = IdempotencyShard.weigh("key-00",
+            new IdempotencyEntry("hash", bytes("response"), "application/json"));
 
     @Test
     void getOrCompute_isSingleFlightPerKey() throws Exception{
         IdempotencyProperties properties = new IdempotencyProperties();
-        properties.getCache().setMaxSize(100);
+        properties.getCache().setMaxBytes(100 * ENTRY_BYTES);
         properties.getCache().setExpireAfterSeconds(60);
 
         InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties);
@@ -28,7 +36,7 @@ public class InMemoryIdempotencyServiceTest {
 
         ExecutorService executor = Executors.newFixedThreadPool(8);
         try {
-            List<Future<Object>> futures = new ArrayList<>();
+            List<Future<byte[]>> futures = new ArrayList<>();
 
             for(int i = 0; i < 8; i++) {
                 futures.add(executor.submit(() -> service.getOrCompute(
@@ -41,13 +49,13 @@ public class InMemoryIdempotencyServiceTest {
                             } catch (InterruptedException e) {
                                 Thread.currentThread().interrupt();
                             }
-                            return "response";
+                            return json("response");
                         }
                 ).responseBody()));
             }
 
-            for(Future<Object> f : futures){
-                assertEquals("response", f.get(3, TimeUnit.SECONDS));
+            for(Future<byte[]> f : futures){
+                assertArrayEquals(bytes("response"), f.get(3, TimeUnit.SECONDS));
             }
 
             assertEquals(1, supplierCalls.get(), "Supplier should be called only once for the same key");
@@ -59,14 +67,110 @@ public class InMemoryIdempotencyServiceTest {
     @Test
     void getOrCompute_throwConflict_whenSameKeyReusedWithDifferentHash() {
         IdempotencyProperties properties = new IdempotencyProperties();
-        properties.getCache().setMaxSize(100);
+        properties.getCache().setMaxBytes(100 * ENTRY_BYTES);
         properties.getCache().setExpireAfterSeconds(60);
 
         InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties);
 
-        service.getOrCompute("key", "hash1", () -> "response1");
+        service.getOrCompute("key", "hash1", () -> json("response1"));
 
         assertThrows(IdempotencyConflictException.class,
-                () -> service.getOrCompute("key", "hash2", () -> "response2"));
+                () -> service.getOrCompute("key", "hash2", () -> json("response2")));
+    }
+
+    @Test
+    void getOrCompute_replaysStoredBytesAndContentType() {
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(new IdempotencyProperties());
+
+        service.getOrCompute("key", "hash", () -> new SerializedResponse(bytes("{\"a\":1}"), "application/json"));
+        IdempotencyResult replay = service.getOrCompute("key", "hash", () -> json("recomputed"));
+
+        assertTrue(replay.replayed());
+        assertArrayEquals(bytes("{\"a\":1}"), replay.responseBody());
+        assertEquals("application/json", replay.contentType());
+    }
+
+    @Test
+    void getOrCompute_scopesKeysAndBudgetsPerTenant() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.getCache().setMaxBytes(10 * ENTRY_BYTES);
+
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties);
+
+        service.getOrCompute("quiet", "key", "hash1", () -> json("quiet-response"));
+        assertFalse(service.getOrCompute("noisy", "key", "hash2", () -> json("noisy-response")).replayed());
+        for (int i = 0; i < 100; i++) {
+            service.getOrCompute("noisy", "key-%02d".formatted(i), "hash", () -> json("response"));
+        }
+
+        assertTrue(service.bytes("noisy") <= 10 * ENTRY_BYTES);
+        IdempotencyResult quiet = service.getOrCompute("quiet", "key", "hash1", () -> json("recomputed"));
+        assertTrue(quiet.replayed());
+        assertArrayEquals(bytes("quiet-response"), quiet.responseBody());
+    }
+
+    @Test
+    void getOrCompute_evictsFromLargestShard_whenGlobalCeilingIsExceeded() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.getCache().setMaxBytes(100 * ENTRY_BYTES);
+        properties.setGlobalMaxBytes(20 * ENTRY_BYTES);
+
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties);
+
+        for (int i = 0; i < 5; i++) {
+            service.getOrCompute("quiet", "key-%02d".formatted(i), "hash", () -> json("response"));
+        }
+        for (int i = 0; i < 30; i++) {
+            service.getOrCompute("noisy", "key-%02d".formatted(i), "hash", () -> json("response"));
+        }
+
+        assertEquals(5, service.size("quiet"));
+        assertEquals(15, service.size("noisy"));
+    }
+
+    @Test
+    void getOrCompute_recordsOutcomeMetricsPerTenant() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxShards(1);
+
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties, registry);
+
+        service.getOrCompute("a", "key", "hash", () -> json("response"));
+        service.getOrCompute("a", "key", "hash", () -> json("response"));
+        assertThrows(IdempotencyConflictException.class, () -> service.getOrCompute("a", "key", "other", () -> json("response")));
+        service.getOrCompute("b", "key", "hash", () -> json("response"));
+
+        assertEquals(1.0, registry.get("idempotency.requests").tags("tenant", "a", "result", "miss").counter().count());
+        assertEquals(1.0, registry.get("idempotency.requests").tags("tenant", "a", "result", "hit").counter().count());
+        assertEquals(1.0, registry.get("idempotency.requests").tags("tenant", "a", "result", "conflict").counter().count());
+        assertEquals(1.0, registry.get("idempotency.requests")
+                .tags("tenant", InMemoryIdempotencyService.OVERFLOW_TENANT, "result", "miss").counter().count());
+    }
+
+    @Test
+    void overflowTenants_reusingAKeyStayApart() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxShards(1);
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(properties);
+
+        service.getOrCompute("a", "key", "hash", () -> json("a-response"));
+        IdempotencyResult b = service.getOrCompute("b", "key", "b-hash", () -> json("b-response"));
+        IdempotencyResult c = service.getOrCompute("c", "key", "c-hash", () -> json("c-response"));
+
+        assertFalse(b.replayed());
+        assertFalse(c.replayed());
+        assertArrayEquals(bytes("c-response"), c.responseBody());
+        assertArrayEquals(bytes("b-response"), service.getOrCompute("b", "key", "b-hash", () -> json("other")).responseBody());
+        assertTrue(service.putIfAbsent("d", "key", new IdempotencyEntry("d-hash", bytes("d-response"), "application/json")));
+        assertEquals(3, service.size(InMemoryIdempotencyService.OVERFLOW_TENANT));
+    }
+
+    private static SerializedResponse json(String body) {
+        return SerializedResponse.json(bytes(body));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
     }
 }
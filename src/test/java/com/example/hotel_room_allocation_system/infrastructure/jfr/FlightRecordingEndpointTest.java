@@ -0,0 +1,77 @@
+package com.example.hotel_room_allocation_system.infrastructure.jfr;
+
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightRecordingEndpointTest {
+    @TempDir
+    Path dir;
+
+    private FlightRecordingEndpoint endpoint;
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void recording_capturesScanEventsAndCanBeDownloaded() throws IOException {
+        endpoint = new FlightRecordingEndpoint(properties());
+        WebEndpointResponse<Object> started = endpoint.start(30L, null, null);
+        assertEquals(200, started.getStatus());
+        FlightRecordingEndpoint.RecordingStatus status = (FlightRecordingEndpoint.RecordingStatus) started.getBody();
+        assertEquals("RUNNING", status.state());
+
+        // a second recording while one is running is refused
+        assertEquals(409, endpoint.start(null, null, null).getStatus());
+
+        new RoomAllocationService(new SimpleMeterRegistry())
+                .allocate(2, 3, GuestBids.ofCents(23_00, 45_00, 155_00, 374_00, 22_00));
+        // a recording with a destination is written out and closed when it stops
+        assertEquals("CLOSED", endpoint.stop().state());
+
+        WebEndpointResponse<Resource> download = endpoint.download(status.id());
+        assertEquals(200, download.getStatus());
+        List<RecordedEvent> scans = RecordingFile.readAllEvents(download.getBody().getFile().toPath()).stream()
+                .filter(e -> e.getEventType().getName().equals("com.example.hotel_room_allocation_system.Scan"))
+                .toList();
+
+        assertFalse(scans.isEmpty());
+        RecordedEvent scan = scans.get(0);
+        assertEquals(5, scan.getInt("guestCount"));
+        assertEquals(2, scan.getInt("premiumHeapSize"));
+        assertEquals(5, scan.getInt("economyHeapSize"));
+        assertTrue(scan.getString("engine") != null);
+    }
+
+    @Test
+    void start_unknownSettings_isBadRequest_andUnknownIdIsNotFound() {
+        endpoint = new FlightRecordingEndpoint(properties());
+
+        assertEquals(400, endpoint.start(null, null, "no-such-settings").getStatus());
+        assertEquals("NONE", endpoint.status().state());
+        assertEquals(404, endpoint.download(42).getStatus());
+    }
+
+    private FlightRecordingProperties properties() {
+        FlightRecordingProperties properties = new FlightRecordingProperties();
+        properties.setDirectory(dir.toString());
+        return properties;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.hotel_room_allocation_system.infrastructure.job;
+
+import com.example.hotel_room_allocation_system.api.dto.OccupancyExplainResponse;
+import com.example.hotel_room_allocation_system.api.dto.OccupancyRequest;
+import com.example.hotel_room_allocation_system.api.dto.OccupancyResponse;
+import com.example.hotel_room_allocation_system.application.AllocationProgress;
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import com.example.hotel_room_allocation_system.exception.PayloadTooLargeException;
+import com.example.hotel_room_allocation_system.infrastructure.http.GuestBidsDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AllocationJobServiceTest {
+
+    private final AllocationJobProperties properties = new AllocationJobProperties();
+    private AllocationJobService service;
+
+    private AllocationJobService service() {
+        service = new AllocationJobService(
+                new RoomAllocationService(new SimpleMeterRegistry()),
+                new ObjectMapper(),
+                properties
+        );
+        return service;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void submit_streamsSpooledBodyThroughAllocation() throws Exception {
+        String json = """
+                {
+                    "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209],
+                    "premiumRooms": 7,
+                    "economyRooms": 5
+                }
+                """;
+
+        AllocationJob job = service().submit(stream(json), false, 0);
+        job.completion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(AllocationJob.Status.SUCCEEDED, job.getStatus());
+        OccupancyResponse result = assertInstanceOf(OccupancyResponse.class, job.getResult());
+        assertEquals(6, result.usagePremium());
+        assertEquals(0, new BigDecimal("1054").compareTo(result.revenuePremium()));
+        assertEquals(4, result.usageEconomy());
+        assertEquals(0, new BigDecimal("189.99").compareTo(result.revenueEconomy()));
+    }
+
+    @Test
+    void submit_explainJobReturnsExplainResponse() throws Exception {
+        String json = """
+                {"premiumRooms": 1, "economyRooms": 1, "potentialGuests": [23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209]}
+                """;
+
+        AllocationJob job = service().submit(stream(json), true, 10);
+        job.completion().get(5, TimeUnit.SECONDS);
+
+        OccupancyExplainResponse result = assertInstanceOf(OccupancyExplainResponse.class, job.getResult());
+        assertEquals(List.of(new BigDecimal("45"), new BigDecimal("23"), new BigDecimal("22")),
+                result.explaination().rejectedEconomyGuests());
+    }
+
+    @Test
+    void progress_stalledSubscriberDoesNotHoldTheJob() throws Exception {
+        properties.setProgressIntervalMillis(0);
+        StringBuilder json = new StringBuilder("{\"premiumRooms\": 10, \"economyRooms\": 10, \"potentialGuests\": [");
+        for (int i = 0; i < 200_000; i++) {
+            json.append(i == 0 ? "" : ",").append(i % 200);
+        }
+        json.append("]}");
+
+        JobProgressPublisher publisher = new JobProgressPublisher(properties);
+        CountDownLatch stalled = new CountDownLatch(1);
+        List<AllocationProgress> progress = new CopyOnWriteArrayList<>();
+        CompletableFuture<AllocationJob> done = new CompletableFuture<>();
+        try {
+            AllocationJob job = service().submit(stream(json.toString()), false, 0);
+            publisher.subscribe(job, p -> {
+                progress.add(p);
+                awaitQuietly(stalled);
+            }, done::complete);
+
+            // the subscriber blocks the publisher thread, yet the job finishes
+            job.completion().get(10, TimeUnit.SECONDS);
+            assertFalse(done.isDone());
+
+            stalled.countDown();
+            assertSame(job, done.get(5, TimeUnit.SECONDS));
+            assertEquals(200_000, progress.get(progress.size() - 1).guestsScanned());
+            assertEquals(10, job.getProgress().premiumHeapSize());
+        } finally {
+            publisher.shutdown();
+        }
+    }
+
+    @Test
+    void submit_failsJobOnInvalidGuest() throws Exception {
+        AllocationJob job = service().submit(stream("{\"premiumRooms\": 1, \"potentialGuests\": [10, -1]}"), false, 0);
+        job.completion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(AllocationJob.Status.FAILED, job.getStatus());
+        assertEquals("potentialGuests[1]: " + GuestBidsDeserializer.MIN_MESSAGE, job.getError());
+    }
+
+    @Test
+    void submit_reportsTheSameMessagesAsTheSynchronousEndpoint() throws Exception {
+        AllocationJob rooms = service().submit(stream("{\"economyRooms\": 100001, \"potentialGuests\": [10]}"), false, 0);
+        rooms.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(OccupancyRequest.ECONOMY_ROOMS_MAX_MESSAGE, rooms.getError());
+
+        AllocationJob digits = service().submit(stream("{\"premiumRooms\": 1, \"potentialGuests\": [10.500, 1.234]}"), false, 0);
+        digits.completion().get(5, TimeUnit.SECONDS);
+        assertEquals("potentialGuests[1]: " + GuestBidsDeserializer.DIGITS_MESSAGE, digits.getError());
+    }
+
+    @Test
+    void submit_rejectsBodiesOverTheJobLimit() {
+        properties.setMaxRequestBytes(16);
+
+        assertThrows(PayloadTooLargeException.class,
+                () -> service().submit(stream("{\"premiumRooms\": 1, \"potentialGuests\": [10, 20, 30]}"), false, 0));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.hotel_room_allocation_system.infrastructure.snapshot;
+
+import com.example.hotel_room_allocation_system.domain.AllocationExplainResult;
+import com.example.hotel_room_allocation_system.domain.AllocationExplanation;
+import com.example.hotel_room_allocation_system.domain.AllocationResult;
+import com.example.hotel_room_allocation_system.domain.GuestBids;
+import com.example.hotel_room_allocation_system.domain.GuestBidsDiff;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExplainSnapshotStoreTest {
+
+    @Test
+    void put_storesCompactCopyThatEqualsOriginal() {
+        ExplainSnapshotStore store = new ExplainSnapshotStore(new ExplainSnapshotProperties(), new SimpleMeterRegistry());
+        AllocationExplainResult result = result(prices("374", "209", "155"), prices("99.99", "45"));
+
+        AllocationExplainResult stored = store.put("v1", result);
+
+        assertEquals(result, stored);
+        assertInstanceOf(GuestBids.class, stored.explanation().allocatedPremiumGuests());
+        assertSame(stored, store.get("v1"));
+        assertNull(store.get("v2"));
+    }
+
+    @Test
+    void put_isBoundedByWeight() {
+        ExplainSnapshotProperties properties = new ExplainSnapshotProperties();
+        AllocationExplainResult result = result(prices("374", "209", "155"), prices("99.99", "45"));
+        properties.setMaxBytes(3L * ExplainSnapshotStore.weigh("v0", result));
+        ExplainSnapshotStore store = new ExplainSnapshotStore(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            store.put("v" + i, result);
+        }
+
+        long retained = IntStream.range(0, 10).filter(i -> store.get("v" + i) != null).count();
+        assertTrue(retained <= 3, "retained " + retained);
+    }
+
+    @Test
+    void diff_reportsEntriesThatEnteredOrLeftAList_withDuplicates() {
+        GuestBidsDiff diff = GuestBidsDiff.between(
+                prices("374", "209", "155", "155", "101"),
+                prices("400", "374", "155", "101", "101"));
+
+        assertEquals(prices("400", "101"), List.copyOf(diff.added()));
+        assertEquals(prices("209", "155"), List.copyOf(diff.removed()));
+        assertTrue(GuestBidsDiff.between(prices("1", "2"), prices("2", "1")).isEmpty());
+    }
+
+    private static AllocationExplainResult result(List<BigDecimal> premium, List<BigDecimal> economy) {
+        return new AllocationExplainResult(
+                new AllocationResult(premium.size(), BigDecimal.TEN, economy.size(), BigDecimal.ONE),
+                new AllocationExplanation(premium.size(), economy.size(), 0, premium.size(), economy.size(), 0, 0, 1000,
+                        List.of(), premium, economy, List.of(), List.of()));
+    }
+
+    private static List<BigDecimal> prices(String... values) {
+        return Arrays.stream(values).map(BigDecimal::new).toList();
+    }
+}
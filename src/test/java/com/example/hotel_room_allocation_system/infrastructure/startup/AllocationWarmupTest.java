@@ -0,0 +1,50 @@
+package com.example.hotel_room_allocation_system.infrastructure.startup;
+
+import com.example.hotel_room_allocation_system.application.RoomAllocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocationWarmupTest {
+
+    @Test
+    void warmupRunsThroughServiceWhenNoWebServerIsAvailable() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WarmupProperties properties = new WarmupProperties();
+        properties.setEnabled(true);
+        properties.setIterations(20);
+        properties.setGuestCounts(List.of(10, 100));
+
+        AllocationWarmup warmup = new AllocationWarmup(
+                new RoomAllocationService(registry), properties, new GenericApplicationContext(), new WarmupRequests(), registry);
+        warmup.run(new DefaultApplicationArguments());
+
+        assertEquals(20.0, registry.get("warmup.iterations").gauge().value());
+        assertTrue(registry.get("warmup.duration").timeGauge().value() > 0);
+        assertEquals(0.0, registry.get("warmup.failures").gauge().value());
+        // synthetic allocations stay out of the allocation meters
+        assertEquals(0L, registry.get("allocation.duration").timers().stream().mapToLong(t -> t.count()).sum());
+        assertEquals(0.0, registry.get("allocation.requests").counter().count());
+        assertEquals(0L, registry.get("allocation.latency").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    @Test
+    void warmupStopsWhenTimeBudgetExpires() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WarmupProperties properties = new WarmupProperties();
+        properties.setEnabled(true);
+        properties.setTimeBudgetMillis(0);
+
+        new AllocationWarmup(new RoomAllocationService(registry), properties, new GenericApplicationContext(),
+                new WarmupRequests(), registry)
+                .run(new DefaultApplicationArguments());
+
+        assertEquals(0.0, registry.get("warmup.iterations").gauge().value());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hotel_room_allocation_system.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop, constant-rate load against one {@link LoadScenario}: request {@code i} is
+ * due at {@code start + i / rate} whether or not earlier requests have answered.
+ * <p>
+ * Two latencies are recorded per request, in microseconds. {@code latency} runs from the
+ * due time, so time a request spent waiting behind a slow server (or for one of the
+ * {@code maxInFlight} slots) is counted; this is the coordinated-omission corrected
+ * figure. {@code serviceTime} runs from the moment the request was actually sent, which
+ * is what a closed-loop tool would report, and is kept to show the difference.
+ */
+final class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    record Result(LoadScenario scenario,
+                  double targetRate,
+                  long requests,
+                  long errors,
+                  Duration elapsed,
+                  Histogram latency,
+                  Histogram serviceTime) {
+
+        double achievedRate() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds > 0 ? requests / seconds : 0;
+        }
+    }
+
+    private final HttpClient client;
+    private final URI target;
+    private final int maxInFlight;
+
+    LoadGenerator(HttpClient client, URI target, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    Result run(LoadScenario scenario, double ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long intervalNanos = (long) (1e9 / ratePerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            inFlight.acquire();
+            boolean measured = due >= measureFrom;
+            long sent = System.nanoTime();
+            client.sendAsync(request(scenario, i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long now = System.nanoTime();
+                        if (measured) {
+                            requests.incrementAndGet();
+                            if (failure != null || response.statusCode() >= 300) {
+                                errors.incrementAndGet();
+                            }
+                            latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (now - due) / 1_000));
+                            serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (now - sent) / 1_000));
+                        }
+                        // released last, so the final acquire sees every recorded result
+                        inFlight.release();
+                    });
+        }
+
+        inFlight.acquire(maxInFlight);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - measureFrom);
+        return new Result(scenario, ratePerSecond, requests.get(), errors.get(), elapsed, latency, serviceTime);
+    }
+
+    private HttpRequest request(LoadScenario scenario, long i) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(scenario.path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(scenario.body()));
+        if (scenario.idempotent) {
+            builder.header("Idempotency-Key", "load-" + (i % LoadScenario.IDEMPOTENCY_KEYS));
+        }
+        return builder.build();
+    }
+}
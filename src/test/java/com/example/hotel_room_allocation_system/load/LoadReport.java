@@ -0,0 +1,100 @@
+package com.example.hotel_room_allocation_system.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput against p50/p99/p99.9 per scenario and target rate, as a CSV file under
+ * {@code target/load-reports/<label>.csv}. A report of an earlier commit passed as the
+ * baseline is printed next to this run.
+ */
+final class LoadReport {
+    static final String HEADER = "scenario,targetRate,achievedRate,requests,errors,p50Micros,p99Micros,p999Micros,maxMicros,serviceP99Micros";
+
+    record Row(String scenario,
+               double targetRate,
+               double achievedRate,
+               long requests,
+               long errors,
+               long p50,
+               long p99,
+               long p999,
+               long max,
+               long serviceP99) {
+
+        static Row of(LoadGenerator.Result result) {
+            return new Row(result.scenario().name().toLowerCase(Locale.ROOT), result.targetRate(), result.achievedRate(),
+                    result.requests(), result.errors(),
+                    result.latency().getValueAtPercentile(50), result.latency().getValueAtPercentile(99),
+                    result.latency().getValueAtPercentile(99.9), result.latency().getMaxValue(),
+                    result.serviceTime().getValueAtPercentile(99));
+        }
+
+        String key() {
+            return scenario + "@" + (long) targetRate;
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%.0f,%.1f,%d,%d,%d,%d,%d,%d,%d",
+                    scenario, targetRate, achievedRate, requests, errors, p50, p99, p999, max, serviceP99);
+        }
+
+        static Row parse(String line) {
+            String[] f = line.split(",");
+            return new Row(f[0], Double.parseDouble(f[1]), Double.parseDouble(f[2]), Long.parseLong(f[3]), Long.parseLong(f[4]),
+                    Long.parseLong(f[5]), Long.parseLong(f[6]), Long.parseLong(f[7]), Long.parseLong(f[8]), Long.parseLong(f[9]));
+        }
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+
+    void add(LoadGenerator.Result result) {
+        rows.add(Row.of(result));
+    }
+
+    List<Row> rows() {
+        return rows;
+    }
+
+    Path write(Path directory, String label) throws IOException {
+        Files.createDirectories(directory);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        rows.forEach(row -> lines.add(row.csv()));
+        return Files.write(directory.resolve(label + ".csv"), lines);
+    }
+
+    static List<Row> read(Path path) throws IOException {
+        return Files.readAllLines(path).stream().skip(1).filter(line -> !line.isBlank()).map(Row::parse).toList();
+    }
+
+    void print(PrintStream out, List<Row> baseline) {
+        Map<String, Row> before = new HashMap<>();
+        baseline.forEach(row -> before.put(row.key(), row));
+
+        out.printf(Locale.ROOT, "%-11s %8s %9s %8s %7s %10s %10s %10s %10s %12s%n",
+                "scenario", "rate", "achieved", "requests", "errors", "p50(us)", "p99(us)", "p99.9(us)", "max(us)", "svc p99(us)");
+        for (Row row : rows) {
+            out.printf(Locale.ROOT, "%-11s %8.0f %9.1f %8d %7d %10d %10d %10d %10d %12d%n", row.scenario(), row.targetRate(),
+                    row.achievedRate(), row.requests(), row.errors(), row.p50(), row.p99(), row.p999(), row.max(), row.serviceP99());
+            Row old = before.get(row.key());
+            if (old != null) {
+                out.printf(Locale.ROOT, "%-11s %8s %+8.1f%% %8s %7s %+9.1f%% %+9.1f%% %+9.1f%% %+9.1f%%%n", "  vs base", "",
+                        change(old.achievedRate(), row.achievedRate()), "", "",
+                        change(old.p50(), row.p50()), change(old.p99(), row.p99()),
+                        change(old.p999(), row.p999()), change(old.max(), row.max()));
+            }
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before > 0 ? (after - before) * 100 / before : 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hotel_room_allocation_system.load;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Request shapes the load test drives: the README example, an explain request over
+ * 1000 guests, the README example under rotating idempotency keys (one miss per key,
+ * replays after that) and a maximum size payload of 100000 guests.
+ */
+enum LoadScenario {
+    PLAIN("/occupancy", 10, false),
+    EXPLAIN("/occupancy?explain=true&explainLimit=100", 1_000, false),
+    IDEMPOTENT("/occupancy", 10, true),
+    LARGE("/occupancy", 100_000, false);
+
+    static final int IDEMPOTENCY_KEYS = 1_000;
+
+    private static final String README_GUESTS = "23,45,155,374,22,99.99,100,101,115,209";
+
+    final String path;
+    final int guests;
+    final boolean idempotent;
+    private byte[] body;
+
+    LoadScenario(String path, int guests, boolean idempotent) {
+        this.path = path;
+        this.guests = guests;
+        this.idempotent = idempotent;
+    }
+
+    static LoadScenario parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** Same body for every request of the scenario, so runs are comparable. */
+    synchronized byte[] body() {
+        if (body == null) {
+            body = ("{\"premiumRooms\":" + Math.max(3, guests / 10) + ",\"economyRooms\":" + Math.max(3, guests / 10)
+                    + ",\"potentialGuests\":[" + guestList() + "]}").getBytes(StandardCharsets.UTF_8);
+        }
+        return body;
+    }
+
+    private String guestList() {
+        if (guests == 10) {
+            return README_GUESTS;
+        }
+        SplittableRandom random = new SplittableRandom(guests);
+        StringBuilder list = new StringBuilder(guests * 8);
+        for (int i = 0; i < guests; i++) {
+            long cents = random.nextLong(1_00, 400_00);
+            if (i > 0) {
+                list.append(',');
+            }
+            list.append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100);
+        }
+        return list.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.hotel_room_allocation_system.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Open-loop load test of the whole stack on a random local port; excluded from the
+ * normal build. Run it with
+ * <pre>
+ * mvn -Pload test -Dload.label=$(git rev-parse --short HEAD) [-Dload.baseline=target/load-reports/abc1234.csv]
+ *     [-Dload.scenarios=plain,explain,idempotent,large] [-Dload.rates=200,500,1000]
+ *     [-Dload.warmupSeconds=5] [-Dload.durationSeconds=15] [-Dload.maxInFlight=512]
+ * </pre>
+ * Rates are requests per second and apply to every scenario; the large scenario sends
+ * about 700 KB per request, so give it lower rates in a separate run. There are no
+ * pass/fail thresholds: the report is compared across commits by reading it.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class OccupancyLoadTest {
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void openLoop_constantRate() throws Exception {
+        List<LoadScenario> scenarios = Arrays.stream(System.getProperty("load.scenarios", "plain,explain,idempotent").split(","))
+                .map(LoadScenario::parse)
+                .toList();
+        double[] rates = Arrays.stream(System.getProperty("load.rates", "100,200,400").split(","))
+                .mapToDouble(rate -> Double.parseDouble(rate.trim()))
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 3));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 10));
+        String label = System.getProperty("load.label", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        String baseline = System.getProperty("load.baseline");
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        LoadGenerator generator = new LoadGenerator(client, URI.create("http://localhost:" + port),
+                Integer.getInteger("load.maxInFlight", 512));
+
+        LoadReport report = new LoadReport();
+        for (LoadScenario scenario : scenarios) {
+            for (double rate : rates) {
+                report.add(generator.run(scenario, rate, warmup, duration));
+            }
+        }
+
+        Path written = report.write(Path.of("target", "load-reports"), label);
+        report.print(System.out, baseline != null && Files.exists(Path.of(baseline)) ? LoadReport.read(Path.of(baseline)) : List.of());
+        System.out.println("Load report written to " + written.toAbsolutePath());
+        assertFalse(report.rows().isEmpty());
+    }
+}